@@ -0,0 +1,75 @@
+package com.rca.demo_course.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the log file (set with {@code logging.file.name}) behind a {@link RingBufferAppender},
+ * so request threads stop writing to it themselves. Console output is left as it is.
+ * Dropped and queued events are published as the {@code logging.async.dropped} and
+ * {@code logging.async.queued} metrics.
+ */
+@Component
+@ConditionalOnProperty(name = "async-logging.enabled", matchIfMissing = true)
+public class AsyncFileLogging implements InitializingBean, MeterBinder {
+
+    // The name Spring Boot gives the appender of logging.file.name
+    static final String FILE_APPENDER = "FILE";
+    static final String ASYNC_FILE_APPENDER = "ASYNC_FILE";
+
+    @Value("${async-logging.capacity:8192}")
+    private int capacity;
+
+    @Value("${async-logging.overflow-policy:DROP}")
+    private RingBufferAppender.OverflowPolicy overflowPolicy;
+
+    private RingBufferAppender ringBufferAppender;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        Appender<ILoggingEvent> file = root.getAppender(FILE_APPENDER);
+        if (file == null) {
+            return;
+        }
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName(ASYNC_FILE_APPENDER);
+        appender.setCapacity(capacity);
+        appender.setOverflowPolicy(overflowPolicy);
+        appender.addAppender(file);
+        appender.start();
+        root.addAppender(appender);
+        root.detachAppender(file);
+        ringBufferAppender = appender;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (ringBufferAppender == null) {
+            return;
+        }
+        FunctionCounter.builder("logging.async.dropped", ringBufferAppender, RingBufferAppender::getDroppedCount)
+                .description("Log events discarded because the ring buffer was full")
+                .tag("appender", ASYNC_FILE_APPENDER)
+                .register(registry);
+        Gauge.builder("logging.async.queued", ringBufferAppender, RingBufferAppender::getQueuedCount)
+                .description("Log events waiting to be written")
+                .tag("appender", ASYNC_FILE_APPENDER)
+                .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.rca.demo_course.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * In-process caches for course and student lookups and compiled calculator expressions.
+ * Sizes and expiry come from spring.cache.caffeine.spec; hit and miss counts are published
+ * as cache.gets metrics.
+ * <p>
+ * Caching advice runs outside the transaction advice, so entries evicted by an update or
+ * delete are only dropped once the change has been committed. It runs inside the method
+ * timers, so cache hits are timed too.
+ * <p>
+ * With a read replica, read-only transactions may see rows from before a recent write, so the
+ * course and student caches are only filled from the primary (see
+ * {@link com.rca.demo_course.service.impl.SnapshotLoader}).
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+public class CacheConfig {
+
+    public static final String COURSES_BY_ID = "coursesById";
+    public static final String COURSES_BY_CODE = "coursesByCode";
+    public static final String STUDENTS_BY_ID = "studentsById";
+    public static final String STUDENTS_BY_EMAIL = "studentsByEmail";
+    public static final String COMPILED_EXPRESSIONS = "compiledExpressions";
+}
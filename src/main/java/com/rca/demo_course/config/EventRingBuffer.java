@@ -0,0 +1,95 @@
+package com.rca.demo_course.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer. Each slot carries a
+ * sequence number that tells whose turn it is: a producer claims the next position with one
+ * compare-and-set on the tail, fills the slot and then publishes it by advancing the slot's
+ * sequence; the consumer takes a slot once its sequence shows it was published, and hands it
+ * back to producers one lap later.
+ */
+class EventRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLong tail = new AtomicLong();
+    // Only advanced by the consumer; volatile so that size() can be read from other threads
+    private volatile long head;
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    EventRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + (1 << 30));
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.sequences = new AtomicLongArray(this.capacity);
+        this.elements = new AtomicReferenceArray<>(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds {@code element} unless the buffer is full. Safe to call from any thread.
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The consumer has not taken this slot's element from the previous lap yet
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest element, or returns null if there is none. Only the consumer may call it.
+     */
+    E poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.set(index, position + capacity);
+        head = position + 1;
+        return element;
+    }
+
+    boolean isEmpty() {
+        long position = head;
+        return sequences.get((int) position & mask) != position + 1;
+    }
+
+    /**
+     * Elements waiting, including those still being written by producers.
+     */
+    int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+}
@@ -0,0 +1,21 @@
+package com.rca.demo_course.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets Hibernate report the statements it runs to {@link SqlStatementCounter}, which the
+ * slow-query log and the {@code X-Query-Count} header read. Session factory wide statistics
+ * are switched on separately with {@code spring.jpa.properties.hibernate.generate_statistics}
+ * and read from the {@code hibernate} actuator endpoint.
+ */
+@Configuration
+public class HibernateStatisticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
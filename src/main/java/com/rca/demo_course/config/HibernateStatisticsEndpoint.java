@@ -0,0 +1,107 @@
+package com.rca.demo_course.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/hibernate}: Hibernate's session factory statistics since startup or the
+ * last reset (a DELETE on the endpoint), with the slowest queries by their longest run.
+ * Hibernate only collects them with {@code spring.jpa.properties.hibernate.generate_statistics=true}.
+ */
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+
+    static final int SLOWEST_QUERIES = 10;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Statistics statistics = sessionFactoryStatistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        if (!statistics.isStatisticsEnabled()) {
+            return result;
+        }
+        result.put("since", statistics.getStart());
+        result.put("sessionsOpened", statistics.getSessionOpenCount());
+        result.put("transactions", statistics.getTransactionCount());
+        result.put("connectionsObtained", statistics.getConnectCount());
+        result.put("statementsPrepared", statistics.getPrepareStatementCount());
+        result.put("flushes", statistics.getFlushCount());
+        result.put("queriesExecuted", statistics.getQueryExecutionCount());
+        result.put("queryMaxTimeMillis", statistics.getQueryExecutionMaxTime());
+        result.put("queryMaxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+
+        Map<String, Object> entities = new LinkedHashMap<>();
+        entities.put("loaded", statistics.getEntityLoadCount());
+        entities.put("fetched", statistics.getEntityFetchCount());
+        entities.put("inserted", statistics.getEntityInsertCount());
+        entities.put("updated", statistics.getEntityUpdateCount());
+        entities.put("deleted", statistics.getEntityDeleteCount());
+        result.put("entities", entities);
+
+        Map<String, Object> collections = new LinkedHashMap<>();
+        collections.put("loaded", statistics.getCollectionLoadCount());
+        collections.put("fetched", statistics.getCollectionFetchCount());
+        result.put("collections", collections);
+
+        Map<String, Object> secondLevelCache = new LinkedHashMap<>();
+        secondLevelCache.put("hits", statistics.getSecondLevelCacheHitCount());
+        secondLevelCache.put("misses", statistics.getSecondLevelCacheMissCount());
+        secondLevelCache.put("puts", statistics.getSecondLevelCachePutCount());
+        result.put("secondLevelCache", secondLevelCache);
+
+        Map<String, Object> queryCache = new LinkedHashMap<>();
+        queryCache.put("hits", statistics.getQueryCacheHitCount());
+        queryCache.put("misses", statistics.getQueryCacheMissCount());
+        queryCache.put("puts", statistics.getQueryCachePutCount());
+        result.put("queryCache", queryCache);
+
+        result.put("slowestQueries", slowestQueries(statistics));
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sessionFactoryStatistics().clear();
+    }
+
+    private static List<Map<String, Object>> slowestQueries(Statistics statistics) {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> Map.entry(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong((Map.Entry<String, QueryStatistics> entry) -> entry.getValue().getExecutionMaxTime())
+                        .reversed())
+                .limit(SLOWEST_QUERIES)
+                .map(entry -> {
+                    QueryStatistics query = entry.getValue();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("query", entry.getKey());
+                    row.put("executions", query.getExecutionCount());
+                    row.put("rows", query.getExecutionRowCount());
+                    row.put("avgTimeMillis", query.getExecutionAvgTime());
+                    row.put("maxTimeMillis", query.getExecutionMaxTime());
+                    return row;
+                })
+                .toList();
+    }
+
+    private Statistics sessionFactoryStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
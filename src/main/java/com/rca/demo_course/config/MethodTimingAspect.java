@@ -0,0 +1,120 @@
+package com.rca.demo_course.config;
+
+import com.rca.demo_course.exception.CourseNotFoundException;
+import com.rca.demo_course.exception.DuplicateResourceException;
+import com.rca.demo_course.exception.GradeNotFoundException;
+import com.rca.demo_course.exception.InvalidGradeException;
+import com.rca.demo_course.exception.StudentNotFoundException;
+import com.rca.demo_course.exception.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the student, course, grade and calculator services and of
+ * the mappers, as the {@value #METRIC} timer tagged with the class, the method and the
+ * outcome. Timers publish a percentile histogram, so latency percentiles can be read from
+ * /actuator/prometheus.
+ * <p>
+ * The timers run outside the caching and transaction advice, so they include cache hits and
+ * commits.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MethodTimingAspect {
+
+    public static final String METRIC = "app.method";
+
+    /**
+     * How a call ended, named after the HTTP error it is turned into.
+     */
+    public enum Outcome {
+        SUCCESS,
+        VALIDATION_ERROR,
+        NOT_FOUND,
+        CONFLICT,
+        ERROR;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+
+        public String getTag() {
+            return tag;
+        }
+
+        public static Outcome of(Throwable error) {
+            if (error instanceof ValidationException || error instanceof InvalidGradeException
+                    || error instanceof IllegalArgumentException) {
+                return VALIDATION_ERROR;
+            }
+            if (error instanceof StudentNotFoundException || error instanceof CourseNotFoundException
+                    || error instanceof GradeNotFoundException) {
+                return NOT_FOUND;
+            }
+            if (error instanceof DuplicateResourceException || error instanceof OptimisticLockingFailureException) {
+                return CONFLICT;
+            }
+            return ERROR;
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Looking a timer up in the registry builds its tags on every call, so they are kept per method
+    private final Map<Method, Timer[]> timersByMethod = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.rca.demo_course.service.impl.StudentServiceImpl.*(..))"
+            + " || execution(public * com.rca.demo_course.service.impl.CourseServiceImpl.*(..))"
+            + " || execution(public * com.rca.demo_course.service.impl.GradeServiceImpl.*(..))"
+            + " || execution(public * com.rca.demo_course.service.impl.CalculatorServiceImpl.*(..))"
+            + " || execution(public * com.rca.demo_course.mapper.*.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable error) {
+            outcome = Outcome.of(error);
+            throw error;
+        } finally {
+            timer(joinPoint, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, Outcome outcome) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer[] timers = timersByMethod.computeIfAbsent(method, key -> new Timer[Outcome.values().length]);
+        Timer timer = timers[outcome.ordinal()];
+        if (timer == null) {
+            // Racing threads register the same timer; the registry hands both the same instance
+            timer = Timer.builder(METRIC)
+                    .description("Service and mapper call latency")
+                    .tag("class", joinPoint.getTarget().getClass().getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("outcome", outcome.getTag())
+                    .publishPercentileHistogram()
+                    // Mapper calls take microseconds, far below the default lowest bucket
+                    .minimumExpectedValue(Duration.ofNanos(1_000))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+            timers[outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+}
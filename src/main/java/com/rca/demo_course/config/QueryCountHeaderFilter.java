@@ -0,0 +1,64 @@
+package com.rca.demo_course.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+
+/**
+ * With {@code query-count-header.enabled=true}, adds an {@value #HEADER} header with the number of SQL
+ * statements Hibernate ran for the request. The filter starts the count. Message converters
+ * commit the response as they write the body, so {@link Advice} sets the header just before
+ * that, and the filter only sets it on responses that are still uncommitted, such as those
+ * without a body. Streamed responses that have already been flushed get no header.
+ */
+@Component
+@ConditionalOnProperty(name = "query-count-header.enabled", havingValue = "true")
+public class QueryCountHeaderFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, String.valueOf(SqlStatementCounter.count()));
+            }
+        } finally {
+            SqlStatementCounter.reset();
+        }
+    }
+
+    @RestControllerAdvice
+    @ConditionalOnProperty(name = "query-count-header.enabled", havingValue = "true")
+    public static class Advice implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            response.getHeaders().set(HEADER, String.valueOf(SqlStatementCounter.count()));
+            return body;
+        }
+    }
+}
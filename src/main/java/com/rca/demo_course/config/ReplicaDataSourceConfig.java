@@ -0,0 +1,59 @@
+package com.rca.demo_course.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to a replica when {@code replica.datasource.url} is set.
+ * Everything else, including schema management, keeps using the primary configured under
+ * {@code spring.datasource}.
+ * <p>
+ * The lazy proxy only fetches a physical connection when the first statement runs. By then
+ * the transaction manager has marked the connection read-only for
+ * {@code @Transactional(readOnly = true)}, so the proxy can take it from the replica pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica.datasource", name = "url")
+public class ReplicaDataSourceConfig {
+
+    public static final String REPLICA_PREFIX = "replica.datasource";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties(REPLICA_PREFIX + ".hikari")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind(REPLICA_PREFIX, DataSourceProperties.class)
+                .get();
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replica);
+        return dataSource;
+    }
+}
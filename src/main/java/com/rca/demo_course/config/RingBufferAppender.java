@@ -0,0 +1,172 @@
+package com.rca.demo_course.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logback appender that hands events to its attached appenders on a background thread, so
+ * the logging thread never waits on the disk. Events pass through an {@link EventRingBuffer}
+ * that has room for {@code capacity} events. When it is full, the {@code overflowPolicy}
+ * decides: {@link OverflowPolicy#DROP} discards the event and counts it, and
+ * {@link OverflowPolicy#BLOCK} makes the logging thread wait for room.
+ * <p>
+ * On stop, the events still buffered are written, for up to {@code maxFlushTimeMillis}, and
+ * the attached appenders are stopped.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    // The writer thread wakes up this often even if nobody signals it
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private int capacity = 8192;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private int maxFlushTimeMillis = 1000;
+
+    private EventRingBuffer<ILoggingEvent> buffer;
+    private Thread writer;
+    private volatile boolean writerParked;
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public void setMaxFlushTimeMillis(int maxFlushTimeMillis) {
+        this.maxFlushTimeMillis = maxFlushTimeMillis;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getQueuedCount() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to " + getName());
+            return;
+        }
+        buffer = new EventRingBuffer<>(capacity);
+        writer = new Thread(this::writeEvents, "logback-ring-buffer-" + getName());
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Freezes the MDC, thread name and formatted message before the event changes threads
+        event.prepareForDeferredProcessing();
+        while (!buffer.offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DROP || !isStarted()) {
+                dropped.increment();
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void writeEvents() {
+        while (isStarted()) {
+            ILoggingEvent event = buffer.poll();
+            if (event != null) {
+                appenders.appendLoopOnAppenders(event);
+            } else {
+                writerParked = true;
+                // Checked again after announcing the park, so an event offered meanwhile is not left waiting
+                if (buffer.isEmpty() && isStarted()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerParked = false;
+            }
+        }
+        ILoggingEvent event;
+        while ((event = buffer.poll()) != null) {
+            appenders.appendLoopOnAppenders(event);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(writer);
+        try {
+            writer.join(maxFlushTimeMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            addWarn("Gave up writing " + buffer.size() + " buffered events after " + maxFlushTimeMillis + " ms");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
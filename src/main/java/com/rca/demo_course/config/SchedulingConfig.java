@@ -0,0 +1,12 @@
+package com.rca.demo_course.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs background maintenance, such as the periodic rebuild of course statistics.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
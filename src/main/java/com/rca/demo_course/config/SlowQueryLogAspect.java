@@ -0,0 +1,62 @@
+package com.rca.demo_course.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logs repository calls that take at least {@code slow-query.threshold} as warnings, naming
+ * the repository method (such as {@code GradeRepository.findByStudentId}), the number of
+ * statements it ran and the last of them. A threshold of zero or less turns the log off.
+ */
+@Aspect
+@Component
+public class SlowQueryLogAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLogAspect.class);
+
+    @Value("${slow-query.threshold:500ms}")
+    private Duration threshold;
+
+    // Spring Data repositories are proxies; their name is that of the application interface they implement
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object logSlowQueries(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (threshold.isNegative() || threshold.isZero()) {
+            return joinPoint.proceed();
+        }
+        int statementsBefore = SqlStatementCounter.count();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= threshold.toNanos()) {
+                int statements = SqlStatementCounter.count() - statementsBefore;
+                log.warn("Slow query: {}.{} took {} ms and ran {} statements, the last one: {}",
+                        repositoryName(joinPoint.getThis().getClass()), joinPoint.getSignature().getName(),
+                        elapsed / 1_000_000, statements, statements > 0 ? SqlStatementCounter.lastStatement() : "none");
+            }
+        }
+    }
+
+    private String repositoryName(Class<?> proxyClass) {
+        return repositoryNames.computeIfAbsent(proxyClass, type -> ClassUtils.getAllInterfacesForClassAsSet(type).stream()
+                .filter(Repository.class::isAssignableFrom)
+                .filter(repository -> !repository.getName().startsWith("org.springframework."))
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElseGet(type::getSimpleName));
+    }
+}
@@ -0,0 +1,43 @@
+package com.rca.demo_course.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread and remembers the last
+ * one. Statements sent through {@code JdbcTemplate}, such as the bulk grade upload, are not
+ * seen.
+ * <p>
+ * Registered as Hibernate's statement inspector by {@link HibernateStatisticsConfig}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Counter> COUNTER = ThreadLocal.withInitial(Counter::new);
+
+    private static final class Counter {
+        private int count;
+        private String lastStatement;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counter counter = COUNTER.get();
+        counter.count++;
+        counter.lastStatement = sql;
+        return sql;
+    }
+
+    /**
+     * Statements prepared on this thread since the last {@link #reset()}.
+     */
+    public static int count() {
+        return COUNTER.get().count;
+    }
+
+    public static String lastStatement() {
+        return COUNTER.get().lastStatement;
+    }
+
+    public static void reset() {
+        COUNTER.remove();
+    }
+}
@@ -1,11 +1,17 @@
 package com.rca.demo_course.controller;
 
+import com.rca.demo_course.domain.CalculatorOperation;
+import com.rca.demo_course.dto.CalculatorBatchRequest;
+import com.rca.demo_course.dto.CalculatorBatchResponse;
+import com.rca.demo_course.dto.ExpressionRequest;
+import com.rca.demo_course.dto.ExpressionResponse;
 import com.rca.demo_course.service.CalculatorService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -152,6 +158,31 @@ public class CalculatorController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Applies one operation to many operand pairs in a single request.
+     *
+     * @param request the operation and the operand columns
+     * @return the results in operand order
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<CalculatorBatchResponse> batch(@RequestBody CalculatorBatchRequest request) {
+        CalculatorOperation operation = CalculatorOperation.fromName(request.getOperation());
+        double[] results = calculatorService.calculate(operation, request.getA(), request.getB());
+        return ResponseEntity.ok(new CalculatorBatchResponse(operation.name().toLowerCase(Locale.ROOT), results));
+    }
+
+    /**
+     * Evaluates a formula such as {@code sqrt(a*a + b*b) % c} with the given variable values.
+     *
+     * @param request the formula and its variable values
+     * @return the value of the formula
+     */
+    @PostMapping("/evaluate")
+    public ResponseEntity<ExpressionResponse> evaluate(@RequestBody ExpressionRequest request) {
+        double result = calculatorService.compileExpression(request.getExpression()).evaluate(request.getVariables());
+        return ResponseEntity.ok(new ExpressionResponse(request.getExpression(), result));
+    }
+
     /**
      * Creates a standardized response for binary operations.
      *
@@ -1,15 +1,28 @@
 package com.rca.demo_course.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.CourseScoreStatistics;
+import com.rca.demo_course.domain.ScoreRank;
+import com.rca.demo_course.dto.CursorPage;
 import com.rca.demo_course.dto.CourseDTO;
+import com.rca.demo_course.dto.CourseStatisticsDTO;
+import com.rca.demo_course.dto.ScorePercentileDTO;
+import com.rca.demo_course.dto.ScoreRankDTO;
 import com.rca.demo_course.mapper.CourseMapper;
+import com.rca.demo_course.repository.projection.CourseRosterEntry;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
 import com.rca.demo_course.service.CourseService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,6 +37,9 @@ public class CourseController {
     @Autowired
     private CourseMapper courseMapper;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<CourseDTO> createCourse(@Valid @RequestBody CourseDTO courseDTO) {
         Course course = courseMapper.toEntity(courseDTO);
@@ -33,8 +49,55 @@ public class CourseController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CourseDTO> getCourseById(@PathVariable String id) {
+    public ResponseEntity<CourseDTO> getCourseById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String tag = EntityTags.of(courseService.findVersion(id));
+            if (EntityTags.matches(ifNoneMatch, tag)) {
+                return EntityTags.notModified(tag);
+            }
+        }
         Course course = courseService.findById(id);
+        if (course != null) {
+            CourseDTO courseDTO = courseMapper.toDTO(course);
+            return EntityTags.ok(courseDTO, EntityTags.of(course.getVersion()));
+        } else {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @GetMapping("/{id}/roster")
+    public ResponseEntity<List<CourseRosterEntry>> getRoster(@PathVariable String id) {
+        return new ResponseEntity<>(courseService.findRoster(id), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<CourseStatisticsDTO> getStatistics(@PathVariable String id) {
+        CourseScoreStatistics statistics = courseService.findStatistics(id);
+        return new ResponseEntity<>(courseMapper.toStatisticsDTO(Long.valueOf(id), statistics), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<ScoreRankDTO> rankScore(@PathVariable String id, @RequestParam BigDecimal score) {
+        ScoreRank rank = courseService.rankScore(id, score);
+        return new ResponseEntity<>(courseMapper.toRankDTO(Long.valueOf(id), score, rank), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/percentile")
+    public ResponseEntity<ScorePercentileDTO> getPercentile(@PathVariable String id, @RequestParam("p") double percentile) {
+        BigDecimal score = courseService.findPercentile(id, percentile);
+        return new ResponseEntity<>(courseMapper.toPercentileDTO(Long.valueOf(id), percentile, score), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/top")
+    public ResponseEntity<List<GradeScoreEntry>> getTopScores(@PathVariable String id, @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(courseService.findTopScores(id, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/code/{code}")
+    public ResponseEntity<CourseDTO> getCourseByCode(@PathVariable String code) {
+        Course course = courseService.findByCode(code);
         if (course != null) {
             CourseDTO courseDTO = courseMapper.toDTO(course);
             return new ResponseEntity<>(courseDTO, HttpStatus.OK);
@@ -44,21 +107,55 @@ public class CourseController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
+    public ResponseEntity<List<CourseDTO>> getAllCourses(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String tag = EntityTags.of(courseService.findCollectionVersion());
+        if (EntityTags.matches(ifNoneMatch, tag)) {
+            return EntityTags.notModified(tag);
+        }
         List<Course> courses = courseService.findAll();
         List<CourseDTO> courseDTOs = courses.stream()
                 .map(courseMapper::toDTO)
                 .collect(Collectors.toList());
+        return EntityTags.ok(courseDTOs, tag);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<CourseDTO>> searchCourses(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<CourseDTO> courseDTOs = courseService.search(query, limit).stream()
+                .map(courseMapper::toDTO)
+                .collect(Collectors.toList());
         return new ResponseEntity<>(courseDTOs, HttpStatus.OK);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<CourseDTO>> getCoursePage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        CursorPage<CourseDTO> page = courseService.findPage(after, limit).map(courseMapper::toDTO);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/stream")
+    public void streamCourses(HttpServletResponse response) throws IOException {
+        JsonResponseStreamer<CourseDTO> streamer = JsonResponseStreamer.ndjson(objectMapper, response);
+        courseService.streamAll(course -> streamer.accept(courseMapper.toDTO(course)));
+        streamer.finish();
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<CourseDTO> updateCourse(@PathVariable String id, @Valid @RequestBody CourseDTO courseDTO) {
+    public ResponseEntity<CourseDTO> updateCourse(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody CourseDTO courseDTO) {
         courseDTO.setId(Long.parseLong(id));
         Course course = courseMapper.toEntity(courseDTO);
+        course.setVersion(EntityTags.versionOf(ifMatch));
         Course updatedCourse = courseService.update(course);
         CourseDTO responseDTO = courseMapper.toDTO(updatedCourse);
-        return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+        return EntityTags.ok(responseDTO, EntityTags.of(updatedCourse.getVersion()));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,78 @@
+package com.rca.demo_course.controller;
+
+import com.rca.demo_course.exception.ValidationException;
+import com.rca.demo_course.repository.projection.CollectionVersion;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Strong ETags derived from the version columns rather than from the response body, so an
+ * {@code If-None-Match} request is answered from the version alone: when the client's copy is
+ * current, nothing is loaded, mapped or serialized. A row's tag is its version; a list's tag
+ * combines the count, ID sum and version sum of its {@link CollectionVersion}.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String of(Long version) {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+
+    static String of(CollectionVersion version) {
+        if (version == null) {
+            return null;
+        }
+        return "\"" + version.count() + "-" + orZero(version.idSum()) + "-" + orZero(version.versionSum()) + "\"";
+    }
+
+    // If-None-Match compares weakly, so a W/ prefix on the client's copy still matches
+    static boolean matches(String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null || tag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || candidate.equals(tag) || candidate.equals("W/" + tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The version an update must find, from its If-Match header; null when there is no header
+     * or it is {@code *}. If-Match compares strongly, so weak tags are refused.
+     */
+    static Long versionOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Not one of ours; reported below
+            }
+        }
+        throw new ValidationException("If-Match must be a single ETag of this resource: " + ifMatch);
+    }
+
+    static <T> ResponseEntity<T> notModified(String tag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String tag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (tag != null) {
+            builder.eTag(tag);
+        }
+        return builder.body(body);
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -1,8 +1,14 @@
 package com.rca.demo_course.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.dto.BulkGradeResultDTO;
+import com.rca.demo_course.dto.CursorPage;
+import com.rca.demo_course.dto.GpaBatchRequest;
 import com.rca.demo_course.dto.GradeDTO;
+import com.rca.demo_course.dto.StudentGpaDTO;
 import com.rca.demo_course.mapper.GradeMapper;
+import com.rca.demo_course.service.GradeImportService;
 import com.rca.demo_course.service.GradeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,12 +18,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,9 +41,15 @@ public class GradeController {
     @Autowired
     private GradeService gradeService;
 
+    @Autowired
+    private GradeImportService gradeImportService;
+
     @Autowired
     private GradeMapper gradeMapper;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(
             summary = "Create a new grade",
             description = "Creates a new grade record for a student in a specific course. The system will automatically calculate the letter grade based on the score."
@@ -55,6 +72,35 @@ public class GradeController {
         return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Create many grades",
+            description = "Inserts a JSON array of grades in one transaction. Letter grades are calculated from the scores. " +
+                    "Rows that fail validation are listed in the response and do not stop the other rows."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Upload processed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkGradeResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Body missing or too many rows",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkGradeResultDTO> createGrades(
+            @Parameter(description = "Grades to create", required = true)
+            @RequestBody List<GradeDTO> gradeDTOs) {
+        BulkGradeResultDTO result = gradeImportService.importGrades(gradeDTOs);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Create many grades from CSV",
+            description = "Same as the JSON upload, for CSV lines of studentId,courseId,score. A header line is optional."
+    )
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkGradeResultDTO> createGradesFromCsv(Reader csv) {
+        BulkGradeResultDTO result = gradeImportService.importGradesCsv(csv);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Get grade by ID",
             description = "Retrieves a specific grade record by its unique identifier"
@@ -62,47 +108,123 @@ public class GradeController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Grade found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = GradeDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Grade unchanged since the version in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Grade not found",
                     content = @Content(mediaType = "application/json"))
     })
     @GetMapping("/{id}")
     public ResponseEntity<GradeDTO> getGradeById(
             @Parameter(description = "Grade ID", required = true, example = "1")
-            @PathVariable String id) {
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String tag = EntityTags.of(gradeService.findVersion(id));
+            if (EntityTags.matches(ifNoneMatch, tag)) {
+                return EntityTags.notModified(tag);
+            }
+        }
         Grade grade = gradeService.findById(id);
         if (grade != null) {
             GradeDTO gradeDTO = gradeMapper.toDTO(grade);
-            return new ResponseEntity<>(gradeDTO, HttpStatus.OK);
+            return EntityTags.ok(gradeDTO, EntityTags.of(grade.getVersion()));
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<GradeDTO>> getGradesByStudentId(@PathVariable String studentId) {
+    public ResponseEntity<List<GradeDTO>> getGradesByStudentId(
+            @PathVariable String studentId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String tag = EntityTags.of(gradeService.findCollectionVersionByStudentId(studentId));
+        if (EntityTags.matches(ifNoneMatch, tag)) {
+            return EntityTags.notModified(tag);
+        }
         List<Grade> grades = gradeService.findByStudentId(studentId);
         List<GradeDTO> gradeDTOs = grades.stream()
                 .map(gradeMapper::toDTO)
                 .collect(Collectors.toList());
-        return new ResponseEntity<>(gradeDTOs, HttpStatus.OK);
+        return EntityTags.ok(gradeDTOs, tag);
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<GradeDTO>> getGradesByCourseId(@PathVariable String courseId) {
+    public ResponseEntity<List<GradeDTO>> getGradesByCourseId(
+            @PathVariable String courseId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String tag = EntityTags.of(gradeService.findCollectionVersionByCourseId(courseId));
+        if (EntityTags.matches(ifNoneMatch, tag)) {
+            return EntityTags.notModified(tag);
+        }
         List<Grade> grades = gradeService.findByCourseId(courseId);
         List<GradeDTO> gradeDTOs = grades.stream()
                 .map(gradeMapper::toDTO)
                 .collect(Collectors.toList());
-        return new ResponseEntity<>(gradeDTOs, HttpStatus.OK);
+        return EntityTags.ok(gradeDTOs, tag);
+    }
+
+    @Operation(
+            summary = "Page through a student's grades",
+            description = "Returns grades ordered by ID after the given cursor. Pass nextCursor as 'after' to get the next page."
+    )
+    @GetMapping("/student/{studentId}/page")
+    public ResponseEntity<CursorPage<GradeDTO>> getGradePageByStudentId(
+            @PathVariable String studentId,
+            @Parameter(description = "ID of the last grade of the previous page")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size, at most 1000", example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        CursorPage<GradeDTO> page = gradeService.findPageByStudentId(studentId, after, limit).map(gradeMapper::toDTO);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Page through a course's grades",
+            description = "Returns grades ordered by ID after the given cursor. Pass nextCursor as 'after' to get the next page."
+    )
+    @GetMapping("/course/{courseId}/page")
+    public ResponseEntity<CursorPage<GradeDTO>> getGradePageByCourseId(
+            @PathVariable String courseId,
+            @Parameter(description = "ID of the last grade of the previous page")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size, at most 1000", example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        CursorPage<GradeDTO> page = gradeService.findPageByCourseId(courseId, after, limit).map(gradeMapper::toDTO);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Stream a student's grades",
+            description = "Writes every grade of the student as newline-delimited JSON while it is read from the database."
+    )
+    @GetMapping("/student/{studentId}/stream")
+    public void streamGradesByStudentId(@PathVariable String studentId, HttpServletResponse response) throws IOException {
+        JsonResponseStreamer<GradeDTO> streamer = JsonResponseStreamer.ndjson(objectMapper, response);
+        gradeService.streamByStudentId(studentId, grade -> streamer.accept(gradeMapper.toDTO(grade)));
+        streamer.finish();
+    }
+
+    @Operation(
+            summary = "Stream a course's grades",
+            description = "Writes every grade of the course as newline-delimited JSON while it is read from the database."
+    )
+    @GetMapping("/course/{courseId}/stream")
+    public void streamGradesByCourseId(@PathVariable String courseId, HttpServletResponse response) throws IOException {
+        JsonResponseStreamer<GradeDTO> streamer = JsonResponseStreamer.ndjson(objectMapper, response);
+        gradeService.streamByCourseId(courseId, grade -> streamer.accept(gradeMapper.toDTO(grade)));
+        streamer.finish();
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<GradeDTO> updateGrade(@PathVariable String id, @Valid @RequestBody GradeDTO gradeDTO) {
+    public ResponseEntity<GradeDTO> updateGrade(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody GradeDTO gradeDTO) {
         gradeDTO.setId(Long.parseLong(id));
         Grade grade = gradeMapper.toEntity(gradeDTO);
+        grade.setVersion(EntityTags.versionOf(ifMatch));
         Grade updatedGrade = gradeService.update(grade);
         GradeDTO responseDTO = gradeMapper.toDTO(updatedGrade);
-        return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+        return EntityTags.ok(responseDTO, EntityTags.of(updatedGrade.getVersion()));
     }
 
     @DeleteMapping("/{id}")
@@ -113,7 +235,8 @@ public class GradeController {
 
     @Operation(
             summary = "Calculate student GPA",
-            description = "Calculates the Grade Point Average (GPA) for a specific student based on all their grades"
+            description = "Calculates the Grade Point Average (GPA) for a specific student based on all their grades. " +
+                    "With weighted=true each grade is weighted by the credits of its course."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "GPA calculated successfully",
@@ -124,14 +247,48 @@ public class GradeController {
     @GetMapping("/student/{studentId}/gpa")
     public ResponseEntity<Double> calculateStudentGPA(
             @Parameter(description = "Student ID", required = true, example = "1")
-            @PathVariable String studentId) {
-        double gpa = gradeService.calculateGPA(studentId);
+            @PathVariable String studentId,
+            @Parameter(description = "Weight grades by course credits", example = "false")
+            @RequestParam(defaultValue = "false") boolean weighted) {
+        double gpa = weighted ? gradeService.calculateWeightedGPA(studentId) : gradeService.calculateGPA(studentId);
         return new ResponseEntity<>(gpa, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Calculate GPAs for many students",
+            description = "Calculates the GPA of every listed student, or of everyone with a grade in the given course, " +
+                    "using grouped queries. Results are written to the response as they are computed."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "GPAs calculated successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentGpaDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Neither student IDs nor a course ID were given",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Course not found",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/gpa/batch")
+    public void calculateBatchGPA(
+            @Parameter(description = "Student IDs or course ID", required = true)
+            @RequestBody GpaBatchRequest request,
+            HttpServletResponse response) throws IOException {
+        JsonResponseStreamer<StudentGpaDTO> streamer = JsonResponseStreamer.jsonArray(objectMapper, response);
+        if (request.getCourseId() != null) {
+            gradeService.calculateGPAsByCourseId(String.valueOf(request.getCourseId()), streamer);
+        } else {
+            gradeService.calculateGPAs(request.getStudentIds(), streamer);
+        }
+        streamer.finish();
+    }
+
     @PostMapping("/calculate-letter-grade")
-    public ResponseEntity<String> calculateLetterGrade(@RequestParam double score) {
-        String letterGrade = gradeService.calculateLetterGrade(score);
+    public ResponseEntity<String> calculateLetterGrade(
+            @RequestParam double score,
+            @Parameter(description = "Grading scale to use, e.g. standard or plus-minus; defaults to the configured default scale")
+            @RequestParam(required = false) String scale) {
+        String letterGrade = scale != null
+                ? gradeService.calculateLetterGrade(score, scale)
+                : gradeService.calculateLetterGrade(score);
         return new ResponseEntity<>(letterGrade, HttpStatus.OK);
     }
 }
@@ -0,0 +1,78 @@
+package com.rca.demo_course.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes elements to the response while they are produced, either as one JSON array or as
+ * newline-delimited JSON. Nothing is written until the first element arrives, so exceptions
+ * thrown before that still reach the exception handlers with an uncommitted response.
+ */
+class JsonResponseStreamer<T> implements Consumer<T> {
+
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final ObjectMapper objectMapper;
+    private final HttpServletResponse response;
+    private final boolean ndjson;
+    private SequenceWriter arrayWriter;
+    private ServletOutputStream lineOutput;
+
+    private JsonResponseStreamer(ObjectMapper objectMapper, HttpServletResponse response, boolean ndjson) {
+        this.objectMapper = objectMapper;
+        this.response = response;
+        this.ndjson = ndjson;
+    }
+
+    static <T> JsonResponseStreamer<T> jsonArray(ObjectMapper objectMapper, HttpServletResponse response) {
+        return new JsonResponseStreamer<>(objectMapper, response, false);
+    }
+
+    static <T> JsonResponseStreamer<T> ndjson(ObjectMapper objectMapper, HttpServletResponse response) {
+        return new JsonResponseStreamer<>(objectMapper, response, true);
+    }
+
+    @Override
+    public void accept(T element) {
+        try {
+            open();
+            if (ndjson) {
+                lineOutput.write(objectMapper.writeValueAsBytes(element));
+                lineOutput.write('\n');
+            } else {
+                arrayWriter.write(element);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void finish() throws IOException {
+        open();
+        if (ndjson) {
+            lineOutput.flush();
+        } else {
+            arrayWriter.close();
+        }
+    }
+
+    private void open() throws IOException {
+        if (arrayWriter != null || lineOutput != null) {
+            return;
+        }
+        if (ndjson) {
+            response.setContentType(APPLICATION_NDJSON_VALUE);
+            lineOutput = response.getOutputStream();
+        } else {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            arrayWriter = objectMapper.writer().writeValuesAsArray(response.getOutputStream());
+        }
+    }
+}
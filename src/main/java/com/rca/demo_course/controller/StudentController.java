@@ -1,15 +1,22 @@
 package com.rca.demo_course.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.dto.CursorPage;
 import com.rca.demo_course.dto.StudentDTO;
+import com.rca.demo_course.dto.StudentGpaDTO;
+import com.rca.demo_course.dto.TranscriptDTO;
 import com.rca.demo_course.mapper.StudentMapper;
 import com.rca.demo_course.service.StudentService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,6 +31,9 @@ public class StudentController {
     @Autowired
     private StudentMapper studentMapper;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<StudentDTO> createStudent(@Valid @RequestBody StudentDTO studentDTO) {
         Student student = studentMapper.toEntity(studentDTO);
@@ -32,17 +42,36 @@ public class StudentController {
         return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
     }
 
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<StudentGpaDTO>> getLeaderboard(@RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(studentService.findLeaderboard(limit), HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<StudentDTO> getStudentById(@PathVariable String id) {
+    public ResponseEntity<StudentDTO> getStudentById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String tag = EntityTags.of(studentService.findVersion(id));
+            if (EntityTags.matches(ifNoneMatch, tag)) {
+                return EntityTags.notModified(tag);
+            }
+        }
         Student student = studentService.findById(id);
         if (student != null) {
             StudentDTO studentDTO = studentMapper.toDTO(student);
-            return new ResponseEntity<>(studentDTO, HttpStatus.OK);
+            return EntityTags.ok(studentDTO, EntityTags.of(student.getVersion()));
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
 
+    @GetMapping("/{id}/transcript")
+    public ResponseEntity<TranscriptDTO> getTranscript(@PathVariable String id) {
+        Student student = studentService.findTranscript(id);
+        return new ResponseEntity<>(studentMapper.toTranscriptDTO(student), HttpStatus.OK);
+    }
+
     @GetMapping("/email/{email}")
     public ResponseEntity<StudentDTO> getStudentByEmail(@PathVariable String email) {
         Student student = studentService.findByEmail(email);
@@ -54,22 +83,57 @@ public class StudentController {
         }
     }
 
+    // The version is read before the rows, so a write in between can only make the tag older than the body
     @GetMapping
-    public ResponseEntity<List<StudentDTO>> getAllStudents() {
+    public ResponseEntity<List<StudentDTO>> getAllStudents(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String tag = EntityTags.of(studentService.findCollectionVersion());
+        if (EntityTags.matches(ifNoneMatch, tag)) {
+            return EntityTags.notModified(tag);
+        }
         List<Student> students = studentService.findAll();
         List<StudentDTO> studentDTOs = students.stream()
                 .map(studentMapper::toDTO)
                 .collect(Collectors.toList());
+        return EntityTags.ok(studentDTOs, tag);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<StudentDTO>> searchStudents(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<StudentDTO> studentDTOs = studentService.search(query, limit).stream()
+                .map(studentMapper::toDTO)
+                .collect(Collectors.toList());
         return new ResponseEntity<>(studentDTOs, HttpStatus.OK);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<StudentDTO>> getStudentPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        CursorPage<StudentDTO> page = studentService.findPage(after, limit).map(studentMapper::toDTO);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/stream")
+    public void streamStudents(HttpServletResponse response) throws IOException {
+        JsonResponseStreamer<StudentDTO> streamer = JsonResponseStreamer.ndjson(objectMapper, response);
+        studentService.streamAll(student -> streamer.accept(studentMapper.toDTO(student)));
+        streamer.finish();
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<StudentDTO> updateStudent(@PathVariable String id, @Valid @RequestBody StudentDTO studentDTO) {
+    public ResponseEntity<StudentDTO> updateStudent(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody StudentDTO studentDTO) {
         studentDTO.setId(Long.parseLong(id));
         Student student = studentMapper.toEntity(studentDTO);
+        student.setVersion(EntityTags.versionOf(ifMatch));
         Student updatedStudent = studentService.update(student);
         StudentDTO responseDTO = studentMapper.toDTO(updatedStudent);
-        return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+        return EntityTags.ok(responseDTO, EntityTags.of(updatedStudent.getVersion()));
     }
 
     @DeleteMapping("/{id}")
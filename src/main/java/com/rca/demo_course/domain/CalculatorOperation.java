@@ -0,0 +1,38 @@
+package com.rca.demo_course.domain;
+
+import java.util.Locale;
+
+/**
+ * Operations available to the batch calculator. Unary operations ignore the second operand.
+ */
+public enum CalculatorOperation {
+    ADD(true),
+    SUBTRACT(true),
+    MULTIPLY(true),
+    DIVIDE(true),
+    POWER(true),
+    PERCENTAGE(true),
+    SQRT(false),
+    ABS(false);
+
+    private final boolean binary;
+
+    CalculatorOperation(boolean binary) {
+        this.binary = binary;
+    }
+
+    public boolean isBinary() {
+        return binary;
+    }
+
+    public static CalculatorOperation fromName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Operation is required");
+        }
+        try {
+            return valueOf(name.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown operation: " + name);
+        }
+    }
+}
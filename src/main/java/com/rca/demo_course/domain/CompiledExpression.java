@@ -0,0 +1,377 @@
+package com.rca.demo_course.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An arithmetic formula such as {@code sqrt(a*a + b*b) % c}, parsed once into a syntax tree and
+ * compiled into a tree of closures. Variables are bound to array slots at compile time, so
+ * evaluating the same formula again does no parsing, no lookups by name and no boxing.
+ * <p>
+ * Supported: numbers ({@code 2}, {@code 0.5}, {@code 1e3}), variables, {@code + - * / %},
+ * {@code ^} (right-associative, binds tighter than unary minus), parentheses and the functions
+ * {@code sqrt, abs, pow, min, max, percentage}. Instances are immutable and thread-safe.
+ */
+public final class CompiledExpression {
+
+    public static final int MAX_LENGTH = 1000;
+
+    // Bounds parser recursion for inputs like "((((...))))"
+    private static final int MAX_DEPTH = 100;
+
+    @FunctionalInterface
+    private interface Node {
+        double eval(double[] values);
+    }
+
+    private sealed interface Ast permits Num, Var, Neg, Binary, Call {
+    }
+
+    private record Num(double value) implements Ast {
+    }
+
+    private record Var(int slot) implements Ast {
+    }
+
+    private record Neg(Ast operand) implements Ast {
+    }
+
+    private record Binary(char operator, Ast left, Ast right) implements Ast {
+    }
+
+    private record Call(String function, List<Ast> arguments) implements Ast {
+    }
+
+    private final String source;
+    private final List<String> variables;
+    private final Node root;
+
+    private CompiledExpression(String source, List<String> variables, Node root) {
+        this.source = source;
+        this.variables = variables;
+        this.root = root;
+    }
+
+    /**
+     * Parses and compiles a formula.
+     *
+     * @throws IllegalArgumentException if the formula is empty, too long or not well-formed
+     */
+    public static CompiledExpression compile(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Expression cannot be null or empty");
+        }
+        if (source.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Expression can be at most " + MAX_LENGTH + " characters long");
+        }
+        Parser parser = new Parser(source);
+        Ast ast = parser.parse();
+        return new CompiledExpression(source, List.copyOf(parser.slots.keySet()), toNode(ast));
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Names of the variables in the formula, in order of first appearance.
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    public double evaluate(Map<String, Double> values) {
+        double[] slots = new double[variables.size()];
+        for (int i = 0; i < slots.length; i++) {
+            Double value = values != null ? values.get(variables.get(i)) : null;
+            if (value == null) {
+                throw new IllegalArgumentException("Missing value for variable: " + variables.get(i));
+            }
+            slots[i] = value;
+        }
+        return root.eval(slots);
+    }
+
+    /**
+     * Evaluates with values given in the order of {@link #getVariables()}.
+     */
+    public double evaluate(double... values) {
+        if (values.length != variables.size()) {
+            throw new IllegalArgumentException("Expected " + variables.size() + " values for " + variables + " but got " + values.length);
+        }
+        return root.eval(values);
+    }
+
+    private static Node toNode(Ast ast) {
+        // Subtrees without variables are evaluated once here rather than on every call
+        if (!(ast instanceof Num) && isConstant(ast)) {
+            double value = build(ast).eval(new double[0]);
+            return values -> value;
+        }
+        return build(ast);
+    }
+
+    private static Node build(Ast ast) {
+        return switch (ast) {
+            case Num num -> {
+                double value = num.value();
+                yield values -> value;
+            }
+            case Var var -> {
+                int slot = var.slot();
+                yield values -> values[slot];
+            }
+            case Neg neg -> {
+                Node operand = toNode(neg.operand());
+                yield values -> -operand.eval(values);
+            }
+            case Binary binary -> compileBinary(binary.operator(), toNode(binary.left()), toNode(binary.right()));
+            case Call call -> compileCall(call.function(), call.arguments().stream().map(CompiledExpression::toNode).toList());
+        };
+    }
+
+    private static Node compileBinary(char operator, Node left, Node right) {
+        return switch (operator) {
+            case '+' -> values -> left.eval(values) + right.eval(values);
+            case '-' -> values -> left.eval(values) - right.eval(values);
+            case '*' -> values -> left.eval(values) * right.eval(values);
+            case '/' -> values -> {
+                double divisor = right.eval(values);
+                if (divisor == 0) {
+                    throw new IllegalArgumentException("Division by zero is not allowed");
+                }
+                return left.eval(values) / divisor;
+            };
+            case '%' -> values -> {
+                double divisor = right.eval(values);
+                if (divisor == 0) {
+                    throw new IllegalArgumentException("Modulo by zero is not allowed");
+                }
+                return left.eval(values) % divisor;
+            };
+            case '^' -> values -> Math.pow(left.eval(values), right.eval(values));
+            default -> throw new IllegalStateException("Unknown operator: " + operator);
+        };
+    }
+
+    private static Node compileCall(String function, List<Node> arguments) {
+        Node first = arguments.get(0);
+        Node second = arguments.size() > 1 ? arguments.get(1) : null;
+        return switch (function) {
+            case "sqrt" -> values -> {
+                double number = first.eval(values);
+                if (number < 0) {
+                    throw new IllegalArgumentException("Cannot calculate square root of negative number");
+                }
+                return Math.sqrt(number);
+            };
+            case "abs" -> values -> Math.abs(first.eval(values));
+            case "pow" -> values -> Math.pow(first.eval(values), second.eval(values));
+            case "min" -> values -> Math.min(first.eval(values), second.eval(values));
+            case "max" -> values -> Math.max(first.eval(values), second.eval(values));
+            case "percentage" -> values -> (first.eval(values) * second.eval(values)) / 100;
+            default -> throw new IllegalStateException("Unknown function: " + function);
+        };
+    }
+
+    private static boolean isConstant(Ast ast) {
+        return switch (ast) {
+            case Num num -> true;
+            case Var var -> false;
+            case Neg neg -> isConstant(neg.operand());
+            case Binary binary -> isConstant(binary.left()) && isConstant(binary.right());
+            case Call call -> call.arguments().stream().allMatch(CompiledExpression::isConstant);
+        };
+    }
+
+    /**
+     * Recursive-descent parser:
+     * <pre>
+     * expression := term (('+' | '-') term)*
+     * term       := unary (('*' | '/' | '%') unary)*
+     * unary      := ('-' | '+') unary | power
+     * power      := primary ('^' unary)?
+     * primary    := number | name | name '(' expression (',' expression)* ')' | '(' expression ')'
+     * </pre>
+     */
+    private static final class Parser {
+
+        private static final Map<String, Integer> ARITY = Map.of(
+            "sqrt", 1, "abs", 1, "pow", 2, "min", 2, "max", 2, "percentage", 2);
+
+        private final String input;
+        private final Map<String, Integer> slots = new LinkedHashMap<>();
+        private int position;
+        private int depth;
+
+        Parser(String input) {
+            this.input = input;
+        }
+
+        Ast parse() {
+            Ast ast = expression();
+            skipWhitespace();
+            if (position < input.length()) {
+                throw error("Unexpected '" + input.charAt(position) + "'");
+            }
+            return ast;
+        }
+
+        private Ast expression() {
+            if (++depth > MAX_DEPTH) {
+                throw error("Expression is nested too deeply");
+            }
+            Ast ast = term();
+            while (true) {
+                if (accept('+')) {
+                    ast = new Binary('+', ast, term());
+                } else if (accept('-')) {
+                    ast = new Binary('-', ast, term());
+                } else {
+                    depth--;
+                    return ast;
+                }
+            }
+        }
+
+        private Ast term() {
+            Ast ast = unary();
+            while (true) {
+                if (accept('*')) {
+                    ast = new Binary('*', ast, unary());
+                } else if (accept('/')) {
+                    ast = new Binary('/', ast, unary());
+                } else if (accept('%')) {
+                    ast = new Binary('%', ast, unary());
+                } else {
+                    return ast;
+                }
+            }
+        }
+
+        private Ast unary() {
+            if (++depth > MAX_DEPTH) {
+                throw error("Expression is nested too deeply");
+            }
+            Ast ast;
+            if (accept('-')) {
+                ast = new Neg(unary());
+            } else if (accept('+')) {
+                ast = unary();
+            } else {
+                ast = power();
+            }
+            depth--;
+            return ast;
+        }
+
+        private Ast power() {
+            Ast base = primary();
+            return accept('^') ? new Binary('^', base, unary()) : base;
+        }
+
+        private Ast primary() {
+            skipWhitespace();
+            if (position >= input.length()) {
+                throw error("Unexpected end of expression");
+            }
+            char c = input.charAt(position);
+            if (accept('(')) {
+                Ast ast = expression();
+                expect(')');
+                return ast;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return number();
+            }
+            if (Character.isLetter(c) || c == '_') {
+                return name();
+            }
+            throw error("Unexpected '" + c + "'");
+        }
+
+        private Ast number() {
+            int start = position;
+            while (position < input.length() && (Character.isDigit(input.charAt(position)) || input.charAt(position) == '.')) {
+                position++;
+            }
+            if (position < input.length() && (input.charAt(position) == 'e' || input.charAt(position) == 'E')) {
+                int exponent = position + 1;
+                if (exponent < input.length() && (input.charAt(exponent) == '+' || input.charAt(exponent) == '-')) {
+                    exponent++;
+                }
+                if (exponent < input.length() && Character.isDigit(input.charAt(exponent))) {
+                    position = exponent;
+                    while (position < input.length() && Character.isDigit(input.charAt(position))) {
+                        position++;
+                    }
+                }
+            }
+            String text = input.substring(start, position);
+            try {
+                return new Num(Double.parseDouble(text));
+            } catch (NumberFormatException e) {
+                position = start;
+                throw error("Invalid number '" + text + "'");
+            }
+        }
+
+        private Ast name() {
+            int start = position;
+            while (position < input.length()
+                    && (Character.isLetterOrDigit(input.charAt(position)) || input.charAt(position) == '_')) {
+                position++;
+            }
+            String name = input.substring(start, position);
+            if (!accept('(')) {
+                return new Var(slots.computeIfAbsent(name, key -> slots.size()));
+            }
+
+            Integer arity = ARITY.get(name);
+            if (arity == null) {
+                position = start;
+                throw error("Unknown function '" + name + "'");
+            }
+            List<Ast> arguments = new ArrayList<>(arity);
+            arguments.add(expression());
+            while (accept(',')) {
+                arguments.add(expression());
+            }
+            expect(')');
+            if (arguments.size() != arity) {
+                position = start;
+                throw error("Function '" + name + "' takes " + arity + " argument" + (arity == 1 ? "" : "s")
+                        + " but got " + arguments.size());
+            }
+            return new Call(name, Collections.unmodifiableList(arguments));
+        }
+
+        private boolean accept(char expected) {
+            skipWhitespace();
+            if (position < input.length() && input.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            if (!accept(expected)) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + (position + 1) + " in expression: " + input);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
@@ -18,8 +19,11 @@ import java.util.List;
 @NoArgsConstructor
 public class Course {
 
+    public static final String ID_SEQUENCE = "courses_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = IdAllocation.BLOCK_SIZE)
     private Long id;
 
     @NotBlank(message = "Course name is required")
@@ -37,6 +41,21 @@ public class Course {
     @Column(name = "credits", nullable = false)
     private Integer credits;
 
+    // Name of the grading scale used for this course's grades; null means the default scale
+    @Size(max = 20, message = "Grading scale name must be at most 20 characters")
+    @Column(name = "grading_scale", length = 20)
+    private String gradingScale;
+
+    // Incremented by every update and served as the course's ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Grade> grades;
+
+    public Course(Long id, String name, String code, Integer credits, List<Grade> grades) {
+        this(id, name, code, credits, null, null, grades);
+    }
 }
@@ -0,0 +1,169 @@
+package com.rca.demo_course.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Score distribution of one course. Scores have two decimals between 0 and 100, so the
+ * distribution is kept exactly as a count per hundredth of a point, stored as a Fenwick
+ * (binary indexed) tree. Adding or removing a grade, ranking a score, and finding a percentile,
+ * the min or the max each take about 14 steps, whatever the number of grades.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class CourseScoreStatistics {
+
+    // One bucket per hundredth of a point, 0.00 to 100.00
+    static final int BUCKETS = 10_001;
+
+    private static final int HIGHEST_STEP = Integer.highestOneBit(BUCKETS);
+
+    // Fenwick tree over the bucket counts, 1-based: tree[i] covers the buckets (i - (i & -i), i]
+    private final int[] tree;
+    private final Map<String, Long> letterCounts;
+    private long count;
+    // Sums in hundredths, so that they stay exact
+    private long sum;
+    private long sumOfSquares;
+
+    public CourseScoreStatistics() {
+        this.tree = new int[BUCKETS + 1];
+        this.letterCounts = new TreeMap<>();
+    }
+
+    private CourseScoreStatistics(CourseScoreStatistics other) {
+        this.tree = other.tree.clone();
+        this.letterCounts = new TreeMap<>(other.letterCounts);
+        this.count = other.count;
+        this.sum = other.sum;
+        this.sumOfSquares = other.sumOfSquares;
+    }
+
+    public void add(BigDecimal score, String letterGrade) {
+        apply(bucketOf(score), letterGrade, 1);
+    }
+
+    public void remove(BigDecimal score, String letterGrade) {
+        int bucket = bucketOf(score);
+        // A removal that was never added means the distribution is out of date; the rebuild repairs it
+        if (countAt(bucket) == 0) {
+            return;
+        }
+        apply(bucket, letterGrade, -1);
+    }
+
+    private void apply(int bucket, String letterGrade, long delta) {
+        for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+            tree[i] += (int) delta;
+        }
+        count += delta;
+        sum += bucket * delta;
+        sumOfSquares += (long) bucket * bucket * delta;
+        if (letterGrade != null) {
+            letterCounts.merge(letterGrade, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    public CourseScoreStatistics copy() {
+        return new CourseScoreStatistics(this);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public BigDecimal getMean() {
+        if (count == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count * 100), 2, RoundingMode.HALF_UP);
+    }
+
+    // Population standard deviation
+    public BigDecimal getStandardDeviation() {
+        if (count == 0) {
+            return null;
+        }
+        double mean = (double) sum / count;
+        double variance = Math.max(0.0, (double) sumOfSquares / count - mean * mean);
+        return BigDecimal.valueOf(Math.sqrt(variance) / 100).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal getMin() {
+        return count == 0 ? null : scoreOf(select(1));
+    }
+
+    public BigDecimal getMax() {
+        return count == 0 ? null : scoreOf(select(count));
+    }
+
+    /**
+     * Nearest-rank percentile: the lowest score that at least {@code percentile} percent of the
+     * grades are less than or equal to.
+     */
+    public BigDecimal getPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be greater than 0 and at most 100: " + percentile);
+        }
+        if (count == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        return scoreOf(select(Math.min(rank, count)));
+    }
+
+    /**
+     * Where {@code score} falls among the grades of the course.
+     */
+    public ScoreRank rank(BigDecimal score) {
+        int bucket = bucketOf(score);
+        long atOrBelow = countAtOrBelow(bucket);
+        long at = countAt(bucket);
+        return new ScoreRank(count, atOrBelow - at, at);
+    }
+
+    public Map<String, Long> getLetterCounts() {
+        return Collections.unmodifiableMap(letterCounts);
+    }
+
+    private long countAtOrBelow(int bucket) {
+        long total = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            total += tree[i];
+        }
+        return total;
+    }
+
+    private long countAt(int bucket) {
+        return countAtOrBelow(bucket) - (bucket > 0 ? countAtOrBelow(bucket - 1) : 0);
+    }
+
+    // The bucket holding the rank-th lowest score, 1-based; walks down the tree instead of summing prefixes
+    private int select(long rank) {
+        int position = 0;
+        long remaining = rank;
+        for (int step = HIGHEST_STEP; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= BUCKETS && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    private static int bucketOf(BigDecimal score) {
+        int bucket = score.setScale(2, RoundingMode.HALF_UP).unscaledValue().intValueExact();
+        if (bucket < 0 || bucket >= BUCKETS) {
+            throw new IllegalArgumentException("Score must be between 0 and 100: " + score);
+        }
+        return bucket;
+    }
+
+    private static BigDecimal scoreOf(int bucket) {
+        return BigDecimal.valueOf(bucket, 2);
+    }
+}
@@ -0,0 +1,88 @@
+package com.rca.demo_course.domain;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Students with at least one grade, ordered by GPA. The standings sit in a concurrent skip
+ * list, so a grade write moves one student in O(log n) and the top N are read without a lock
+ * and without looking at anyone below them.
+ */
+public class GpaLeaderboard {
+
+    // Highest GPA first, then highest weighted GPA, then lowest student ID
+    private static final Comparator<GpaStanding> ORDER =
+            Comparator.comparingDouble(GpaStanding::getGpa).reversed()
+                    .thenComparing(Comparator.comparingDouble(GpaStanding::getWeightedGpa).reversed())
+                    .thenComparingLong(GpaStanding::studentId);
+
+    private final Map<Long, GpaStanding> standings = new ConcurrentHashMap<>();
+    private final NavigableSet<GpaStanding> ranking = new ConcurrentSkipListSet<>(ORDER);
+
+    /**
+     * Adds the deltas to a student's totals and moves them to their new place. A student whose
+     * last grade was removed leaves the leaderboard.
+     */
+    public void apply(long studentId, long grades, long pointHundredths, long credits, long weightedPointHundredths) {
+        // compute() serializes writers of the same student
+        standings.compute(studentId, (id, current) -> {
+            GpaStanding updated = (current != null ? current : new GpaStanding(id, 0, 0, 0, 0))
+                    .plus(grades, pointHundredths, credits, weightedPointHundredths);
+            if (current != null) {
+                ranking.remove(current);
+            }
+            if (updated.gradeCount() <= 0) {
+                return null;
+            }
+            ranking.add(updated);
+            return updated;
+        });
+    }
+
+    public void put(GpaStanding standing) {
+        standings.compute(standing.studentId(), (id, current) -> {
+            if (current != null) {
+                ranking.remove(current);
+            }
+            ranking.add(standing);
+            return standing;
+        });
+    }
+
+    public void remove(long studentId) {
+        standings.computeIfPresent(studentId, (id, current) -> {
+            ranking.remove(current);
+            return null;
+        });
+    }
+
+    public List<GpaStanding> top(int limit) {
+        List<GpaStanding> top = new ArrayList<>(Math.min(limit, standings.size()));
+        // A student moving while we iterate can be passed twice, at the old and the new place
+        Set<Long> seen = new HashSet<>();
+        Iterator<GpaStanding> it = ranking.iterator();
+        while (top.size() < limit && it.hasNext()) {
+            GpaStanding standing = it.next();
+            if (seen.add(standing.studentId())) {
+                top.add(standing);
+            }
+        }
+        return top;
+    }
+
+    public GpaStanding get(long studentId) {
+        return standings.get(studentId);
+    }
+
+    public int size() {
+        return standings.size();
+    }
+}
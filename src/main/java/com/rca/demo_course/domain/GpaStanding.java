@@ -0,0 +1,22 @@
+package com.rca.demo_course.domain;
+
+/**
+ * GPA totals of one student as held by the {@link GpaLeaderboard}. Grade points have two
+ * decimals, so the sums are kept in hundredths of a point and never drift.
+ */
+public record GpaStanding(long studentId, long gradeCount, long pointHundredths,
+                          long totalCredits, long weightedPointHundredths) {
+
+    public GpaStanding plus(long grades, long points, long credits, long weightedPoints) {
+        return new GpaStanding(studentId, gradeCount + grades, pointHundredths + points,
+                totalCredits + credits, weightedPointHundredths + weightedPoints);
+    }
+
+    public double getGpa() {
+        return gradeCount == 0 ? 0.0 : pointHundredths / 100.0 / gradeCount;
+    }
+
+    public double getWeightedGpa() {
+        return totalCredits == 0 ? 0.0 : weightedPointHundredths / 100.0 / totalCredits;
+    }
+}
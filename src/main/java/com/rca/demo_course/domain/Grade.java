@@ -7,18 +7,26 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "grades")
+// Composite indexes back the keyset-paginated and streamed per-student and per-course listings
+@Table(name = "grades", indexes = {
+    @Index(name = "idx_grades_student_id_id", columnList = "student_id, id"),
+    @Index(name = "idx_grades_course_id_id", columnList = "course_id, id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Grade {
 
+    public static final String ID_SEQUENCE = "grades_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = IdAllocation.BLOCK_SIZE)
     private Long id;
 
     @NotNull(message = "Student is required")
@@ -39,4 +47,14 @@ public class Grade {
 
     @Column(name = "letter_grade", length = 2)
     private String letterGrade;
+
+    // Points of the letter grade on the course's grading scale at the time the grade was written
+    @Column(name = "grade_points", precision = 3, scale = 2)
+    private BigDecimal gradePoints;
+
+    // Incremented by every update and served as the grade's ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -0,0 +1,168 @@
+package com.rca.demo_course.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps scores to letter grades and grade points. A scale is a list of bands, each naming the
+ * lowest score that earns it. The bands are compiled into a table with one entry per hundredth
+ * of a point, so classifying a score is a single array read and allocates nothing.
+ */
+public final class GradingScale {
+
+    public static final String STANDARD = "standard";
+    public static final String PLUS_MINUS = "plus-minus";
+
+    // Scores are stored with two decimals, so 0.00..100.00 has 10001 distinct values
+    private static final int SCORE_STEPS = 10_000;
+
+    // Absorbs binary rounding, e.g. 89.99 * 100 = 8998.999999999999
+    private static final double ROUNDING_SLACK = 1e-7;
+
+    // Bounded by the grades.letter_grade and grades.grade_points columns
+    private static final int MAX_LETTER_LENGTH = 2;
+    private static final double MAX_POINTS = 9.99;
+
+    public record Band(String letter, BigDecimal minScore, double points) {
+    }
+
+    private final String name;
+    private final List<Band> bands;
+    private final String[] letters;
+    private final double[] points;
+    private final byte[] bandByStep;
+    private final Map<String, Integer> bandByLetter;
+
+    public GradingScale(String name, List<Band> bands) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Grading scale name cannot be null or empty");
+        }
+        if (bands == null || bands.isEmpty()) {
+            throw new IllegalArgumentException("Grading scale " + name + " needs at least one band");
+        }
+        if (bands.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Grading scale " + name + " has more than " + Byte.MAX_VALUE + " bands");
+        }
+
+        this.name = name;
+        bands.forEach(this::validate);
+        List<Band> sorted = new ArrayList<>(bands);
+        sorted.sort(Comparator.comparing(Band::minScore).reversed());
+        this.bands = List.copyOf(sorted);
+        this.letters = new String[sorted.size()];
+        this.points = new double[sorted.size()];
+        this.bandByStep = new byte[SCORE_STEPS + 1];
+        this.bandByLetter = new HashMap<>();
+
+        int upper = SCORE_STEPS;
+        for (int i = 0; i < sorted.size(); i++) {
+            Band band = sorted.get(i);
+            int lower = toStep(band.minScore());
+            if (lower > upper) {
+                throw new IllegalArgumentException("Grading scale " + name + " has two bands starting at " + band.minScore());
+            }
+            if (bandByLetter.putIfAbsent(band.letter(), i) != null) {
+                throw new IllegalArgumentException("Grading scale " + name + " has two bands for letter " + band.letter());
+            }
+            letters[i] = band.letter();
+            points[i] = band.points();
+            for (int step = lower; step <= upper; step++) {
+                bandByStep[step] = (byte) i;
+            }
+            upper = lower - 1;
+        }
+        if (upper >= 0) {
+            throw new IllegalArgumentException("Grading scale " + name + " must have a band starting at 0");
+        }
+    }
+
+    /**
+     * Parses a scale written as comma-separated {@code letter:minScore:points} bands,
+     * e.g. {@code A:90:4.0,B:80:3.0,C:70:2.0,D:60:1.0,F:0:0.0}.
+     */
+    public static GradingScale parse(String name, String spec) {
+        if (spec == null || spec.isBlank()) {
+            throw new IllegalArgumentException("Grading scale " + name + " has an empty definition");
+        }
+        List<Band> bands = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.strip().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid band '" + entry.strip() + "' in grading scale " + name
+                        + ", expected letter:minScore:points");
+            }
+            try {
+                bands.add(new Band(parts[0].strip(), new BigDecimal(parts[1].strip()), Double.parseDouble(parts[2].strip())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number in band '" + entry.strip() + "' of grading scale " + name);
+            }
+        }
+        return new GradingScale(name, bands);
+    }
+
+    public static GradingScale standard() {
+        return parse(STANDARD, "A:90:4.0,B:80:3.0,C:70:2.0,D:60:1.0,F:0:0.0");
+    }
+
+    public static GradingScale plusMinus() {
+        return parse(PLUS_MINUS, "A+:97:4.0,A:93:4.0,A-:90:3.7,B+:87:3.3,B:83:3.0,B-:80:2.7,"
+                + "C+:77:2.3,C:73:2.0,C-:70:1.7,D+:67:1.3,D:63:1.0,D-:60:0.7,F:0:0.0");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Band> getBands() {
+        return bands;
+    }
+
+    public String letterFor(double score) {
+        return letters[bandByStep[stepOf(score)]];
+    }
+
+    public double pointsFor(double score) {
+        return points[bandByStep[stepOf(score)]];
+    }
+
+    /**
+     * Returns the points of a letter on this scale, or 0.0 for letters the scale does not know.
+     */
+    public double pointsFor(String letter) {
+        Integer band = letter != null ? bandByLetter.get(letter) : null;
+        return band != null ? points[band] : 0.0;
+    }
+
+    private static int stepOf(double score) {
+        // Written so that NaN fails the check as well
+        if (!(score >= 0 && score <= 100)) {
+            throw new IllegalArgumentException("Score must be between 0 and 100: " + score);
+        }
+        return (int) (score * 100 + ROUNDING_SLACK);
+    }
+
+    private static int toStep(BigDecimal score) {
+        return score.movePointRight(2).intValueExact();
+    }
+
+    private void validate(Band band) {
+        if (band == null || band.letter() == null || band.letter().isBlank()
+                || band.letter().length() > MAX_LETTER_LENGTH) {
+            throw new IllegalArgumentException("Grading scale " + name + " has a band without a valid letter (1-"
+                    + MAX_LETTER_LENGTH + " characters)");
+        }
+        BigDecimal min = band.minScore();
+        if (min == null || min.signum() < 0 || min.compareTo(BigDecimal.valueOf(100)) > 0 || min.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("Band " + band.letter() + " of grading scale " + name
+                    + " must start at a score between 0 and 100 with at most two decimals");
+        }
+        if (!(band.points() >= 0 && band.points() <= MAX_POINTS)) {
+            throw new IllegalArgumentException("Band " + band.letter() + " of grading scale " + name
+                    + " must be worth between 0 and " + MAX_POINTS + " points");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.rca.demo_course.domain;
+
+/**
+ * Entity IDs come from database sequences that advance by {@link #BLOCK_SIZE}. Each value
+ * fetched from a sequence reserves the block of IDs ending at that value (Hibernate's pooled
+ * optimizer), so inserts need one sequence call per block and can be sent as JDBC batches.
+ */
+public final class IdAllocation {
+
+    public static final int BLOCK_SIZE = 50;
+
+    private IdAllocation() {
+    }
+}
@@ -0,0 +1,237 @@
+package com.rca.demo_course.domain;
+
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the words of short texts such as names, keyed by ID. Words are
+ * lower-cased and stripped of accents. A query word matches an indexed word that is equal to
+ * it, starts with it, or, from three characters on, is one typo away from it (one character
+ * inserted, deleted, replaced, or two neighbours swapped).
+ * <p>
+ * Prefixes are looked up in a sorted map of the words. Typos are found without comparing the
+ * query against every word: each word is also filed under its variants with one character
+ * deleted, and two words one typo apart always share such a variant.
+ * <p>
+ * Reads run concurrently; writes take an exclusive lock.
+ */
+public class NameSearchIndex {
+
+    // Fuzzy matching of shorter words matches almost anything
+    static final int MIN_FUZZY_LENGTH = 3;
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int FUZZY = 1;
+
+    private final NavigableMap<String, Set<Long>> idsByWord = new TreeMap<>();
+    // A word and its one-deletion variants, each pointing back at the indexed words they came from
+    private final Map<String, Set<String>> wordsByVariant = new HashMap<>();
+    private final Map<Long, List<String>> wordsById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes the words of {@code text} under {@code id}, replacing what was indexed for it before.
+     */
+    public void put(long id, String text) {
+        List<String> words = tokenize(text);
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+            if (!words.isEmpty()) {
+                wordsById.put(id, words);
+                for (String word : words) {
+                    Set<Long> ids = idsByWord.computeIfAbsent(word, w -> new HashSet<>());
+                    if (ids.isEmpty()) {
+                        for (String variant : variants(word)) {
+                            wordsByVariant.computeIfAbsent(variant, v -> new HashSet<>()).add(word);
+                        }
+                    }
+                    ids.add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return wordsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs whose text matches every word of the query, best matches first: an exact word counts
+     * more than a prefix, and a prefix more than a typo. Equal matches are ordered by ID.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> queryWords = tokenize(query);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String queryWord : queryWords) {
+                Map<Long, Integer> matches = match(queryWord);
+                scores = scores == null ? matches : intersect(scores, matches);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score of each ID for one query word
+    private Map<Long, Integer> match(String queryWord) {
+        Map<Long, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Set<Long>> entry : idsByWord.subMap(queryWord, true, queryWord + Character.MAX_VALUE, false).entrySet()) {
+            int score = entry.getKey().equals(queryWord) ? EXACT : PREFIX;
+            for (Long id : entry.getValue()) {
+                scores.merge(id, score, Math::max);
+            }
+        }
+        if (queryWord.length() >= MIN_FUZZY_LENGTH) {
+            Set<String> candidates = new HashSet<>();
+            for (String variant : variants(queryWord)) {
+                candidates.addAll(wordsByVariant.getOrDefault(variant, Set.of()));
+            }
+            for (String word : candidates) {
+                if (!word.startsWith(queryWord) && isOneEditApart(queryWord, word)) {
+                    for (Long id : idsByWord.get(word)) {
+                        scores.merge(id, FUZZY, Math::max);
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static Map<Long, Integer> intersect(Map<Long, Integer> scores, Map<Long, Integer> matches) {
+        Map<Long, Integer> smaller = scores.size() <= matches.size() ? scores : matches;
+        Map<Long, Integer> larger = smaller == scores ? matches : scores;
+        Map<Long, Integer> both = new HashMap<>();
+        for (Map.Entry<Long, Integer> entry : smaller.entrySet()) {
+            Integer other = larger.get(entry.getKey());
+            if (other != null) {
+                both.put(entry.getKey(), entry.getValue() + other);
+            }
+        }
+        return both;
+    }
+
+    private void unindex(long id) {
+        List<String> words = wordsById.remove(id);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Set<Long> ids = idsByWord.get(word);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                idsByWord.remove(word);
+                for (String variant : variants(word)) {
+                    Set<String> shared = wordsByVariant.get(variant);
+                    if (shared != null && shared.remove(word) && shared.isEmpty()) {
+                        wordsByVariant.remove(variant);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The distinct words of a text, lower-cased and without accents.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : SEPARATORS.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return List.copyOf(words);
+    }
+
+    // The word itself and every way of deleting one of its characters
+    private static Set<String> variants(String word) {
+        Set<String> variants = new HashSet<>(word.length() * 2);
+        variants.add(word);
+        if (word.length() >= MIN_FUZZY_LENGTH - 1) {
+            for (int i = 0; i < word.length(); i++) {
+                variants.add(word.substring(0, i) + word.substring(i + 1));
+            }
+        }
+        return variants;
+    }
+
+    // Sharing a variant is necessary but not sufficient, so candidates are checked here
+    static boolean isOneEditApart(String a, String b) {
+        if (a.equals(b)) {
+            return true;
+        }
+        int lengthDifference = a.length() - b.length();
+        if (Math.abs(lengthDifference) > 1) {
+            return false;
+        }
+        if (lengthDifference != 0) {
+            String longer = lengthDifference > 0 ? a : b;
+            String shorter = lengthDifference > 0 ? b : a;
+            int i = 0;
+            while (i < shorter.length() && shorter.charAt(i) == longer.charAt(i)) {
+                i++;
+            }
+            return shorter.regionMatches(i, longer, i + 1, shorter.length() - i);
+        }
+        int first = 0;
+        while (a.charAt(first) == b.charAt(first)) {
+            first++;
+        }
+        // One replaced character, or two neighbouring characters swapped
+        return a.regionMatches(first + 1, b, first + 1, a.length() - first - 1)
+                || (first + 1 < a.length()
+                    && a.charAt(first) == b.charAt(first + 1)
+                    && a.charAt(first + 1) == b.charAt(first)
+                    && a.regionMatches(first + 2, b, first + 2, a.length() - first - 2));
+    }
+}
@@ -0,0 +1,37 @@
+package com.rca.demo_course.domain;
+
+/**
+ * Position of a score among the grades of a course.
+ *
+ * @param gradeCount number of grades in the course
+ * @param below      grades with a lower score
+ * @param equal      grades with exactly this score
+ */
+public record ScoreRank(long gradeCount, long below, long equal) {
+
+    public long getAbove() {
+        return gradeCount - below - equal;
+    }
+
+    /**
+     * Percent of the grades below the score, counting ties as half below; null for a course
+     * without grades.
+     */
+    public Double getPercentileRank() {
+        if (gradeCount == 0) {
+            return null;
+        }
+        return (below + equal / 2.0) * 100 / gradeCount;
+    }
+
+    /**
+     * Smallest percentage of top grades that includes the score, e.g. 10 for the best tenth;
+     * null for a course without grades.
+     */
+    public Double getTopPercent() {
+        if (gradeCount == 0) {
+            return null;
+        }
+        return (getAbove() + Math.max(equal, 1)) * 100.0 / gradeCount;
+    }
+}
@@ -0,0 +1,36 @@
+package com.rca.demo_course.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Running GPA totals for one student. Grade writes apply deltas to these columns so that
+ * GPA reads never have to scan the student's grades.
+ */
+@Entity
+@Table(name = "student_gpa_summaries")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentGpaSummary {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(name = "grade_count", nullable = false)
+    private Long gradeCount;
+
+    @Column(name = "total_points", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalPoints;
+
+    @Column(name = "total_credits", nullable = false)
+    private Long totalCredits;
+
+    @Column(name = "weighted_points", nullable = false, precision = 14, scale = 2)
+    private BigDecimal weightedPoints;
+}
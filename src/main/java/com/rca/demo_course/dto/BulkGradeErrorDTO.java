@@ -0,0 +1,37 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A rejected row of a bulk grade upload")
+public class BulkGradeErrorDTO {
+
+    @Schema(description = "1-based position of the row: array index for JSON, line number for CSV", example = "12")
+    private int row;
+
+    @Schema(description = "Why the row was rejected", example = "Student not found with ID: 42")
+    private String message;
+
+    public BulkGradeErrorDTO() {}
+
+    public BulkGradeErrorDTO(int row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
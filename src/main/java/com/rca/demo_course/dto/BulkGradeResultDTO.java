@@ -0,0 +1,52 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk grade upload")
+public class BulkGradeResultDTO {
+
+    @Schema(description = "Number of rows received", example = "1000")
+    private int received;
+
+    @Schema(description = "Number of grades inserted", example = "998")
+    private int inserted;
+
+    @Schema(description = "Rows that were rejected; all other rows were inserted")
+    private List<BulkGradeErrorDTO> errors = new ArrayList<>();
+
+    public BulkGradeResultDTO() {}
+
+    public BulkGradeResultDTO(int received, int inserted, List<BulkGradeErrorDTO> errors) {
+        this.received = received;
+        this.inserted = inserted;
+        this.errors = errors;
+    }
+
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+
+    public List<BulkGradeErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkGradeErrorDTO> errors) {
+        this.errors = errors;
+    }
+}
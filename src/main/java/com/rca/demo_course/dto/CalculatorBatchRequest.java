@@ -0,0 +1,49 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One operation applied element-wise to columns of operands")
+public class CalculatorBatchRequest {
+
+    @Schema(description = "add, subtract, multiply, divide, power, percentage, sqrt or abs", example = "add")
+    private String operation;
+
+    @Schema(description = "First operands (the number for sqrt, abs and percentage, the base for power)", example = "[1.0, 2.0, 3.0]")
+    private double[] a;
+
+    @Schema(description = "Second operands, same length as a; omitted for sqrt and abs", example = "[4.0, 5.0, 6.0]")
+    private double[] b;
+
+    public CalculatorBatchRequest() {}
+
+    public CalculatorBatchRequest(String operation, double[] a, double[] b) {
+        this.operation = operation;
+        this.a = a;
+        this.b = b;
+    }
+
+    // Getters and Setters
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public double[] getA() {
+        return a;
+    }
+
+    public void setA(double[] a) {
+        this.a = a;
+    }
+
+    public double[] getB() {
+        return b;
+    }
+
+    public void setB(double[] b) {
+        this.b = b;
+    }
+}
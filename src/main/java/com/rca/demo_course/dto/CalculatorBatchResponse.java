@@ -0,0 +1,37 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Results of a batch calculation, in the order of the operands")
+public class CalculatorBatchResponse {
+
+    @Schema(description = "Operation that was applied", example = "add")
+    private String operation;
+
+    @Schema(description = "Result for each pair of operands", example = "[5.0, 7.0, 9.0]")
+    private double[] results;
+
+    public CalculatorBatchResponse() {}
+
+    public CalculatorBatchResponse(String operation, double[] results) {
+        this.operation = operation;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public double[] getResults() {
+        return results;
+    }
+
+    public void setResults(double[] results) {
+        this.results = results;
+    }
+}
@@ -21,6 +21,9 @@ public class CourseDTO {
     @Positive(message = "Credits must be positive")
     private Integer credits;
 
+    @Size(max = 20, message = "Grading scale name must be at most 20 characters")
+    private String gradingScale;
+
     public CourseDTO() {}
 
     public CourseDTO(Long id, String name, String code, Integer credits) {
@@ -30,6 +33,11 @@ public class CourseDTO {
         this.credits = credits;
     }
 
+    public CourseDTO(Long id, String name, String code, Integer credits, String gradingScale) {
+        this(id, name, code, credits);
+        this.gradingScale = gradingScale;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -62,4 +70,12 @@ public class CourseDTO {
     public void setCredits(Integer credits) {
         this.credits = credits;
     }
+
+    public String getGradingScale() {
+        return gradingScale;
+    }
+
+    public void setGradingScale(String gradingScale) {
+        this.gradingScale = gradingScale;
+    }
 }
@@ -0,0 +1,114 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Schema(description = "Score statistics of a course. Everything but the count is null while the course has no grades")
+public class CourseStatisticsDTO {
+
+    @Schema(description = "ID of the course", example = "1")
+    private Long courseId;
+
+    @Schema(description = "Number of grades in the course", example = "42")
+    private long count;
+
+    @Schema(description = "Mean score", example = "78.35")
+    private BigDecimal mean;
+
+    @Schema(description = "Lowest score", example = "41.00")
+    private BigDecimal min;
+
+    @Schema(description = "Highest score", example = "99.50")
+    private BigDecimal max;
+
+    @Schema(description = "Population standard deviation of the scores", example = "11.72")
+    private BigDecimal standardDeviation;
+
+    @Schema(description = "Nearest-rank percentiles of the scores, keyed p25, p50, p75, p90 and p99")
+    private Map<String, BigDecimal> percentiles;
+
+    @Schema(description = "Number of grades per letter grade")
+    private Map<String, Long> letterDistribution;
+
+    public CourseStatisticsDTO() {}
+
+    public CourseStatisticsDTO(Long courseId, long count, BigDecimal mean, BigDecimal min, BigDecimal max,
+                               BigDecimal standardDeviation, Map<String, BigDecimal> percentiles,
+                               Map<String, Long> letterDistribution) {
+        this.courseId = courseId;
+        this.count = count;
+        this.mean = mean;
+        this.min = min;
+        this.max = max;
+        this.standardDeviation = standardDeviation;
+        this.percentiles = percentiles;
+        this.letterDistribution = letterDistribution;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getMean() {
+        return mean;
+    }
+
+    public void setMean(BigDecimal mean) {
+        this.mean = mean;
+    }
+
+    public BigDecimal getMin() {
+        return min;
+    }
+
+    public void setMin(BigDecimal min) {
+        this.min = min;
+    }
+
+    public BigDecimal getMax() {
+        return max;
+    }
+
+    public void setMax(BigDecimal max) {
+        this.max = max;
+    }
+
+    public BigDecimal getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public void setStandardDeviation(BigDecimal standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    public Map<String, BigDecimal> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(Map<String, BigDecimal> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public Map<String, Long> getLetterDistribution() {
+        return letterDistribution;
+    }
+
+    public void setLetterDistribution(Map<String, Long> letterDistribution) {
+        this.letterDistribution = letterDistribution;
+    }
+}
@@ -0,0 +1,56 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Schema(description = "One page of a keyset-paginated listing, ordered by ID")
+public class CursorPage<T> {
+
+    @Schema(description = "Items of this page")
+    private List<T> items;
+
+    @Schema(description = "Pass as 'after' to fetch the next page; null on the last page", example = "100")
+    private Long nextCursor;
+
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code limit + 1}; the extra row only
+     * signals that another page exists and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> idExtractor) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, idExtractor.apply(items.get(limit - 1)));
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
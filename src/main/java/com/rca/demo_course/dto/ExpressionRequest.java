@@ -0,0 +1,40 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "A formula and the values of its variables")
+public class ExpressionRequest {
+
+    @Schema(description = "Formula using + - * / % ^, parentheses and sqrt, abs, pow, min, max, percentage",
+            example = "sqrt(a*a + b*b) % c")
+    private String expression;
+
+    @Schema(description = "Value of each variable in the formula", example = "{\"a\": 3, \"b\": 4, \"c\": 3}")
+    private Map<String, Double> variables;
+
+    public ExpressionRequest() {}
+
+    public ExpressionRequest(String expression, Map<String, Double> variables) {
+        this.expression = expression;
+        this.variables = variables;
+    }
+
+    // Getters and Setters
+    public String getExpression() {
+        return expression;
+    }
+
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+
+    public Map<String, Double> getVariables() {
+        return variables;
+    }
+
+    public void setVariables(Map<String, Double> variables) {
+        this.variables = variables;
+    }
+}
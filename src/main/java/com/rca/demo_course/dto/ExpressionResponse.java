@@ -0,0 +1,37 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Value of a formula")
+public class ExpressionResponse {
+
+    @Schema(description = "Formula that was evaluated", example = "sqrt(a*a + b*b) % c")
+    private String expression;
+
+    @Schema(description = "Result of the formula", example = "2.0")
+    private double result;
+
+    public ExpressionResponse() {}
+
+    public ExpressionResponse(String expression, double result) {
+        this.expression = expression;
+        this.result = result;
+    }
+
+    // Getters and Setters
+    public String getExpression() {
+        return expression;
+    }
+
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+
+    public double getResult() {
+        return result;
+    }
+
+    public void setResult(double result) {
+        this.result = result;
+    }
+}
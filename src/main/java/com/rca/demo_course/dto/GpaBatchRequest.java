@@ -0,0 +1,39 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Students whose GPAs should be calculated: either explicit IDs or everyone enrolled in a course")
+public class GpaBatchRequest {
+
+    @Schema(description = "IDs of the students", example = "[1, 2, 3]")
+    private List<Long> studentIds;
+
+    @Schema(description = "ID of a course; selects every student with a grade in it", example = "1")
+    private Long courseId;
+
+    public GpaBatchRequest() {}
+
+    public GpaBatchRequest(List<Long> studentIds, Long courseId) {
+        this.studentIds = studentIds;
+        this.courseId = courseId;
+    }
+
+    // Getters and Setters
+    public List<Long> getStudentIds() {
+        return studentIds;
+    }
+
+    public void setStudentIds(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+}
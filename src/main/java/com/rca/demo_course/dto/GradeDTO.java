@@ -27,9 +27,12 @@ public class GradeDTO {
     @Schema(description = "Numerical score (0-100)", required = true, example = "85.5", minimum = "0.0", maximum = "100.0")
     private BigDecimal score;
 
-    @Schema(description = "Letter grade (A, B, C, D, F)", example = "B")
+    @Schema(description = "Letter grade on the course's grading scale (A-F, or A+ to F on the plus-minus scale)", example = "B")
     private String letterGrade;
 
+    @Schema(description = "Grade points of the letter grade on the course's grading scale", example = "3.0", accessMode = Schema.AccessMode.READ_ONLY)
+    private BigDecimal gradePoints;
+
     public GradeDTO() {}
 
     public GradeDTO(Long id, Long studentId, Long courseId, BigDecimal score, String letterGrade) {
@@ -40,6 +43,11 @@ public class GradeDTO {
         this.letterGrade = letterGrade;
     }
 
+    public GradeDTO(Long id, Long studentId, Long courseId, BigDecimal score, String letterGrade, BigDecimal gradePoints) {
+        this(id, studentId, courseId, score, letterGrade);
+        this.gradePoints = gradePoints;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -80,4 +88,12 @@ public class GradeDTO {
     public void setLetterGrade(String letterGrade) {
         this.letterGrade = letterGrade;
     }
+
+    public BigDecimal getGradePoints() {
+        return gradePoints;
+    }
+
+    public void setGradePoints(BigDecimal gradePoints) {
+        this.gradePoints = gradePoints;
+    }
 }
@@ -0,0 +1,51 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "A nearest-rank percentile of the scores in a course")
+public class ScorePercentileDTO {
+
+    @Schema(description = "ID of the course", example = "1")
+    private Long courseId;
+
+    @Schema(description = "Requested percentile, greater than 0 and at most 100", example = "90")
+    private double percentile;
+
+    @Schema(description = "Lowest score that at least this percent of grades are at or below; null without grades", example = "93.25")
+    private BigDecimal score;
+
+    public ScorePercentileDTO() {}
+
+    public ScorePercentileDTO(Long courseId, double percentile, BigDecimal score) {
+        this.courseId = courseId;
+        this.percentile = percentile;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    public void setScore(BigDecimal score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,112 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Where a score falls among the grades of a course")
+public class ScoreRankDTO {
+
+    @Schema(description = "ID of the course", example = "1")
+    private Long courseId;
+
+    @Schema(description = "Score that was ranked", example = "87.50")
+    private BigDecimal score;
+
+    @Schema(description = "Number of grades in the course", example = "240")
+    private long gradeCount;
+
+    @Schema(description = "Grades with a lower score", example = "203")
+    private long below;
+
+    @Schema(description = "Grades with exactly this score", example = "2")
+    private long equal;
+
+    @Schema(description = "Grades with a higher score", example = "35")
+    private long above;
+
+    @Schema(description = "Percent of grades below the score, ties counted as half; null without grades", example = "85.0")
+    private Double percentileRank;
+
+    @Schema(description = "Smallest top percentage of the course the score belongs to; null without grades", example = "15.42")
+    private Double topPercent;
+
+    public ScoreRankDTO() {}
+
+    public ScoreRankDTO(Long courseId, BigDecimal score, long gradeCount, long below, long equal, long above,
+                        Double percentileRank, Double topPercent) {
+        this.courseId = courseId;
+        this.score = score;
+        this.gradeCount = gradeCount;
+        this.below = below;
+        this.equal = equal;
+        this.above = above;
+        this.percentileRank = percentileRank;
+        this.topPercent = topPercent;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    public void setScore(BigDecimal score) {
+        this.score = score;
+    }
+
+    public long getGradeCount() {
+        return gradeCount;
+    }
+
+    public void setGradeCount(long gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+
+    public long getBelow() {
+        return below;
+    }
+
+    public void setBelow(long below) {
+        this.below = below;
+    }
+
+    public long getEqual() {
+        return equal;
+    }
+
+    public void setEqual(long equal) {
+        this.equal = equal;
+    }
+
+    public long getAbove() {
+        return above;
+    }
+
+    public void setAbove(long above) {
+        this.above = above;
+    }
+
+    public Double getPercentileRank() {
+        return percentileRank;
+    }
+
+    public void setPercentileRank(Double percentileRank) {
+        this.percentileRank = percentileRank;
+    }
+
+    public Double getTopPercent() {
+        return topPercent;
+    }
+
+    public void setTopPercent(Double topPercent) {
+        this.topPercent = topPercent;
+    }
+}
@@ -0,0 +1,73 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "GPA of a single student")
+public class StudentGpaDTO {
+
+    @Schema(description = "ID of the student", example = "1")
+    private Long studentId;
+
+    @Schema(description = "Unweighted grade point average", example = "3.5")
+    private double gpa;
+
+    @Schema(description = "Grade point average weighted by course credits", example = "3.43")
+    private double weightedGpa;
+
+    @Schema(description = "Number of grades the GPA is based on", example = "4")
+    private long gradeCount;
+
+    @Schema(description = "Total credits of the graded courses", example = "14")
+    private long totalCredits;
+
+    public StudentGpaDTO() {}
+
+    public StudentGpaDTO(Long studentId, double gpa, double weightedGpa, long gradeCount, long totalCredits) {
+        this.studentId = studentId;
+        this.gpa = gpa;
+        this.weightedGpa = weightedGpa;
+        this.gradeCount = gradeCount;
+        this.totalCredits = totalCredits;
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public double getGpa() {
+        return gpa;
+    }
+
+    public void setGpa(double gpa) {
+        this.gpa = gpa;
+    }
+
+    public double getWeightedGpa() {
+        return weightedGpa;
+    }
+
+    public void setWeightedGpa(double weightedGpa) {
+        this.weightedGpa = weightedGpa;
+    }
+
+    public long getGradeCount() {
+        return gradeCount;
+    }
+
+    public void setGradeCount(long gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+
+    public long getTotalCredits() {
+        return totalCredits;
+    }
+
+    public void setTotalCredits(long totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+}
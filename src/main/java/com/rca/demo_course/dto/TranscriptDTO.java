@@ -0,0 +1,87 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A student together with all of their grades and the graded courses")
+public class TranscriptDTO {
+
+    @Schema(description = "ID of the student", example = "1")
+    private Long studentId;
+
+    @Schema(description = "First name of the student", example = "John")
+    private String firstName;
+
+    @Schema(description = "Last name of the student", example = "Doe")
+    private String lastName;
+
+    @Schema(description = "Email address of the student", example = "john.doe@example.com")
+    private String email;
+
+    @Schema(description = "Total credits of the graded courses", example = "14")
+    private long totalCredits;
+
+    @Schema(description = "Grades in the order they were recorded")
+    private List<TranscriptEntryDTO> entries;
+
+    public TranscriptDTO() {}
+
+    public TranscriptDTO(Long studentId, String firstName, String lastName, String email, long totalCredits, List<TranscriptEntryDTO> entries) {
+        this.studentId = studentId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.totalCredits = totalCredits;
+        this.entries = entries;
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public long getTotalCredits() {
+        return totalCredits;
+    }
+
+    public void setTotalCredits(long totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+
+    public List<TranscriptEntryDTO> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<TranscriptEntryDTO> entries) {
+        this.entries = entries;
+    }
+}
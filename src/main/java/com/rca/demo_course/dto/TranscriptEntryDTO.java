@@ -0,0 +1,111 @@
+package com.rca.demo_course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "One graded course on a student's transcript")
+public class TranscriptEntryDTO {
+
+    @Schema(description = "ID of the grade", example = "1")
+    private Long gradeId;
+
+    @Schema(description = "ID of the course", example = "1")
+    private Long courseId;
+
+    @Schema(description = "Course code", example = "CS101")
+    private String courseCode;
+
+    @Schema(description = "Course name", example = "Introduction to Programming")
+    private String courseName;
+
+    @Schema(description = "Credits of the course", example = "3")
+    private Integer credits;
+
+    @Schema(description = "Score between 0 and 100", example = "85.5")
+    private BigDecimal score;
+
+    @Schema(description = "Letter grade on the course's grading scale", example = "B")
+    private String letterGrade;
+
+    @Schema(description = "Grade points on the course's grading scale; empty for grades recorded before points were stored", example = "3.00")
+    private BigDecimal gradePoints;
+
+    public TranscriptEntryDTO() {}
+
+    public TranscriptEntryDTO(Long gradeId, Long courseId, String courseCode, String courseName, Integer credits, BigDecimal score, String letterGrade, BigDecimal gradePoints) {
+        this.gradeId = gradeId;
+        this.courseId = courseId;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.credits = credits;
+        this.score = score;
+        this.letterGrade = letterGrade;
+        this.gradePoints = gradePoints;
+    }
+
+    // Getters and Setters
+    public Long getGradeId() {
+        return gradeId;
+    }
+
+    public void setGradeId(Long gradeId) {
+        this.gradeId = gradeId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+
+    public Integer getCredits() {
+        return credits;
+    }
+
+    public void setCredits(Integer credits) {
+        this.credits = credits;
+    }
+
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    public void setScore(BigDecimal score) {
+        this.score = score;
+    }
+
+    public String getLetterGrade() {
+        return letterGrade;
+    }
+
+    public void setLetterGrade(String letterGrade) {
+        this.letterGrade = letterGrade;
+    }
+
+    public BigDecimal getGradePoints() {
+        return gradePoints;
+    }
+
+    public void setGradePoints(BigDecimal gradePoints) {
+        this.gradePoints = gradePoints;
+    }
+}
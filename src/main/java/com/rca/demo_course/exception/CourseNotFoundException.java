@@ -1,6 +1,6 @@
 package com.rca.demo_course.exception;
 
-public class CourseNotFoundException extends RuntimeException {
+public class CourseNotFoundException extends DomainException {
     
     public CourseNotFoundException(String message) {
         super(message);
@@ -0,0 +1,21 @@
+package com.rca.demo_course.exception;
+
+/**
+ * Base of the exceptions that report an expected outcome, such as invalid input or a missing
+ * row, which {@link GlobalExceptionHandler} turns into a 4xx response. They are ordinary
+ * control flow, so they do not record a stack trace: walking the stack of a web request costs
+ * more than the rest of the error handling together. Run with
+ * {@code -Ddomain-exceptions.stack-traces=true} to record them again while debugging.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private static final boolean STACK_TRACES = Boolean.getBoolean("domain-exceptions.stack-traces");
+
+    protected DomainException(String message) {
+        this(message, null);
+    }
+
+    protected DomainException(String message, Throwable cause) {
+        super(message, cause, false, STACK_TRACES);
+    }
+}
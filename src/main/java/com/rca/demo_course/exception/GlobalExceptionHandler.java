@@ -1,5 +1,6 @@
 package com.rca.demo_course.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -64,6 +65,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    // Two updates of the same row raced; the version check rejected the later one
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ErrorResponse error = new ErrorResponse(
+            "CONCURRENT_UPDATE",
+            "The resource was changed by another request",
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(InvalidGradeException.class)
     public ResponseEntity<ErrorResponse> handleInvalidGradeException(InvalidGradeException ex) {
         ErrorResponse error = new ErrorResponse(
@@ -1,6 +1,6 @@
 package com.rca.demo_course.exception;
 
-public class GradeNotFoundException extends RuntimeException {
+public class GradeNotFoundException extends DomainException {
 
     public GradeNotFoundException(String message) {
         super(message);
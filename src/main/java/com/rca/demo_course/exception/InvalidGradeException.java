@@ -1,6 +1,6 @@
 package com.rca.demo_course.exception;
 
-public class InvalidGradeException extends RuntimeException {
+public class InvalidGradeException extends DomainException {
     
     public InvalidGradeException(String message) {
         super(message);
@@ -1,6 +1,6 @@
 package com.rca.demo_course.exception;
 
-public class StudentNotFoundException extends RuntimeException {
+public class StudentNotFoundException extends DomainException {
     
     public StudentNotFoundException(String message) {
         super(message);
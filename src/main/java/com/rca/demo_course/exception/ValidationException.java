@@ -1,6 +1,6 @@
 package com.rca.demo_course.exception;
 
-public class ValidationException extends RuntimeException {
+public class ValidationException extends DomainException {
     
     public ValidationException(String message) {
         super(message);
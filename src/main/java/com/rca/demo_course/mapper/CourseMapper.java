@@ -1,12 +1,23 @@
 package com.rca.demo_course.mapper;
 
 import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.CourseScoreStatistics;
+import com.rca.demo_course.domain.ScoreRank;
 import com.rca.demo_course.dto.CourseDTO;
+import com.rca.demo_course.dto.CourseStatisticsDTO;
+import com.rca.demo_course.dto.ScorePercentileDTO;
+import com.rca.demo_course.dto.ScoreRankDTO;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Component
 public class CourseMapper {
 
+    private static final int[] REPORTED_PERCENTILES = {25, 50, 75, 90, 99};
+
     public CourseDTO toDTO(Course course) {
         if (course == null) {
             return null;
@@ -16,7 +27,8 @@ public class CourseMapper {
             course.getId(),
             course.getName(),
             course.getCode(),
-            course.getCredits()
+            course.getCredits(),
+            course.getGradingScale()
         );
     }
 
@@ -30,7 +42,52 @@ public class CourseMapper {
         course.setName(courseDTO.getName());
         course.setCode(courseDTO.getCode());
         course.setCredits(courseDTO.getCredits());
+        course.setGradingScale(courseDTO.getGradingScale());
 
         return course;
     }
+
+    public CourseStatisticsDTO toStatisticsDTO(Long courseId, CourseScoreStatistics statistics) {
+        if (statistics == null) {
+            return null;
+        }
+
+        Map<String, BigDecimal> percentiles = new LinkedHashMap<>();
+        if (statistics.getCount() > 0) {
+            for (int percentile : REPORTED_PERCENTILES) {
+                percentiles.put("p" + percentile, statistics.getPercentile(percentile));
+            }
+        }
+        return new CourseStatisticsDTO(
+            courseId,
+            statistics.getCount(),
+            statistics.getMean(),
+            statistics.getMin(),
+            statistics.getMax(),
+            statistics.getStandardDeviation(),
+            percentiles,
+            new LinkedHashMap<>(statistics.getLetterCounts())
+        );
+    }
+
+    public ScoreRankDTO toRankDTO(Long courseId, BigDecimal score, ScoreRank rank) {
+        if (rank == null) {
+            return null;
+        }
+
+        return new ScoreRankDTO(
+            courseId,
+            score,
+            rank.gradeCount(),
+            rank.below(),
+            rank.equal(),
+            rank.getAbove(),
+            rank.getPercentileRank(),
+            rank.getTopPercent()
+        );
+    }
+
+    public ScorePercentileDTO toPercentileDTO(Long courseId, double percentile, BigDecimal score) {
+        return new ScorePercentileDTO(courseId, percentile, score);
+    }
 }
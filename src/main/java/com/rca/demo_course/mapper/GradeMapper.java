@@ -22,7 +22,8 @@ public class GradeMapper {
             studentId,
             courseId,
             grade.getScore(),
-            grade.getLetterGrade()
+            grade.getLetterGrade(),
+            grade.getGradePoints()
         );
     }
 
@@ -1,9 +1,16 @@
 package com.rca.demo_course.mapper;
 
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Grade;
 import com.rca.demo_course.domain.Student;
 import com.rca.demo_course.dto.StudentDTO;
+import com.rca.demo_course.dto.TranscriptDTO;
+import com.rca.demo_course.dto.TranscriptEntryDTO;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 public class StudentMapper {
 
@@ -20,6 +27,42 @@ public class StudentMapper {
         );
     }
 
+    /**
+     * Expects the grades and their courses to be loaded, see StudentService#findTranscript.
+     */
+    public TranscriptDTO toTranscriptDTO(Student student) {
+        if (student == null) {
+            return null;
+        }
+
+        List<Grade> grades = student.getGrades() != null ? student.getGrades() : List.of();
+        List<TranscriptEntryDTO> entries = new ArrayList<>(grades.size());
+        long totalCredits = 0;
+        for (Grade grade : grades) {
+            Course course = grade.getCourse();
+            entries.add(new TranscriptEntryDTO(
+                grade.getId(),
+                course.getId(),
+                course.getCode(),
+                course.getName(),
+                course.getCredits(),
+                grade.getScore(),
+                grade.getLetterGrade(),
+                grade.getGradePoints()
+            ));
+            totalCredits += course.getCredits();
+        }
+
+        return new TranscriptDTO(
+            student.getId(),
+            student.getFirstName(),
+            student.getLastName(),
+            student.getEmail(),
+            totalCredits,
+            entries
+        );
+    }
+
     public Student toEntity(StudentDTO studentDTO) {
         if (studentDTO == null) {
             return null;
@@ -1,13 +1,22 @@
 package com.rca.demo_course.repository;
 
 import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.repository.projection.CollectionVersion;
+import com.rca.demo_course.repository.projection.CourseGradingScale;
+import com.rca.demo_course.repository.projection.CourseName;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
@@ -22,5 +31,23 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByCreditsGreaterThanEqual(@Param("minCredits") Integer minCredits);
 
     boolean existsByCode(String code);
+
+    @Query("SELECT c.id AS id, c.gradingScale AS gradingScale FROM Course c WHERE c.id IN :ids")
+    List<CourseGradingScale> findGradingScalesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.version FROM Course c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.rca.demo_course.repository.projection.CollectionVersion(COUNT(c), SUM(c.id), SUM(c.version)) FROM Course c")
+    CollectionVersion findCollectionVersion();
+
+    List<Course> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("SELECT new com.rca.demo_course.repository.projection.CourseName(c.id, c.name, c.code) FROM Course c WHERE c.id > :afterId ORDER BY c.id")
+    List<CourseName> findNamesByIdGreaterThan(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT c FROM Course c ORDER BY c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Course> streamAll();
 }
 
@@ -3,12 +3,27 @@ package com.rca.demo_course.repository;
 import com.rca.demo_course.domain.Grade;
 import com.rca.demo_course.domain.Student;
 import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.repository.projection.CollectionVersion;
+import com.rca.demo_course.repository.projection.CourseRosterEntry;
+import com.rca.demo_course.repository.projection.GradePoints;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
+import com.rca.demo_course.repository.projection.StudentGpaGroupTotals;
+import com.rca.demo_course.repository.projection.StudentGpaTotals;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GradeRepository extends JpaRepository<Grade, Long> {
@@ -20,6 +35,35 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
     List<Grade> findByCourse(Course course);
     
     List<Grade> findByCourseId(Long courseId);
+
+    List<Grade> findByStudentIdAndIdGreaterThanOrderByIdAsc(Long studentId, Long afterId, Limit limit);
+
+    List<Grade> findByCourseIdAndIdGreaterThanOrderByIdAsc(Long courseId, Long afterId, Limit limit);
+
+    @Query("SELECT g.version FROM Grade g WHERE g.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.rca.demo_course.repository.projection.CollectionVersion(COUNT(g), SUM(g.id), SUM(g.version)) " +
+           "FROM Grade g WHERE g.student.id = :studentId")
+    CollectionVersion findCollectionVersionByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT new com.rca.demo_course.repository.projection.CollectionVersion(COUNT(g), SUM(g.id), SUM(g.version)) " +
+           "FROM Grade g WHERE g.course.id = :courseId")
+    CollectionVersion findCollectionVersionByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT g FROM Grade g WHERE g.student.id = :studentId ORDER BY g.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Grade> streamByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT g FROM Grade g WHERE g.course.id = :courseId ORDER BY g.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Grade> streamByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT new com.rca.demo_course.repository.projection.CourseRosterEntry(" +
+           "g.id, s.id, s.firstName, s.lastName, s.email, g.score, g.letterGrade) " +
+           "FROM Grade g JOIN g.student s WHERE g.course.id = :courseId " +
+           "ORDER BY s.lastName, s.firstName, g.id")
+    List<CourseRosterEntry> findRosterByCourseId(@Param("courseId") Long courseId);
     
     List<Grade> findByStudentAndCourse(Student student, Course course);
     
@@ -31,8 +75,59 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
     
     @Query("SELECT AVG(g.score) FROM Grade g WHERE g.course.id = :courseId")
     Double findAverageScoreByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT new com.rca.demo_course.repository.projection.GradeScoreEntry(g.id, g.student.id, g.score, g.letterGrade) " +
+           "FROM Grade g WHERE g.course.id = :courseId")
+    List<GradeScoreEntry> findScoreEntriesByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT DISTINCT g.course.id FROM Grade g WHERE g.student.id = :studentId")
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
     
     @Query("SELECT COUNT(g) FROM Grade g WHERE g.student.id = :studentId")
     Long countByStudentId(@Param("studentId") Long studentId);
+
+    // For grades written before grade points were stored, see LegacyGradePointsBackfill
+    @Modifying
+    @Query("UPDATE Grade g SET g.gradePoints = :points, g.version = g.version + 1 " +
+           "WHERE g.gradePoints IS NULL AND g.letterGrade = :letterGrade")
+    int backfillGradePoints(@Param("letterGrade") String letterGrade, @Param("points") BigDecimal points);
+
+    @Modifying
+    @Query("UPDATE Grade g SET g.gradePoints = :points, g.version = g.version + 1 WHERE g.gradePoints IS NULL")
+    int backfillRemainingGradePoints(@Param("points") BigDecimal points);
+
+    @Query("SELECT COUNT(g) AS gradeCount, " +
+           "SUM(g.gradePoints) AS totalPoints, " +
+           "SUM(c.credits) AS totalCredits, " +
+           "SUM(g.gradePoints * c.credits) AS weightedPoints " +
+           "FROM Grade g JOIN g.course c WHERE g.student.id = :studentId")
+    StudentGpaTotals calculateGpaTotalsByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT g.student.id AS studentId, COUNT(g) AS gradeCount, " +
+           "SUM(g.gradePoints) AS totalPoints, " +
+           "SUM(c.credits) AS totalCredits, " +
+           "SUM(g.gradePoints * c.credits) AS weightedPoints " +
+           "FROM Grade g JOIN g.course c WHERE g.student.id IN :studentIds GROUP BY g.student.id")
+    List<StudentGpaGroupTotals> calculateGpaTotalsByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
+    @Query("SELECT g.student.id AS studentId, COUNT(g) AS gradeCount, " +
+           "SUM(g.gradePoints) AS totalPoints, " +
+           "SUM(c.credits) AS totalCredits, " +
+           "SUM(g.gradePoints * c.credits) AS weightedPoints " +
+           "FROM Grade g JOIN g.course c GROUP BY g.student.id")
+    List<StudentGpaGroupTotals> calculateGpaTotalsForAllStudents();
+
+    @Query("SELECT new com.rca.demo_course.repository.projection.GradePoints(g.id, g.student.id, g.gradePoints, c.credits) " +
+           "FROM Grade g JOIN g.course c WHERE g.student.id IN :studentIds")
+    List<GradePoints> findGradePointsByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
+    @Query("SELECT g.student.id AS studentId, COUNT(g) AS gradeCount, " +
+           "SUM(g.gradePoints) AS totalPoints, " +
+           "SUM(c.credits) AS totalCredits, " +
+           "SUM(g.gradePoints * c.credits) AS weightedPoints " +
+           "FROM Grade g JOIN g.course c " +
+           "WHERE g.student.id IN (SELECT e.student.id FROM Grade e WHERE e.course.id = :courseId) " +
+           "GROUP BY g.student.id ORDER BY g.student.id")
+    List<StudentGpaGroupTotals> calculateGpaTotalsByEnrolledCourseId(@Param("courseId") Long courseId);
 }
 
@@ -0,0 +1,41 @@
+package com.rca.demo_course.repository;
+
+import com.rca.demo_course.domain.IdAllocation;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Hands out entity IDs for rows written with plain JDBC, reserving them from the same pooled
+ * sequences Hibernate uses so the two never collide.
+ */
+@Repository
+public class SequenceIdAllocator {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Returns {@code count} unused IDs from the sequence, fetching one sequence value per
+     * block of {@link IdAllocation#BLOCK_SIZE} IDs.
+     */
+    public long[] nextIds(String sequenceName, int count) {
+        String nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(sequenceName);
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            long hi = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+            // The first value of a fresh sequence is 1, which reserves only itself
+            for (long id = Math.max(1, hi - IdAllocation.BLOCK_SIZE + 1); id <= hi && filled < count; id++) {
+                ids[filled++] = id;
+            }
+        }
+        return ids;
+    }
+}
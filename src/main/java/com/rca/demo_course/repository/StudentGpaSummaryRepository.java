@@ -0,0 +1,36 @@
+package com.rca.demo_course.repository;
+
+import com.rca.demo_course.domain.StudentGpaSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+@Repository
+public interface StudentGpaSummaryRepository extends JpaRepository<StudentGpaSummary, Long> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StudentGpaSummary s SET s.gradeCount = s.gradeCount + :gradeCount, " +
+           "s.totalPoints = s.totalPoints + :points, " +
+           "s.totalCredits = s.totalCredits + :credits, " +
+           "s.weightedPoints = s.weightedPoints + :weightedPoints " +
+           "WHERE s.studentId = :studentId")
+    int applyDelta(@Param("studentId") Long studentId,
+                   @Param("gradeCount") long gradeCount,
+                   @Param("points") BigDecimal points,
+                   @Param("credits") long credits,
+                   @Param("weightedPoints") BigDecimal weightedPoints);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StudentGpaSummary s WHERE s.studentId IN " +
+           "(SELECT g.student.id FROM Grade g WHERE g.course.id = :courseId)")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StudentGpaSummary s WHERE s.studentId IN :studentIds")
+    int deleteByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+}
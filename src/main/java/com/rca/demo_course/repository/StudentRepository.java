@@ -1,13 +1,23 @@
 package com.rca.demo_course.repository;
 
 import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.repository.projection.CollectionVersion;
+import com.rca.demo_course.repository.projection.StudentName;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
@@ -22,5 +32,32 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByNameContaining(@Param("name") String name);
     
     boolean existsByEmail(String email);
+
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Row lock held until commit, for work that has no row of its own to lock yet
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.id = :id")
+    Optional<Student> lockById(@Param("id") Long id);
+
+    @Query("SELECT s.version FROM Student s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.rca.demo_course.repository.projection.CollectionVersion(COUNT(s), SUM(s.id), SUM(s.version)) FROM Student s")
+    CollectionVersion findCollectionVersion();
+
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("SELECT new com.rca.demo_course.repository.projection.StudentName(s.id, s.firstName, s.lastName) FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<StudentName> findNamesByIdGreaterThan(@Param("afterId") Long afterId, Limit limit);
+
+    // One statement for the student, the grades and their courses; not cached like findById
+    @Query("SELECT s FROM Student s LEFT JOIN FETCH s.grades g LEFT JOIN FETCH g.course WHERE s.id = :id ORDER BY g.id")
+    Optional<Student> findWithGradesAndCoursesById(@Param("id") Long id);
+
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Student> streamAll();
 }
 
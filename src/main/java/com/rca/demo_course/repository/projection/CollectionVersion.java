@@ -0,0 +1,10 @@
+package com.rca.demo_course.repository.projection;
+
+/**
+ * Summary of a set of versioned rows that changes whenever the set does. An update raises the
+ * version sum; an insert or delete changes the ID sum, because IDs are never reused. The ID
+ * sum is used rather than the highest ID: pooled sequence blocks are handed to several
+ * instances, so a row inserted later can have a lower ID. SUMs are null for an empty set.
+ */
+public record CollectionVersion(Long count, Long idSum, Long versionSum) {
+}
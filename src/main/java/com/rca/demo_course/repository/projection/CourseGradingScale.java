@@ -0,0 +1,11 @@
+package com.rca.demo_course.repository.projection;
+
+/**
+ * ID and grading scale name of a course, without loading the entity.
+ */
+public interface CourseGradingScale {
+
+    Long getId();
+
+    String getGradingScale();
+}
@@ -0,0 +1,7 @@
+package com.rca.demo_course.repository.projection;
+
+/**
+ * ID, name and code of a course, for the name search index.
+ */
+public record CourseName(Long id, String name, String code) {
+}
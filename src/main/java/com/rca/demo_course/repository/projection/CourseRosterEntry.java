@@ -0,0 +1,17 @@
+package com.rca.demo_course.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * One student's grade in a course, read straight from the query result. Unlike entities it is
+ * never managed, so large rosters add nothing to the persistence context.
+ */
+public record CourseRosterEntry(
+        Long gradeId,
+        Long studentId,
+        String firstName,
+        String lastName,
+        String email,
+        BigDecimal score,
+        String letterGrade) {
+}
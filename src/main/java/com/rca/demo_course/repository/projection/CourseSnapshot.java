@@ -0,0 +1,20 @@
+package com.rca.demo_course.repository.projection;
+
+import com.rca.demo_course.domain.Course;
+
+/**
+ * The columns of a course, without its grades. This, not the entity, is what the course
+ * caches hold: an immutable value can be shared between threads and transactions, and every
+ * reader gets its own unmanaged Course from it.
+ */
+public record CourseSnapshot(Long id, String name, String code, Integer credits, String gradingScale, Long version) {
+
+    public static CourseSnapshot of(Course course) {
+        return new CourseSnapshot(course.getId(), course.getName(), course.getCode(), course.getCredits(),
+                course.getGradingScale(), course.getVersion());
+    }
+
+    public Course toCourse() {
+        return new Course(id, name, code, credits, gradingScale, version, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.rca.demo_course.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * What a single grade adds to its student's GPA, for the leaderboard.
+ */
+public record GradePoints(Long gradeId, Long studentId, BigDecimal gradePoints, Integer credits) {
+}
@@ -0,0 +1,9 @@
+package com.rca.demo_course.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * The parts of a grade that course statistics and score rankings need.
+ */
+public record GradeScoreEntry(Long gradeId, Long studentId, BigDecimal score, String letterGrade) {
+}
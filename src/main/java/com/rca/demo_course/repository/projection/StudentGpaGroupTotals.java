@@ -0,0 +1,9 @@
+package com.rca.demo_course.repository.projection;
+
+/**
+ * Grade point totals of one student within a grouped (multi-student) GPA query.
+ */
+public interface StudentGpaGroupTotals extends StudentGpaTotals {
+
+    Long getStudentId();
+}
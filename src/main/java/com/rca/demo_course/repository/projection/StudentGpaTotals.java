@@ -0,0 +1,15 @@
+package com.rca.demo_course.repository.projection;
+
+/**
+ * Grade point totals of a single student, aggregated in the database.
+ */
+public interface StudentGpaTotals {
+
+    Long getGradeCount();
+
+    Double getTotalPoints();
+
+    Long getTotalCredits();
+
+    Double getWeightedPoints();
+}
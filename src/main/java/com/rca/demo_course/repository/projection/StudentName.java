@@ -0,0 +1,8 @@
+package com.rca.demo_course.repository.projection;
+
+/**
+ * ID and name of a student, for the name search index. Never managed, so loading every
+ * student adds nothing to the persistence context.
+ */
+public record StudentName(Long id, String firstName, String lastName) {
+}
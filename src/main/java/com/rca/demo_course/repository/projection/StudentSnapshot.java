@@ -0,0 +1,19 @@
+package com.rca.demo_course.repository.projection;
+
+import com.rca.demo_course.domain.Student;
+
+/**
+ * The columns of a student, without their grades; what the student caches hold, for the
+ * same reasons as {@link CourseSnapshot}.
+ */
+public record StudentSnapshot(Long id, String firstName, String lastName, String email, Long version) {
+
+    public static StudentSnapshot of(Student student) {
+        return new StudentSnapshot(student.getId(), student.getFirstName(), student.getLastName(),
+                student.getEmail(), student.getVersion());
+    }
+
+    public Student toStudent() {
+        return new Student(id, firstName, lastName, email, version, null);
+    }
+}
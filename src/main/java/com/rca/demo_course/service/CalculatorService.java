@@ -1,5 +1,8 @@
 package com.rca.demo_course.service;
 
+import com.rca.demo_course.domain.CalculatorOperation;
+import com.rca.demo_course.domain.CompiledExpression;
+
 /**
  * Service interface for calculator operations.
  * Provides basic arithmetic and mathematical operations.
@@ -77,5 +80,26 @@ public interface CalculatorService {
      * @return the percentage of the number
      */
     double percentage(double number, double percentage);
-}
 
+    /**
+     * Applies one operation element-wise to columns of operands.
+     *
+     * @param operation the operation to apply
+     * @param a the first operands
+     * @param b the second operands, same length as a; ignored by unary operations
+     * @return one result per element of a
+     * @throws IllegalArgumentException if the operands are missing, differ in length or exceed
+     *         the batch limit, or an element is invalid for the operation
+     */
+    double[] calculate(CalculatorOperation operation, double[] a, double[] b);
+
+    /**
+     * Parses and compiles a formula such as {@code sqrt(a*a + b*b) % c}. Compiled formulas are
+     * cached by their text, so evaluating the same formula again skips parsing.
+     *
+     * @param expression the formula
+     * @return the compiled formula, ready to be evaluated with variable values
+     * @throws IllegalArgumentException if the formula is empty, too long or not well-formed
+     */
+    CompiledExpression compileExpression(String expression);
+}
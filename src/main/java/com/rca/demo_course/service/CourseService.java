@@ -1,12 +1,31 @@
 package com.rca.demo_course.service;
 
 import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.CourseScoreStatistics;
+import com.rca.demo_course.domain.ScoreRank;
+import com.rca.demo_course.dto.CursorPage;
+import com.rca.demo_course.repository.projection.CollectionVersion;
+import com.rca.demo_course.repository.projection.CourseRosterEntry;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CourseService {
     Course create(Course course);
     Course findById(String id);
+    Long findVersion(String id);
+    Course findByCode(String code);
     List<Course> findAll();
+    CollectionVersion findCollectionVersion();
+    List<Course> search(String query, int limit);
+    List<CourseRosterEntry> findRoster(String id);
+    CourseScoreStatistics findStatistics(String id);
+    ScoreRank rankScore(String id, BigDecimal score);
+    BigDecimal findPercentile(String id, double percentile);
+    List<GradeScoreEntry> findTopScores(String id, int limit);
+    CursorPage<Course> findPage(Long afterId, int limit);
+    void streamAll(Consumer<Course> consumer);
     Course update(Course course);
     void delete(String id);
 }
@@ -0,0 +1,21 @@
+package com.rca.demo_course.service;
+
+import com.rca.demo_course.domain.CourseScoreStatistics;
+import com.rca.demo_course.domain.ScoreRank;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface CourseStatisticsService {
+    void addGrade(Long courseId, GradeScoreEntry grade);
+    void removeGrade(Long courseId, GradeScoreEntry grade);
+    CourseScoreStatistics getStatistics(Long courseId);
+    ScoreRank rank(Long courseId, BigDecimal score);
+    BigDecimal percentile(Long courseId, double percentile);
+    List<GradeScoreEntry> topScores(Long courseId, int limit);
+    void rebuild(Long courseId);
+    void rebuildAll();
+    void evictCourse(Long courseId);
+    void evictCoursesOfStudent(Long studentId);
+}
@@ -0,0 +1,14 @@
+package com.rca.demo_course.service;
+
+import com.rca.demo_course.dto.StudentGpaDTO;
+
+import java.util.List;
+
+public interface GpaLeaderboardService {
+    void addGrade(Long studentId, Long gradeId, double gradePoints, int credits);
+    void removeGrade(Long studentId, Long gradeId, double gradePoints, int credits);
+    List<StudentGpaDTO> top(int limit);
+    void rebuild();
+    void evictStudent(Long studentId);
+    void invalidate();
+}
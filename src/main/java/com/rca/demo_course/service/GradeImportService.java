@@ -0,0 +1,12 @@
+package com.rca.demo_course.service;
+
+import com.rca.demo_course.dto.BulkGradeResultDTO;
+import com.rca.demo_course.dto.GradeDTO;
+
+import java.io.Reader;
+import java.util.List;
+
+public interface GradeImportService {
+    BulkGradeResultDTO importGrades(List<GradeDTO> grades);
+    BulkGradeResultDTO importGradesCsv(Reader csv);
+}
@@ -1,16 +1,31 @@
 package com.rca.demo_course.service;
 
 import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.dto.CursorPage;
+import com.rca.demo_course.dto.StudentGpaDTO;
+import com.rca.demo_course.repository.projection.CollectionVersion;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface GradeService {
     Grade create(Grade grade);
     Grade findById(String id);
+    Long findVersion(String id);
     List<Grade> findByStudentId(String studentId);
     List<Grade> findByCourseId(String courseId);
+    CollectionVersion findCollectionVersionByStudentId(String studentId);
+    CollectionVersion findCollectionVersionByCourseId(String courseId);
+    CursorPage<Grade> findPageByStudentId(String studentId, Long afterId, int limit);
+    CursorPage<Grade> findPageByCourseId(String courseId, Long afterId, int limit);
+    void streamByStudentId(String studentId, Consumer<Grade> consumer);
+    void streamByCourseId(String courseId, Consumer<Grade> consumer);
     Grade update(Grade grade);
     void delete(String id);
     String calculateLetterGrade(double score);
+    String calculateLetterGrade(double score, String scaleName);
     double calculateGPA(String studentId);
+    double calculateWeightedGPA(String studentId);
+    void calculateGPAs(List<Long> studentIds, Consumer<StudentGpaDTO> sink);
+    void calculateGPAsByCourseId(String courseId, Consumer<StudentGpaDTO> sink);
 }
 
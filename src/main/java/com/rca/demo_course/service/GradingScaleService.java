@@ -0,0 +1,8 @@
+package com.rca.demo_course.service;
+
+import com.rca.demo_course.domain.GradingScale;
+
+public interface GradingScaleService {
+    GradingScale getDefaultScale();
+    GradingScale getScale(String name);
+}
@@ -0,0 +1,16 @@
+package com.rca.demo_course.service;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Student;
+
+import java.util.List;
+
+public interface SearchIndexService {
+    List<Long> searchStudents(String query, int limit);
+    List<Long> searchCourses(String query, int limit);
+    void indexStudent(Student student);
+    void removeStudent(Long studentId);
+    void indexCourse(Course course);
+    void removeCourse(Long courseId);
+    void rebuild();
+}
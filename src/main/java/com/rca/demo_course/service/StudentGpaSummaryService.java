@@ -0,0 +1,14 @@
+package com.rca.demo_course.service;
+
+import com.rca.demo_course.domain.StudentGpaSummary;
+
+import java.util.Collection;
+
+public interface StudentGpaSummaryService {
+    void addGrade(Long studentId, double gradePoints, int credits);
+    void removeGrade(Long studentId, double gradePoints, int credits);
+    StudentGpaSummary getSummary(Long studentId);
+    void evictStudent(Long studentId);
+    void evictStudents(Collection<Long> studentIds);
+    void evictCourse(Long courseId);
+}
@@ -1,13 +1,24 @@
 package com.rca.demo_course.service;
 
 import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.dto.CursorPage;
+import com.rca.demo_course.dto.StudentGpaDTO;
+import com.rca.demo_course.repository.projection.CollectionVersion;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface StudentService {
     Student create(Student student);
     Student findById(String id);
+    Long findVersion(String id);
     Student findByEmail(String email);
+    Student findTranscript(String id);
     List<Student> findAll();
+    CollectionVersion findCollectionVersion();
+    List<Student> search(String query, int limit);
+    CursorPage<Student> findPage(Long afterId, int limit);
+    List<StudentGpaDTO> findLeaderboard(int limit);
+    void streamAll(Consumer<Student> consumer);
     Student update(Student student);
     void delete(String id);
 }
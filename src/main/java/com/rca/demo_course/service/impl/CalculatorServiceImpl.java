@@ -1,8 +1,14 @@
 package com.rca.demo_course.service.impl;
 
+import com.rca.demo_course.config.CacheConfig;
+import com.rca.demo_course.domain.CalculatorOperation;
+import com.rca.demo_course.domain.CompiledExpression;
 import com.rca.demo_course.service.CalculatorService;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+
 /**
  * Implementation of CalculatorService.
  * Provides basic arithmetic and mathematical operations.
@@ -10,6 +16,9 @@ import org.springframework.stereotype.Service;
 @Service
 public class CalculatorServiceImpl implements CalculatorService {
 
+    // Bounds the result array a single request can allocate
+    private static final int MAX_BATCH_SIZE = 1_000_000;
+
     @Override
     public double add(double a, double b) {
         return a + b;
@@ -55,5 +64,90 @@ public class CalculatorServiceImpl implements CalculatorService {
     public double percentage(double number, double percentage) {
         return (number * percentage) / 100;
     }
-}
 
+    @Override
+    public double[] calculate(CalculatorOperation operation, double[] a, double[] b) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation is required");
+        }
+        if (a == null) {
+            throw new IllegalArgumentException("Operands a are required");
+        }
+        if (a.length > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch can contain at most " + MAX_BATCH_SIZE + " operations");
+        }
+        if (operation.isBinary()) {
+            if (b == null) {
+                throw new IllegalArgumentException("Operands b are required for " + operation.name().toLowerCase(Locale.ROOT));
+            }
+            if (b.length != a.length) {
+                throw new IllegalArgumentException("Operands a and b must have the same length: " + a.length + " != " + b.length);
+            }
+        }
+
+        int n = a.length;
+        double[] results = new double[n];
+        // One branch-free loop per operation over primitive arrays, which the JIT can unroll and
+        // turn into SIMD instructions for the arithmetic operations
+        switch (operation) {
+            case ADD -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = a[i] + b[i];
+                }
+            }
+            case SUBTRACT -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = a[i] - b[i];
+                }
+            }
+            case MULTIPLY -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = a[i] * b[i];
+                }
+            }
+            case DIVIDE -> {
+                for (int i = 0; i < n; i++) {
+                    if (b[i] == 0) {
+                        throw new IllegalArgumentException("Division by zero is not allowed (index " + i + ")");
+                    }
+                }
+                for (int i = 0; i < n; i++) {
+                    results[i] = a[i] / b[i];
+                }
+            }
+            case POWER -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = Math.pow(a[i], b[i]);
+                }
+            }
+            case PERCENTAGE -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = (a[i] * b[i]) / 100;
+                }
+            }
+            case SQRT -> {
+                for (int i = 0; i < n; i++) {
+                    if (a[i] < 0) {
+                        throw new IllegalArgumentException("Cannot calculate square root of negative number (index " + i + ")");
+                    }
+                }
+                for (int i = 0; i < n; i++) {
+                    results[i] = Math.sqrt(a[i]);
+                }
+            }
+            case ABS -> {
+                for (int i = 0; i < n; i++) {
+                    results[i] = Math.abs(a[i]);
+                }
+            }
+        }
+        return results;
+    }
+
+    // Formulas that fail to compile throw and are therefore not cached
+    @Override
+    @Cacheable(cacheNames = CacheConfig.COMPILED_EXPRESSIONS)
+    public CompiledExpression compileExpression(String expression) {
+        return CompiledExpression.compile(expression);
+    }
+}
@@ -1,25 +1,74 @@
 package com.rca.demo_course.service.impl;
 
+import com.rca.demo_course.config.CacheConfig;
 import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.CourseScoreStatistics;
+import com.rca.demo_course.domain.ScoreRank;
+import com.rca.demo_course.dto.CursorPage;
 import com.rca.demo_course.exception.CourseNotFoundException;
 import com.rca.demo_course.exception.DuplicateResourceException;
 import com.rca.demo_course.exception.ValidationException;
 import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.projection.CollectionVersion;
+import com.rca.demo_course.repository.projection.CourseRosterEntry;
+import com.rca.demo_course.repository.projection.CourseSnapshot;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
 import com.rca.demo_course.service.CourseService;
+import com.rca.demo_course.service.CourseStatisticsService;
+import com.rca.demo_course.service.GpaLeaderboardService;
+import com.rca.demo_course.service.GradingScaleService;
+import com.rca.demo_course.service.SearchIndexService;
+import com.rca.demo_course.service.StudentGpaSummaryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class CourseServiceImpl implements CourseService {
 
+    private static final BigDecimal MAX_SCORE = new BigDecimal("100");
+
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentGpaSummaryService studentGpaSummaryService;
+
+    @Autowired
+    private CourseStatisticsService courseStatisticsService;
+
+    @Autowired
+    private GpaLeaderboardService gpaLeaderboardService;
+
+    @Autowired
+    private GradingScaleService gradingScaleService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private SnapshotLoader snapshotLoader;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public Course create(Course course) {
         if (course == null) {
@@ -34,32 +83,159 @@ public class CourseServiceImpl implements CourseService {
         if (course.getCredits() == null || course.getCredits() <= 0) {
             throw new ValidationException("Course credits must be positive");
         }
+        checkGradingScale(course);
         if (courseRepository.existsByCode(course.getCode())) {
             throw new DuplicateResourceException("Course code already exists: " + course.getCode());
         }
-         return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        searchIndexService.indexCourse(savedCourse);
+        return savedCourse;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Course findById(String id) {
         if (id == null || id.trim().isEmpty()) {
             throw new ValidationException("Course ID cannot be null or empty");
         }
         try {
             Long courseId = Long.parseLong(id);
-            Optional<Course> course = courseRepository.findById(courseId);
-            return course.orElse(null);
+            return snapshotLoader.findCourseById(courseId).map(CourseSnapshot::toCourse).orElse(null);
         } catch (NumberFormatException e) {
             throw new ValidationException("Invalid course ID format: " + id);
         }
     }
 
+    /**
+     * The stored version of a course, or null if there is none, read without loading the course.
+     */
     @Override
+    @Transactional(readOnly = true)
+    public Long findVersion(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new ValidationException("Course ID cannot be null or empty");
+        }
+        try {
+            return courseRepository.findVersionById(Long.parseLong(id)).orElse(null);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid course ID format: " + id);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Course findByCode(String code) {
+        if (code == null || code.trim().isEmpty()) {
+            throw new ValidationException("Course code cannot be null or empty");
+        }
+        return snapshotLoader.findCourseByCode(code).map(CourseSnapshot::toCourse).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Course> findAll() {
         return courseRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion findCollectionVersion() {
+        return courseRepository.findCollectionVersion();
+    }
+
+    /**
+     * Courses whose name or code matches the query, best matches first. The search index only
+     * yields IDs; the matching rows are then read by primary key.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Course> search(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Search query cannot be null or empty");
+        }
+        if (limit < 1 || limit > KeysetPaging.MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + KeysetPaging.MAX_PAGE_SIZE);
+        }
+        List<Long> ids = searchIndexService.searchCourses(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Course> byId = courseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        // A row deleted since it was indexed is left out
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Lists the students graded in a course by name. Rows are projected by the query, so no
+     * Grade or Student entities are loaded.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseRosterEntry> findRoster(String id) {
+        return gradeRepository.findRosterByCourseId(findExisting(id).getId());
+    }
+
+    /**
+     * Score statistics of a course, served from the in-memory distribution that grade writes
+     * keep up to date. Only the first request for a course reads its grades.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CourseScoreStatistics findStatistics(String id) {
+        return courseStatisticsService.getStatistics(findExisting(id).getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ScoreRank rankScore(String id, BigDecimal score) {
+        if (score == null || score.compareTo(BigDecimal.ZERO) < 0 || score.compareTo(MAX_SCORE) > 0) {
+            throw new ValidationException("Score must be between 0 and 100: " + score);
+        }
+        return courseStatisticsService.rank(findExisting(id).getId(), score);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal findPercentile(String id, double percentile) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new ValidationException("Percentile must be greater than 0 and at most 100: " + percentile);
+        }
+        return courseStatisticsService.percentile(findExisting(id).getId(), percentile);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GradeScoreEntry> findTopScores(String id, int limit) {
+        if (limit < 1 || limit > KeysetPaging.MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + KeysetPaging.MAX_PAGE_SIZE);
+        }
+        return courseStatisticsService.topScores(findExisting(id).getId(), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Course> findPage(Long afterId, int limit) {
+        List<Course> rows = courseRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetPaging.startAfter(afterId), KeysetPaging.limitPlusOne(limit));
+        return CursorPage.of(rows, limit, Course::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Course> consumer) {
+        if (consumer == null) {
+            throw new ValidationException("Consumer cannot be null");
+        }
+        KeysetPaging.drain(courseRepository.streamAll(), consumer, entityManager);
+    }
+
+    // The old code is not known here, so the whole by-code cache is cleared
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.COURSES_BY_ID, key = "#course.id"),
+        @CacheEvict(cacheNames = CacheConfig.COURSES_BY_CODE, allEntries = true)
+    })
     public Course update(Course course) {
         if (course == null) {
             throw new ValidationException("Course cannot be null");
@@ -67,14 +243,25 @@ public class CourseServiceImpl implements CourseService {
         if (course.getId() == null) {
             throw new ValidationException("Course ID cannot be null");
         }
-        if (!courseRepository.existsById(course.getId())) {
-            throw new CourseNotFoundException(course.getId());
-        }
+        Long storedVersion = courseRepository.findVersionById(course.getId())
+                .orElseThrow(() -> new CourseNotFoundException(course.getId()));
+        course.setVersion(EntityVersions.expected(Course.class, course.getId(), course.getVersion(), storedVersion));
+        // A new scale applies to grades written from now on; existing grades keep their letters and points
+        checkGradingScale(course);
 
-        return courseRepository.save(course);
+        // Credits may have changed, so weighted GPA totals of enrolled students are rebuilt on next read
+        studentGpaSummaryService.evictCourse(course.getId());
+        gpaLeaderboardService.invalidate();
+        Course updatedCourse = courseRepository.save(course);
+        searchIndexService.indexCourse(updatedCourse);
+        return updatedCourse;
     }
 
     @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.COURSES_BY_ID, key = "T(Long).valueOf(#id)"),
+        @CacheEvict(cacheNames = CacheConfig.COURSES_BY_CODE, allEntries = true)
+    })
     public void delete(String id) {
         if (id == null || id.trim().isEmpty()) {
             throw new ValidationException("Course ID cannot be null or empty");
@@ -84,9 +271,27 @@ public class CourseServiceImpl implements CourseService {
             if (!courseRepository.existsById(courseId)) {
                 throw new CourseNotFoundException(courseId);
             }
+            studentGpaSummaryService.evictCourse(courseId);
+            courseStatisticsService.evictCourse(courseId);
+            gpaLeaderboardService.invalidate();
+            searchIndexService.removeCourse(courseId);
             courseRepository.deleteById(courseId);
         } catch (NumberFormatException e) {
             throw new ValidationException("Invalid course ID format: " + id);
         }
     }
+
+    private Course findExisting(String id) {
+        Course course = findById(id);
+        if (course == null) {
+            throw new CourseNotFoundException(Long.parseLong(id));
+        }
+        return course;
+    }
+
+    private void checkGradingScale(Course course) {
+        if (course.getGradingScale() != null) {
+            gradingScaleService.getScale(course.getGradingScale());
+        }
+    }
 }
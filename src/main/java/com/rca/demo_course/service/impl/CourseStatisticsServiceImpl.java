@@ -0,0 +1,205 @@
+package com.rca.demo_course.service.impl;
+
+import com.rca.demo_course.domain.CourseScoreStatistics;
+import com.rca.demo_course.domain.ScoreRank;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
+import com.rca.demo_course.service.CourseStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the score distribution of each course in memory, together with its grades ordered
+ * from the highest score down. Like the GPA summaries, a course is only materialized on its
+ * first read: deltas for other courses are skipped.
+ * <p>
+ * Grade writes are applied once their transaction commits, so a rollback never reaches the
+ * distribution. A load records the deltas that commit while it reads the grades and replays
+ * them before it publishes the course. Adding and removing are idempotent per grade ID, so a
+ * delta the query already saw is not counted twice. Materialized courses are still rebuilt
+ * periodically, for grades written on other instances.
+ */
+@Service
+public class CourseStatisticsServiceImpl implements CourseStatisticsService {
+
+    // Highest score first; equal scores in the order they were recorded
+    private static final Comparator<GradeScoreEntry> BY_SCORE_DESCENDING =
+            Comparator.comparing(GradeScoreEntry::score, Comparator.reverseOrder())
+                    .thenComparing(GradeScoreEntry::gradeId);
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    private final Map<Long, CourseScores> scoresByCourse = new ConcurrentHashMap<>();
+
+    // The loads in progress per course; changed only inside compute, which also guards their deltas
+    private final Map<Long, List<PendingDeltas>> loadsInProgress = new ConcurrentHashMap<>();
+
+    // Both views of one course, guarded by the instance's monitor
+    private static final class CourseScores {
+        final CourseScoreStatistics statistics = new CourseScoreStatistics();
+        final NavigableSet<GradeScoreEntry> ranking = new TreeSet<>(BY_SCORE_DESCENDING);
+        final Map<Long, GradeScoreEntry> byGradeId = new HashMap<>();
+
+        void add(GradeScoreEntry grade) {
+            if (byGradeId.putIfAbsent(grade.gradeId(), grade) == null) {
+                statistics.add(grade.score(), grade.letterGrade());
+                ranking.add(grade);
+            }
+        }
+
+        void remove(GradeScoreEntry grade) {
+            if (byGradeId.remove(grade.gradeId(), grade)) {
+                statistics.remove(grade.score(), grade.letterGrade());
+                ranking.remove(grade);
+            }
+        }
+    }
+
+    // Deltas that committed during one load, in commit order
+    private static final class PendingDeltas {
+        final List<Consumer<CourseScores>> deltas = new ArrayList<>();
+    }
+
+    @Override
+    public void addGrade(Long courseId, GradeScoreEntry grade) {
+        AfterCommit.run(() -> update(courseId, scores -> scores.add(grade)));
+    }
+
+    @Override
+    public void removeGrade(Long courseId, GradeScoreEntry grade) {
+        AfterCommit.run(() -> update(courseId, scores -> scores.remove(grade)));
+    }
+
+    @Override
+    public CourseScoreStatistics getStatistics(Long courseId) {
+        return read(courseId, scores -> scores.statistics.copy());
+    }
+
+    @Override
+    public ScoreRank rank(Long courseId, BigDecimal score) {
+        return read(courseId, scores -> scores.statistics.rank(score));
+    }
+
+    @Override
+    public BigDecimal percentile(Long courseId, double percentile) {
+        return read(courseId, scores -> scores.statistics.getPercentile(percentile));
+    }
+
+    @Override
+    public List<GradeScoreEntry> topScores(Long courseId, int limit) {
+        return read(courseId, scores -> {
+            List<GradeScoreEntry> top = new ArrayList<>(Math.min(limit, scores.ranking.size()));
+            Iterator<GradeScoreEntry> it = scores.ranking.iterator();
+            while (top.size() < limit && it.hasNext()) {
+                top.add(it.next());
+            }
+            return top;
+        });
+    }
+
+    @Override
+    public void rebuild(Long courseId) {
+        load(courseId, loaded -> {
+            scoresByCourse.replace(courseId, loaded);
+            return loaded;
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${course.statistics.rebuild-interval:PT15M}",
+               initialDelayString = "${course.statistics.rebuild-interval:PT15M}")
+    public void rebuildAll() {
+        for (Long courseId : List.copyOf(scoresByCourse.keySet())) {
+            rebuild(courseId);
+        }
+    }
+
+    @Override
+    public void evictCourse(Long courseId) {
+        AfterCommit.run(() -> scoresByCourse.remove(courseId));
+    }
+
+    @Override
+    public void evictCoursesOfStudent(Long studentId) {
+        // Looked up now, while the student's grades still exist
+        List<Long> courseIds = gradeRepository.findCourseIdsByStudentId(studentId);
+        AfterCommit.run(() -> courseIds.forEach(scoresByCourse::remove));
+    }
+
+    // Answers from the live distribution, so rank and percentile lookups copy nothing
+    private <T> T read(Long courseId, Function<CourseScores, T> query) {
+        CourseScores scores = scoresByCourse.get(courseId);
+        if (scores == null) {
+            // Loaded outside the map so that a slow query does not block other courses
+            scores = load(courseId, loaded -> {
+                CourseScores existing = scoresByCourse.putIfAbsent(courseId, loaded);
+                return existing != null ? existing : loaded;
+            });
+        }
+        synchronized (scores) {
+            return query.apply(scores);
+        }
+    }
+
+    private void update(Long courseId, Consumer<CourseScores> change) {
+        loadsInProgress.computeIfPresent(courseId, (id, loads) -> {
+            loads.forEach(load -> load.deltas.add(change));
+            return loads;
+        });
+        CourseScores scores = scoresByCourse.get(courseId);
+        if (scores != null) {
+            synchronized (scores) {
+                change.accept(scores);
+            }
+        }
+    }
+
+    private CourseScores load(Long courseId, UnaryOperator<CourseScores> publish) {
+        // Registered before the query, so every delta that commits after it is recorded
+        PendingDeltas pending = new PendingDeltas();
+        loadsInProgress.compute(courseId, (id, loads) -> {
+            List<PendingDeltas> registered = loads != null ? loads : new ArrayList<>();
+            registered.add(pending);
+            return registered;
+        });
+        List<GradeScoreEntry> grades;
+        try {
+            grades = gradeRepository.findScoreEntriesByCourseId(courseId);
+        } catch (RuntimeException e) {
+            loadsInProgress.computeIfPresent(courseId, (id, loads) -> withoutLoad(loads, pending));
+            throw e;
+        }
+        CourseScores loaded = new CourseScores();
+        grades.forEach(loaded::add);
+        AtomicReference<CourseScores> published = new AtomicReference<>();
+        // Deltas for the course wait meanwhile, so none falls between the replay and the publish
+        loadsInProgress.computeIfPresent(courseId, (id, loads) -> {
+            pending.deltas.forEach(delta -> delta.accept(loaded));
+            published.set(publish.apply(loaded));
+            return withoutLoad(loads, pending);
+        });
+        return published.get();
+    }
+
+    private static List<PendingDeltas> withoutLoad(List<PendingDeltas> loads, PendingDeltas load) {
+        loads.remove(load);
+        return loads.isEmpty() ? null : loads;
+    }
+}
@@ -0,0 +1,28 @@
+package com.rca.demo_course.service.impl;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Chooses the version an update of a student, course or grade is checked against.
+ */
+final class EntityVersions {
+
+    private EntityVersions() {
+    }
+
+    /**
+     * A caller that sends the version it read (the controllers take it from If-Match) gets a
+     * conflict when the row has changed since. Without one, the update applies to whatever is
+     * stored, and only updates that overlap in time are detected, by the version check when
+     * the row is written.
+     */
+    static Long expected(Class<?> type, Long id, Long callerVersion, Long storedVersion) {
+        if (callerVersion == null) {
+            return storedVersion;
+        }
+        if (!callerVersion.equals(storedVersion)) {
+            throw new ObjectOptimisticLockingFailureException(type, id);
+        }
+        return callerVersion;
+    }
+}
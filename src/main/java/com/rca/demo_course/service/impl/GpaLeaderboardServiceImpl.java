@@ -0,0 +1,308 @@
+package com.rca.demo_course.service.impl;
+
+import com.rca.demo_course.domain.GpaLeaderboard;
+import com.rca.demo_course.domain.GpaStanding;
+import com.rca.demo_course.dto.StudentGpaDTO;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.projection.GradePoints;
+import com.rca.demo_course.repository.projection.StudentGpaGroupTotals;
+import com.rca.demo_course.service.GpaLeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps every graded student in an in-memory {@link GpaLeaderboard}. The leaderboard is built
+ * with one aggregate query on its first read; from then on grade writes move single students
+ * once their transaction commits. Until it is built, deltas are skipped.
+ * <p>
+ * A build cannot tell whether a write that commits while the aggregate query runs is already
+ * in its result. So it notes the students whose writes committed meanwhile, together with
+ * those whose writes are still committing, and reads their grades again one by one before it
+ * publishes. Writes that were still committing then only apply grades that second read did
+ * not already see.
+ * <p>
+ * Changes that touch many students at once, such as bulk uploads and course credit changes,
+ * drop the leaderboard instead, and the next read builds it again. It is also rebuilt
+ * periodically to pick up grade writes made by other instances.
+ */
+@Service
+public class GpaLeaderboardServiceImpl implements GpaLeaderboardService {
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile GpaLeaderboard leaderboard;
+
+    // Not the monitor: builds run a query, and a virtual thread blocked inside synchronized pins its carrier
+    private final Lock buildLock = new ReentrantLock();
+
+    // Guards the fields below. Grade writes hold it briefly; a build holds it while it reads the unsettled students
+    private final Lock deltaLock = new ReentrantLock();
+
+    // Students with a grade write between beforeCommit and afterCompletion, and how many
+    private final Map<Long, Integer> committing = new HashMap<>();
+
+    // The grades a build read for students that were committing at the time, until they stop
+    private final Map<Long, Map<Long, Contribution>> gradesSeenByBuild = new HashMap<>();
+
+    // Non-null while a build runs
+    private Set<Long> touchedDuringBuild;
+
+    private boolean invalidatedDuringBuild;
+
+    private record Contribution(long pointHundredths, long credits) {
+
+        static Contribution of(BigDecimal gradePoints, Integer credits) {
+            return new Contribution(toHundredths(gradePoints != null ? gradePoints.doubleValue() : null),
+                    credits != null ? credits : 0L);
+        }
+    }
+
+    @Override
+    public void addGrade(Long studentId, Long gradeId, double gradePoints, int credits) {
+        applyDelta(studentId, gradeId, 1, gradePoints, credits);
+    }
+
+    @Override
+    public void removeGrade(Long studentId, Long gradeId, double gradePoints, int credits) {
+        applyDelta(studentId, gradeId, -1, gradePoints, credits);
+    }
+
+    @Override
+    public List<StudentGpaDTO> top(int limit) {
+        return built().top(limit).stream()
+                .map(standing -> new StudentGpaDTO(standing.studentId(), standing.getGpa(),
+                        standing.getWeightedGpa(), standing.gradeCount(), standing.totalCredits()))
+                .toList();
+    }
+
+    @Override
+    public void rebuild() {
+        buildLock.lock();
+        try {
+            build();
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.rebuild-interval:PT15M}",
+               initialDelayString = "${leaderboard.rebuild-interval:PT15M}")
+    public void rebuildIfBuilt() {
+        if (leaderboard != null) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void evictStudent(Long studentId) {
+        AfterCommit.run(() -> {
+            deltaLock.lock();
+            try {
+                if (touchedDuringBuild != null) {
+                    touchedDuringBuild.add(studentId);
+                }
+                GpaLeaderboard current = leaderboard;
+                if (current != null) {
+                    current.remove(studentId);
+                }
+            } finally {
+                deltaLock.unlock();
+            }
+        });
+    }
+
+    @Override
+    public void invalidate() {
+        AfterCommit.run(() -> {
+            deltaLock.lock();
+            try {
+                leaderboard = null;
+                invalidatedDuringBuild = touchedDuringBuild != null;
+            } finally {
+                deltaLock.unlock();
+            }
+        });
+    }
+
+    private GpaLeaderboard built() {
+        GpaLeaderboard current = leaderboard;
+        if (current != null) {
+            return current;
+        }
+        // Concurrent first reads wait for one build instead of each scanning the grades
+        buildLock.lock();
+        try {
+            current = leaderboard;
+            return current != null ? current : build();
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private void applyDelta(Long studentId, Long gradeId, int sign, double gradePoints, int credits) {
+        Contribution grade = new Contribution(Math.round(gradePoints * 100), credits);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(studentId, gradeId, sign, grade);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean counted;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                deltaLock.lock();
+                try {
+                    committing.merge(studentId, 1, Integer::sum);
+                    counted = true;
+                } finally {
+                    deltaLock.unlock();
+                }
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(studentId, gradeId, sign, grade);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!counted) {
+                    return;
+                }
+                deltaLock.lock();
+                try {
+                    if (committing.merge(studentId, -1, Integer::sum) == 0) {
+                        committing.remove(studentId);
+                        gradesSeenByBuild.remove(studentId);
+                    }
+                } finally {
+                    deltaLock.unlock();
+                }
+            }
+        });
+    }
+
+    private void apply(Long studentId, Long gradeId, int sign, Contribution grade) {
+        deltaLock.lock();
+        try {
+            if (touchedDuringBuild != null) {
+                touchedDuringBuild.add(studentId);
+            }
+            Map<Long, Contribution> seen = gradesSeenByBuild.get(studentId);
+            if (seen != null) {
+                boolean unseen = sign > 0 ? seen.putIfAbsent(gradeId, grade) == null : seen.remove(gradeId, grade);
+                if (!unseen) {
+                    return;
+                }
+            }
+            GpaLeaderboard current = leaderboard;
+            if (current != null) {
+                long points = sign * grade.pointHundredths();
+                current.apply(studentId, sign, points, sign * grade.credits(), points * grade.credits());
+            }
+        } finally {
+            deltaLock.unlock();
+        }
+    }
+
+    private GpaLeaderboard build() {
+        TransactionTemplate primary = new TransactionTemplate(transactionManager);
+        // Read-write so it runs on the primary, which has every write whose delta already arrived
+        primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // The second query has to see what committed after the first
+        primary.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        deltaLock.lock();
+        try {
+            touchedDuringBuild = new HashSet<>();
+            invalidatedDuringBuild = false;
+        } finally {
+            deltaLock.unlock();
+        }
+        try {
+            return primary.execute(status -> {
+                GpaLeaderboard loaded = load();
+                deltaLock.lock();
+                try {
+                    settle(loaded);
+                    if (!invalidatedDuringBuild) {
+                        leaderboard = loaded;
+                    }
+                    return loaded;
+                } finally {
+                    deltaLock.unlock();
+                }
+            });
+        } finally {
+            deltaLock.lock();
+            try {
+                touchedDuringBuild = null;
+            } finally {
+                deltaLock.unlock();
+            }
+        }
+    }
+
+    private GpaLeaderboard load() {
+        GpaLeaderboard loaded = new GpaLeaderboard();
+        for (StudentGpaGroupTotals totals : gradeRepository.calculateGpaTotalsForAllStudents()) {
+            if (totals.getGradeCount() == null || totals.getGradeCount() == 0) {
+                continue;
+            }
+            loaded.put(new GpaStanding(
+                    totals.getStudentId(),
+                    totals.getGradeCount(),
+                    toHundredths(totals.getTotalPoints()),
+                    totals.getTotalCredits() != null ? totals.getTotalCredits() : 0L,
+                    toHundredths(totals.getWeightedPoints())));
+        }
+        return loaded;
+    }
+
+    // Called with deltaLock held, so no write can start or finish committing until the leaderboard is published
+    private void settle(GpaLeaderboard loaded) {
+        Set<Long> unsettled = new HashSet<>(touchedDuringBuild);
+        unsettled.addAll(committing.keySet());
+        if (unsettled.isEmpty()) {
+            return;
+        }
+        Map<Long, Map<Long, Contribution>> grades = new HashMap<>();
+        for (GradePoints row : gradeRepository.findGradePointsByStudentIds(unsettled)) {
+            grades.computeIfAbsent(row.studentId(), id -> new HashMap<>())
+                    .put(row.gradeId(), Contribution.of(row.gradePoints(), row.credits()));
+        }
+        for (Long studentId : unsettled) {
+            Map<Long, Contribution> studentGrades = grades.getOrDefault(studentId, Map.of());
+            loaded.remove(studentId);
+            for (Contribution grade : studentGrades.values()) {
+                loaded.apply(studentId, 1, grade.pointHundredths(), grade.credits(),
+                        grade.pointHundredths() * grade.credits());
+            }
+            if (committing.containsKey(studentId)) {
+                gradesSeenByBuild.put(studentId, new HashMap<>(studentGrades));
+            }
+        }
+    }
+
+    private static long toHundredths(Double value) {
+        return value != null ? Math.round(value * 100) : 0L;
+    }
+}
@@ -0,0 +1,271 @@
+package com.rca.demo_course.service.impl;
+
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.GradingScale;
+import com.rca.demo_course.dto.BulkGradeErrorDTO;
+import com.rca.demo_course.dto.BulkGradeResultDTO;
+import com.rca.demo_course.dto.GradeDTO;
+import com.rca.demo_course.exception.ValidationException;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.SequenceIdAllocator;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.CourseGradingScale;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
+import com.rca.demo_course.service.CourseStatisticsService;
+import com.rca.demo_course.service.GpaLeaderboardService;
+import com.rca.demo_course.service.GradeImportService;
+import com.rca.demo_course.service.GradingScaleService;
+import com.rca.demo_course.service.StudentGpaSummaryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Inserts many grades at once. Rows are validated in memory, student and course IDs are
+ * checked with one IN query per chunk, letter grades and points come from each course's
+ * grading scale, and valid rows are written with JDBC batch inserts.
+ * Invalid rows are reported back and do not stop the rest of the upload.
+ */
+@Service
+@Transactional
+public class GradeImportServiceImpl implements GradeImportService {
+
+    static final int MAX_ROWS = 100_000;
+
+    // Rows per JDBC batch, and IDs per IN list
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_GRADE_SQL =
+            "INSERT INTO grades (id, student_id, course_id, score, letter_grade, grade_points) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final BigDecimal MAX_SCORE = new BigDecimal("100");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SequenceIdAllocator sequenceIdAllocator;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private GradingScaleService gradingScaleService;
+
+    @Autowired
+    private StudentGpaSummaryService studentGpaSummaryService;
+
+    @Autowired
+    private CourseStatisticsService courseStatisticsService;
+
+    @Autowired
+    private GpaLeaderboardService gpaLeaderboardService;
+
+    private record Row(int number, Long studentId, Long courseId, BigDecimal score) {
+    }
+
+    private record Insert(long id, Row row, GradingScale scale) {
+    }
+
+    @Override
+    public BulkGradeResultDTO importGrades(List<GradeDTO> grades) {
+        if (grades == null) {
+            throw new ValidationException("Grades cannot be null");
+        }
+        checkRowCount(grades.size());
+
+        List<Row> rows = new ArrayList<>(grades.size());
+        List<BulkGradeErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < grades.size(); i++) {
+            GradeDTO grade = grades.get(i);
+            if (grade == null) {
+                errors.add(new BulkGradeErrorDTO(i + 1, "Grade cannot be null"));
+            } else {
+                rows.add(new Row(i + 1, grade.getStudentId(), grade.getCourseId(), grade.getScore()));
+            }
+        }
+        return insert(grades.size(), rows, errors);
+    }
+
+    @Override
+    public BulkGradeResultDTO importGradesCsv(Reader csv) {
+        if (csv == null) {
+            throw new ValidationException("CSV content cannot be null");
+        }
+
+        List<Row> rows = new ArrayList<>();
+        List<BulkGradeErrorDTO> errors = new ArrayList<>();
+        int received = 0;
+        try (BufferedReader reader = new BufferedReader(csv)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                    // Spreadsheet exports may start with a byte order mark
+                    line = line.substring(1);
+                }
+                if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                    continue;
+                }
+                checkRowCount(++received);
+                String[] fields = line.split(",", -1);
+                if (fields.length != 3) {
+                    errors.add(new BulkGradeErrorDTO(lineNumber, "Expected 3 columns (studentId,courseId,score) but found " + fields.length));
+                    continue;
+                }
+                try {
+                    rows.add(new Row(lineNumber,
+                            parseField(fields[0], Long::valueOf),
+                            parseField(fields[1], Long::valueOf),
+                            parseField(fields[2], BigDecimal::new)));
+                } catch (NumberFormatException e) {
+                    errors.add(new BulkGradeErrorDTO(lineNumber, "Invalid number in line: " + line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return insert(received, rows, errors);
+    }
+
+    private BulkGradeResultDTO insert(int received, List<Row> rows, List<BulkGradeErrorDTO> errors) {
+        List<Row> candidates = new ArrayList<>(rows.size());
+        Set<Long> studentIds = new LinkedHashSet<>();
+        Set<Long> courseIds = new LinkedHashSet<>();
+        for (Row row : rows) {
+            String problem = validate(row);
+            if (problem != null) {
+                errors.add(new BulkGradeErrorDTO(row.number(), problem));
+            } else {
+                candidates.add(row);
+                studentIds.add(row.studentId());
+                courseIds.add(row.courseId());
+            }
+        }
+
+        Set<Long> existingStudents = findExisting(studentIds, studentRepository::findExistingIds);
+        Map<Long, GradingScale> courseScales = findGradingScales(courseIds);
+        List<Row> valid = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            if (!existingStudents.contains(row.studentId())) {
+                errors.add(new BulkGradeErrorDTO(row.number(), "Student not found with ID: " + row.studentId()));
+            } else if (!courseScales.containsKey(row.courseId())) {
+                errors.add(new BulkGradeErrorDTO(row.number(), "Course not found with ID: " + row.courseId()));
+            } else {
+                valid.add(row);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            long[] ids = sequenceIdAllocator.nextIds(Grade.ID_SEQUENCE, valid.size());
+            List<Insert> inserts = new ArrayList<>(valid.size());
+            for (int i = 0; i < valid.size(); i++) {
+                Row row = valid.get(i);
+                inserts.add(new Insert(ids[i], row, courseScales.get(row.courseId())));
+            }
+            jdbcTemplate.batchUpdate(INSERT_GRADE_SQL, inserts, BATCH_SIZE, (ps, insert) -> {
+                Row row = insert.row();
+                double score = row.score().doubleValue();
+                ps.setLong(1, insert.id());
+                ps.setLong(2, row.studentId());
+                ps.setLong(3, row.courseId());
+                ps.setBigDecimal(4, row.score());
+                ps.setString(5, insert.scale().letterFor(score));
+                ps.setBigDecimal(6, BigDecimal.valueOf(insert.scale().pointsFor(score)));
+            });
+            for (Insert insert : inserts) {
+                Row row = insert.row();
+                courseStatisticsService.addGrade(row.courseId(), new GradeScoreEntry(insert.id(), row.studentId(),
+                        row.score(), insert.scale().letterFor(row.score().doubleValue())));
+            }
+        }
+
+        // GPA totals of the affected students are rebuilt from the grades table on next read
+        Set<Long> affectedStudents = new LinkedHashSet<>();
+        valid.forEach(row -> affectedStudents.add(row.studentId()));
+        forEachChunk(affectedStudents, studentGpaSummaryService::evictStudents);
+        if (!valid.isEmpty()) {
+            gpaLeaderboardService.invalidate();
+        }
+
+        errors.sort(Comparator.comparingInt(BulkGradeErrorDTO::getRow));
+        return new BulkGradeResultDTO(received, valid.size(), errors);
+    }
+
+    private String validate(Row row) {
+        if (row.studentId() == null) {
+            return "Student ID is required";
+        }
+        if (row.courseId() == null) {
+            return "Course ID is required";
+        }
+        if (row.score() == null) {
+            return "Score is required";
+        }
+        if (row.score().compareTo(BigDecimal.ZERO) < 0 || row.score().compareTo(MAX_SCORE) > 0) {
+            return "Score must be between 0 and 100: " + row.score();
+        }
+        return null;
+    }
+
+    private Set<Long> findExisting(Set<Long> ids, Function<Collection<Long>, List<Long>> query) {
+        Set<Long> existing = new HashSet<>();
+        forEachChunk(ids, chunk -> existing.addAll(query.apply(chunk)));
+        return existing;
+    }
+
+    private Map<Long, GradingScale> findGradingScales(Set<Long> courseIds) {
+        Map<Long, GradingScale> scales = new HashMap<>();
+        forEachChunk(courseIds, chunk -> {
+            for (CourseGradingScale course : courseRepository.findGradingScalesByIds(chunk)) {
+                scales.put(course.getId(), gradingScaleService.getScale(course.getGradingScale()));
+            }
+        });
+        return scales;
+    }
+
+    private void forEachChunk(Set<Long> ids, Consumer<List<Long>> action) {
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            action.accept(all.subList(from, Math.min(from + BATCH_SIZE, all.size())));
+        }
+    }
+
+    private void checkRowCount(int rows) {
+        if (rows > MAX_ROWS) {
+            throw new ValidationException("A bulk upload can contain at most " + MAX_ROWS + " grades");
+        }
+    }
+
+    private static boolean isHeader(String line) {
+        String first = line.strip();
+        return !first.isEmpty() && Character.isLetter(first.charAt(0));
+    }
+
+    private static <T> T parseField(String field, Function<String, T> parser) {
+        String value = field.strip();
+        return value.isEmpty() ? null : parser.apply(value);
+    }
+}
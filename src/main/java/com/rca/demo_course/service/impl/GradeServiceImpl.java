@@ -3,6 +3,10 @@ package com.rca.demo_course.service.impl;
 import com.rca.demo_course.domain.Grade;
 import com.rca.demo_course.domain.Student;
 import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.GradingScale;
+import com.rca.demo_course.domain.StudentGpaSummary;
+import com.rca.demo_course.dto.CursorPage;
+import com.rca.demo_course.dto.StudentGpaDTO;
 import com.rca.demo_course.exception.CourseNotFoundException;
 import com.rca.demo_course.exception.GradeNotFoundException;
 import com.rca.demo_course.exception.InvalidGradeException;
@@ -11,19 +15,38 @@ import com.rca.demo_course.exception.ValidationException;
 import com.rca.demo_course.repository.GradeRepository;
 import com.rca.demo_course.repository.StudentRepository;
 import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.projection.CollectionVersion;
+import com.rca.demo_course.repository.projection.CourseSnapshot;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
+import com.rca.demo_course.repository.projection.StudentGpaGroupTotals;
+import com.rca.demo_course.service.CourseStatisticsService;
+import com.rca.demo_course.service.GpaLeaderboardService;
 import com.rca.demo_course.service.GradeService;
+import com.rca.demo_course.service.GradingScaleService;
+import com.rca.demo_course.service.StudentGpaSummaryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
 public class GradeServiceImpl implements GradeService {
 
+    // Keeps IN lists well below database parameter limits
+    private static final int GPA_BATCH_CHUNK_SIZE = 1000;
+
     @Autowired
     private GradeRepository gradeRepository;
 
@@ -33,6 +56,24 @@ public class GradeServiceImpl implements GradeService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private StudentGpaSummaryService studentGpaSummaryService;
+
+    @Autowired
+    private CourseStatisticsService courseStatisticsService;
+
+    @Autowired
+    private GpaLeaderboardService gpaLeaderboardService;
+
+    @Autowired
+    private GradingScaleService gradingScaleService;
+
+    @Autowired
+    private SnapshotLoader snapshotLoader;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public Grade create(Grade grade) {
         if (grade == null) {
@@ -48,19 +89,24 @@ public class GradeServiceImpl implements GradeService {
             throw new InvalidGradeException(grade.getScore().doubleValue());
         }
 
-        // Verify student and course exist
-        if (!studentRepository.existsById(grade.getStudent().getId())) {
-            throw new StudentNotFoundException(grade.getStudent().getId());
-        }
-        if (!courseRepository.existsById(grade.getCourse().getId())) {
-            throw new CourseNotFoundException(grade.getCourse().getId());
+        // Verify student and course exist; both lookups are served from the cache when possible
+        Long studentId = grade.getStudent().getId();
+        if (snapshotLoader.findStudentById(studentId).isEmpty()) {
+            throw new StudentNotFoundException(studentId);
         }
+        Course course = findCourse(grade.getCourse().getId());
+        attachReferences(grade, studentId, course.getId());
 
-        grade.setLetterGrade(calculateLetterGrade(grade.getScore().doubleValue()));
-        return gradeRepository.save(grade);
+        double points = classify(grade, course);
+        Grade savedGrade = gradeRepository.save(grade);
+        studentGpaSummaryService.addGrade(studentId, points, course.getCredits());
+        gpaLeaderboardService.addGrade(studentId, savedGrade.getId(), points, course.getCredits());
+        courseStatisticsService.addGrade(course.getId(), scoreEntry(savedGrade.getId(), studentId, grade));
+        return savedGrade;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Grade findById(String id) {
         if (id == null || id.trim().isEmpty()) {
             throw new ValidationException("Grade ID cannot be null or empty");
@@ -74,7 +120,24 @@ public class GradeServiceImpl implements GradeService {
         }
     }
 
+    /**
+     * The stored version of a grade, or null if there is none, read without loading the grade.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Long findVersion(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new ValidationException("Grade ID cannot be null or empty");
+        }
+        try {
+            return gradeRepository.findVersionById(Long.parseLong(id)).orElse(null);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid grade ID format: " + id);
+        }
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<Grade> findByStudentId(String studentId) {
         if (studentId == null || studentId.trim().isEmpty()) {
             throw new ValidationException("Student ID cannot be null or empty");
@@ -88,6 +151,7 @@ public class GradeServiceImpl implements GradeService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Grade> findByCourseId(String courseId) {
         if (courseId == null || courseId.trim().isEmpty()) {
             throw new ValidationException("Course ID cannot be null or empty");
@@ -100,6 +164,56 @@ public class GradeServiceImpl implements GradeService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion findCollectionVersionByStudentId(String studentId) {
+        return gradeRepository.findCollectionVersionByStudentId(parseStudentId(studentId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion findCollectionVersionByCourseId(String courseId) {
+        return gradeRepository.findCollectionVersionByCourseId(parseCourseId(courseId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Grade> findPageByStudentId(String studentId, Long afterId, int limit) {
+        Long id = parseStudentId(studentId);
+        List<Grade> rows = gradeRepository.findByStudentIdAndIdGreaterThanOrderByIdAsc(
+                id, KeysetPaging.startAfter(afterId), KeysetPaging.limitPlusOne(limit));
+        return CursorPage.of(rows, limit, Grade::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Grade> findPageByCourseId(String courseId, Long afterId, int limit) {
+        Long id = parseCourseId(courseId);
+        List<Grade> rows = gradeRepository.findByCourseIdAndIdGreaterThanOrderByIdAsc(
+                id, KeysetPaging.startAfter(afterId), KeysetPaging.limitPlusOne(limit));
+        return CursorPage.of(rows, limit, Grade::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByStudentId(String studentId, Consumer<Grade> consumer) {
+        Long id = parseStudentId(studentId);
+        if (consumer == null) {
+            throw new ValidationException("Consumer cannot be null");
+        }
+        KeysetPaging.drain(gradeRepository.streamByStudentId(id), consumer, entityManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByCourseId(String courseId, Consumer<Grade> consumer) {
+        Long id = parseCourseId(courseId);
+        if (consumer == null) {
+            throw new ValidationException("Consumer cannot be null");
+        }
+        KeysetPaging.drain(gradeRepository.streamByCourseId(id), consumer, entityManager);
+    }
+
     @Override
     public Grade update(Grade grade) {
         if (grade == null) {
@@ -108,15 +222,34 @@ public class GradeServiceImpl implements GradeService {
         if (grade.getId() == null) {
             throw new ValidationException("Grade ID cannot be null");
         }
-        if (!gradeRepository.existsById(grade.getId())) {
-            throw new GradeNotFoundException(grade.getId());
-        }
+        Grade existing = gradeRepository.findById(grade.getId())
+                .orElseThrow(() -> new GradeNotFoundException(grade.getId()));
         if (grade.getScore() == null || grade.getScore().compareTo(BigDecimal.ZERO) < 0 || grade.getScore().compareTo(new BigDecimal("100")) > 0) {
             throw new InvalidGradeException(grade.getScore().doubleValue());
         }
 
-        grade.setLetterGrade(calculateLetterGrade(grade.getScore().doubleValue()));
-        return gradeRepository.save(grade);
+        grade.setVersion(EntityVersions.expected(Grade.class, grade.getId(), grade.getVersion(), existing.getVersion()));
+
+        // Capture the old contribution before save() merges the new state into the managed entity
+        Long oldStudentId = existing.getStudent().getId();
+        double oldPoints = pointsOf(existing);
+        Long oldCourseId = existing.getCourse().getId();
+        GradeScoreEntry oldEntry = scoreEntry(existing.getId(), oldStudentId, existing);
+        int oldCredits = findCourse(oldCourseId).getCredits();
+        Long newStudentId = grade.getStudent() != null ? grade.getStudent().getId() : oldStudentId;
+        Long newCourseId = grade.getCourse() != null ? grade.getCourse().getId() : oldCourseId;
+        Course newCourse = findCourse(newCourseId);
+        attachReferences(grade, newStudentId, newCourseId);
+
+        double newPoints = classify(grade, newCourse);
+        Grade savedGrade = gradeRepository.save(grade);
+        studentGpaSummaryService.removeGrade(oldStudentId, oldPoints, oldCredits);
+        studentGpaSummaryService.addGrade(newStudentId, newPoints, newCourse.getCredits());
+        gpaLeaderboardService.removeGrade(oldStudentId, grade.getId(), oldPoints, oldCredits);
+        gpaLeaderboardService.addGrade(newStudentId, grade.getId(), newPoints, newCourse.getCredits());
+        courseStatisticsService.removeGrade(oldCourseId, oldEntry);
+        courseStatisticsService.addGrade(newCourseId, scoreEntry(grade.getId(), newStudentId, grade));
+        return savedGrade;
     }
 
     @Override
@@ -126,10 +259,14 @@ public class GradeServiceImpl implements GradeService {
         }
         try {
             Long gradeId = Long.parseLong(id);
-            if (!gradeRepository.existsById(gradeId)) {
-                throw new GradeNotFoundException(gradeId);
-            }
+            Grade existing = gradeRepository.findById(gradeId)
+                    .orElseThrow(() -> new GradeNotFoundException(gradeId));
+            int credits = findCourse(existing.getCourse().getId()).getCredits();
             gradeRepository.deleteById(gradeId);
+            Long studentId = existing.getStudent().getId();
+            studentGpaSummaryService.removeGrade(studentId, pointsOf(existing), credits);
+            gpaLeaderboardService.removeGrade(studentId, gradeId, pointsOf(existing), credits);
+            courseStatisticsService.removeGrade(existing.getCourse().getId(), scoreEntry(gradeId, studentId, existing));
         } catch (NumberFormatException e) {
             throw new ValidationException("Invalid grade ID format: " + id);
         }
@@ -137,49 +274,138 @@ public class GradeServiceImpl implements GradeService {
 
     @Override
     public String calculateLetterGrade(double score) {
-        if (score < 0 || score > 100) {
+        return calculateLetterGrade(score, null);
+    }
+
+    @Override
+    public String calculateLetterGrade(double score, String scaleName) {
+        if (!(score >= 0 && score <= 100)) {
             throw new InvalidGradeException(score);
         }
-
-        if (score >= 90) return "A";
-        if (score >= 80) return "B";
-        if (score >= 70) return "C";
-        if (score >= 60) return "D";
-        return "F";
+        return gradingScaleService.getScale(scaleName).letterFor(score);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public double calculateGPA(String studentId) {
-        if (studentId == null || studentId.trim().isEmpty()) {
-            throw new ValidationException("Student ID cannot be null or empty");
+        StudentGpaSummary summary = studentGpaSummaryService.getSummary(parseStudentId(studentId));
+        if (summary.getGradeCount() == 0) {
+            return 0.0;
         }
+        return summary.getTotalPoints().doubleValue() / summary.getGradeCount();
+    }
 
-        try {
-            Long id = Long.parseLong(studentId);
-            List<Grade> studentGrades = gradeRepository.findByStudentId(id);
-            if (studentGrades.isEmpty()) {
-                return 0.0;
-            }
+    @Override
+    @Transactional(readOnly = true)
+    public double calculateWeightedGPA(String studentId) {
+        StudentGpaSummary summary = studentGpaSummaryService.getSummary(parseStudentId(studentId));
+        if (summary.getTotalCredits() == 0) {
+            return 0.0;
+        }
+        return summary.getWeightedPoints().doubleValue() / summary.getTotalCredits();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void calculateGPAs(List<Long> studentIds, Consumer<StudentGpaDTO> sink) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            throw new ValidationException("Student IDs cannot be null or empty");
+        }
+        if (studentIds.stream().anyMatch(Objects::isNull)) {
+            throw new ValidationException("Student IDs cannot contain null values");
+        }
 
-            double totalPoints = 0.0;
-            for (Grade grade : studentGrades) {
-                totalPoints += getGradePoints(grade.getLetterGrade());
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        for (int from = 0; from < distinctIds.size(); from += GPA_BATCH_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + GPA_BATCH_CHUNK_SIZE, distinctIds.size()));
+            Map<Long, StudentGpaGroupTotals> totalsById = new HashMap<>();
+            for (StudentGpaGroupTotals totals : gradeRepository.calculateGpaTotalsByStudentIds(chunk)) {
+                totalsById.put(totals.getStudentId(), totals);
+            }
+            // Students without grades are reported with a GPA of 0.0, like the single-student endpoint
+            for (Long id : chunk) {
+                StudentGpaGroupTotals totals = totalsById.get(id);
+                sink.accept(totals != null ? toGpaDTO(totals) : new StudentGpaDTO(id, 0.0, 0.0, 0, 0));
             }
+        }
+    }
 
-            return totalPoints / studentGrades.size();
+    @Override
+    @Transactional(readOnly = true)
+    public void calculateGPAsByCourseId(String courseId, Consumer<StudentGpaDTO> sink) {
+        Long id = parseCourseId(courseId);
+        if (snapshotLoader.findCourseById(id).isEmpty()) {
+            throw new CourseNotFoundException(id);
+        }
+        for (StudentGpaGroupTotals totals : gradeRepository.calculateGpaTotalsByEnrolledCourseId(id)) {
+            sink.accept(toGpaDTO(totals));
+        }
+    }
+
+    private StudentGpaDTO toGpaDTO(StudentGpaGroupTotals totals) {
+        long gradeCount = totals.getGradeCount() != null ? totals.getGradeCount() : 0L;
+        long totalCredits = totals.getTotalCredits() != null ? totals.getTotalCredits() : 0L;
+        double totalPoints = totals.getTotalPoints() != null ? totals.getTotalPoints() : 0.0;
+        double weightedPoints = totals.getWeightedPoints() != null ? totals.getWeightedPoints() : 0.0;
+        return new StudentGpaDTO(
+            totals.getStudentId(),
+            gradeCount == 0 ? 0.0 : totalPoints / gradeCount,
+            totalCredits == 0 ? 0.0 : weightedPoints / totalCredits,
+            gradeCount,
+            totalCredits
+        );
+    }
+
+    private Long parseStudentId(String studentId) {
+        if (studentId == null || studentId.trim().isEmpty()) {
+            throw new ValidationException("Student ID cannot be null or empty");
+        }
+        try {
+            return Long.parseLong(studentId);
         } catch (NumberFormatException e) {
             throw new ValidationException("Invalid student ID format: " + studentId);
         }
     }
 
-    private double getGradePoints(String letterGrade) {
-        switch (letterGrade) {
-            case "A": return 4.0;
-            case "B": return 3.0;
-            case "C": return 2.0;
-            case "D": return 1.0;
-            case "F": return 0.0;
-            default: return 0.0;
+    private Long parseCourseId(String courseId) {
+        if (courseId == null || courseId.trim().isEmpty()) {
+            throw new ValidationException("Course ID cannot be null or empty");
         }
+        try {
+            return Long.parseLong(courseId);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid course ID format: " + courseId);
+        }
+    }
+
+    // Sets the letter grade and grade points from the course's scale and returns the points
+    private double classify(Grade grade, Course course) {
+        GradingScale scale = gradingScaleService.getScale(course.getGradingScale());
+        double score = grade.getScore().doubleValue();
+        double points = scale.pointsFor(score);
+        grade.setLetterGrade(scale.letterFor(score));
+        grade.setGradePoints(BigDecimal.valueOf(points));
+        return points;
+    }
+
+    private GradeScoreEntry scoreEntry(Long gradeId, Long studentId, Grade grade) {
+        return new GradeScoreEntry(gradeId, studentId, grade.getScore(), grade.getLetterGrade());
+    }
+
+    // Stored with every grade; older rows are backfilled at startup by LegacyGradePointsBackfill
+    private double pointsOf(Grade grade) {
+        return grade.getGradePoints().doubleValue();
+    }
+
+    // The mapper's student and course only carry an ID, and versioned stubs cannot be merged
+    private void attachReferences(Grade grade, Long studentId, Long courseId) {
+        grade.setStudent(studentRepository.getReferenceById(studentId));
+        grade.setCourse(courseRepository.getReferenceById(courseId));
+    }
+
+    private Course findCourse(Long courseId) {
+        return snapshotLoader.findCourseById(courseId)
+                .map(CourseSnapshot::toCourse)
+                .orElseThrow(() -> new CourseNotFoundException(courseId));
     }
 }
@@ -0,0 +1,65 @@
+package com.rca.demo_course.service.impl;
+
+import com.rca.demo_course.domain.GradingScale;
+import com.rca.demo_course.exception.ValidationException;
+import com.rca.demo_course.service.GradingScaleService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registry of the grading scales courses can use. The standard and plus/minus scales are
+ * built in; more can be defined as {@code grading.scales.<name>=A:90:4.0,...,F:0:0.0}.
+ * Scales are compiled once at startup and never change afterwards.
+ */
+@Service
+public class GradingScaleServiceImpl implements GradingScaleService {
+
+    private final Map<String, GradingScale> scales = new LinkedHashMap<>();
+
+    @Value("${grading.default-scale:" + GradingScale.STANDARD + "}")
+    private String defaultScaleName = GradingScale.STANDARD;
+
+    @Autowired
+    private Environment environment;
+
+    public GradingScaleServiceImpl() {
+        scales.put(GradingScale.STANDARD, GradingScale.standard());
+        scales.put(GradingScale.PLUS_MINUS, GradingScale.plusMinus());
+    }
+
+    @PostConstruct
+    void loadConfiguredScales() {
+        Binder.get(environment)
+                .bind("grading.scales", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of())
+                .forEach((name, spec) -> scales.put(name, GradingScale.parse(name, spec)));
+        if (!scales.containsKey(defaultScaleName)) {
+            throw new IllegalStateException("Default grading scale is not defined: " + defaultScaleName);
+        }
+    }
+
+    @Override
+    public GradingScale getDefaultScale() {
+        return scales.get(defaultScaleName);
+    }
+
+    @Override
+    public GradingScale getScale(String name) {
+        if (name == null) {
+            return getDefaultScale();
+        }
+        GradingScale scale = scales.get(name);
+        if (scale == null) {
+            throw new ValidationException("Unknown grading scale: " + name);
+        }
+        return scale;
+    }
+}
@@ -0,0 +1,55 @@
+package com.rca.demo_course.service.impl;
+
+import com.rca.demo_course.exception.ValidationException;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Helpers shared by the keyset-paginated and streamed listings.
+ */
+final class KeysetPaging {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    // Rows read per round trip while streaming, and how often the persistence context is cleared
+    static final int STREAM_FETCH_SIZE = 500;
+
+    private KeysetPaging() {
+    }
+
+    static long startAfter(Long afterId) {
+        return afterId != null ? afterId : 0L;
+    }
+
+    /**
+     * Validates the page size and returns a limit one larger, so the extra row tells
+     * whether another page exists.
+     */
+    static Limit limitPlusOne(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return Limit.of(limit + 1);
+    }
+
+    /**
+     * Hands every row of the stream to the consumer and closes the stream. Rows already handed
+     * out are not needed again, so the persistence context is cleared after every fetch batch
+     * to keep memory flat however many rows there are.
+     */
+    static <T> void drain(Stream<T> rows, Consumer<? super T> consumer, EntityManager entityManager) {
+        try (rows) {
+            long count = 0;
+            for (Iterator<T> it = rows.iterator(); it.hasNext(); ) {
+                consumer.accept(it.next());
+                if (++count % STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+}
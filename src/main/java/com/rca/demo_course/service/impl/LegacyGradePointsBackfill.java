@@ -0,0 +1,50 @@
+package com.rca.demo_course.service.impl;
+
+import com.rca.demo_course.domain.GradingScale;
+import com.rca.demo_course.repository.GradeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Stores grade points on grades written before they were persisted. Those rows only carry a
+ * letter of the standard scale, so each gets that letter's points, and letters the scale does
+ * not know get none. Runs once at startup, before the application takes requests, so every
+ * query can sum {@code grades.grade_points} as it is. Rows that already have points are left
+ * alone, which makes later runs no-ops.
+ */
+@Component
+public class LegacyGradePointsBackfill implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyGradePointsBackfill.class);
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int updated = backfill();
+        if (updated > 0) {
+            log.info("Stored grade points on {} grades written before they were persisted", updated);
+        }
+    }
+
+    public int backfill() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            int updated = 0;
+            for (GradingScale.Band band : GradingScale.standard().getBands()) {
+                updated += gradeRepository.backfillGradePoints(band.letter(), BigDecimal.valueOf(band.points()));
+            }
+            return updated + gradeRepository.backfillRemainingGradePoints(BigDecimal.ZERO);
+        });
+    }
+}
@@ -1,7 +1,9 @@
 package com.rca.demo_course.service.impl;
 
 import com.rca.demo_course.service.MyModulusService;
+import org.springframework.stereotype.Service;
 
+@Service
 public class MyModulusServiceImpl implements MyModulusService {
     @Override
     public double modulus(double dividend, double divisor) {
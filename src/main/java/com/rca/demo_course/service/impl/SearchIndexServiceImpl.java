@@ -0,0 +1,209 @@
+package com.rca.demo_course.service.impl;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.NameSearchIndex;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.CourseName;
+import com.rca.demo_course.repository.projection.StudentName;
+import com.rca.demo_course.service.SearchIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps student names and course names and codes in in-memory {@link NameSearchIndex}es, so
+ * that name searches do not scan the tables with {@code LIKE '%...%'}. Each index is loaded
+ * in keyset pages on its first search; from then on creates, updates and deletes are applied
+ * once their transaction commits. Until an index is loaded, changes to it are skipped.
+ * <p>
+ * Loaded indexes are periodically rebuilt, which repairs changes that committed while they
+ * were being loaded.
+ */
+@Service
+public class SearchIndexServiceImpl implements SearchIndexService {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile NameSearchIndex studentIndex;
+    private volatile NameSearchIndex courseIndex;
+
+    // One lock per index, so a course search never waits for a student load. Locks rather than
+    // monitors, because loads run queries and a virtual thread blocked in synchronized pins its carrier.
+    private final Lock studentLock = new ReentrantLock();
+    private final Lock courseLock = new ReentrantLock();
+
+    @Override
+    public List<Long> searchStudents(String query, int limit) {
+        return students().search(query, limit);
+    }
+
+    @Override
+    public List<Long> searchCourses(String query, int limit) {
+        return courses().search(query, limit);
+    }
+
+    @Override
+    public void indexStudent(Student student) {
+        Long id = student.getId();
+        String text = textOf(student);
+        AfterCommit.run(() -> {
+            NameSearchIndex current = studentIndex;
+            if (current != null) {
+                current.put(id, text);
+            }
+        });
+    }
+
+    @Override
+    public void removeStudent(Long studentId) {
+        AfterCommit.run(() -> {
+            NameSearchIndex current = studentIndex;
+            if (current != null) {
+                current.remove(studentId);
+            }
+        });
+    }
+
+    @Override
+    public void indexCourse(Course course) {
+        Long id = course.getId();
+        String text = textOf(course);
+        AfterCommit.run(() -> {
+            NameSearchIndex current = courseIndex;
+            if (current != null) {
+                current.put(id, text);
+            }
+        });
+    }
+
+    @Override
+    public void removeCourse(Long courseId) {
+        AfterCommit.run(() -> {
+            NameSearchIndex current = courseIndex;
+            if (current != null) {
+                current.remove(courseId);
+            }
+        });
+    }
+
+    @Override
+    public void rebuild() {
+        withLock(studentLock, () -> studentIndex = loadStudents());
+        withLock(courseLock, () -> courseIndex = loadCourses());
+    }
+
+    @Scheduled(fixedDelayString = "${search.rebuild-interval:PT15M}",
+               initialDelayString = "${search.rebuild-interval:PT15M}")
+    public void rebuildIfLoaded() {
+        if (studentIndex != null) {
+            withLock(studentLock, () -> studentIndex = loadStudents());
+        }
+        if (courseIndex != null) {
+            withLock(courseLock, () -> courseIndex = loadCourses());
+        }
+    }
+
+    private NameSearchIndex students() {
+        NameSearchIndex current = studentIndex;
+        if (current != null) {
+            return current;
+        }
+        // Concurrent first searches wait for one load instead of each reading the table
+        return withLock(studentLock, () -> {
+            if (studentIndex == null) {
+                studentIndex = loadStudents();
+            }
+            return studentIndex;
+        });
+    }
+
+    private NameSearchIndex courses() {
+        NameSearchIndex current = courseIndex;
+        if (current != null) {
+            return current;
+        }
+        return withLock(courseLock, () -> {
+            if (courseIndex == null) {
+                courseIndex = loadCourses();
+            }
+            return courseIndex;
+        });
+    }
+
+    private NameSearchIndex loadStudents() {
+        NameSearchIndex index = new NameSearchIndex();
+        forEachPage(studentRepository::findNamesByIdGreaterThan, StudentName::id,
+                student -> index.put(student.id(), join(student.firstName(), student.lastName())));
+        return index;
+    }
+
+    private NameSearchIndex loadCourses() {
+        NameSearchIndex index = new NameSearchIndex();
+        forEachPage(courseRepository::findNamesByIdGreaterThan, CourseName::id,
+                course -> index.put(course.id(), join(course.name(), course.code())));
+        return index;
+    }
+
+    private static <T> T withLock(Lock lock, Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The first load runs inside the searching request's transaction. Each page is read in a short
+    // transaction of its own instead, so the load never holds one open for the whole table.
+    private <T> void forEachPage(BiFunction<Long, Limit, List<T>> page, Function<T, Long> idOf, Consumer<T> consumer) {
+        TransactionTemplate pageTransaction = new TransactionTemplate(transactionManager);
+        pageTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        pageTransaction.setReadOnly(true);
+        long after = 0L;
+        List<T> rows;
+        do {
+            long from = after;
+            rows = pageTransaction.execute(status -> page.apply(from, Limit.of(KeysetPaging.MAX_PAGE_SIZE)));
+            rows.forEach(consumer);
+            if (!rows.isEmpty()) {
+                after = idOf.apply(rows.get(rows.size() - 1));
+            }
+        } while (rows.size() == KeysetPaging.MAX_PAGE_SIZE);
+    }
+
+    private static String textOf(Student student) {
+        return join(student.getFirstName(), student.getLastName());
+    }
+
+    private static String textOf(Course course) {
+        return join(course.getName(), course.getCode());
+    }
+
+    private static String join(String... parts) {
+        return Stream.of(parts).filter(Objects::nonNull).collect(Collectors.joining(" "));
+    }
+}
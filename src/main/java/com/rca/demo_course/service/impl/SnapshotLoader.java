@@ -0,0 +1,69 @@
+package com.rca.demo_course.service.impl;
+
+import com.rca.demo_course.config.CacheConfig;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.CourseSnapshot;
+import com.rca.demo_course.repository.projection.StudentSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Cached snapshots behind the course and student lookups by ID, code and email. Managed
+ * entities are never cached, and neither are missing rows.
+ * <p>
+ * A cache hit needs no database at all, whatever transaction the caller is in. A miss is read
+ * on the primary: in the caller's transaction if that is read-write, otherwise in a new
+ * read-write one. A lagging replica therefore never puts an old row back into a cache after
+ * an update evicted it.
+ */
+@Component
+public class SnapshotLoader {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Cacheable(cacheNames = CacheConfig.COURSES_BY_ID, unless = "#result == null")
+    public Optional<CourseSnapshot> findCourseById(Long id) {
+        return onPrimary(() -> courseRepository.findById(id).map(CourseSnapshot::of));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.COURSES_BY_CODE, unless = "#result == null")
+    public Optional<CourseSnapshot> findCourseByCode(String code) {
+        return onPrimary(() -> courseRepository.findByCode(code).map(CourseSnapshot::of));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.STUDENTS_BY_ID, unless = "#result == null")
+    public Optional<StudentSnapshot> findStudentById(Long id) {
+        return onPrimary(() -> studentRepository.findById(id).map(StudentSnapshot::of));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.STUDENTS_BY_EMAIL, unless = "#result == null")
+    public Optional<StudentSnapshot> findStudentByEmail(String email) {
+        return onPrimary(() -> studentRepository.findByEmail(email).map(StudentSnapshot::of));
+    }
+
+    private <T> T onPrimary(Supplier<T> read) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return read.get();
+        }
+        TransactionTemplate primary = new TransactionTemplate(transactionManager);
+        primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return primary.execute(status -> read.get());
+    }
+}
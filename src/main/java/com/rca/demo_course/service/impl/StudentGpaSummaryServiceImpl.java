@@ -0,0 +1,123 @@
+package com.rca.demo_course.service.impl;
+
+import com.rca.demo_course.domain.StudentGpaSummary;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.StudentGpaSummaryRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.StudentGpaTotals;
+import com.rca.demo_course.service.StudentGpaSummaryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Maintains the per-student GPA running totals. A student without a summary row has simply
+ * not been materialized yet: the row is built from the grades table on the next read. That
+ * read is otherwise read-only, so it builds the row in a read-write transaction of its own
+ * unless its caller is already in one.
+ * Building a row and applying a delta that finds no row both lock the student first, so a
+ * grade written while its student's row is being built is counted exactly once, and two
+ * first reads never insert the same row.
+ */
+@Service
+@Transactional
+public class StudentGpaSummaryServiceImpl implements StudentGpaSummaryService {
+
+    @Autowired
+    private StudentGpaSummaryRepository summaryRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void addGrade(Long studentId, double gradePoints, int credits) {
+        applyDelta(studentId, 1, gradePoints, credits);
+    }
+
+    @Override
+    public void removeGrade(Long studentId, double gradePoints, int credits) {
+        applyDelta(studentId, -1, gradePoints, credits);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentGpaSummary getSummary(Long studentId) {
+        return summaryRepository.findById(studentId).orElseGet(() -> onPrimary(() -> build(studentId)));
+    }
+
+    // Another first read may have built the row while this one waited for the lock
+    private StudentGpaSummary build(Long studentId) {
+        studentRepository.lockById(studentId);
+        return summaryRepository.findById(studentId).orElseGet(() -> summarize(studentId));
+    }
+
+    private StudentGpaSummary summarize(Long studentId) {
+        StudentGpaTotals totals = gradeRepository.calculateGpaTotalsByStudentId(studentId);
+        StudentGpaSummary summary = new StudentGpaSummary(
+            studentId,
+            totals != null && totals.getGradeCount() != null ? totals.getGradeCount() : 0L,
+            toAmount(totals != null ? totals.getTotalPoints() : null),
+            totals != null && totals.getTotalCredits() != null ? totals.getTotalCredits() : 0L,
+            toAmount(totals != null ? totals.getWeightedPoints() : null)
+        );
+        // Unknown students and students without grades are not worth a row
+        if (summary.getGradeCount() == 0) {
+            return summary;
+        }
+        return summaryRepository.save(summary);
+    }
+
+    @Override
+    public void evictStudent(Long studentId) {
+        summaryRepository.deleteById(studentId);
+    }
+
+    @Override
+    public void evictStudents(Collection<Long> studentIds) {
+        summaryRepository.deleteByStudentIds(studentIds);
+    }
+
+    @Override
+    public void evictCourse(Long courseId) {
+        summaryRepository.deleteByCourseId(courseId);
+    }
+
+    private void applyDelta(Long studentId, int sign, double gradePoints, int credits) {
+        BigDecimal points = BigDecimal.valueOf(gradePoints * sign);
+        BigDecimal weightedPoints = points.multiply(BigDecimal.valueOf(credits));
+        if (summaryRepository.applyDelta(studentId, sign, points, (long) sign * credits, weightedPoints) == 0) {
+            // A first read may be building the row from grades that do not include this one yet
+            studentRepository.lockById(studentId);
+            summaryRepository.applyDelta(studentId, sign, points, (long) sign * credits, weightedPoints);
+        }
+    }
+
+    private <T> T onPrimary(Supplier<T> write) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return write.get();
+        }
+        TransactionTemplate primary = new TransactionTemplate(transactionManager);
+        primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return primary.execute(status -> write.get());
+    }
+
+    private BigDecimal toAmount(Double value) {
+        return value != null ? BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+}
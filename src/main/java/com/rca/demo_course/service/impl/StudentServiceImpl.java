@@ -1,17 +1,34 @@
 package com.rca.demo_course.service.impl;
 
+import com.rca.demo_course.config.CacheConfig;
 import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.dto.CursorPage;
+import com.rca.demo_course.dto.StudentGpaDTO;
 import com.rca.demo_course.exception.DuplicateResourceException;
 import com.rca.demo_course.exception.StudentNotFoundException;
 import com.rca.demo_course.exception.ValidationException;
 import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.CollectionVersion;
+import com.rca.demo_course.repository.projection.StudentSnapshot;
+import com.rca.demo_course.service.CourseStatisticsService;
+import com.rca.demo_course.service.GpaLeaderboardService;
+import com.rca.demo_course.service.SearchIndexService;
+import com.rca.demo_course.service.StudentGpaSummaryService;
 import com.rca.demo_course.service.StudentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -20,6 +37,24 @@ public class StudentServiceImpl implements StudentService {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private StudentGpaSummaryService studentGpaSummaryService;
+
+    @Autowired
+    private CourseStatisticsService courseStatisticsService;
+
+    @Autowired
+    private GpaLeaderboardService gpaLeaderboardService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private SnapshotLoader snapshotLoader;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public Student create(Student student) {
         if (student == null) {
@@ -41,38 +76,126 @@ public class StudentServiceImpl implements StudentService {
             throw new DuplicateResourceException("Email already exists: " + student.getEmail());
         }
 
-        return studentRepository.save(student);
+        Student savedStudent = studentRepository.save(student);
+        searchIndexService.indexStudent(savedStudent);
+        return savedStudent;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Student findById(String id) {
         if (id == null || id.trim().isEmpty()) {
             throw new ValidationException("Student ID cannot be null or empty");
         }
         try {
             Long studentId = Long.parseLong(id);
-            Optional<Student> student = studentRepository.findById(studentId);
-            return student.orElse(null);
+            return snapshotLoader.findStudentById(studentId).map(StudentSnapshot::toStudent).orElse(null);
         } catch (NumberFormatException e) {
             throw new ValidationException("Invalid student ID format: " + id);
         }
     }
 
+    /**
+     * The stored version of a student, or null if there is none. Only the version column is
+     * read, so a conditional GET is answered without loading the student.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Long findVersion(String id) {
+        return studentRepository.findVersionById(parseId(id)).orElse(null);
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public Student findByEmail(String email) {
         if (email == null || email.trim().isEmpty()) {
             throw new ValidationException("Email cannot be null or empty");
         }
-        Optional<Student> student = studentRepository.findByEmail(email);
-        return student.orElse(null);
+        return snapshotLoader.findStudentByEmail(email).map(StudentSnapshot::toStudent).orElse(null);
+    }
+
+    /**
+     * Loads a student with all grades and the graded courses initialized.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Student findTranscript(String id) {
+        Long studentId = parseId(id);
+        return studentRepository.findWithGradesAndCoursesById(studentId)
+                .orElseThrow(() -> new StudentNotFoundException(studentId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Student> findAll() {
         return studentRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion findCollectionVersion() {
+        return studentRepository.findCollectionVersion();
+    }
+
+    /**
+     * Students whose names match the query, best matches first. The search index only
+     * yields IDs; the matching rows are then read by primary key.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Student> search(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Search query cannot be null or empty");
+        }
+        if (limit < 1 || limit > KeysetPaging.MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + KeysetPaging.MAX_PAGE_SIZE);
+        }
+        List<Long> ids = searchIndexService.searchStudents(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Student> byId = studentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        // A row deleted since it was indexed is left out
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Student> findPage(Long afterId, int limit) {
+        List<Student> rows = studentRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetPaging.startAfter(afterId), KeysetPaging.limitPlusOne(limit));
+        return CursorPage.of(rows, limit, Student::getId);
+    }
+
+    /**
+     * The students with the highest GPA, read from the in-memory leaderboard. Only the first
+     * request after startup or after a bulk change aggregates the grades.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudentGpaDTO> findLeaderboard(int limit) {
+        if (limit < 1 || limit > KeysetPaging.MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + KeysetPaging.MAX_PAGE_SIZE);
+        }
+        return gpaLeaderboardService.top(limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Student> consumer) {
+        if (consumer == null) {
+            throw new ValidationException("Consumer cannot be null");
+        }
+        KeysetPaging.drain(studentRepository.streamAll(), consumer, entityManager);
+    }
+
+    // The old email is not known here, so the whole by-email cache is cleared
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.STUDENTS_BY_ID, key = "#student.id"),
+        @CacheEvict(cacheNames = CacheConfig.STUDENTS_BY_EMAIL, allEntries = true)
+    })
     public Student update(Student student) {
         if (student == null) {
             throw new ValidationException("Student cannot be null");
@@ -80,14 +203,20 @@ public class StudentServiceImpl implements StudentService {
         if (student.getId() == null) {
             throw new ValidationException("Student ID cannot be null");
         }
-        if (!studentRepository.existsById(student.getId())) {
-            throw new StudentNotFoundException(student.getId());
-        }
+        Long storedVersion = studentRepository.findVersionById(student.getId())
+                .orElseThrow(() -> new StudentNotFoundException(student.getId()));
+        student.setVersion(EntityVersions.expected(Student.class, student.getId(), student.getVersion(), storedVersion));
 
-        return studentRepository.save(student);
+        Student updatedStudent = studentRepository.save(student);
+        searchIndexService.indexStudent(updatedStudent);
+        return updatedStudent;
     }
 
     @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.STUDENTS_BY_ID, key = "T(Long).valueOf(#id)"),
+        @CacheEvict(cacheNames = CacheConfig.STUDENTS_BY_EMAIL, allEntries = true)
+    })
     public void delete(String id) {
         if (id == null || id.trim().isEmpty()) {
             throw new ValidationException("Student ID cannot be null or empty");
@@ -97,7 +226,23 @@ public class StudentServiceImpl implements StudentService {
             if (!studentRepository.existsById(studentId)) {
                 throw new StudentNotFoundException(studentId);
             }
+            // The student's grades are deleted with it, so the distributions of their courses change
+            courseStatisticsService.evictCoursesOfStudent(studentId);
             studentRepository.deleteById(studentId);
+            studentGpaSummaryService.evictStudent(studentId);
+            gpaLeaderboardService.evictStudent(studentId);
+            searchIndexService.removeStudent(studentId);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid student ID format: " + id);
+        }
+    }
+
+    private Long parseId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new ValidationException("Student ID cannot be null or empty");
+        }
+        try {
+            return Long.parseLong(id);
         } catch (NumberFormatException e) {
             throw new ValidationException("Invalid student ID format: " + id);
         }
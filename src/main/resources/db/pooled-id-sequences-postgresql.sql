@@ -0,0 +1,29 @@
+-- Moves students, courses and grades from IDENTITY columns to the pooled sequences
+-- (INCREMENT BY 50) the entities now use. Run once against an existing PostgreSQL database
+-- BEFORE starting the new version: with ddl-auto=update Hibernate would otherwise create the
+-- sequences starting at 1 and hand out IDs that already exist.
+--
+-- Each value Hibernate reads from a sequence reserves the 50 IDs ending at that value, so the
+-- next value must be at least MAX(id) + 50.
+
+BEGIN;
+
+ALTER TABLE students ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE students ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS students_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE students_seq INCREMENT BY 50;
+SELECT setval('students_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM students), false);
+
+ALTER TABLE courses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE courses ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS courses_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE courses_seq INCREMENT BY 50;
+SELECT setval('courses_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM courses), false);
+
+ALTER TABLE grades ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE grades ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS grades_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE grades_seq INCREMENT BY 50;
+SELECT setval('grades_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM grades), false);
+
+COMMIT;
@@ -0,0 +1,109 @@
+package com.rca.demo_course.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import com.rca.demo_course.config.RingBufferAppender;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time a request thread spends on one log line written to a file: directly, as
+ * {@code logging.file.name} did before, or handed to {@link RingBufferAppender}. With the
+ * BLOCK policy the caller waits whenever the writer falls behind, so that variant reflects
+ * the writer's sustained throughput; DROP shows the caller's cost alone and reports the
+ * events it lost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsyncLoggingBenchmark {
+
+    private Path directory;
+    private LoggerContext context;
+    private Logger syncLogger;
+    private Logger blockingLogger;
+    private Logger droppingLogger;
+    private RingBufferAppender droppingAppender;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("async-logging-benchmark");
+        context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        syncLogger = logger("sync", fileAppender("sync.log"));
+        blockingLogger = logger("blocking", ringBufferAppender("blocking", RingBufferAppender.OverflowPolicy.BLOCK));
+        droppingAppender = ringBufferAppender("dropping", RingBufferAppender.OverflowPolicy.DROP);
+        droppingLogger = logger("dropping", droppingAppender);
+        MDC.put("requestId", "0123456789abcdef");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.println("Dropped by the DROP policy: " + droppingAppender.getDroppedCount());
+        context.stop();
+        MDC.clear();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private FileAppender<ILoggingEvent> fileAppender(String fileName) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%X{requestId:-}] [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setName(fileName);
+        appender.setFile(directory.resolve(fileName).toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private RingBufferAppender ringBufferAppender(String name, RingBufferAppender.OverflowPolicy policy) {
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.setOverflowPolicy(policy);
+        appender.addAppender(fileAppender(name + ".log"));
+        appender.start();
+        return appender;
+    }
+
+    private Logger logger(String name, ch.qos.logback.core.Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger("com.rca.demo_course.benchmark." + name);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    @Benchmark
+    public void syncFile() {
+        syncLogger.info("Grade {} recorded for student {}", 42, 1001);
+    }
+
+    @Benchmark
+    public void ringBufferBlock() {
+        blockingLogger.info("Grade {} recorded for student {}", 42, 1001);
+    }
+
+    @Benchmark
+    public void ringBufferDrop() {
+        droppingLogger.info("Grade {} recorded for student {}", 42, 1001);
+    }
+}
@@ -0,0 +1,28 @@
+package com.rca.demo_course.benchmark;
+
+import com.rca.demo_course.DemoCourseApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application without a web server against the in-memory H2 "test" profile
+ * so benchmarks can exercise real repositories and services.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        return new SpringApplicationBuilder(DemoCourseApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .properties(extraProperties)
+                .run();
+    }
+}
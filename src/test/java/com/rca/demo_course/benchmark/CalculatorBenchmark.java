@@ -0,0 +1,80 @@
+package com.rca.demo_course.benchmark;
+
+import com.rca.demo_course.domain.CalculatorOperation;
+import com.rca.demo_course.service.CalculatorService;
+import com.rca.demo_course.service.impl.CalculatorServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar {@link CalculatorService} operations, and the batch operation against a loop of
+ * scalar calls over the same operands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculatorBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final CalculatorService calculatorService = new CalculatorServiceImpl();
+
+    // Non-final fields keep the JIT from folding the scalar operations into constants
+    private double a = 1234.5678;
+    private double b = 8.765;
+    private double[] batchA;
+    private double[] batchB;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        batchA = random.doubles(BATCH_SIZE, -1e6, 1e6).toArray();
+        batchB = random.doubles(BATCH_SIZE, 1, 1e3).toArray();
+    }
+
+    @Benchmark
+    public double add() {
+        return calculatorService.add(a, b);
+    }
+
+    @Benchmark
+    public double divide() {
+        return calculatorService.divide(a, b);
+    }
+
+    @Benchmark
+    public double power() {
+        return calculatorService.power(a, b);
+    }
+
+    @Benchmark
+    public double squareRoot() {
+        return calculatorService.squareRoot(a);
+    }
+
+    @Benchmark
+    public double percentage() {
+        return calculatorService.percentage(a, b);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public double[] divideScalarLoop() {
+        double[] results = new double[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            results[i] = calculatorService.divide(batchA[i], batchB[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public double[] divideBatch() {
+        return calculatorService.calculate(CalculatorOperation.DIVIDE, batchA, batchB);
+    }
+}
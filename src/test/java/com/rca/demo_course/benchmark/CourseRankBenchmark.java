@@ -0,0 +1,78 @@
+package com.rca.demo_course.benchmark;
+
+import com.rca.demo_course.domain.CourseScoreStatistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks a score and finds the 90th percentile of one course. The baseline sorts the course's
+ * scores for each question, as a query without the maintained distribution has to.
+ * {@link CourseScoreStatistics} answers from its Fenwick tree, so its cost does not depend on
+ * the number of grades.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseRankBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int grades;
+
+    private int[] hundredths;
+    private CourseScoreStatistics statistics;
+    private BigDecimal probe;
+    private BigDecimal churn;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        hundredths = new int[grades];
+        statistics = new CourseScoreStatistics();
+        for (int i = 0; i < grades; i++) {
+            hundredths[i] = random.nextInt(10_001);
+            statistics.add(BigDecimal.valueOf(hundredths[i], 2), null);
+        }
+        probe = new BigDecimal("87.50");
+        churn = new BigDecimal("64.25");
+    }
+
+    @Benchmark
+    public long sortedRank() {
+        int[] sorted = hundredths.clone();
+        Arrays.sort(sorted);
+        int index = Arrays.binarySearch(sorted, probe.unscaledValue().intValue());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    @Benchmark
+    public int sortedPercentile() {
+        int[] sorted = hundredths.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(0.9 * sorted.length) - 1];
+    }
+
+    @Benchmark
+    public Object statisticsRank() {
+        return statistics.rank(probe);
+    }
+
+    @Benchmark
+    public BigDecimal statisticsPercentile() {
+        return statistics.getPercentile(90);
+    }
+
+    // One grade write and its undo, so the distribution stays the same size
+    @Benchmark
+    public long statisticsAddAndRemove() {
+        statistics.add(churn, null);
+        statistics.remove(churn, null);
+        return statistics.getCount();
+    }
+}
@@ -0,0 +1,109 @@
+package com.rca.demo_course.benchmark;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.dto.GradeDTO;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.service.GradeImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures bulk insert throughput of students and grades through JPA and through the JDBC
+ * bulk upload. A batch size of 1 sends one INSERT per round trip, which is what the former
+ * IDENTITY IDs forced on every insert; 50 matches the pooled sequence block size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityInsertBenchmark {
+
+    private static final int ROWS_PER_OPERATION = 1000;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private StudentRepository studentRepository;
+    private GradeRepository gradeRepository;
+    private GradeImportService gradeImportService;
+    private Student student;
+    private Course course;
+    private long emailSequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                "spring.jpa.properties.hibernate.order_inserts=true");
+        studentRepository = context.getBean(StudentRepository.class);
+        gradeRepository = context.getBean(GradeRepository.class);
+        gradeImportService = context.getBean(GradeImportService.class);
+
+        student = studentRepository.save(newStudent());
+        course = new Course();
+        course.setName("Benchmarking");
+        course.setCode("BM101");
+        course.setCredits(3);
+        course = context.getBean(CourseRepository.class).save(course);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Student newStudent() {
+        Student newStudent = new Student();
+        newStudent.setFirstName("Bench");
+        newStudent.setLastName("Student");
+        newStudent.setEmail("bench" + (emailSequence++) + "@example.com");
+        return newStudent;
+    }
+
+    /** Operations per second times 1000 gives students inserted per second. */
+    @Benchmark
+    public int saveStudents() {
+        List<Student> students = new ArrayList<>(ROWS_PER_OPERATION);
+        for (int i = 0; i < ROWS_PER_OPERATION; i++) {
+            students.add(newStudent());
+        }
+        return studentRepository.saveAll(students).size();
+    }
+
+    /** Operations per second times 1000 gives grades inserted per second. */
+    @Benchmark
+    public int saveGrades() {
+        List<Grade> grades = new ArrayList<>(ROWS_PER_OPERATION);
+        for (int i = 0; i < ROWS_PER_OPERATION; i++) {
+            Grade grade = new Grade();
+            grade.setStudent(student);
+            grade.setCourse(course);
+            grade.setScore(BigDecimal.valueOf(50 + i % 51));
+            grade.setLetterGrade("C");
+            grades.add(grade);
+        }
+        return gradeRepository.saveAll(grades).size();
+    }
+
+    /** The JDBC bulk upload does its own batching, so it does not depend on the Hibernate setting. */
+    @Benchmark
+    public int bulkImportGrades() {
+        List<GradeDTO> grades = new ArrayList<>(ROWS_PER_OPERATION);
+        for (int i = 0; i < ROWS_PER_OPERATION; i++) {
+            grades.add(new GradeDTO(null, student.getId(), course.getId(), BigDecimal.valueOf(50 + i % 51), null));
+        }
+        return gradeImportService.importGrades(grades).getInserted();
+    }
+}
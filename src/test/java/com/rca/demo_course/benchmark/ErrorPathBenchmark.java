@@ -0,0 +1,114 @@
+package com.rca.demo_course.benchmark;
+
+import com.rca.demo_course.exception.ErrorResponse;
+import com.rca.demo_course.exception.GlobalExceptionHandler;
+import com.rca.demo_course.exception.StudentNotFoundException;
+import com.rca.demo_course.exception.ValidationException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a failed lookup or validation from the throw to the response entity, thrown
+ * {@code depth} frames below the handler as from a service called through the controller,
+ * aspects and filters. "Legacy" is how the 404 and 400 paths worked before: an exception that
+ * fills in its stack trace and a new error body per request. The other variants throw the
+ * stackless domain exceptions and go through {@link GlobalExceptionHandler}. Each 404 misses a
+ * different student ID, so its message differs from the last one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    // Stands in for the exceptions before they became stackless
+    private static class LegacyException extends RuntimeException {
+
+        LegacyException(String message) {
+            super(message);
+        }
+    }
+
+    @Param({"10", "100"})
+    private int depth;
+
+    private GlobalExceptionHandler handler;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+    }
+
+    private long nextId() {
+        return 1000 + next++;
+    }
+
+    private static void throwAt(int depth, long studentId, boolean legacy) {
+        if (depth > 0) {
+            throwAt(depth - 1, studentId, legacy);
+        } else if (legacy) {
+            throw new LegacyException("Student not found with ID: " + studentId);
+        } else {
+            throw new StudentNotFoundException(studentId);
+        }
+    }
+
+    private static void validateAt(int depth, boolean legacy) {
+        if (depth > 0) {
+            validateAt(depth - 1, legacy);
+        } else if (legacy) {
+            throw new LegacyException("Score must be between 0 and 100");
+        } else {
+            throw new ValidationException("Score must be between 0 and 100");
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> legacyNotFound() {
+        try {
+            throwAt(depth, nextId(), true);
+            return null;
+        } catch (LegacyException ex) {
+            ErrorResponse error = new ErrorResponse("STUDENT_NOT_FOUND", ex.getMessage(), LocalDateTime.now());
+            return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        try {
+            throwAt(depth, nextId(), false);
+            return null;
+        } catch (StudentNotFoundException ex) {
+            return handler.handleStudentNotFoundException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> legacyValidation() {
+        try {
+            validateAt(depth, true);
+            return null;
+        } catch (LegacyException ex) {
+            ErrorResponse error = new ErrorResponse("VALIDATION_ERROR", ex.getMessage(), LocalDateTime.now());
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validation() {
+        try {
+            validateAt(depth, false);
+            return null;
+        } catch (ValidationException ex) {
+            return handler.handleValidationException(ex);
+        }
+    }
+}
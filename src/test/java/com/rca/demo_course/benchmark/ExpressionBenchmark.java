@@ -0,0 +1,45 @@
+package com.rca.demo_course.benchmark;
+
+import com.rca.demo_course.domain.CompiledExpression;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of evaluating a formula when it is parsed on every call versus compiled once, as
+ * {@code CalculatorService#compileExpression} does through the compiled expression cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    private static final String FORMULA = "sqrt(a*a + b*b) % c + percentage(a, 15) - max(b, 2) ^ 2";
+
+    private final Map<String, Double> variables = Map.of("a", 3.0, "b", 4.0, "c", 3.0);
+    private CompiledExpression compiled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        compiled = CompiledExpression.compile(FORMULA);
+    }
+
+    @Benchmark
+    public double parseEveryTime() {
+        return CompiledExpression.compile(FORMULA).evaluate(variables);
+    }
+
+    @Benchmark
+    public double compiledByName() {
+        return compiled.evaluate(variables);
+    }
+
+    @Benchmark
+    public double compiledPositional() {
+        return compiled.evaluate(3.0, 4.0, 3.0);
+    }
+}
@@ -0,0 +1,85 @@
+package com.rca.demo_course.benchmark;
+
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.service.GradeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the database-side GPA aggregate used by {@link GradeService#calculateGPA(String)}
+ * with the previous approach of loading every Grade entity and averaging in Java.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradeGpaBenchmark {
+
+    private static final String[] LETTERS = {"A", "B", "C", "D", "F"};
+
+    @Param({"10000", "50000"})
+    public int gradesPerStudent;
+
+    private ConfigurableApplicationContext context;
+    private GradeRepository gradeRepository;
+    private GradeService gradeService;
+    private Long studentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        gradeRepository = context.getBean(GradeRepository.class);
+        gradeService = context.getBean(GradeService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // Nothing else writes to the fresh database, so fixed IDs are safe here
+        studentId = 1L;
+        long courseId = 1L;
+        jdbcTemplate.update("INSERT INTO students (id, first_name, last_name, email) VALUES (?, 'Bench', 'Student', 'bench@example.com')", studentId);
+        jdbcTemplate.update("INSERT INTO courses (id, name, code, credits) VALUES (?, 'Benchmarking', 'BM101', 3)", courseId);
+
+        List<Object[]> rows = new ArrayList<>(gradesPerStudent);
+        for (int i = 0; i < gradesPerStudent; i++) {
+            int score = 50 + (i % 51);
+            rows.add(new Object[]{i + 1, studentId, courseId, score, LETTERS[Math.min(4, (100 - score) / 10)]});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO grades (id, student_id, course_id, score, letter_grade) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public double aggregateQuery() {
+        return gradeService.calculateGPA(String.valueOf(studentId));
+    }
+
+    @Benchmark
+    public double entityWalk() {
+        List<Grade> grades = gradeRepository.findByStudentId(studentId);
+        if (grades.isEmpty()) {
+            return 0.0;
+        }
+        double totalPoints = 0.0;
+        for (Grade grade : grades) {
+            switch (grade.getLetterGrade()) {
+                case "A": totalPoints += 4.0; break;
+                case "B": totalPoints += 3.0; break;
+                case "C": totalPoints += 2.0; break;
+                case "D": totalPoints += 1.0; break;
+                default: break;
+            }
+        }
+        return totalPoints / grades.size();
+    }
+}
@@ -0,0 +1,53 @@
+package com.rca.demo_course.benchmark;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.dto.GradeDTO;
+import com.rca.demo_course.mapper.GradeMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversion cost of {@link GradeMapper}, paid once per grade on every listing and write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradeMapperBenchmark {
+
+    private final GradeMapper gradeMapper = new GradeMapper();
+    private Grade grade;
+    private GradeDTO gradeDTO;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Student student = new Student();
+        student.setId(7L);
+        Course course = new Course();
+        course.setId(3L);
+        grade = new Grade();
+        grade.setId(42L);
+        grade.setStudent(student);
+        grade.setCourse(course);
+        grade.setScore(new BigDecimal("87.50"));
+        grade.setLetterGrade("B");
+        grade.setGradePoints(new BigDecimal("3.00"));
+        gradeDTO = gradeMapper.toDTO(grade);
+    }
+
+    @Benchmark
+    public GradeDTO toDTO() {
+        return gradeMapper.toDTO(grade);
+    }
+
+    @Benchmark
+    public Grade toEntity() {
+        return gradeMapper.toEntity(gradeDTO);
+    }
+}
@@ -0,0 +1,65 @@
+package com.rca.demo_course.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rca.demo_course.dto.GradeDTO;
+import com.rca.demo_course.dto.StudentDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the student and grade listings, using an ObjectMapper configured
+ * the way Spring Boot configures the one behind the REST controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final TypeReference<List<GradeDTO>> GRADE_LIST = new TypeReference<>() {
+    };
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<StudentDTO> students;
+    private List<GradeDTO> grades;
+    private byte[] gradesJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        students = new ArrayList<>(size);
+        grades = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = i + 1;
+            students.add(new StudentDTO(id, "First" + i, "Last" + i, "student" + i + "@example.com"));
+            grades.add(new GradeDTO(id, id, (long) (i % 20) + 1, BigDecimal.valueOf(5000 + i % 5000, 2), "B", new BigDecimal("3.00")));
+        }
+        gradesJson = objectMapper.writeValueAsBytes(grades);
+    }
+
+    @Benchmark
+    public byte[] writeStudents() throws Exception {
+        return objectMapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] writeGrades() throws Exception {
+        return objectMapper.writeValueAsBytes(grades);
+    }
+
+    @Benchmark
+    public List<GradeDTO> readGrades() throws Exception {
+        return objectMapper.readValue(gradesJson, GRADE_LIST);
+    }
+}
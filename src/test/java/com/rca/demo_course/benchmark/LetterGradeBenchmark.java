@@ -0,0 +1,103 @@
+package com.rca.demo_course.benchmark;
+
+import com.rca.demo_course.domain.GradingScale;
+import com.rca.demo_course.service.GradeService;
+import com.rca.demo_course.service.impl.GradeServiceImpl;
+import com.rca.demo_course.service.impl.GradingScaleServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled {@link GradingScale} lookup table with the previous if-ladder for
+ * letters and {@code switch} on the letter for grade points. Scores are random two-decimal
+ * values, so the ladder's branches cannot be predicted. {@link GradeService#calculateLetterGrade(double)}
+ * adds the range check and the default-scale lookup on top of the table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LetterGradeBenchmark {
+
+    private static final int SCORES = 4096;
+
+    private final double[] scores = new double[SCORES];
+    private GradingScale standard;
+    private GradingScale plusMinus;
+    private GradeService gradeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SCORES; i++) {
+            scores[i] = random.nextInt(10_001) / 100.0;
+        }
+        standard = GradingScale.standard();
+        plusMinus = GradingScale.plusMinus();
+        gradeService = new GradeServiceImpl();
+        ReflectionTestUtils.setField(gradeService, "gradingScaleService", new GradingScaleServiceImpl());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCORES)
+    public void legacyLadderAndSwitch(Blackhole blackhole) {
+        for (double score : scores) {
+            String letter = legacyLetter(score);
+            blackhole.consume(letter);
+            blackhole.consume(legacyPoints(letter));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCORES)
+    public void compiledStandardScale(Blackhole blackhole) {
+        for (double score : scores) {
+            blackhole.consume(standard.letterFor(score));
+            blackhole.consume(standard.pointsFor(score));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCORES)
+    public void compiledPlusMinusScale(Blackhole blackhole) {
+        for (double score : scores) {
+            blackhole.consume(plusMinus.letterFor(score));
+            blackhole.consume(plusMinus.pointsFor(score));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCORES)
+    public void gradeServiceCalculateLetterGrade(Blackhole blackhole) {
+        for (double score : scores) {
+            blackhole.consume(gradeService.calculateLetterGrade(score));
+        }
+    }
+
+    private static String legacyLetter(double score) {
+        if (score < 0 || score > 100) {
+            throw new IllegalArgumentException("Invalid grade score: " + score);
+        }
+        if (score >= 90) return "A";
+        if (score >= 80) return "B";
+        if (score >= 70) return "C";
+        if (score >= 60) return "D";
+        return "F";
+    }
+
+    private static double legacyPoints(String letterGrade) {
+        switch (letterGrade) {
+            case "A": return 4.0;
+            case "B": return 3.0;
+            case "C": return 2.0;
+            case "D": return 1.0;
+            default: return 0.0;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.rca.demo_course.benchmark;
+
+import com.rca.demo_course.domain.NameSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches student names for a prefix, a misspelt name and a first and last name. The
+ * baseline checks every name for the query, as a {@code LIKE '%query%'} scan does, and cannot
+ * match typos. {@link NameSearchIndex} only visits the words that match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class NameSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+        "james", "mary", "john", "patricia", "robert", "jennifer", "michael", "linda", "william", "elizabeth",
+        "david", "barbara", "richard", "susan", "joseph", "jessica", "thomas", "sarah", "charles", "karen",
+        "chrispin", "aline", "eric", "diane", "jean", "grace", "emmanuel", "claudine", "patrick", "alice"
+    };
+    private static final String[] SYLLABLES = {
+        "mu", "gi", "sha", "ka", "ri", "ngo", "ba", "ye", "ni", "za", "to", "le", "ma", "ru", "ki",
+        "wa", "se", "do", "na", "bi", "ha", "ge", "mo", "ti", "la", "son", "ber", "ton", "ley", "ford"
+    };
+    private static final int LIMIT = 20;
+
+    @Param({"100000", "1000000"})
+    private int students;
+
+    private List<String> names;
+    private NameSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        names = new ArrayList<>(students);
+        index = new NameSearchIndex();
+        for (int i = 0; i < students; i++) {
+            StringBuilder lastName = new StringBuilder();
+            for (int s = 2 + random.nextInt(2); s > 0; s--) {
+                lastName.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + lastName;
+            names.add(name);
+            index.put(i + 1, name);
+        }
+    }
+
+    private List<Long> scan(String query) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < names.size() && ids.size() < LIMIT; i++) {
+            if (names.get(i).contains(needle)) {
+                ids.add(i + 1L);
+            }
+        }
+        return ids;
+    }
+
+    // A rare last name, so the scan has to look at most of the names
+    @Benchmark
+    public List<Long> likeScanRare() {
+        return scan("mugishaba");
+    }
+
+    @Benchmark
+    public List<Long> indexPrefixRare() {
+        return index.search("mugishaba", LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> indexFuzzy() {
+        return index.search("mugishbaka", LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> indexFirstAndLastName() {
+        return index.search("chrispin mugi", LIMIT);
+    }
+
+    // One student renamed and renamed back, so the index stays the same size
+    @Benchmark
+    public int indexPutAndRestore() {
+        index.put(1, "Renamed Student");
+        index.put(1, names.get(0));
+        return index.size();
+    }
+}
@@ -0,0 +1,248 @@
+package com.rca.demo_course.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Ring Buffer Appender Tests")
+public class RingBufferAppenderTest {
+
+    private LoggerContext context;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        logger = context.getLogger("test");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private RingBufferAppender ringBufferAppender(int capacity, RingBufferAppender.OverflowPolicy policy,
+                                                  ch.qos.logback.core.Appender<ILoggingEvent> target) {
+        target.setContext(context);
+        target.start();
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("ring");
+        appender.setCapacity(capacity);
+        appender.setOverflowPolicy(policy);
+        appender.addAppender(target);
+        appender.start();
+        logger.addAppender(appender);
+        return appender;
+    }
+
+    // Holds every event until released, so the ring buffer fills up
+    private static class GatedAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final List<String> messages = new ArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(event.getFormattedMessage());
+        }
+    }
+
+    private static class ThreadRecordingAppender extends ListAppender<ILoggingEvent> {
+
+        private final Set<String> writerThreads = new HashSet<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            writerThreads.add(Thread.currentThread().getName());
+            super.append(event);
+        }
+    }
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two")
+    void testCapacity() {
+        assertEquals(1, new EventRingBuffer<String>(1).capacity());
+        assertEquals(8, new EventRingBuffer<String>(5).capacity());
+        assertEquals(8192, new EventRingBuffer<String>(8192).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new EventRingBuffer<String>(0));
+    }
+
+    @Test
+    @DisplayName("Should hand elements out in order and refuse them when full")
+    void testRingBuffer() {
+        // Arrange
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+
+        // Act & Assert
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.poll());
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(lap * 10 + i));
+            }
+            assertFalse(buffer.offer(99));
+            assertEquals(4, buffer.size());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(lap * 10 + i, buffer.poll());
+            }
+            assertTrue(buffer.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not lose or repeat elements offered from several threads")
+    void testConcurrentProducers() throws InterruptedException {
+        // Arrange
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = first; i < first + perProducer; i++) {
+                    while (!buffer.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        // Act
+        Set<Integer> seen = new HashSet<>();
+        while (seen.size() < producers * perProducer) {
+            Integer element = buffer.poll();
+            if (element != null) {
+                assertTrue(seen.add(element));
+            } else {
+                Thread.yield();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should write events on its own thread with their MDC")
+    void testWritesInBackground() {
+        // Arrange
+        ThreadRecordingAppender target = new ThreadRecordingAppender();
+        RingBufferAppender appender = ringBufferAppender(16, RingBufferAppender.OverflowPolicy.DROP, target);
+
+        // Act
+        MDC.put(RequestIdFilter.MDC_KEY, "abc123");
+        try {
+            for (int i = 0; i < 10; i++) {
+                logger.info("event {}", i);
+            }
+        } finally {
+            MDC.remove(RequestIdFilter.MDC_KEY);
+        }
+        appender.stop();
+
+        // Assert
+        assertEquals(10, target.list.size());
+        assertEquals("event 9", target.list.get(9).getFormattedMessage());
+        assertEquals("abc123", target.list.get(0).getMDCPropertyMap().get(RequestIdFilter.MDC_KEY));
+        assertEquals(Set.of("logback-ring-buffer-ring"), target.writerThreads);
+        assertEquals(Thread.currentThread().getName(), target.list.get(0).getThreadName());
+        assertEquals(0, appender.getDroppedCount());
+        assertFalse(target.isStarted());
+    }
+
+    @Test
+    @DisplayName("Should count and discard events when full with the DROP policy")
+    void testDropPolicy() {
+        // Arrange
+        GatedAppender target = new GatedAppender();
+        RingBufferAppender appender = ringBufferAppender(4, RingBufferAppender.OverflowPolicy.DROP, target);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            logger.info("event {}", i);
+        }
+        target.gate.countDown();
+        appender.stop();
+
+        // Assert
+        // The writer holds one event while the buffer fills up behind it
+        assertTrue(appender.getDroppedCount() >= 20 - 5);
+        assertEquals(20, appender.getDroppedCount() + target.messages.size());
+        assertEquals("event 0", target.messages.get(0));
+    }
+
+    @Test
+    @DisplayName("Should make the logging thread wait when full with the BLOCK policy")
+    void testBlockPolicy() throws InterruptedException {
+        // Arrange
+        GatedAppender target = new GatedAppender();
+        RingBufferAppender appender = ringBufferAppender(4, RingBufferAppender.OverflowPolicy.BLOCK, target);
+        Thread releaser = Thread.ofPlatform().start(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            target.gate.countDown();
+        });
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            logger.info("event {}", i);
+        }
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        releaser.join();
+        appender.stop();
+
+        // Assert
+        assertTrue(waitedMillis >= 150);
+        assertEquals(0, appender.getDroppedCount());
+        assertEquals(20, target.messages.size());
+        assertEquals("event 19", target.messages.get(19));
+    }
+
+    @Test
+    @DisplayName("Should not start without an appender to write to")
+    void testStartWithoutAppender() {
+        // Arrange
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+
+        // Act
+        appender.start();
+
+        // Assert
+        assertFalse(appender.isStarted());
+    }
+}
@@ -1,15 +1,22 @@
 package com.rca.demo_course.controller;
 
+import com.rca.demo_course.domain.CalculatorOperation;
+import com.rca.demo_course.domain.CompiledExpression;
 import com.rca.demo_course.service.CalculatorService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -231,6 +238,75 @@ public class CalculatorControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    // Batch Tests
+
+    @Test
+    @DisplayName("Batch endpoint should return results in operand order")
+    void testBatchEndpoint() throws Exception {
+        when(calculatorService.calculate(eq(CalculatorOperation.ADD), aryEq(new double[]{1.0, 2.0}), aryEq(new double[]{3.0, 4.0})))
+                .thenReturn(new double[]{4.0, 6.0});
+
+        mockMvc.perform(post("/api/calculator/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operation\":\"Add\",\"a\":[1.0,2.0],\"b\":[3.0,4.0]}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"operation\":\"add\",\"results\":[4.0,6.0]}", true));
+    }
+
+    @Test
+    @DisplayName("Batch endpoint should reject unknown operations")
+    void testBatchEndpointUnknownOperation() throws Exception {
+        mockMvc.perform(post("/api/calculator/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operation\":\"modulo\",\"a\":[1.0],\"b\":[3.0]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown operation: modulo"));
+
+        verifyNoInteractions(calculatorService);
+    }
+
+    @Test
+    @DisplayName("Batch endpoint should report invalid operands as bad request")
+    void testBatchEndpointInvalidOperands() throws Exception {
+        when(calculatorService.calculate(eq(CalculatorOperation.DIVIDE), any(), any()))
+                .thenThrow(new IllegalArgumentException("Division by zero is not allowed (index 0)"));
+
+        mockMvc.perform(post("/api/calculator/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operation\":\"divide\",\"a\":[1.0],\"b\":[0.0]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Division by zero is not allowed (index 0)"));
+    }
+
+    // Expression Tests
+
+    @Test
+    @DisplayName("Evaluate endpoint should return the value of the formula")
+    void testEvaluateEndpoint() throws Exception {
+        when(calculatorService.compileExpression("sqrt(a*a + b*b) % c"))
+                .thenReturn(CompiledExpression.compile("sqrt(a*a + b*b) % c"));
+
+        mockMvc.perform(post("/api/calculator/evaluate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"expression\":\"sqrt(a*a + b*b) % c\",\"variables\":{\"a\":3,\"b\":4,\"c\":3}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expression").value("sqrt(a*a + b*b) % c"))
+                .andExpect(jsonPath("$.result").value(2.0));
+    }
+
+    @Test
+    @DisplayName("Evaluate endpoint should report malformed formulas as bad request")
+    void testEvaluateEndpointMalformedExpression() throws Exception {
+        when(calculatorService.compileExpression("1 +"))
+                .thenThrow(new IllegalArgumentException("Unexpected end of expression at position 4 in expression: 1 +"));
+
+        mockMvc.perform(post("/api/calculator/evaluate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"expression\":\"1 +\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_ARGUMENT"));
+    }
+
     // Content Type Tests
 
     @Test
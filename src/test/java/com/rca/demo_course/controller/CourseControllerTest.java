@@ -1,26 +1,49 @@
 package com.rca.demo_course.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rca.demo_course.config.QueryCountHeaderFilter;
+import com.rca.demo_course.config.RequestIdFilter;
+import com.rca.demo_course.config.SqlStatementCounter;
 import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.CourseScoreStatistics;
+import com.rca.demo_course.domain.ScoreRank;
 import com.rca.demo_course.dto.CourseDTO;
+import com.rca.demo_course.dto.CourseStatisticsDTO;
+import com.rca.demo_course.dto.ScorePercentileDTO;
+import com.rca.demo_course.dto.ScoreRankDTO;
+import com.rca.demo_course.dto.CursorPage;
 import com.rca.demo_course.exception.CourseNotFoundException;
 import com.rca.demo_course.exception.DuplicateResourceException;
 import com.rca.demo_course.exception.ValidationException;
 import com.rca.demo_course.mapper.CourseMapper;
+import com.rca.demo_course.repository.projection.CollectionVersion;
+import com.rca.demo_course.repository.projection.CourseRosterEntry;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
 import com.rca.demo_course.service.CourseService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,6 +53,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests all CRUD operations, validation, error handling, and edge cases.
  */
 @WebMvcTest(CourseController.class)
+@ActiveProfiles("test")
 @DisplayName("Course Controller End-to-End Tests")
 public class CourseControllerTest {
 
@@ -186,6 +210,176 @@ public class CourseControllerTest {
         verify(courseMapper).toDTO(course);
     }
 
+    @Test
+    @DisplayName("GET /api/courses/{id}/roster - Should return the graded students")
+    void testGetRoster_Success() throws Exception {
+        // Arrange
+        when(courseService.findRoster("1")).thenReturn(List.of(
+                new CourseRosterEntry(10L, 2L, "Ada", "Lovelace", "ada@example.com", new BigDecimal("95.00"), "A")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/1/roster"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].gradeId").value(10))
+                .andExpect(jsonPath("$[0].studentId").value(2))
+                .andExpect(jsonPath("$[0].firstName").value("Ada"))
+                .andExpect(jsonPath("$[0].lastName").value("Lovelace"))
+                .andExpect(jsonPath("$[0].email").value("ada@example.com"))
+                .andExpect(jsonPath("$[0].score").value(95.0))
+                .andExpect(jsonPath("$[0].letterGrade").value("A"));
+
+        verifyNoInteractions(courseMapper);
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/{id}/roster - Should return 404 when course not found")
+    void testGetRoster_NotFound() throws Exception {
+        // Arrange
+        when(courseService.findRoster("999")).thenThrow(new CourseNotFoundException(999L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/999/roster"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/{id}/stats - Should return the course statistics")
+    void testGetStatistics_Success() throws Exception {
+        // Arrange
+        CourseScoreStatistics statistics = new CourseScoreStatistics();
+        CourseStatisticsDTO statisticsDTO = new CourseStatisticsDTO(1L, 2, new BigDecimal("80.00"),
+                new BigDecimal("70.00"), new BigDecimal("90.00"), new BigDecimal("10.00"),
+                Map.of("p50", new BigDecimal("70.00")), Map.of("A", 1L, "C", 1L));
+        when(courseService.findStatistics("1")).thenReturn(statistics);
+        when(courseMapper.toStatisticsDTO(1L, statistics)).thenReturn(statisticsDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/1/stats"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.courseId").value(1))
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.mean").value(80.0))
+                .andExpect(jsonPath("$.standardDeviation").value(10.0))
+                .andExpect(jsonPath("$.percentiles.p50").value(70.0))
+                .andExpect(jsonPath("$.letterDistribution.A").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/{id}/stats - Should return 404 when course not found")
+    void testGetStatistics_NotFound() throws Exception {
+        // Arrange
+        when(courseService.findStatistics("999")).thenThrow(new CourseNotFoundException(999L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/999/stats"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(courseMapper);
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/{id}/rank - Should rank a score within the course")
+    void testRankScore_Success() throws Exception {
+        // Arrange
+        ScoreRank rank = new ScoreRank(10, 8, 1);
+        when(courseService.rankScore("1", new BigDecimal("91.5"))).thenReturn(rank);
+        when(courseMapper.toRankDTO(1L, new BigDecimal("91.5"), rank)).thenReturn(
+                new ScoreRankDTO(1L, new BigDecimal("91.5"), 10, 8, 1, 1, 85.0, 20.0));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/1/rank").param("score", "91.5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courseId").value(1))
+                .andExpect(jsonPath("$.below").value(8))
+                .andExpect(jsonPath("$.percentileRank").value(85.0))
+                .andExpect(jsonPath("$.topPercent").value(20.0));
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/{id}/rank - Should return 400 for an invalid score")
+    void testRankScore_InvalidScore() throws Exception {
+        // Arrange
+        when(courseService.rankScore("1", new BigDecimal("101")))
+                .thenThrow(new ValidationException("Score must be between 0 and 100: 101"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/1/rank").param("score", "101"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(courseMapper);
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/{id}/percentile - Should return the score at a percentile")
+    void testGetPercentile_Success() throws Exception {
+        // Arrange
+        when(courseService.findPercentile("1", 90.0)).thenReturn(new BigDecimal("93.25"));
+        when(courseMapper.toPercentileDTO(1L, 90.0, new BigDecimal("93.25"))).thenReturn(
+                new ScorePercentileDTO(1L, 90.0, new BigDecimal("93.25")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/1/percentile").param("p", "90"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.percentile").value(90.0))
+                .andExpect(jsonPath("$.score").value(93.25));
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/{id}/percentile - Should return 404 when course not found")
+    void testGetPercentile_NotFound() throws Exception {
+        // Arrange
+        when(courseService.findPercentile("999", 50.0)).thenThrow(new CourseNotFoundException(999L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/999/percentile").param("p", "50"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/{id}/top - Should return the highest scores of the course")
+    void testGetTopScores_Success() throws Exception {
+        // Arrange
+        when(courseService.findTopScores("1", 2)).thenReturn(List.of(
+                new GradeScoreEntry(7L, 2L, new BigDecimal("98.00"), "A"),
+                new GradeScoreEntry(3L, 5L, new BigDecimal("91.50"), "A")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/1/top").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].gradeId").value(7))
+                .andExpect(jsonPath("$[0].studentId").value(2))
+                .andExpect(jsonPath("$[0].score").value(98.0))
+                .andExpect(jsonPath("$[1].letterGrade").value("A"));
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/{id}/top - Should default to the top 10")
+    void testGetTopScores_DefaultLimit() throws Exception {
+        // Arrange
+        when(courseService.findTopScores("1", 10)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/1/top"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        verify(courseService).findTopScores("1", 10);
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/{id}/top - Should return 400 for an invalid limit")
+    void testGetTopScores_InvalidLimit() throws Exception {
+        // Arrange
+        when(courseService.findTopScores("1", 0)).thenThrow(new ValidationException("Limit must be between 1 and 1000"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/1/top").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/courses/{id} - Should return 404 when course not found")
     void testGetCourseById_NotFound() throws Exception {
@@ -200,6 +394,21 @@ public class CourseControllerTest {
         verify(courseMapper, never()).toDTO(any());
     }
 
+    @Test
+    @DisplayName("GET /api/courses/code/{code} - Should return course by code")
+    void testGetCourseByCode_Success() throws Exception {
+        // Arrange
+        Course course = createValidCourse();
+        when(courseService.findByCode("CS101")).thenReturn(course);
+        when(courseMapper.toDTO(course)).thenReturn(createValidCourseDTOWithId());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/code/CS101"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.code").value("CS101"));
+    }
+
     @Test
     @DisplayName("GET /api/courses/{id} - Should return 400 for invalid ID format")
     void testGetCourseById_InvalidId() throws Exception {
@@ -255,6 +464,41 @@ public class CourseControllerTest {
         verify(courseMapper, times(2)).toDTO(any(Course.class));
     }
 
+    @Test
+    @DisplayName("GET /api/courses/search - Should return the matching courses in order")
+    void testSearchCourses_Success() throws Exception {
+        // Arrange
+        Course course = new Course(2L, "Data Structures", "CS201", 4, null);
+        CourseDTO courseDTO = new CourseDTO();
+        courseDTO.setId(2L);
+        courseDTO.setName("Data Structures");
+        courseDTO.setCode("CS201");
+        courseDTO.setCredits(4);
+        when(courseService.search("data struct", 20)).thenReturn(List.of(course));
+        when(courseMapper.toDTO(course)).thenReturn(courseDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/search").param("q", "data struct"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].code").value("CS201"));
+
+        verify(courseService).search("data struct", 20);
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/search - Should return 400 for an empty query")
+    void testSearchCourses_EmptyQuery() throws Exception {
+        // Arrange
+        when(courseService.search(" ", 20)).thenThrow(new ValidationException("Search query cannot be null or empty"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(courseMapper);
+    }
+
     @Test
     @DisplayName("GET /api/courses - Should return empty list when no courses exist")
     void testGetAllCourses_EmptyList() throws Exception {
@@ -272,6 +516,64 @@ public class CourseControllerTest {
         verify(courseMapper, never()).toDTO(any());
     }
 
+    @Test
+    @DisplayName("GET /api/courses/page - Should return a page with the next cursor")
+    void testGetCoursePage_Success() throws Exception {
+        // Arrange
+        Course course = createValidCourse();
+        CourseDTO courseDTO = createValidCourseDTOWithId();
+        when(courseService.findPage(null, 1)).thenReturn(new CursorPage<>(List.of(course), 1L));
+        when(courseMapper.toDTO(course)).thenReturn(courseDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/page").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].code").value("CS101"))
+                .andExpect(jsonPath("$.nextCursor").value(1));
+
+        verify(courseService).findPage(null, 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/page - Should reject an out-of-range page size")
+    void testGetCoursePage_InvalidLimit() throws Exception {
+        // Arrange
+        when(courseService.findPage(isNull(), anyInt()))
+                .thenThrow(new ValidationException("Page size must be between 1 and 1000"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/page").param("limit", "5000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Page size must be between 1 and 1000"));
+    }
+
+    @Test
+    @DisplayName("GET /api/courses/stream - Should stream courses as NDJSON")
+    @SuppressWarnings("unchecked")
+    void testStreamCourses_Success() throws Exception {
+        // Arrange
+        Course course = createValidCourse();
+        when(courseMapper.toDTO(course)).thenReturn(createValidCourseDTOWithId());
+        doAnswer(invocation -> {
+            Consumer<Course> consumer = invocation.getArgument(0);
+            consumer.accept(course);
+            consumer.accept(course);
+            return null;
+        }).when(courseService).streamAll(any(Consumer.class));
+
+        // Act & Assert
+        String body = mockMvc.perform(get("/api/courses/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[1], CourseDTO.class).getId());
+        assertTrue(body.endsWith("\n"));
+    }
+
     // UPDATE COURSE TESTS
 
     @Test
@@ -598,4 +900,144 @@ public class CourseControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.errorCode").value("INTERNAL_SERVER_ERROR"));
     }
+
+    @Test
+    @DisplayName("Should report the SQL statements run for the request in a header")
+    void testQueryCountHeader() throws Exception {
+        // Arrange
+        SqlStatementCounter counter = new SqlStatementCounter();
+        Course course = new Course(1L, "Introduction to Programming", "CS101", 3, null);
+        when(courseService.findById("1")).thenAnswer(invocation -> {
+            counter.inspect("select c1_0.id from courses c1_0 where c1_0.id=?");
+            counter.inspect("select g1_0.id from grades g1_0 where g1_0.course_id=?");
+            return course;
+        });
+        when(courseMapper.toDTO(course)).thenReturn(new CourseDTO());
+        doAnswer(invocation -> counter.inspect("delete from courses where id=?")).when(courseService).delete("1");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryCountHeaderFilter.HEADER, "2"));
+        mockMvc.perform(delete("/api/courses/1"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(QueryCountHeaderFilter.HEADER, "1"));
+    }
+
+    @Test
+    @DisplayName("Should return the caller's request ID, or a new one")
+    void testRequestIdHeader() throws Exception {
+        // Arrange
+        when(courseService.findAll()).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses").header(RequestIdFilter.HEADER, "client-42"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestIdFilter.HEADER, "client-42"));
+        mockMvc.perform(get("/api/courses").header(RequestIdFilter.HEADER, "not a valid id"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestIdFilter.HEADER, matchesPattern("[0-9a-f]{16}")));
+    }
+
+    @Test
+    @DisplayName("Should tag a course with its version and answer a matching If-None-Match with 304")
+    void testConditionalGetCourse() throws Exception {
+        // Arrange
+        Course course = new Course(1L, "Introduction to Programming", "CS101", 3, null);
+        course.setVersion(2L);
+        when(courseService.findById("1")).thenReturn(course);
+        when(courseService.findVersion("1")).thenReturn(2L);
+        when(courseMapper.toDTO(course)).thenReturn(new CourseDTO(1L, "Introduction to Programming", "CS101", 3));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.code").value("CS101"));
+        mockMvc.perform(get("/api/courses/1").header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+        clearInvocations(courseService, courseMapper);
+        mockMvc.perform(get("/api/courses/1").header(HttpHeaders.IF_NONE_MATCH, "\"1\", W/\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(content().string(""));
+        verify(courseService, never()).findById(anyString());
+        verifyNoInteractions(courseMapper);
+    }
+
+    @Test
+    @DisplayName("Should not answer 304 for a course that does not exist")
+    void testConditionalGetMissingCourse() throws Exception {
+        // Arrange
+        when(courseService.findVersion("999")).thenReturn(null);
+        when(courseService.findById("999")).thenReturn(null);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses/999").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should tag the course list with its collection version")
+    void testConditionalGetCourseList() throws Exception {
+        // Arrange
+        when(courseService.findCollectionVersion()).thenReturn(new CollectionVersion(2L, 7L, 3L));
+        when(courseService.findAll()).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/courses"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-7-3\""));
+        clearInvocations(courseService);
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.IF_NONE_MATCH, "\"2-7-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-7-3\""));
+        verify(courseService, never()).findAll();
+
+        // An empty table has no ID or version sum
+        when(courseService.findCollectionVersion()).thenReturn(new CollectionVersion(0L, null, null));
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.IF_NONE_MATCH, "\"2-7-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-0-0\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/courses/{id} - Should check the update against the If-Match version")
+    void testUpdateCourseIfMatch() throws Exception {
+        // Arrange
+        Course course = createValidCourse();
+        when(courseMapper.toEntity(any(CourseDTO.class))).thenReturn(course);
+        when(courseService.update(course)).thenAnswer(invocation -> {
+            if (!Long.valueOf(3L).equals(course.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Course.class, 1L);
+            }
+            course.setVersion(4L);
+            return course;
+        });
+        when(courseMapper.toDTO(course)).thenReturn(createValidCourseDTOWithId());
+
+        // Act & Assert
+        mockMvc.perform(put("/api/courses/1")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidCourseDTO())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+
+        // The version read before the last write is stale now
+        mockMvc.perform(put("/api/courses/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidCourseDTO())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("CONCURRENT_UPDATE"));
+
+        // Only strong tags of this resource are accepted
+        mockMvc.perform(put("/api/courses/1")
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidCourseDTO())))
+                .andExpect(status().isBadRequest());
+    }
 }
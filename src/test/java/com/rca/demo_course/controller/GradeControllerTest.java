@@ -1,29 +1,44 @@
 package com.rca.demo_course.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rca.demo_course.config.QueryCountHeaderFilter;
 import com.rca.demo_course.domain.Course;
 import com.rca.demo_course.domain.Grade;
 import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.dto.BulkGradeErrorDTO;
+import com.rca.demo_course.dto.BulkGradeResultDTO;
+import com.rca.demo_course.dto.CursorPage;
 import com.rca.demo_course.dto.GradeDTO;
+import com.rca.demo_course.dto.StudentGpaDTO;
 import com.rca.demo_course.exception.GradeNotFoundException;
 import com.rca.demo_course.exception.InvalidGradeException;
 import com.rca.demo_course.exception.ValidationException;
 import com.rca.demo_course.mapper.GradeMapper;
+import com.rca.demo_course.repository.projection.CollectionVersion;
+import com.rca.demo_course.service.GradeImportService;
 import com.rca.demo_course.service.GradeService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.BufferedReader;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,6 +57,9 @@ public class GradeControllerTest {
     @MockBean
     private GradeService gradeService;
 
+    @MockBean
+    private GradeImportService gradeImportService;
+
     @MockBean
     private GradeMapper gradeMapper;
 
@@ -513,6 +531,21 @@ public class GradeControllerTest {
         verify(gradeService).calculateGPA("999");
     }
 
+    @Test
+    @DisplayName("GET /api/grades/student/{studentId}/gpa?weighted=true - Should calculate credit-weighted GPA")
+    void testCalculateStudentGPA_Weighted() throws Exception {
+        // Arrange
+        when(gradeService.calculateWeightedGPA("1")).thenReturn(3.25);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/grades/student/1/gpa").param("weighted", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3.25"));
+
+        verify(gradeService).calculateWeightedGPA("1");
+        verify(gradeService, never()).calculateGPA(anyString());
+    }
+
     @Test
     @DisplayName("GET /api/grades/student/{studentId}/gpa - Should return 400 for invalid student ID")
     void testCalculateStudentGPA_InvalidId() throws Exception {
@@ -526,6 +559,166 @@ public class GradeControllerTest {
         verify(gradeService).calculateGPA("invalid");
     }
 
+    // BULK CREATE TESTS
+
+    @Test
+    @DisplayName("POST /api/grades/bulk - Should import a JSON array and report rejected rows")
+    void testCreateGrades_Json() throws Exception {
+        // Arrange
+        BulkGradeResultDTO result = new BulkGradeResultDTO(2, 1,
+                List.of(new BulkGradeErrorDTO(2, "Student not found with ID: 9")));
+        when(gradeImportService.importGrades(anyList())).thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/grades/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"studentId\":1,\"courseId\":1,\"score\":90},{\"studentId\":9,\"courseId\":1,\"score\":80}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Student not found with ID: 9"));
+
+        verify(gradeImportService).importGrades(argThat(grades -> grades.size() == 2
+                && grades.get(1).getStudentId() == 9L));
+    }
+
+    @Test
+    @DisplayName("POST /api/grades/bulk - Should import CSV content")
+    void testCreateGrades_Csv() throws Exception {
+        // Arrange
+        when(gradeImportService.importGradesCsv(any(Reader.class))).thenAnswer(invocation -> {
+            BufferedReader reader = new BufferedReader(invocation.<Reader>getArgument(0));
+            int lines = (int) reader.lines().count();
+            return new BulkGradeResultDTO(lines, lines, List.of());
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/api/grades/bulk")
+                        .contentType("text/csv")
+                        .content("studentId,courseId,score\n1,1,90\n2,1,75\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(3))
+                .andExpect(jsonPath("$.errors").isEmpty());
+
+        verify(gradeImportService, never()).importGrades(anyList());
+    }
+
+    // PAGED AND STREAMED LISTING TESTS
+
+    @Test
+    @DisplayName("GET /api/grades/course/{courseId}/page - Should return the last page without a cursor")
+    void testGetGradePageByCourseId_LastPage() throws Exception {
+        // Arrange
+        Grade grade = new Grade();
+        grade.setId(42L);
+        GradeDTO gradeDTO = new GradeDTO(42L, 1L, 7L, new BigDecimal("88.00"), "B");
+        when(gradeService.findPageByCourseId("7", 41L, 100)).thenReturn(new CursorPage<>(List.of(grade), null));
+        when(gradeMapper.toDTO(grade)).thenReturn(gradeDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/grades/course/7/page").param("after", "41"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(42))
+                .andExpect(jsonPath("$.items[0].letterGrade").value("B"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/grades/student/{studentId}/stream - Should write one JSON object per line")
+    void testStreamGradesByStudentId_Success() throws Exception {
+        // Arrange
+        Grade first = new Grade();
+        first.setId(1L);
+        Grade second = new Grade();
+        second.setId(2L);
+        when(gradeMapper.toDTO(first)).thenReturn(new GradeDTO(1L, 3L, 1L, new BigDecimal("91.00"), "A", new BigDecimal("4.00")));
+        when(gradeMapper.toDTO(second)).thenReturn(new GradeDTO(2L, 3L, 2L, new BigDecimal("72.00"), "C", new BigDecimal("2.00")));
+        doAnswer(invocation -> {
+            Consumer<Grade> consumer = invocation.getArgument(1);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(gradeService).streamByStudentId(eq("3"), any());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/grades/student/3/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"id\":1,\"studentId\":3,\"courseId\":1,\"score\":91.00,\"letterGrade\":\"A\",\"gradePoints\":4.00}\n" +
+                        "{\"id\":2,\"studentId\":3,\"courseId\":2,\"score\":72.00,\"letterGrade\":\"C\",\"gradePoints\":2.00}\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/grades/student/{studentId}/stream - Should return 400 for invalid student ID")
+    void testStreamGradesByStudentId_InvalidId() throws Exception {
+        // Arrange
+        doThrow(new ValidationException("Invalid student ID format: abc"))
+                .when(gradeService).streamByStudentId(eq("abc"), any());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/grades/student/abc/stream"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
+    // BATCH GPA TESTS
+
+    @Test
+    @DisplayName("POST /api/grades/gpa/batch - Should stream GPAs for student IDs")
+    void testCalculateBatchGPA_StudentIds() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<StudentGpaDTO> sink = invocation.getArgument(1);
+            sink.accept(new StudentGpaDTO(1L, 3.5, 3.25, 4, 14));
+            sink.accept(new StudentGpaDTO(2L, 0.0, 0.0, 0, 0));
+            return null;
+        }).when(gradeService).calculateGPAs(eq(List.of(1L, 2L)), any());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/grades/gpa/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentIds\": [1, 2]}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].studentId").value(1))
+                .andExpect(jsonPath("$[0].gpa").value(3.5))
+                .andExpect(jsonPath("$[0].weightedGpa").value(3.25))
+                .andExpect(jsonPath("$[1].gradeCount").value(0));
+
+        verify(gradeService, never()).calculateGPAsByCourseId(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/grades/gpa/batch - Should use course enrollment when course ID is given")
+    void testCalculateBatchGPA_CourseId() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/grades/gpa/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\": 7}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+
+        verify(gradeService).calculateGPAsByCourseId(eq("7"), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/grades/gpa/batch - Should return 400 when nothing is selected")
+    void testCalculateBatchGPA_EmptyRequest() throws Exception {
+        // Arrange
+        doThrow(new ValidationException("Student IDs cannot be null or empty"))
+                .when(gradeService).calculateGPAs(isNull(), any());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/grades/gpa/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
     // CALCULATE LETTER GRADE TESTS
 
     @Test
@@ -589,6 +782,23 @@ public class GradeControllerTest {
         verify(gradeService).calculateLetterGrade(150.0);
     }
 
+    @Test
+    @DisplayName("POST /api/grades/calculate-letter-grade - Should use the requested grading scale")
+    void testCalculateLetterGrade_NamedScale() throws Exception {
+        // Arrange
+        when(gradeService.calculateLetterGrade(88.0, "plus-minus")).thenReturn("B+");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/grades/calculate-letter-grade")
+                .param("score", "88.0")
+                .param("scale", "plus-minus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("B+"));
+
+        verify(gradeService).calculateLetterGrade(88.0, "plus-minus");
+        verify(gradeService, never()).calculateLetterGrade(88.0);
+    }
+
     // VALIDATION TESTS
 
     @Test
@@ -786,4 +996,30 @@ public class GradeControllerTest {
         mockMvc.perform(post("/api/grades/calculate-letter-grade"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Should answer 304 for a student's unchanged grades without loading them")
+    void testConditionalGetGradesByStudentId() throws Exception {
+        // Arrange
+        when(gradeService.findCollectionVersionByStudentId("1")).thenReturn(new CollectionVersion(4L, 12L, 5L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/grades/student/1").header(HttpHeaders.IF_NONE_MATCH, "\"4-12-5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4-12-5\""));
+        verify(gradeService, never()).findByStudentId(anyString());
+        verifyNoInteractions(gradeMapper);
+    }
+
+    @Test
+    @DisplayName("Should not report the query count unless it is enabled")
+    void testQueryCountHeaderIsOptIn() throws Exception {
+        // Arrange
+        when(gradeService.findCollectionVersionByStudentId("1")).thenReturn(new CollectionVersion(4L, 12L, 5L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/grades/student/1").header(HttpHeaders.IF_NONE_MATCH, "\"4-12-5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().doesNotExist(QueryCountHeaderFilter.HEADER));
+    }
 }
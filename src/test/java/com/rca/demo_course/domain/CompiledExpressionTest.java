@@ -0,0 +1,125 @@
+package com.rca.demo_course.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compiled Expression Tests")
+public class CompiledExpressionTest {
+
+    @ParameterizedTest(name = "{0} = {1}")
+    @CsvSource(delimiter = '|', value = {
+            "1 + 2 * 3 | 7.0",
+            "(1 + 2) * 3 | 9.0",
+            "10 - 4 - 3 | 3.0",
+            "100 / 10 / 5 | 2.0",
+            "2 ^ 3 ^ 2 | 512.0",
+            "-2 ^ 2 | -4.0",
+            "(-2) ^ 2 | 4.0",
+            "--3 + +2 | 5.0",
+            "7 % 4 * 2 | 6.0",
+            "1.5e2 + .5 | 150.5",
+            "2E-1 | 0.2",
+            "sqrt(16) + abs(-3) | 7.0",
+            "pow(2, 10) | 1024.0",
+            "min(3, max(1, 2)) | 2.0",
+            "percentage(200, 15) | 30.0"
+    })
+    @DisplayName("Should evaluate constant formulas with the usual precedence")
+    void testConstantFormulas(String source, double expected) {
+        // Act
+        CompiledExpression expression = CompiledExpression.compile(source);
+
+        // Assert
+        assertEquals(expected, expression.evaluate(), 1e-12);
+        assertTrue(expression.getVariables().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should bind variables in order of first appearance")
+    void testVariables() {
+        // Arrange
+        CompiledExpression expression = CompiledExpression.compile("sqrt(a*a + b*b) % c");
+
+        // Act & Assert
+        assertEquals(List.of("a", "b", "c"), expression.getVariables());
+        assertEquals(2.0, expression.evaluate(Map.of("a", 3.0, "b", 4.0, "c", 3.0)), 1e-12);
+        assertEquals(2.0, expression.evaluate(3.0, 4.0, 3.0), 1e-12);
+        assertEquals(3.0, expression.evaluate(6.0, 8.0, 7.0), 1e-12);
+        assertEquals("sqrt(a*a + b*b) % c", expression.getSource());
+    }
+
+    @Test
+    @DisplayName("Should reject missing variable values")
+    void testMissingVariable() {
+        // Arrange
+        CompiledExpression expression = CompiledExpression.compile("total_1 / count");
+        Map<String, Double> values = new HashMap<>();
+        values.put("total_1", 10.0);
+        values.put("count", null);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> expression.evaluate(values));
+        assertEquals("Missing value for variable: count", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(1.0));
+    }
+
+    @Test
+    @DisplayName("Should apply the calculator's domain checks at evaluation time")
+    void testRuntimeErrors() {
+        // Arrange
+        CompiledExpression division = CompiledExpression.compile("a / b");
+        CompiledExpression modulo = CompiledExpression.compile("a % b");
+        CompiledExpression root = CompiledExpression.compile("sqrt(a)");
+
+        // Act & Assert
+        assertEquals("Division by zero is not allowed",
+                assertThrows(IllegalArgumentException.class, () -> division.evaluate(1.0, 0.0)).getMessage());
+        assertEquals("Modulo by zero is not allowed",
+                assertThrows(IllegalArgumentException.class, () -> modulo.evaluate(1.0, 0.0)).getMessage());
+        assertEquals("Cannot calculate square root of negative number",
+                assertThrows(IllegalArgumentException.class, () -> root.evaluate(-1.0)).getMessage());
+    }
+
+    @ParameterizedTest(name = "Should reject \"{0}\"")
+    @ValueSource(strings = {"", " ", "1 +", "(1 + 2", "1 + 2)", "2 $ 3", "foo(1)", "sqrt(1, 2)", "pow(2)", "1..2", "a b", "1 / 0"})
+    @DisplayName("Should reject malformed formulas")
+    void testMalformedFormulas(String source) {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> CompiledExpression.compile(source));
+    }
+
+    @Test
+    @DisplayName("Should report where a formula is malformed")
+    void testErrorPosition() {
+        // Act
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CompiledExpression.compile("1 + * 2"));
+
+        // Assert
+        assertEquals("Unexpected '*' at position 5 in expression: 1 + * 2", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject formulas that are too long or nested too deeply")
+    void testLimits() {
+        // Arrange
+        String tooLong = "1" + " + 1".repeat(CompiledExpression.MAX_LENGTH / 4);
+        String tooDeep = "(".repeat(150) + "1" + ")".repeat(150);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> CompiledExpression.compile(tooLong));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CompiledExpression.compile(tooDeep));
+        assertTrue(exception.getMessage().startsWith("Expression is nested too deeply"));
+    }
+}
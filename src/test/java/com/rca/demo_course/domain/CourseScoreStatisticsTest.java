@@ -0,0 +1,238 @@
+package com.rca.demo_course.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Course Score Statistics Tests")
+public class CourseScoreStatisticsTest {
+
+    private CourseScoreStatistics statisticsOf(String... scores) {
+        CourseScoreStatistics statistics = new CourseScoreStatistics();
+        for (String score : scores) {
+            statistics.add(new BigDecimal(score), GradingScale.standard().letterFor(Double.parseDouble(score)));
+        }
+        return statistics;
+    }
+
+    @Test
+    @DisplayName("Should summarize the added scores")
+    void testSummary() {
+        // Arrange
+        CourseScoreStatistics statistics = statisticsOf("90", "80", "70", "60");
+
+        // Act & Assert
+        assertEquals(4, statistics.getCount());
+        assertEquals(new BigDecimal("75.00"), statistics.getMean());
+        assertEquals(new BigDecimal("60.00"), statistics.getMin());
+        assertEquals(new BigDecimal("90.00"), statistics.getMax());
+        // sqrt(((15^2 + 5^2) * 2) / 4)
+        assertEquals(new BigDecimal("11.18"), statistics.getStandardDeviation());
+        assertEquals(Map.of("A", 1L, "B", 1L, "C", 1L, "D", 1L), statistics.getLetterCounts());
+    }
+
+    @ParameterizedTest(name = "p{0} should be {1}")
+    @CsvSource({
+            "1, 10.00",
+            "10, 10.00",
+            "25, 30.00",
+            "50, 50.00",
+            "90, 90.00",
+            "91, 100.00",
+            "100, 100.00"
+    })
+    @DisplayName("Should report nearest-rank percentiles")
+    void testPercentiles(double percentile, String expected) {
+        // Arrange
+        CourseScoreStatistics statistics = statisticsOf("100", "90", "80", "70", "60", "50", "40", "30", "20", "10");
+
+        // Act & Assert
+        assertEquals(new BigDecimal(expected), statistics.getPercentile(percentile));
+    }
+
+    @Test
+    @DisplayName("Should keep min, max and letters exact when grades are removed")
+    void testRemove() {
+        // Arrange
+        CourseScoreStatistics statistics = statisticsOf("95.5", "82.25", "41");
+
+        // Act
+        statistics.remove(new BigDecimal("95.50"), "A");
+        statistics.remove(new BigDecimal("41"), "F");
+
+        // Assert
+        assertEquals(1, statistics.getCount());
+        assertEquals(new BigDecimal("82.25"), statistics.getMin());
+        assertEquals(new BigDecimal("82.25"), statistics.getMax());
+        assertEquals(new BigDecimal("82.25"), statistics.getMean());
+        assertEquals(new BigDecimal("0.00"), statistics.getStandardDeviation());
+        assertEquals(Map.of("B", 1L), statistics.getLetterCounts());
+    }
+
+    @Test
+    @DisplayName("Should ignore the removal of a score that was never added")
+    void testRemoveUnknownScore() {
+        // Arrange
+        CourseScoreStatistics statistics = statisticsOf("70");
+
+        // Act
+        statistics.remove(new BigDecimal("71"), "C");
+
+        // Assert
+        assertEquals(1, statistics.getCount());
+        assertEquals(Map.of("C", 1L), statistics.getLetterCounts());
+    }
+
+    @Test
+    @DisplayName("Should report only the count of an empty course")
+    void testEmpty() {
+        // Arrange
+        CourseScoreStatistics statistics = new CourseScoreStatistics();
+
+        // Act & Assert
+        assertEquals(0, statistics.getCount());
+        assertNull(statistics.getMean());
+        assertNull(statistics.getMin());
+        assertNull(statistics.getMax());
+        assertNull(statistics.getStandardDeviation());
+        assertNull(statistics.getPercentile(50));
+        assertTrue(statistics.getLetterCounts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not change a copy when the original changes")
+    void testCopy() {
+        // Arrange
+        CourseScoreStatistics statistics = statisticsOf("88");
+
+        // Act
+        CourseScoreStatistics copy = statistics.copy();
+        statistics.add(new BigDecimal("12"), "F");
+
+        // Assert
+        assertEquals(1, copy.getCount());
+        assertEquals(new BigDecimal("88.00"), copy.getMin());
+        assertEquals(Map.of("B", 1L), copy.getLetterCounts());
+    }
+
+    @ParameterizedTest(name = "Score {0} should be rejected")
+    @ValueSource(strings = {"-0.01", "100.01"})
+    @DisplayName("Should reject scores outside 0 to 100")
+    void testScoreOutOfRange(String score) {
+        // Arrange
+        CourseScoreStatistics statistics = new CourseScoreStatistics();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> statistics.add(new BigDecimal(score), "F"));
+    }
+
+    @ParameterizedTest(name = "Percentile {0} should be rejected")
+    @ValueSource(doubles = {0, -5, 100.5})
+    @DisplayName("Should reject percentiles outside (0, 100]")
+    void testPercentileOutOfRange(double percentile) {
+        // Arrange
+        CourseScoreStatistics statistics = statisticsOf("50");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> statistics.getPercentile(percentile));
+    }
+
+    @Test
+    @DisplayName("Should count the grades below, at and above a score")
+    void testRank() {
+        // Arrange
+        CourseScoreStatistics statistics = statisticsOf("95", "90", "90", "80", "70", "60", "50", "40", "30", "20");
+
+        // Act
+        ScoreRank rank = statistics.rank(new BigDecimal("90"));
+
+        // Assert
+        assertEquals(10, rank.gradeCount());
+        assertEquals(7, rank.below());
+        assertEquals(2, rank.equal());
+        assertEquals(1, rank.getAbove());
+        assertEquals(80.0, rank.getPercentileRank(), 0.0001);
+        assertEquals(30.0, rank.getTopPercent(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Should rank a score that no grade has")
+    void testRankBetweenScores() {
+        // Arrange
+        CourseScoreStatistics statistics = statisticsOf("95", "85", "75", "65");
+
+        // Act
+        ScoreRank top = statistics.rank(new BigDecimal("99.99"));
+        ScoreRank middle = statistics.rank(new BigDecimal("80"));
+        ScoreRank bottom = statistics.rank(BigDecimal.ZERO);
+
+        // Assert
+        assertEquals(4, top.below());
+        assertEquals(25.0, top.getTopPercent(), 0.0001);
+        assertEquals(2, middle.below());
+        assertEquals(50.0, middle.getPercentileRank(), 0.0001);
+        assertEquals(75.0, middle.getTopPercent(), 0.0001);
+        assertEquals(0, bottom.below());
+        assertEquals(4, bottom.getAbove());
+    }
+
+    @Test
+    @DisplayName("Should rank against an empty course without percentages")
+    void testRankEmpty() {
+        // Act
+        ScoreRank rank = new CourseScoreStatistics().rank(new BigDecimal("50"));
+
+        // Assert
+        assertEquals(0, rank.gradeCount());
+        assertNull(rank.getPercentileRank());
+        assertNull(rank.getTopPercent());
+    }
+
+    @Test
+    @DisplayName("Should agree with sorting the scores after random adds and removes")
+    void testMatchesSortedScores() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(7);
+        CourseScoreStatistics statistics = new CourseScoreStatistics();
+        List<Integer> hundredths = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            if (!hundredths.isEmpty() && random.nextInt(4) == 0) {
+                int removed = hundredths.remove(random.nextInt(hundredths.size()));
+                statistics.remove(BigDecimal.valueOf(removed, 2), null);
+            } else {
+                int added = random.nextInt(10_001);
+                hundredths.add(added);
+                statistics.add(BigDecimal.valueOf(added, 2), null);
+            }
+        }
+        Collections.sort(hundredths);
+        int size = hundredths.size();
+
+        // Act & Assert
+        assertEquals(size, statistics.getCount());
+        assertEquals(BigDecimal.valueOf(hundredths.get(0), 2), statistics.getMin());
+        assertEquals(BigDecimal.valueOf(hundredths.get(size - 1), 2), statistics.getMax());
+        for (double percentile : new double[] {0.1, 1, 10, 25, 50, 75, 90, 99, 99.9, 100}) {
+            int rank = (int) Math.ceil(percentile / 100 * size);
+            assertEquals(BigDecimal.valueOf(hundredths.get(rank - 1), 2), statistics.getPercentile(percentile),
+                    "p" + percentile);
+        }
+        for (int probe = 0; probe < 200; probe++) {
+            int score = random.nextInt(10_001);
+            long below = hundredths.stream().filter(h -> h < score).count();
+            long equal = hundredths.stream().filter(h -> h == score).count();
+            assertEquals(new ScoreRank(size, below, equal), statistics.rank(BigDecimal.valueOf(score, 2)));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.rca.demo_course.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GPA Leaderboard Tests")
+public class GpaLeaderboardTest {
+
+    // One grade worth the given points in a course with the given credits
+    private void addGrade(GpaLeaderboard leaderboard, long studentId, long pointHundredths, long credits) {
+        leaderboard.apply(studentId, 1, pointHundredths, credits, pointHundredths * credits);
+    }
+
+    private void removeGrade(GpaLeaderboard leaderboard, long studentId, long pointHundredths, long credits) {
+        leaderboard.apply(studentId, -1, -pointHundredths, -credits, -pointHundredths * credits);
+    }
+
+    private List<Long> topIds(GpaLeaderboard leaderboard, int limit) {
+        return leaderboard.top(limit).stream().map(GpaStanding::studentId).toList();
+    }
+
+    @Test
+    @DisplayName("Should order students by GPA, then weighted GPA, then ID")
+    void testOrder() {
+        // Arrange
+        GpaLeaderboard leaderboard = new GpaLeaderboard();
+        addGrade(leaderboard, 1, 200, 3);
+        addGrade(leaderboard, 2, 400, 3);
+        // Same GPA as student 4, but the higher grade is in the course with more credits
+        addGrade(leaderboard, 3, 400, 4);
+        addGrade(leaderboard, 3, 200, 2);
+        addGrade(leaderboard, 4, 200, 4);
+        addGrade(leaderboard, 4, 400, 2);
+        addGrade(leaderboard, 5, 400, 3);
+
+        // Act
+        List<Long> top = topIds(leaderboard, 10);
+
+        // Assert
+        assertEquals(List.of(2L, 5L, 3L, 4L, 1L), top);
+        assertEquals(5, leaderboard.size());
+    }
+
+    @Test
+    @DisplayName("Should move a student when their grades change")
+    void testApplyMovesStudent() {
+        // Arrange
+        GpaLeaderboard leaderboard = new GpaLeaderboard();
+        addGrade(leaderboard, 1, 400, 3);
+        addGrade(leaderboard, 2, 300, 3);
+
+        // Act
+        addGrade(leaderboard, 1, 0, 3);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), topIds(leaderboard, 10));
+        GpaStanding standing = leaderboard.get(1);
+        assertEquals(2, standing.gradeCount());
+        assertEquals(2.0, standing.getGpa(), 1e-9);
+        assertEquals(6, standing.totalCredits());
+    }
+
+    @Test
+    @DisplayName("Should drop a student whose last grade is removed")
+    void testRemovingLastGrade() {
+        // Arrange
+        GpaLeaderboard leaderboard = new GpaLeaderboard();
+        addGrade(leaderboard, 1, 350, 4);
+        addGrade(leaderboard, 2, 300, 3);
+
+        // Act
+        removeGrade(leaderboard, 1, 350, 4);
+
+        // Assert
+        assertNull(leaderboard.get(1));
+        assertEquals(List.of(2L), topIds(leaderboard, 10));
+        assertEquals(1, leaderboard.size());
+    }
+
+    @Test
+    @DisplayName("Should replace a student's standing on put and forget them on remove")
+    void testPutAndRemove() {
+        // Arrange
+        GpaLeaderboard leaderboard = new GpaLeaderboard();
+        leaderboard.put(new GpaStanding(1, 2, 500, 6, 1500));
+        leaderboard.put(new GpaStanding(2, 1, 300, 3, 900));
+
+        // Act
+        leaderboard.put(new GpaStanding(1, 2, 800, 6, 2400));
+        leaderboard.remove(2);
+        leaderboard.remove(99);
+
+        // Assert
+        assertEquals(List.of(1L), topIds(leaderboard, 10));
+        assertEquals(4.0, leaderboard.get(1).getGpa(), 1e-9);
+        assertEquals(4.0, leaderboard.get(1).getWeightedGpa(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should return only the requested number of students")
+    void testTopLimit() {
+        // Arrange
+        GpaLeaderboard leaderboard = new GpaLeaderboard();
+        for (long id = 1; id <= 20; id++) {
+            addGrade(leaderboard, id, id * 20, 3);
+        }
+
+        // Act & Assert
+        assertEquals(List.of(20L, 19L, 18L), topIds(leaderboard, 3));
+        assertTrue(new GpaLeaderboard().top(5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match a full sort after random grade writes")
+    void testMatchesFullSort() {
+        // Arrange
+        GpaLeaderboard leaderboard = new GpaLeaderboard();
+        SplittableRandom random = new SplittableRandom(19);
+        List<long[]> grades = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 5_000; i++) {
+            if (!grades.isEmpty() && random.nextInt(4) == 0) {
+                long[] grade = grades.remove(random.nextInt(grades.size()));
+                removeGrade(leaderboard, grade[0], grade[1], grade[2]);
+            } else {
+                long[] grade = {random.nextLong(1, 200), random.nextInt(5) * 100L, random.nextLong(1, 5)};
+                grades.add(grade);
+                addGrade(leaderboard, grade[0], grade[1], grade[2]);
+            }
+        }
+
+        // Assert
+        Map<Long, GpaStanding> totals = new HashMap<>();
+        for (long[] grade : grades) {
+            totals.merge(grade[0], new GpaStanding(grade[0], 1, grade[1], grade[2], grade[1] * grade[2]),
+                    (a, b) -> a.plus(b.gradeCount(), b.pointHundredths(), b.totalCredits(), b.weightedPointHundredths()));
+        }
+        List<GpaStanding> expected = new ArrayList<>(totals.values());
+        expected.sort(Comparator.comparingDouble(GpaStanding::getGpa).reversed()
+                .thenComparing(Comparator.comparingDouble(GpaStanding::getWeightedGpa).reversed())
+                .thenComparingLong(GpaStanding::studentId));
+        assertEquals(expected, leaderboard.top(Integer.MAX_VALUE));
+    }
+}
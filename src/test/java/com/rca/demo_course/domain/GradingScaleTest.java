@@ -0,0 +1,111 @@
+package com.rca.demo_course.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Grading Scale Tests")
+public class GradingScaleTest {
+
+    @ParameterizedTest(name = "Score {0} should be {1} worth {2} points")
+    @CsvSource({
+            "100.0, A, 4.0",
+            "90.0, A, 4.0",
+            "89.99, B, 3.0",
+            "80.0, B, 3.0",
+            "79.99, C, 2.0",
+            "70.0, C, 2.0",
+            "60.0, D, 1.0",
+            "59.99, F, 0.0",
+            "0.0, F, 0.0"
+    })
+    @DisplayName("Should classify scores on the standard scale")
+    void testStandardScale(double score, String letter, double points) {
+        // Arrange
+        GradingScale scale = GradingScale.standard();
+
+        // Act & Assert
+        assertEquals(letter, scale.letterFor(score));
+        assertEquals(points, scale.pointsFor(score), 0.0001);
+        assertEquals(points, scale.pointsFor(letter), 0.0001);
+    }
+
+    @ParameterizedTest(name = "Score {0} should be {1} worth {2} points")
+    @CsvSource({"97.0, A+, 4.0", "96.99, A, 4.0", "90.0, A-, 3.7", "87.5, B+, 3.3", "82.99, B-, 2.7", "60.0, D-, 0.7", "59.0, F, 0.0"})
+    @DisplayName("Should classify scores on the plus-minus scale")
+    void testPlusMinusScale(double score, String letter, double points) {
+        // Arrange
+        GradingScale scale = GradingScale.plusMinus();
+
+        // Act & Assert
+        assertEquals(letter, scale.letterFor(score));
+        assertEquals(points, scale.pointsFor(score), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Should compile a scale parsed from its text form")
+    void testParse() {
+        // Act
+        GradingScale scale = GradingScale.parse("pass-fail", " P:50.5:4.0 , F:0:0 ");
+
+        // Assert
+        assertEquals("pass-fail", scale.getName());
+        assertEquals(List.of("P", "F"), scale.getBands().stream().map(GradingScale.Band::letter).toList());
+        assertEquals("P", scale.letterFor(50.5));
+        assertEquals("F", scale.letterFor(50.49));
+        assertEquals(0.0, scale.pointsFor("X"), 0.0001);
+        assertEquals(0.0, scale.pointsFor((String) null), 0.0001);
+    }
+
+    @ParameterizedTest(name = "Should reject scale \"{0}\"")
+    @ValueSource(strings = {
+            "A:90:4.0,B:80:3.0",
+            "A:90:4.0,B:90:3.0,F:0:0",
+            "A:90:4.0,A:80:3.0,F:0:0",
+            "A:90.001:4.0,F:0:0",
+            "A:101:4.0,F:0:0",
+            "A:90:-1,F:0:0",
+            "A:90:10,F:0:0",
+            "ABC:90:4.0,F:0:0",
+            "A:90,F:0:0",
+            "A:ninety:4.0,F:0:0",
+            " "
+    })
+    @DisplayName("Should reject invalid scale definitions")
+    void testParseInvalidScale(String spec) {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> GradingScale.parse("broken", spec));
+    }
+
+    @ParameterizedTest(name = "Should reject score {0}")
+    @ValueSource(doubles = {-0.01, 100.01, Double.NaN})
+    @DisplayName("Should reject scores outside 0-100")
+    void testRejectsScoreOutOfRange(double score) {
+        // Arrange
+        GradingScale scale = GradingScale.standard();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> scale.letterFor(score));
+    }
+
+    @Test
+    @DisplayName("Should order bands from highest to lowest minimum score")
+    void testBandsAreSorted() {
+        // Act
+        GradingScale scale = new GradingScale("custom", List.of(
+                new GradingScale.Band("F", BigDecimal.ZERO, 0.0),
+                new GradingScale.Band("A", new BigDecimal("85"), 4.0)));
+
+        // Assert
+        assertEquals("A", scale.getBands().get(0).letter());
+        assertEquals("A", scale.letterFor(85.0));
+        assertEquals("F", scale.letterFor(84.99));
+    }
+}
@@ -0,0 +1,155 @@
+package com.rca.demo_course.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Name Search Index Tests")
+public class NameSearchIndexTest {
+
+    private NameSearchIndex indexOf(String... texts) {
+        NameSearchIndex index = new NameSearchIndex();
+        for (int i = 0; i < texts.length; i++) {
+            index.put(i + 1, texts[i]);
+        }
+        return index;
+    }
+
+    @Test
+    @DisplayName("Should match whole words and word prefixes, exact words first")
+    void testExactAndPrefix() {
+        // Arrange
+        NameSearchIndex index = indexOf("John Doe", "Johnny Smith", "Mike Johnson", "Sarah Wilson");
+
+        // Act & Assert
+        assertEquals(List.of(1L, 2L, 3L), index.search("john", 10));
+        // "john" is one typo away from "johnn", so it follows the prefix match
+        assertEquals(List.of(2L, 1L), index.search("johnn", 10));
+        assertEquals(List.of(4L), index.search("wil", 10));
+        assertTrue(index.search("ohnso", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should require every query word to match")
+    void testAllWordsMustMatch() {
+        // Arrange
+        NameSearchIndex index = indexOf("John Doe", "John Smith", "Jane Doe");
+
+        // Act & Assert
+        assertEquals(List.of(1L), index.search("Doe John", 10));
+        assertEquals(List.of(1L, 2L), index.search("jo", 10));
+        assertEquals(List.of(2L), index.search("j smi", 10));
+        assertTrue(index.search("jane smith", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match words one typo away, after exact and prefix matches")
+    void testFuzzy() {
+        // Arrange
+        NameSearchIndex index = indexOf("Jon Smith", "John Smyth", "Johnson Brown", "Joan Baker");
+
+        // Act & Assert
+        // "jon" is "jhon" without the h and "john" has the h and o swapped; "joan" is two edits away
+        assertEquals(List.of(1L, 2L), index.search("jhon", 10));
+        assertEquals(List.of(1L, 2L), index.search("smith", 10));
+        assertEquals(List.of(3L), index.search("browm", 10));
+        assertTrue(index.search("bxkxr", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should only match typos in words of at least three characters")
+    void testNoFuzzyForShortWords() {
+        // Arrange
+        NameSearchIndex index = indexOf("Al Green", "Bo Brown");
+
+        // Act & Assert
+        assertTrue(index.search("ak", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("al", 10));
+    }
+
+    @Test
+    @DisplayName("Should ignore case, accents and punctuation")
+    void testNormalization() {
+        // Arrange
+        NameSearchIndex index = indexOf("Zoë O'Brien-Álvarez", "Data Structures & Algorithms CS201");
+
+        // Act & Assert
+        assertEquals(List.of(1L), index.search("zoe", 10));
+        assertEquals(List.of(1L), index.search("ALVAREZ o", 10));
+        assertEquals(List.of(2L), index.search("cs201", 10));
+        assertEquals(List.of(2L), index.search("  data,  algo ", 10));
+        assertTrue(index.search(" - ", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should replace an entry on put and forget it on remove")
+    void testPutAndRemove() {
+        // Arrange
+        NameSearchIndex index = indexOf("John Doe", "Jane Doe");
+
+        // Act
+        index.put(1, "Johnny Walker");
+        index.remove(2);
+        index.remove(99);
+
+        // Assert
+        assertTrue(index.search("doe", 10).isEmpty());
+        assertTrue(index.search("jane", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("walker", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should keep words that other entries still use")
+    void testSharedWords() {
+        // Arrange
+        NameSearchIndex index = indexOf("Jane Smith", "John Smith");
+
+        // Act
+        index.remove(1);
+
+        // Assert
+        assertEquals(List.of(2L), index.search("smith", 10));
+        assertEquals(List.of(2L), index.search("smoth", 10));
+    }
+
+    @Test
+    @DisplayName("Should return at most the requested number of IDs, ties by ID")
+    void testLimit() {
+        // Arrange
+        NameSearchIndex index = new NameSearchIndex();
+        for (long id = 20; id >= 1; id--) {
+            index.put(id, "Student " + id);
+        }
+
+        // Act & Assert
+        assertEquals(List.of(1L, 2L, 3L), index.search("student", 3));
+        assertTrue(index.search("student", 0).isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0} / {1} -> {2}")
+    @CsvSource({
+        "john, john, true",
+        "john, jon, true",
+        "jon, john, true",
+        "john, jhon, true",
+        "john, joan, true",
+        "jhon, joan, false",
+        "john, jahn, true",
+        "john, johnny, false",
+        "abc, cab, false",
+        "smith, smiht, true",
+        "smith, msith, true",
+        "smith, mitsh, false"
+    })
+    @DisplayName("Should tell words one edit apart")
+    void testIsOneEditApart(String a, String b, boolean expected) {
+        assertEquals(expected, NameSearchIndex.isOneEditApart(a, b));
+    }
+}
@@ -0,0 +1,34 @@
+package com.rca.demo_course.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Domain Exception Tests")
+public class DomainExceptionTest {
+
+    @Test
+    @DisplayName("Should not record a stack trace for domain exceptions")
+    void testDomainExceptionsAreStackless() {
+        // Arrange
+        RuntimeException cause = new RuntimeException("cause");
+
+        // Act
+        DomainException[] exceptions = {
+            new StudentNotFoundException("Student not found"),
+            new CourseNotFoundException("Course not found"),
+            new GradeNotFoundException("Grade not found"),
+            new ValidationException("Invalid", cause),
+            new DuplicateResourceException("Duplicate"),
+            new InvalidGradeException("Invalid grade")
+        };
+
+        // Assert
+        for (DomainException exception : exceptions) {
+            assertEquals(0, exception.getStackTrace().length, exception.getClass().getSimpleName());
+            assertEquals(0, exception.getSuppressed().length);
+        }
+        assertSame(cause, exceptions[3].getCause());
+    }
+}
@@ -0,0 +1,116 @@
+package com.rca.demo_course.integration;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import com.rca.demo_course.config.AsyncFileLogging;
+import com.rca.demo_course.config.RequestIdFilter;
+import com.rca.demo_course.config.RingBufferAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the log file appender Spring Boot sets up for {@code logging.file.name} is
+ * moved behind the ring buffer, and that lines keep their request ID.
+ */
+public class AsyncFileLoggingIntegrationTest {
+
+    @TempDir
+    private Path directory;
+
+    private Logger root;
+    private FileAppender<ILoggingEvent> file;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%5p [%X{requestId:-}] %logger : %m%n");
+        encoder.start();
+        // Stands in for the appender Spring Boot creates
+        file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(directory.resolve("test.log").toString());
+        file.setEncoder(encoder);
+        file.start();
+        root.addAppender(file);
+    }
+
+    @AfterEach
+    void tearDown() {
+        root.detachAppender(file);
+        if (root.getAppender("ASYNC_FILE") != null) {
+            root.getAppender("ASYNC_FILE").stop();
+            root.detachAppender("ASYNC_FILE");
+        }
+        file.stop();
+    }
+
+    private AsyncFileLogging asyncFileLogging() {
+        AsyncFileLogging asyncFileLogging = new AsyncFileLogging();
+        ReflectionTestUtils.setField(asyncFileLogging, "capacity", 1024);
+        ReflectionTestUtils.setField(asyncFileLogging, "overflowPolicy", RingBufferAppender.OverflowPolicy.DROP);
+        asyncFileLogging.afterPropertiesSet();
+        return asyncFileLogging;
+    }
+
+    @Test
+    public void testLogFileIsWrittenThroughTheRingBuffer() throws IOException {
+        // Given
+        AsyncFileLogging asyncFileLogging = asyncFileLogging();
+        RingBufferAppender appender = (RingBufferAppender) root.getAppender("ASYNC_FILE");
+        assertNotNull(appender);
+        assertNull(root.getAppender("FILE"));
+        assertSame(file, appender.getAppender("FILE"));
+
+        // When
+        MDC.put(RequestIdFilter.MDC_KEY, "0123456789abcdef");
+        try {
+            LoggerFactory.getLogger(AsyncFileLoggingIntegrationTest.class).warn("Written in the background");
+        } finally {
+            MDC.remove(RequestIdFilter.MDC_KEY);
+        }
+        appender.stop();
+
+        // Then
+        assertTrue(Files.readAllLines(directory.resolve("test.log"))
+                .contains(" WARN [0123456789abcdef] " + AsyncFileLoggingIntegrationTest.class.getName()
+                        + " : Written in the background"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        asyncFileLogging.bindTo(registry);
+        assertEquals(0.0, registry.get("logging.async.dropped").functionCounter().count());
+        assertEquals(0.0, registry.get("logging.async.queued").gauge().value());
+    }
+
+    @Test
+    public void testNothingChangesWithoutALogFile() {
+        // Given
+        root.detachAppender(file);
+
+        // When
+        AsyncFileLogging asyncFileLogging = asyncFileLogging();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        asyncFileLogging.bindTo(registry);
+
+        // Then
+        assertNull(root.getAppender("ASYNC_FILE"));
+        assertNull(registry.find("logging.async.dropped").functionCounter());
+    }
+}
@@ -0,0 +1,55 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.config.CacheConfig;
+import com.rca.demo_course.domain.CompiledExpression;
+import com.rca.demo_course.service.CalculatorService;
+import com.rca.demo_course.service.impl.CalculatorServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that compiled calculator expressions are cached by their text.
+ */
+@SpringBootTest(classes = {CacheConfig.class, CalculatorServiceImpl.class}, properties = {
+    "spring.cache.cache-names=compiledExpressions",
+    "spring.cache.caffeine.spec=maximumSize=100,recordStats"
+})
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+public class CompiledExpressionCacheIntegrationTest {
+
+    @Autowired
+    private CalculatorService calculatorService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    public void testCompiledExpressionsAreCached() {
+        // Given
+        CompiledExpression first = calculatorService.compileExpression("sqrt(a*a + b*b) % c");
+
+        // When
+        CompiledExpression second = calculatorService.compileExpression("sqrt(a*a + b*b) % c");
+        CompiledExpression other = calculatorService.compileExpression("a + b");
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertSame(first, cacheManager.getCache(CacheConfig.COMPILED_EXPRESSIONS).get("sqrt(a*a + b*b) % c").get());
+    }
+
+    @Test
+    public void testMalformedExpressionsAreNotCached() {
+        // When
+        assertThrows(IllegalArgumentException.class, () -> calculatorService.compileExpression("1 +"));
+
+        // Then
+        assertNull(cacheManager.getCache(CacheConfig.COMPILED_EXPRESSIONS).get("1 +"));
+    }
+}
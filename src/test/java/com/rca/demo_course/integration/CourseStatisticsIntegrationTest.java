@@ -0,0 +1,161 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.CourseScoreStatistics;
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.StudentGpaSummaryRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
+import com.rca.demo_course.service.CourseStatisticsService;
+import com.rca.demo_course.service.GradeService;
+import com.rca.demo_course.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static com.rca.demo_course.integration.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the in-memory course statistics and top scores follow committed grade
+ * writes and agree with a rebuild from the grades table.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+// Statistics only change when a transaction commits, so every service call has to run in its own
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ServiceTestConfig.class)
+public class CourseStatisticsIntegrationTest {
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseStatisticsService courseStatisticsService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentGpaSummaryRepository summaryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        gradeRepository.deleteAllInBatch();
+        summaryRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+    }
+
+    private void assertSameStatistics(CourseScoreStatistics expected, CourseScoreStatistics actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getMean(), actual.getMean());
+        assertEquals(expected.getMin(), actual.getMin());
+        assertEquals(expected.getMax(), actual.getMax());
+        assertEquals(expected.getStandardDeviation(), actual.getStandardDeviation());
+        assertEquals(expected.getPercentile(50), actual.getPercentile(50));
+        assertEquals(expected.getLetterCounts(), actual.getLetterCounts());
+    }
+
+    @Test
+    public void testStatisticsFollowGradeWrites() {
+        // Given
+        Student jane = studentRepository.save(newStudent("jane.stats@example.com"));
+        Student john = studentRepository.save(newStudent("john.stats@example.com"));
+        Course programming = courseRepository.save(newCourse("CS101", 3));
+        Course algorithms = courseRepository.save(newCourse("CS201", 3));
+        Long courseId = programming.getId();
+        Grade first = gradeService.create(newGrade(jane, programming, "95.00"));
+        // Materialize the course so later writes are applied as deltas
+        assertEquals(1, courseStatisticsService.getStatistics(courseId).getCount());
+
+        // When
+        Grade second = gradeService.create(newGrade(john, programming, "72.50"));
+        gradeService.create(newGrade(jane, algorithms, "40.00"));
+        Grade changed = newGrade(jane, programming, "81.00");
+        changed.setId(first.getId());
+        gradeService.update(changed);
+        gradeService.create(newGrade(john, programming, "58.00"));
+        gradeService.delete(String.valueOf(second.getId()));
+
+        // Then
+        CourseScoreStatistics incremental = courseStatisticsService.getStatistics(courseId);
+        assertEquals(2, incremental.getCount());
+        assertEquals(new BigDecimal("69.50"), incremental.getMean());
+        assertEquals(new BigDecimal("58.00"), incremental.getMin());
+        assertEquals(new BigDecimal("81.00"), incremental.getMax());
+        assertEquals(Map.of("B", 1L, "F", 1L), incremental.getLetterCounts());
+        List<GradeScoreEntry> top = courseStatisticsService.topScores(courseId, 10);
+        assertEquals(List.of(new BigDecimal("81.00"), new BigDecimal("58.00")), top.stream().map(GradeScoreEntry::score).toList());
+        assertEquals(first.getId(), top.get(0).gradeId());
+        assertEquals(jane.getId(), top.get(0).studentId());
+
+        courseStatisticsService.rebuild(courseId);
+        assertSameStatistics(courseStatisticsService.getStatistics(courseId), incremental);
+        assertEquals(courseStatisticsService.topScores(courseId, 10), top);
+    }
+
+    @Test
+    public void testStatisticsSkipRolledBackWrites() {
+        // Given
+        Student student = studentRepository.save(newStudent("rolled.back@example.com"));
+        Course course = courseRepository.save(newCourse("CS301", 3));
+        gradeService.create(newGrade(student, course, "88.00"));
+        assertEquals(1, courseStatisticsService.getStatistics(course.getId()).getCount());
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            gradeService.create(newGrade(student, course, "91.00"));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(1, gradeRepository.findByCourseId(course.getId()).size());
+        assertEquals(1, courseStatisticsService.getStatistics(course.getId()).getCount());
+    }
+
+    @Test
+    public void testDeletingStudentReloadsTheirCourses() {
+        // Given
+        Student leaving = studentRepository.save(newStudent("leaving@example.com"));
+        Student staying = studentRepository.save(newStudent("staying@example.com"));
+        Course course = courseRepository.save(newCourse("CS401", 3));
+        gradeService.create(newGrade(leaving, course, "64.00"));
+        gradeService.create(newGrade(staying, course, "77.00"));
+        assertEquals(2, courseStatisticsService.getStatistics(course.getId()).getCount());
+
+        // When
+        studentService.delete(String.valueOf(leaving.getId()));
+
+        // Then
+        CourseScoreStatistics statistics = courseStatisticsService.getStatistics(course.getId());
+        assertEquals(1, statistics.getCount());
+        assertEquals(new BigDecimal("77.00"), statistics.getMin());
+    }
+}
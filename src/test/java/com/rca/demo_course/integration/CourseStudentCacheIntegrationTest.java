@@ -0,0 +1,128 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.config.CacheConfig;
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.CourseSnapshot;
+import com.rca.demo_course.service.CourseService;
+import com.rca.demo_course.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.rca.demo_course.integration.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that course and student lookups are cached and that updates and deletes evict them.
+ */
+@DataJpaTest(properties = {
+    "spring.cache.cache-names=coursesById,coursesByCode,studentsById,studentsByEmail",
+    "spring.cache.caffeine.spec=maximumSize=100,recordStats"
+})
+@ActiveProfiles("test")
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({CacheConfig.class, ServiceTestConfig.class})
+public class CourseStudentCacheIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Leaves nothing managed, so every lookup starts from the cache or the database
+    private <T> T persistAndClear(T entity) {
+        T saved = entityManager.persistFlushFind(entity);
+        entityManager.clear();
+        return saved;
+    }
+
+    @Test
+    public void testCourseLookupsAreCachedAndEvictedOnUpdate() {
+        // Given
+        Course course = persistAndClear(newCourse("CS101", 3));
+
+        // When
+        Course first = courseService.findById(String.valueOf(course.getId()));
+        Course second = courseService.findById(String.valueOf(course.getId()));
+        courseService.findByCode("CS101");
+
+        // Then: the cache holds a snapshot, and every read gets its own unmanaged course
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertFalse(entityManager.getEntityManager().contains(first));
+        assertInstanceOf(CourseSnapshot.class, cacheManager.getCache(CacheConfig.COURSES_BY_ID).get(course.getId()).get());
+        assertNotNull(cacheManager.getCache(CacheConfig.COURSES_BY_CODE).get("CS101"));
+
+        // When
+        Course changed = new Course(course.getId(), "Programming I", "CS111", 4, null);
+        courseService.update(changed);
+
+        // Then
+        assertNull(cacheManager.getCache(CacheConfig.COURSES_BY_ID).get(course.getId()));
+        assertNull(cacheManager.getCache(CacheConfig.COURSES_BY_CODE).get("CS101"));
+        assertEquals(4, courseService.findById(String.valueOf(course.getId())).getCredits());
+    }
+
+    @Test
+    public void testChangesToAReturnedCourseDoNotReachTheCache() {
+        // Given
+        Course course = persistAndClear(newCourse("CS102", 3));
+        Course read = courseService.findById(String.valueOf(course.getId()));
+
+        // When
+        read.setCredits(9);
+
+        // Then
+        assertEquals(3, courseService.findById(String.valueOf(course.getId())).getCredits());
+    }
+
+    @Test
+    public void testMissingCourseIsNotCached() {
+        // When
+        assertNull(courseService.findById("999999"));
+        Course course = persistAndClear(newCourse("CS404", 3));
+
+        // Then
+        assertNull(cacheManager.getCache(CacheConfig.COURSES_BY_ID).get(999999L));
+        assertTrue(courseRepository.findByCode("CS404").isPresent());
+        assertEquals(course.getId(), courseRepository.findByCode("CS404").orElseThrow().getId());
+    }
+
+    @Test
+    public void testStudentLookupsAreEvictedOnDelete() {
+        // Given
+        Student student = persistAndClear(newStudent("cached.student@example.com"));
+        studentService.findById(String.valueOf(student.getId()));
+        studentService.findByEmail("cached.student@example.com");
+
+        // When
+        studentService.delete(String.valueOf(student.getId()));
+
+        // Then
+        assertNull(cacheManager.getCache(CacheConfig.STUDENTS_BY_ID).get(student.getId()));
+        assertNull(cacheManager.getCache(CacheConfig.STUDENTS_BY_EMAIL).get("cached.student@example.com"));
+        assertTrue(studentRepository.findById(student.getId()).isEmpty());
+    }
+}
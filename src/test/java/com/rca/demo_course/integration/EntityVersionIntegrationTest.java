@@ -0,0 +1,197 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.dto.GradeDTO;
+import com.rca.demo_course.mapper.GradeMapper;
+import com.rca.demo_course.repository.projection.CollectionVersion;
+import com.rca.demo_course.service.CourseService;
+import com.rca.demo_course.service.GradeService;
+import com.rca.demo_course.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static com.rca.demo_course.integration.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the version columns behind the ETags: updates through the services raise them,
+ * and collection versions change with every insert, update and delete.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ServiceTestConfig.class, GradeMapper.class})
+public class EntityVersionIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private GradeMapper gradeMapper;
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testUpdateFromACopyWithoutVersionRaisesTheVersion() {
+        // Given
+        Course course = entityManager.persistFlushFind(newCourse("CS101", 3));
+        entityManager.clear();
+        String id = String.valueOf(course.getId());
+        assertEquals(0L, courseService.findVersion(id));
+
+        // When
+        courseService.update(new Course(course.getId(), "Programming I", "CS101", 4, null));
+        flushAndClear();
+
+        // Then
+        assertEquals(1L, courseService.findVersion(id));
+        assertEquals(1L, courseService.findById(id).getVersion());
+        assertEquals(4, courseService.findById(id).getCredits());
+        assertNull(courseService.findVersion("999999"));
+    }
+
+    @Test
+    public void testStudentVersion() {
+        // Given
+        Student student = entityManager.persistFlushFind(newStudent("versioned.student@example.com"));
+        entityManager.clear();
+        Student changed = new Student();
+        changed.setId(student.getId());
+        changed.setFirstName("Janet");
+        changed.setLastName("Smith");
+        changed.setEmail("versioned.student@example.com");
+
+        // When
+        studentService.update(changed);
+        flushAndClear();
+
+        // Then
+        assertEquals(1L, studentService.findVersion(String.valueOf(student.getId())));
+    }
+
+    @Test
+    public void testCollectionVersionChangesWithEveryWrite() {
+        // Given
+        Course first = entityManager.persistFlushFind(newCourse("CS201", 3));
+        entityManager.clear();
+        CollectionVersion initial = courseService.findCollectionVersion();
+
+        // When
+        Course second = entityManager.persistFlushFind(newCourse("CS202", 3));
+        entityManager.clear();
+        CollectionVersion afterInsert = courseService.findCollectionVersion();
+        courseService.update(new Course(first.getId(), "Algorithms", "CS201", 4, null));
+        flushAndClear();
+        CollectionVersion afterUpdate = courseService.findCollectionVersion();
+        courseService.delete(String.valueOf(second.getId()));
+        flushAndClear();
+        CollectionVersion afterDelete = courseService.findCollectionVersion();
+
+        // Then
+        assertEquals(initial.count() + 1, afterInsert.count());
+        assertEquals(initial.idSum() + second.getId(), afterInsert.idSum());
+        assertEquals(afterInsert.versionSum() + 1, afterUpdate.versionSum());
+        assertEquals(initial.count(), afterDelete.count());
+        assertNotEquals(initial, afterInsert);
+        assertNotEquals(afterInsert, afterUpdate);
+        assertNotEquals(afterUpdate, afterDelete);
+        assertEquals(afterDelete, courseService.findCollectionVersion());
+    }
+
+    @Test
+    public void testCollectionVersionChangesWhenALowerIdIsInserted() {
+        // Given
+        Course low = entityManager.persistFlushFind(newCourse("CS211", 3));
+        entityManager.persistFlushFind(newCourse("CS212", 3));
+        entityManager.clear();
+        CollectionVersion before = courseService.findCollectionVersion();
+
+        // When
+        // Another instance commits a row from an older block of the sequence
+        courseService.delete(String.valueOf(low.getId()));
+        entityManager.getEntityManager()
+                .createNativeQuery("INSERT INTO courses (id, name, code, credits) VALUES (:id, 'Course CS213', 'CS213', 3)")
+                .setParameter("id", low.getId() - 1)
+                .executeUpdate();
+        flushAndClear();
+
+        // Then
+        CollectionVersion after = courseService.findCollectionVersion();
+        assertEquals(before.count(), after.count());
+        assertEquals(before.versionSum(), after.versionSum());
+        assertEquals(before.idSum() - 1, after.idSum());
+    }
+
+    @Test
+    public void testGradeVersionsPerStudentAndCourse() {
+        // Given
+        Student student = entityManager.persistFlushFind(newStudent("graded.student@example.com"));
+        Course course = entityManager.persistFlushFind(newCourse("CS301", 3));
+        Grade grade = entityManager.persistFlushFind(newGrade(student, course, "85.00", "B"));
+        entityManager.clear();
+        String studentId = String.valueOf(student.getId());
+        String courseId = String.valueOf(course.getId());
+        CollectionVersion byStudent = gradeService.findCollectionVersionByStudentId(studentId);
+        CollectionVersion byCourse = gradeService.findCollectionVersionByCourseId(courseId);
+
+        // When
+        Grade changed = new Grade();
+        changed.setId(grade.getId());
+        changed.setStudent(student);
+        changed.setCourse(course);
+        changed.setScore(new BigDecimal("91.00"));
+        gradeService.update(changed);
+        flushAndClear();
+
+        // Then
+        assertEquals(new CollectionVersion(1L, grade.getId(), 0L), byStudent);
+        assertEquals(byStudent, byCourse);
+        assertEquals(1L, gradeService.findVersion(String.valueOf(grade.getId())));
+        assertEquals(new CollectionVersion(1L, grade.getId(), 1L), gradeService.findCollectionVersionByStudentId(studentId));
+        assertEquals(new CollectionVersion(0L, null, null), gradeService.findCollectionVersionByCourseId("999999"));
+    }
+
+    @Test
+    public void testGradeWrittenFromTheApiMapping() {
+        // Given
+        Student student = entityManager.persistFlushFind(newStudent("mapped.student@example.com"));
+        Course course = entityManager.persistFlushFind(newCourse("CS401", 3));
+        Course other = entityManager.persistFlushFind(newCourse("CS402", 3));
+        entityManager.clear();
+
+        // When
+        Grade created = gradeService.create(gradeMapper.toEntity(
+                new GradeDTO(null, student.getId(), course.getId(), new BigDecimal("72.50"), null)));
+        flushAndClear();
+        gradeService.update(gradeMapper.toEntity(
+                new GradeDTO(created.getId(), student.getId(), other.getId(), new BigDecimal("88.00"), null)));
+        flushAndClear();
+
+        // Then
+        Grade stored = entityManager.find(Grade.class, created.getId());
+        assertEquals(other.getId(), stored.getCourse().getId());
+        assertEquals(0, new BigDecimal("88.00").compareTo(stored.getScore()));
+        assertEquals(1L, stored.getVersion());
+        assertEquals(0L, entityManager.find(Course.class, course.getId()).getVersion());
+        assertEquals(0L, entityManager.find(Student.class, student.getId()).getVersion());
+    }
+}
@@ -0,0 +1,129 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.dto.StudentGpaDTO;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.StudentGpaSummaryRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.service.GpaLeaderboardService;
+import com.rca.demo_course.service.GradeService;
+import com.rca.demo_course.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.rca.demo_course.integration.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the in-memory GPA leaderboard follows committed grade writes and agrees with
+ * a rebuild from the aggregate query.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+// The leaderboard only changes when a transaction commits, so every service call has to run in its own
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ServiceTestConfig.class)
+public class GpaLeaderboardIntegrationTest {
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private GpaLeaderboardService gpaLeaderboardService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentGpaSummaryRepository summaryRepository;
+
+    @AfterEach
+    void tearDown() {
+        gradeRepository.deleteAllInBatch();
+        summaryRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        gpaLeaderboardService.invalidate();
+    }
+
+    private List<Long> topIds(int limit) {
+        return studentService.findLeaderboard(limit).stream().map(StudentGpaDTO::getStudentId).toList();
+    }
+
+    @Test
+    public void testLeaderboardFollowsGradeWrites() {
+        // Given
+        Student jane = studentRepository.save(newStudent("jane.leaderboard@example.com"));
+        Student john = studentRepository.save(newStudent("john.leaderboard@example.com"));
+        Student ada = studentRepository.save(newStudent("ada.leaderboard@example.com"));
+        Course programming = courseRepository.save(newCourse("CS101", 3));
+        Course algorithms = courseRepository.save(newCourse("CS201", 4));
+        Grade janeFirst = gradeService.create(newGrade(jane, programming, "95.00"));
+        gradeService.create(newGrade(john, programming, "85.00"));
+        // Build the leaderboard so later writes are applied as deltas
+        assertEquals(List.of(jane.getId(), john.getId()), topIds(10));
+
+        // When
+        gradeService.create(newGrade(jane, algorithms, "55.00"));
+        gradeService.create(newGrade(ada, algorithms, "91.00"));
+        Grade changed = newGrade(jane, programming, "75.00");
+        changed.setId(janeFirst.getId());
+        gradeService.update(changed);
+
+        // Then
+        List<StudentGpaDTO> incremental = studentService.findLeaderboard(10);
+        assertEquals(List.of(ada.getId(), john.getId(), jane.getId()),
+                incremental.stream().map(StudentGpaDTO::getStudentId).toList());
+        StudentGpaDTO last = incremental.get(2);
+        assertEquals(1.0, last.getGpa(), 1e-9);
+        assertEquals(6.0 / 7, last.getWeightedGpa(), 1e-9);
+        assertEquals(2, last.getGradeCount());
+        assertEquals(7, last.getTotalCredits());
+
+        gpaLeaderboardService.rebuild();
+        List<StudentGpaDTO> rebuilt = studentService.findLeaderboard(10);
+        assertEquals(incremental.size(), rebuilt.size());
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertEquals(rebuilt.get(i).getStudentId(), incremental.get(i).getStudentId());
+            assertEquals(rebuilt.get(i).getGpa(), incremental.get(i).getGpa(), 1e-9);
+            assertEquals(rebuilt.get(i).getWeightedGpa(), incremental.get(i).getWeightedGpa(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testDeletedStudentsLeaveTheLeaderboard() {
+        // Given
+        Student leaving = studentRepository.save(newStudent("leaving.leaderboard@example.com"));
+        Student staying = studentRepository.save(newStudent("staying.leaderboard@example.com"));
+        Course course = courseRepository.save(newCourse("CS301", 3));
+        gradeService.create(newGrade(leaving, course, "99.00"));
+        gradeService.create(newGrade(staying, course, "65.00"));
+        assertEquals(List.of(leaving.getId(), staying.getId()), topIds(10));
+
+        // When
+        studentService.delete(String.valueOf(leaving.getId()));
+
+        // Then
+        assertEquals(List.of(staying.getId()), topIds(10));
+    }
+}
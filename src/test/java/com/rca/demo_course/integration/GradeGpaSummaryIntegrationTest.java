@@ -0,0 +1,111 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.projection.StudentGpaTotals;
+import com.rca.demo_course.service.GradeService;
+import com.rca.demo_course.service.StudentGpaSummaryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static com.rca.demo_course.integration.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that incrementally maintained GPA totals always agree with the totals aggregated
+ * from the grades table.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ServiceTestConfig.class)
+public class GradeGpaSummaryIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentGpaSummaryService studentGpaSummaryService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Test
+    public void testRunningTotalsFollowGradeWrites() {
+        // Given
+        Student student = entityManager.persist(newStudent("running.totals@example.com"));
+        Course programming = entityManager.persist(newCourse("CS101", 3));
+        Course algorithms = entityManager.persist(newCourse("CS201", 4));
+        Long studentId = student.getId();
+        String id = String.valueOf(studentId);
+
+        Grade first = gradeService.create(newGrade(student, programming, "95.0"));
+        // Materialize the summary so later writes are applied as deltas
+        assertEquals(4.0, gradeService.calculateWeightedGPA(id), 0.0001);
+
+        // When
+        Grade second = gradeService.create(newGrade(student, algorithms, "82.0"));
+        Grade changed = newGrade(student, programming, "71.0");
+        changed.setId(first.getId());
+        gradeService.update(changed);
+
+        // Then: C (2.0) x 3 credits + B (3.0) x 4 credits
+        assertEquals((2.0 + 3.0) / 2, gradeService.calculateGPA(id), 0.0001);
+        assertEquals((2.0 * 3 + 3.0 * 4) / 7, gradeService.calculateWeightedGPA(id), 0.0001);
+
+        gradeService.delete(String.valueOf(second.getId()));
+        assertEquals(2.0, gradeService.calculateWeightedGPA(id), 0.0001);
+
+        var incremental = studentGpaSummaryService.getSummary(studentId);
+        Long gradeCount = incremental.getGradeCount();
+        BigDecimal totalPoints = incremental.getTotalPoints();
+        Long totalCredits = incremental.getTotalCredits();
+        BigDecimal weightedPoints = incremental.getWeightedPoints();
+        entityManager.clear();
+
+        StudentGpaTotals aggregated = gradeRepository.calculateGpaTotalsByStudentId(studentId);
+        assertEquals(aggregated.getGradeCount(), gradeCount);
+        assertEquals(aggregated.getTotalPoints(), totalPoints.doubleValue(), 0.0001);
+        assertEquals(aggregated.getTotalCredits(), totalCredits);
+        assertEquals(aggregated.getWeightedPoints(), weightedPoints.doubleValue(), 0.0001);
+    }
+
+    @Test
+    public void testRunningTotalsUseCourseGradingScale() {
+        // Given
+        Student student = entityManager.persist(newStudent("plus.minus@example.com"));
+        Course seminar = entityManager.persist(newCourse("SE401", 2));
+        seminar.setGradingScale("plus-minus");
+        Course programming = entityManager.persist(newCourse("CS101", 3));
+        Long studentId = student.getId();
+        String id = String.valueOf(studentId);
+        gradeService.create(newGrade(student, programming, "88.0"));
+        assertEquals(3.0, gradeService.calculateWeightedGPA(id), 0.0001);
+
+        // When
+        Grade graded = gradeService.create(newGrade(student, seminar, "88.0"));
+
+        // Then: B+ (3.3) x 2 credits on the plus-minus scale, B (3.0) x 3 credits on the standard one
+        assertEquals("B+", graded.getLetterGrade());
+        assertEquals(0, new BigDecimal("3.3").compareTo(graded.getGradePoints()));
+        assertEquals((3.3 * 2 + 3.0 * 3) / 5, gradeService.calculateWeightedGPA(id), 0.0001);
+        entityManager.flush();
+        entityManager.clear();
+        var summary = studentGpaSummaryService.getSummary(studentId);
+        assertEquals(0, new BigDecimal("6.30").compareTo(summary.getTotalPoints()));
+        assertEquals(0, new BigDecimal("15.60").compareTo(summary.getWeightedPoints()));
+        StudentGpaTotals aggregated = gradeRepository.calculateGpaTotalsByStudentId(studentId);
+        assertEquals(6.3, aggregated.getTotalPoints(), 0.0001);
+        assertEquals(15.6, aggregated.getWeightedPoints(), 0.0001);
+    }
+}
@@ -0,0 +1,87 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.dto.BulkGradeResultDTO;
+import com.rca.demo_course.dto.GradeDTO;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.SequenceIdAllocator;
+import com.rca.demo_course.service.GradeImportService;
+import com.rca.demo_course.service.GradeService;
+import com.rca.demo_course.service.impl.GradeImportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.rca.demo_course.integration.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ServiceTestConfig.class, GradeImportServiceImpl.class, SequenceIdAllocator.class})
+public class GradeImportIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GradeImportService gradeImportService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Test
+    public void testBulkImportInsertsGradesAndRefreshesGpa() {
+        // Given
+        Student student = entityManager.persist(newStudent("bulk.student@example.com"));
+        Course course = entityManager.persist(newCourse("CS101", 3));
+        entityManager.flush();
+        gradeService.create(newGrade(student, course, "95.0"));
+        assertEquals(4.0, gradeService.calculateGPA(String.valueOf(student.getId())), 0.001);
+
+        // When
+        BulkGradeResultDTO result = gradeImportService.importGrades(List.of(
+                new GradeDTO(null, student.getId(), course.getId(), new BigDecimal("72.50"), null),
+                new GradeDTO(null, student.getId() + 1000, course.getId(), new BigDecimal("80"), null)));
+
+        // Then
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getErrors().size());
+        List<Grade> grades = gradeRepository.findByStudentId(student.getId());
+        assertEquals(2, grades.size());
+        assertTrue(grades.stream().anyMatch(g -> "C".equals(g.getLetterGrade())
+                && new BigDecimal("72.50").compareTo(g.getScore()) == 0));
+        assertEquals(3.0, gradeService.calculateGPA(String.valueOf(student.getId())), 0.001);
+    }
+
+    @Test
+    public void testBulkImportFromCsv() {
+        // Given
+        Student student = entityManager.persist(newStudent("csv.student@example.com"));
+        Course course = entityManager.persist(newCourse("CS201", 4));
+        entityManager.flush();
+        String csv = "studentId,courseId,score\n"
+                + student.getId() + "," + course.getId() + ",88\n"
+                + student.getId() + "," + course.getId() + ",-1\n";
+
+        // When
+        BulkGradeResultDTO result = gradeImportService.importGradesCsv(new StringReader(csv));
+
+        // Then
+        assertEquals(2, result.getReceived());
+        assertEquals(1, result.getInserted());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals(1, gradeRepository.findByCourseId(course.getId()).size());
+    }
+}
@@ -0,0 +1,194 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.projection.CourseRosterEntry;
+import com.rca.demo_course.repository.projection.StudentGpaGroupTotals;
+import com.rca.demo_course.repository.projection.StudentGpaTotals;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.rca.demo_course.integration.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class GradeRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Test
+    public void testCalculateGpaTotalsByStudentId() {
+        // Given
+        Student student = entityManager.persist(newStudent("gpa.student@example.com"));
+        Student other = entityManager.persist(newStudent("other.student@example.com"));
+        Course programming = entityManager.persist(newCourse("CS101", 3));
+        Course algorithms = entityManager.persist(newCourse("CS201", 4));
+        entityManager.persist(newGrade(student, programming, "92.0", "A"));
+        entityManager.persist(newGrade(student, algorithms, "85.0", "B"));
+        entityManager.persist(newGrade(student, programming, "55.0", "F"));
+        entityManager.persist(newGrade(other, programming, "75.0", "C"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        StudentGpaTotals totals = gradeRepository.calculateGpaTotalsByStudentId(student.getId());
+
+        // Then
+        assertEquals(3L, totals.getGradeCount());
+        assertEquals(7.0, totals.getTotalPoints(), 0.0001);
+        assertEquals(10L, totals.getTotalCredits());
+        assertEquals(4.0 * 3 + 3.0 * 4, totals.getWeightedPoints(), 0.0001);
+    }
+
+    @Test
+    public void testBackfillStoresStandardPointsOnLegacyGrades() {
+        // Given: grades written before grade points were stored
+        Student student = entityManager.persist(newStudent("stored.points@example.com"));
+        Course seminar = entityManager.persist(newCourse("SE401", 2));
+        Course programming = entityManager.persist(newCourse("CS101", 3));
+        Course research = entityManager.persist(newCourse("RS501", 1));
+        Grade graded = newGrade(student, seminar, "91.0", "A-");
+        graded.setGradePoints(new BigDecimal("3.70"));
+        entityManager.persist(graded);
+        Grade legacy = newGrade(student, programming, "85.0", "B");
+        legacy.setGradePoints(null);
+        entityManager.persist(legacy);
+        Grade unknown = newGrade(student, research, "70.0", "P");
+        unknown.setGradePoints(null);
+        entityManager.persist(unknown);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int backfilled = gradeRepository.backfillGradePoints("B", new BigDecimal("3.00"))
+                + gradeRepository.backfillRemainingGradePoints(BigDecimal.ZERO);
+
+        // Then: stored points are kept, and letters the scale does not know count nothing
+        assertEquals(2, backfilled);
+        StudentGpaTotals totals = gradeRepository.calculateGpaTotalsByStudentId(student.getId());
+        assertEquals(3L, totals.getGradeCount());
+        assertEquals(3.7 + 3.0, totals.getTotalPoints(), 0.0001);
+        assertEquals(3.7 * 2 + 3.0 * 3, totals.getWeightedPoints(), 0.0001);
+        Grade backfilledGrade = entityManager.find(Grade.class, legacy.getId());
+        assertEquals(0, new BigDecimal("3.00").compareTo(backfilledGrade.getGradePoints()));
+        assertEquals(legacy.getVersion() + 1, backfilledGrade.getVersion());
+    }
+
+    @Test
+    public void testCalculateGpaTotalsByStudentIdWithoutGrades() {
+        // Given
+        Student student = entityManager.persist(newStudent("no.grades@example.com"));
+        entityManager.flush();
+
+        // When
+        StudentGpaTotals totals = gradeRepository.calculateGpaTotalsByStudentId(student.getId());
+
+        // Then
+        assertEquals(0L, totals.getGradeCount());
+        assertNull(totals.getTotalPoints());
+    }
+
+    @Test
+    public void testCalculateGpaTotalsGroupedByStudent() {
+        // Given
+        Student first = entityManager.persist(newStudent("first@example.com"));
+        Student second = entityManager.persist(newStudent("second@example.com"));
+        Student notEnrolled = entityManager.persist(newStudent("not.enrolled@example.com"));
+        Course programming = entityManager.persist(newCourse("CS101", 3));
+        Course algorithms = entityManager.persist(newCourse("CS201", 4));
+        entityManager.persist(newGrade(first, programming, "92.0", "A"));
+        entityManager.persist(newGrade(first, algorithms, "85.0", "B"));
+        entityManager.persist(newGrade(second, programming, "75.0", "C"));
+        entityManager.persist(newGrade(notEnrolled, algorithms, "65.0", "D"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<StudentGpaGroupTotals> byIds = gradeRepository.calculateGpaTotalsByStudentIds(
+                List.of(first.getId(), second.getId()));
+        List<StudentGpaGroupTotals> byCourse = gradeRepository.calculateGpaTotalsByEnrolledCourseId(programming.getId());
+
+        // Then
+        assertEquals(2, byIds.size());
+        assertEquals(2, byCourse.size());
+        StudentGpaGroupTotals firstTotals = byCourse.get(0);
+        assertEquals(first.getId(), firstTotals.getStudentId());
+        assertEquals(2L, firstTotals.getGradeCount());
+        assertEquals(7.0, firstTotals.getTotalPoints(), 0.0001);
+        assertEquals(7L, firstTotals.getTotalCredits());
+        assertEquals(4.0 * 3 + 3.0 * 4, firstTotals.getWeightedPoints(), 0.0001);
+        assertEquals(second.getId(), byCourse.get(1).getStudentId());
+    }
+
+    @Test
+    public void testKeysetPageAndStreamByCourseId() {
+        // Given
+        Student first = entityManager.persist(newStudent("first@example.com"));
+        Student second = entityManager.persist(newStudent("second@example.com"));
+        Course programming = entityManager.persist(newCourse("CS101", 3));
+        Course algorithms = entityManager.persist(newCourse("CS201", 4));
+        Grade a = entityManager.persist(newGrade(first, programming, "92.0", "A"));
+        entityManager.persist(newGrade(first, algorithms, "85.0", "B"));
+        Grade b = entityManager.persist(newGrade(second, programming, "75.0", "C"));
+        Grade c = entityManager.persist(newGrade(first, programming, "65.0", "D"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Grade> firstPage = gradeRepository.findByCourseIdAndIdGreaterThanOrderByIdAsc(
+                programming.getId(), 0L, Limit.of(2));
+        List<Grade> secondPage = gradeRepository.findByCourseIdAndIdGreaterThanOrderByIdAsc(
+                programming.getId(), firstPage.get(1).getId(), Limit.of(2));
+        List<Long> streamedIds;
+        try (Stream<Grade> grades = gradeRepository.streamByCourseId(programming.getId())) {
+            streamedIds = grades.map(Grade::getId).toList();
+        }
+
+        // Then
+        assertEquals(List.of(a.getId(), b.getId()), firstPage.stream().map(Grade::getId).toList());
+        assertEquals(List.of(c.getId()), secondPage.stream().map(Grade::getId).toList());
+        assertEquals(List.of(a.getId(), b.getId(), c.getId()), streamedIds);
+    }
+
+    @Test
+    public void testFindRosterByCourseIdProjectsWithoutManagedEntities() {
+        // Given
+        Student zed = entityManager.persist(newStudent("zed@example.com"));
+        zed.setLastName("Zed");
+        Student adams = entityManager.persist(newStudent("adams@example.com"));
+        adams.setLastName("Adams");
+        Course programming = entityManager.persist(newCourse("CS101", 3));
+        Course algorithms = entityManager.persist(newCourse("CS201", 4));
+        entityManager.persist(newGrade(zed, programming, "92.00", "A"));
+        entityManager.persist(newGrade(adams, programming, "75.00", "C"));
+        entityManager.persist(newGrade(adams, algorithms, "85.00", "B"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<CourseRosterEntry> roster = gradeRepository.findRosterByCourseId(programming.getId());
+
+        // Then: ordered by name, and nothing was added to the persistence context
+        assertEquals(List.of(
+                new CourseRosterEntry(roster.get(0).gradeId(), adams.getId(), "Jane", "Adams", "adams@example.com", new BigDecimal("75.00"), "C"),
+                new CourseRosterEntry(roster.get(1).gradeId(), zed.getId(), "Jane", "Zed", "zed@example.com", new BigDecimal("92.00"), "A")),
+                roster);
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+}
@@ -0,0 +1,117 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.config.HibernateStatisticsConfig;
+import com.rca.demo_course.config.HibernateStatisticsEndpoint;
+import com.rca.demo_course.config.SlowQueryLogAspect;
+import com.rca.demo_course.config.SqlStatementCounter;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.rca.demo_course.integration.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the per-thread statement count, the slow-query log and the Hibernate statistics
+ * endpoint against H2.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({HibernateStatisticsConfig.class, HibernateStatisticsEndpoint.class, SlowQueryLogAspect.class})
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // Logs every repository call
+    "slow-query.threshold=1ns"
+})
+@ExtendWith(OutputCaptureExtension.class)
+public class HibernateStatisticsIntegrationTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private HibernateStatisticsEndpoint hibernateStatisticsEndpoint;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        hibernateStatisticsEndpoint.reset();
+        SqlStatementCounter.reset();
+    }
+
+    private Student saveStudent() {
+        Student saved = entityManager.persistFlushFind(newStudent("jane.statistics@example.com"));
+        entityManager.clear();
+        return saved;
+    }
+
+    @Test
+    public void testStatementsAreCountedPerThread() {
+        // Given
+        saveStudent();
+        SqlStatementCounter.reset();
+
+        // When
+        studentRepository.findByEmail("jane.statistics@example.com");
+        gradeRepository.findByStudentId(1L);
+
+        // Then
+        assertEquals(2, SqlStatementCounter.count());
+        assertTrue(SqlStatementCounter.lastStatement().contains("grades"));
+    }
+
+    @Test
+    public void testSlowQueriesNameTheRepositoryMethod(CapturedOutput output) {
+        // When
+        gradeRepository.findByStudentId(1L);
+
+        // Then
+        assertTrue(output.getOut().contains("Slow query: GradeRepository.findByStudentId took"));
+        assertTrue(output.getOut().contains("ran 1 statements"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStatisticsEndpoint() {
+        // Given
+        Student student = saveStudent();
+
+        // When
+        studentRepository.findById(student.getId());
+        studentRepository.findByEmail("jane.statistics@example.com");
+        Map<String, Object> statistics = hibernateStatisticsEndpoint.statistics();
+
+        // Then
+        assertEquals(true, statistics.get("enabled"));
+        assertEquals(1L, ((Map<String, Object>) statistics.get("entities")).get("inserted"));
+        assertTrue((Long) ((Map<String, Object>) statistics.get("entities")).get("loaded") >= 1);
+        assertTrue((Long) statistics.get("queriesExecuted") >= 1);
+        assertTrue((Long) statistics.get("flushes") >= 1);
+        assertFalse(((List<?>) statistics.get("slowestQueries")).isEmpty());
+
+        hibernateStatisticsEndpoint.reset();
+        assertEquals(0L, hibernateStatisticsEndpoint.statistics().get("queriesExecuted"));
+    }
+}
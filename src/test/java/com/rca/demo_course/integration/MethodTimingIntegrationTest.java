@@ -0,0 +1,96 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.config.MethodTimingAspect;
+import com.rca.demo_course.config.MethodTimingAspect.Outcome;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.exception.CourseNotFoundException;
+import com.rca.demo_course.exception.DuplicateResourceException;
+import com.rca.demo_course.exception.ValidationException;
+import com.rca.demo_course.mapper.StudentMapper;
+import com.rca.demo_course.service.CalculatorService;
+import com.rca.demo_course.service.impl.CalculatorServiceImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that service and mapper calls are timed per method and outcome.
+ */
+@SpringBootTest(classes = {MethodTimingAspect.class, CalculatorServiceImpl.class, StudentMapper.class,
+        MethodTimingIntegrationTest.PrometheusRegistryConfig.class})
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+public class MethodTimingIntegrationTest {
+
+    @TestConfiguration
+    static class PrometheusRegistryConfig {
+
+        @Bean
+        PrometheusMeterRegistry prometheusMeterRegistry() {
+            return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        }
+    }
+
+    @Autowired
+    private CalculatorService calculatorService;
+
+    @Autowired
+    private StudentMapper studentMapper;
+
+    @Autowired
+    private PrometheusMeterRegistry meterRegistry;
+
+    private Timer timer(String className, String method, String outcome) {
+        return meterRegistry.find(MethodTimingAspect.METRIC)
+                .tags("class", className, "method", method, "outcome", outcome)
+                .timer();
+    }
+
+    @Test
+    public void testServiceCallsAreTimedByOutcome() {
+        // When
+        calculatorService.divide(6, 3);
+        calculatorService.divide(1, 2);
+        assertThrows(IllegalArgumentException.class, () -> calculatorService.divide(1, 0));
+
+        // Then
+        assertEquals(2, timer("CalculatorServiceImpl", "divide", "success").count());
+        assertEquals(1, timer("CalculatorServiceImpl", "divide", "validation_error").count());
+        assertNull(timer("CalculatorServiceImpl", "add", "success"));
+    }
+
+    @Test
+    public void testMapperCallsArePublishedAsHistograms() {
+        // Given
+        Student student = new Student();
+        student.setId(1L);
+        student.setFirstName("Jane");
+
+        // When
+        studentMapper.toDTO(student);
+
+        // Then
+        assertEquals(1, timer("StudentMapper", "toDTO", "success").count());
+        assertTrue(meterRegistry.scrape().contains(
+                "app_method_seconds_bucket{class=\"StudentMapper\",method=\"toDTO\",outcome=\"success\","));
+    }
+
+    @Test
+    public void testOutcomes() {
+        assertEquals(Outcome.VALIDATION_ERROR, Outcome.of(new ValidationException("Invalid")));
+        assertEquals(Outcome.NOT_FOUND, Outcome.of(new CourseNotFoundException(1L)));
+        assertEquals(Outcome.CONFLICT, Outcome.of(new DuplicateResourceException("Duplicate")));
+        assertEquals(Outcome.CONFLICT, Outcome.of(new ObjectOptimisticLockingFailureException(Student.class, 1L)));
+        assertEquals(Outcome.ERROR, Outcome.of(new IllegalStateException("Broken")));
+        assertEquals("not_found", Outcome.NOT_FOUND.getTag());
+    }
+}
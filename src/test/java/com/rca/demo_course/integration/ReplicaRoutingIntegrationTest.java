@@ -0,0 +1,175 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.config.CacheConfig;
+import com.rca.demo_course.config.ReplicaDataSourceConfig;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.repository.projection.StudentSnapshot;
+import com.rca.demo_course.service.GradeService;
+import com.rca.demo_course.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the student service against two separate H2 databases standing in for a primary and
+ * its replica, which are deliberately out of sync so each query shows where it was sent, and
+ * checks that the course and student caches and the GPA summaries are only filled from the
+ * primary.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+    "replica.datasource.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+    "replica.datasource.username=sa",
+    "spring.cache.cache-names=coursesById,coursesByCode,studentsById,studentsByEmail",
+    "spring.cache.caffeine.spec=maximumSize=100"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+// Without a test-managed transaction every service call starts its own
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReplicaDataSourceConfig.class, CacheConfig.class, ServiceTestConfig.class})
+public class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        primary.update("DELETE FROM grades");
+        primary.update("DELETE FROM student_gpa_summaries");
+        primary.update("DELETE FROM courses");
+        primary.update("DELETE FROM students");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        // Hibernate only manages the primary schema
+        replica.execute("CREATE TABLE IF NOT EXISTS students (id BIGINT PRIMARY KEY, first_name VARCHAR(50) NOT NULL, "
+                + "last_name VARCHAR(50) NOT NULL, email VARCHAR(100) NOT NULL UNIQUE, version BIGINT DEFAULT 0 NOT NULL)");
+        replica.update("DELETE FROM students");
+        replica.update("INSERT INTO students (id, first_name, last_name, email) VALUES (1000, 'Replica', 'Only', 'replica.only@example.com')");
+        replica.execute("CREATE TABLE IF NOT EXISTS student_gpa_summaries (student_id BIGINT PRIMARY KEY, grade_count BIGINT NOT NULL, "
+                + "total_points DECIMAL(12, 2) NOT NULL, total_credits BIGINT NOT NULL, weighted_points DECIMAL(14, 2) NOT NULL)");
+        replica.update("DELETE FROM student_gpa_summaries");
+    }
+
+    @Test
+    public void testReadOnlyTransactionsUseReplica() {
+        // When
+        List<Student> students = studentService.findAll();
+
+        // Then
+        assertEquals(List.of("replica.only@example.com"), students.stream().map(Student::getEmail).toList());
+        assertEquals(1L, studentService.findCollectionVersion().count());
+    }
+
+    @Test
+    public void testCachedLookupsReadThePrimary() {
+        // Given: the replica has not caught up with an update yet
+        primary.update("INSERT INTO students (id, first_name, last_name, email, version) "
+                + "VALUES (1000, 'Updated', 'Only', 'replica.only@example.com', 1)");
+
+        // When
+        Student byId = studentService.findById("1000");
+        Student byEmail = studentService.findByEmail("replica.only@example.com");
+
+        // Then
+        assertEquals("Updated", byId.getFirstName());
+        assertEquals("Updated", byEmail.getFirstName());
+        assertEquals("Updated", ((StudentSnapshot) cacheManager.getCache(CacheConfig.STUDENTS_BY_ID).get(1000L).get()).firstName());
+    }
+
+    @Test
+    public void testLookupsInReadOnlyTransactionsFillTheCacheFromThePrimary() {
+        // Given: the replica has not caught up with an update yet
+        primary.update("INSERT INTO students (id, first_name, last_name, email, version) "
+                + "VALUES (1000, 'Updated', 'Only', 'replica.only@example.com', 1)");
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // When: the miss happens inside a read-only transaction, which otherwise reads the replica
+        Student read = readOnly.execute(status -> studentService.findById("1000"));
+        primary.update("DELETE FROM students");
+        Student cached = readOnly.execute(status -> studentService.findById("1000"));
+
+        // Then: the primary's row is cached, and the next read-only lookup is served from it
+        assertEquals("Updated", read.getFirstName());
+        assertEquals("Updated", cached.getFirstName());
+        assertEquals("Updated", ((StudentSnapshot) cacheManager.getCache(CacheConfig.STUDENTS_BY_ID).get(1000L).get()).firstName());
+    }
+
+    @Test
+    public void testGpaReadsUseTheReplicaOnceTheSummaryExists() {
+        // Given: a summary only the replica has, and a graded student without one
+        replica.update("INSERT INTO student_gpa_summaries (student_id, grade_count, total_points, total_credits, weighted_points) "
+                + "VALUES (1000, 2, 7.00, 6, 21.00)");
+        primary.update("INSERT INTO students (id, first_name, last_name, email) VALUES (1001, 'Primary', 'Graded', 'primary.graded@example.com')");
+        primary.update("INSERT INTO courses (id, name, code, credits) VALUES (1000, 'Programming', 'CS101', 3)");
+        primary.update("INSERT INTO grades (id, student_id, course_id, score, letter_grade, grade_points) VALUES (1000, 1001, 1000, 85.0, 'B', 3.00)");
+
+        // When
+        double replicaGpa = gradeService.calculateGPA("1000");
+        double builtGpa = gradeService.calculateGPA("1001");
+
+        // Then: the missing row was built on the primary
+        assertEquals(3.5, replicaGpa, 0.0001);
+        assertEquals(3.0, builtGpa, 0.0001);
+        assertEquals(1, primary.queryForObject("SELECT grade_count FROM student_gpa_summaries WHERE student_id = 1001", Integer.class));
+        assertEquals(0, primary.queryForObject("SELECT COUNT(*) FROM student_gpa_summaries WHERE student_id = 1000", Integer.class));
+    }
+
+    @Test
+    public void testWritesUsePrimary() {
+        // Given
+        Student student = new Student();
+        student.setFirstName("Primary");
+        student.setLastName("Only");
+        student.setEmail("primary.only@example.com");
+
+        // When
+        Student created = studentService.create(student);
+
+        // Then
+        assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM students WHERE id = ?", Integer.class, created.getId()));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM students WHERE email = 'primary.only@example.com'", Integer.class));
+        assertTrue(studentService.findAll().stream().noneMatch(s -> s.getEmail().equals("primary.only@example.com")));
+    }
+}
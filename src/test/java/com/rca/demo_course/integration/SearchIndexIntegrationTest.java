@@ -0,0 +1,117 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.service.CourseService;
+import com.rca.demo_course.service.SearchIndexService;
+import com.rca.demo_course.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that name searches follow committed student and course writes and agree with a
+ * rebuild from the tables.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+// The index only changes when a transaction commits, so every service call has to run in its own
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ServiceTestConfig.class)
+public class SearchIndexIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        searchIndexService.rebuild();
+    }
+
+    private Student newStudent(String firstName, String lastName, String email) {
+        Student student = new Student();
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        student.setEmail(email);
+        return student;
+    }
+
+    private Course newCourse(String name, String code) {
+        Course course = new Course();
+        course.setName(name);
+        course.setCode(code);
+        course.setCredits(3);
+        return course;
+    }
+
+    private List<String> emailsOf(List<Student> students) {
+        return students.stream().map(Student::getEmail).toList();
+    }
+
+    @Test
+    public void testStudentSearchFollowsWrites() {
+        // Given
+        Student ada = studentService.create(newStudent("Ada", "Lovelace", "ada@example.com"));
+        Student alan = studentService.create(newStudent("Alan", "Turing", "alan@example.com"));
+        // Load the index so later writes are applied as deltas
+        assertEquals(List.of("ada@example.com"), emailsOf(studentService.search("lovelace", 10)));
+
+        // When
+        studentService.create(newStudent("Grace", "Hopper", "grace@example.com"));
+        Student renamed = newStudent("Alan", "Kay", "alan@example.com");
+        renamed.setId(alan.getId());
+        studentService.update(renamed);
+        studentService.delete(String.valueOf(ada.getId()));
+
+        // Then
+        assertEquals(List.of("grace@example.com"), emailsOf(studentService.search("hoper", 10)));
+        assertEquals(List.of("alan@example.com"), emailsOf(studentService.search("alan k", 10)));
+        assertTrue(studentService.search("turing", 10).isEmpty());
+        assertTrue(studentService.search("lovelace", 10).isEmpty());
+
+        searchIndexService.rebuild();
+        assertEquals(List.of("grace@example.com"), emailsOf(studentService.search("hoper", 10)));
+        assertTrue(studentService.search("turing", 10).isEmpty());
+    }
+
+    @Test
+    public void testCourseSearchFollowsWrites() {
+        // Given
+        Course programming = courseService.create(newCourse("Introduction to Programming", "CS101"));
+        assertEquals(1, courseService.search("cs101", 10).size());
+
+        // When
+        Course databases = courseService.create(newCourse("Database Systems", "CS301"));
+        courseService.delete(String.valueOf(programming.getId()));
+
+        // Then
+        List<Course> found = courseService.search("datab", 10);
+        assertEquals(List.of(databases.getId()), found.stream().map(Course::getId).toList());
+        assertTrue(courseService.search("programming", 10).isEmpty());
+    }
+}
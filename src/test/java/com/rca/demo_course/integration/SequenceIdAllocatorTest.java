@@ -0,0 +1,52 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.repository.SequenceIdAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.rca.demo_course.integration.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SequenceIdAllocator.class)
+public class SequenceIdAllocatorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SequenceIdAllocator sequenceIdAllocator;
+
+    @Test
+    public void testAllocatedIdsDoNotOverlapHibernateIds() {
+        // Given
+        Set<Long> hibernateIds = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            hibernateIds.add(entityManager.persist(newStudent("before" + i + "@example.com")).getId());
+        }
+
+        // When
+        long[] allocated = sequenceIdAllocator.nextIds(Student.ID_SEQUENCE, 120);
+        for (int i = 0; i < 60; i++) {
+            hibernateIds.add(entityManager.persist(newStudent("after" + i + "@example.com")).getId());
+        }
+
+        // Then
+        Set<Long> allocatedIds = new HashSet<>();
+        Arrays.stream(allocated).forEach(allocatedIds::add);
+        assertEquals(120, allocatedIds.size());
+        assertEquals(120, hibernateIds.size());
+        allocatedIds.retainAll(hibernateIds);
+        assertTrue(allocatedIds.isEmpty(), "overlapping IDs: " + allocatedIds);
+    }
+}
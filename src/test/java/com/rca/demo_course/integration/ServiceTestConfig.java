@@ -0,0 +1,25 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.service.impl.CourseServiceImpl;
+import com.rca.demo_course.service.impl.CourseStatisticsServiceImpl;
+import com.rca.demo_course.service.impl.GpaLeaderboardServiceImpl;
+import com.rca.demo_course.service.impl.GradeServiceImpl;
+import com.rca.demo_course.service.impl.GradingScaleServiceImpl;
+import com.rca.demo_course.service.impl.SearchIndexServiceImpl;
+import com.rca.demo_course.service.impl.SnapshotLoader;
+import com.rca.demo_course.service.impl.StudentGpaSummaryServiceImpl;
+import com.rca.demo_course.service.impl.StudentServiceImpl;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * The student, course and grade services together with every service they keep up to date and
+ * the snapshot loader behind their lookups, for {@code @DataJpaTest}s that go through the service
+ * layer. A new service those three depend on is added here, not to each test.
+ */
+@TestConfiguration
+@Import({CourseServiceImpl.class, StudentServiceImpl.class, GradeServiceImpl.class, StudentGpaSummaryServiceImpl.class,
+        CourseStatisticsServiceImpl.class, GpaLeaderboardServiceImpl.class, SearchIndexServiceImpl.class, GradingScaleServiceImpl.class,
+        SnapshotLoader.class})
+public class ServiceTestConfig {
+}
@@ -0,0 +1,145 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.domain.StudentGpaSummary;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.StudentGpaSummaryRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.service.GradeService;
+import com.rca.demo_course.service.StudentGpaSummaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.rca.demo_course.integration.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the first read of a student's GPA summary and the grade writes racing it
+ * leave exactly one row with every committed grade counted once.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+// The races are between transactions, so each side has to commit its own
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ServiceTestConfig.class)
+public class StudentGpaSummaryConcurrencyIntegrationTest {
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentGpaSummaryService studentGpaSummaryService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentGpaSummaryRepository summaryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        gradeRepository.deleteAllInBatch();
+        summaryRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+    }
+
+    // Starts a first read on another thread and returns once it waits for the student lock
+    private CompletableFuture<StudentGpaSummary> readBlockedOnLock(Long studentId) throws InterruptedException {
+        AtomicReference<Thread> reader = new AtomicReference<>();
+        CompletableFuture<StudentGpaSummary> summary = CompletableFuture.supplyAsync(() -> {
+            reader.set(Thread.currentThread());
+            return studentGpaSummaryService.getSummary(studentId);
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Thread thread = reader.get();
+            if (thread != null && (thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.TIMED_WAITING)) {
+                return summary;
+            }
+            Thread.sleep(10);
+        }
+        fail("The first read never waited for the student lock");
+        return summary;
+    }
+
+    @Test
+    public void testConcurrentFirstReadsBuildOneRow() throws Exception {
+        // Given
+        Student student = studentRepository.save(newStudent("first.reads@example.com"));
+        Course course = courseRepository.save(newCourse("CS101", 3));
+        gradeService.create(newGrade(student, course, "95.0"));
+        summaryRepository.deleteAllInBatch();
+
+        // When: one first read holds the student lock while another starts
+        AtomicReference<CompletableFuture<StudentGpaSummary>> other = new AtomicReference<>();
+        StudentGpaSummary built = new TransactionTemplate(transactionManager).execute(status -> {
+            studentRepository.lockById(student.getId());
+            try {
+                other.set(readBlockedOnLock(student.getId()));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return studentGpaSummaryService.getSummary(student.getId());
+        });
+
+        // Then: the waiting read finds the row instead of inserting it again
+        StudentGpaSummary found = other.get().get(10, TimeUnit.SECONDS);
+        assertEquals(1L, built.getGradeCount());
+        assertEquals(1L, found.getGradeCount());
+        assertEquals(1L, summaryRepository.count());
+    }
+
+    @Test
+    public void testGradeWrittenDuringFirstReadIsCounted() throws Exception {
+        // Given
+        Student student = studentRepository.save(newStudent("first.read.race@example.com"));
+        Course programming = courseRepository.save(newCourse("CS101", 3));
+        Course algorithms = courseRepository.save(newCourse("CS201", 3));
+        gradeService.create(newGrade(student, programming, "95.0"));
+        summaryRepository.deleteAllInBatch();
+
+        // When: a grade is written, with no summary row to update, while the first read starts
+        AtomicReference<CompletableFuture<StudentGpaSummary>> reader = new AtomicReference<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            gradeService.create(newGrade(student, algorithms, "82.0"));
+            try {
+                reader.set(readBlockedOnLock(student.getId()));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Then: the row is built after the write commits, and later deltas keep it in step
+        assertEquals(2L, reader.get().get(10, TimeUnit.SECONDS).getGradeCount());
+        Course databases = courseRepository.save(newCourse("CS301", 3));
+        gradeService.create(newGrade(student, databases, "71.0"));
+        StudentGpaSummary summary = studentGpaSummaryService.getSummary(student.getId());
+        assertEquals(3L, summary.getGradeCount());
+        assertEquals(0, new BigDecimal("9.00").compareTo(summary.getTotalPoints()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.dto.TranscriptDTO;
+import com.rca.demo_course.dto.TranscriptEntryDTO;
+import com.rca.demo_course.mapper.StudentMapper;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.service.StudentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.rca.demo_course.integration.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ServiceTestConfig.class, StudentMapper.class})
+public class StudentTranscriptIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentMapper studentMapper;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Statistics statistics;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        student = new Student();
+        student.setFirstName("John");
+        student.setLastName("Doe");
+        student.setEmail("transcript@example.com");
+        entityManager.persist(student);
+
+        Course programming = persistCourse("CS101", "Programming", 3);
+        Course algorithms = persistCourse("CS201", "Algorithms", 4);
+        Course databases = persistCourse("CS301", "Databases", 3);
+        persistGrade(programming, "92.00", "A", "4.00");
+        persistGrade(algorithms, "85.00", "B", "3.00");
+        persistGrade(databases, "71.50", "C", "2.00");
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    private Course persistCourse(String code, String name, int credits) {
+        Course course = newCourse(code, credits);
+        course.setName(name);
+        return entityManager.persist(course);
+    }
+
+    private void persistGrade(Course course, String score, String letterGrade, String gradePoints) {
+        Grade grade = newGrade(student, course, score, letterGrade);
+        grade.setGradePoints(new BigDecimal(gradePoints));
+        entityManager.persist(grade);
+    }
+
+    @Test
+    public void testTranscriptIsLoadedInOneStatement() {
+        // When
+        TranscriptDTO transcript = studentMapper.toTranscriptDTO(studentService.findTranscript(String.valueOf(student.getId())));
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("transcript@example.com", transcript.getEmail());
+        assertEquals(10, transcript.getTotalCredits());
+        List<TranscriptEntryDTO> entries = transcript.getEntries();
+        assertEquals(List.of("CS101", "CS201", "CS301"), entries.stream().map(TranscriptEntryDTO::getCourseCode).toList());
+        assertEquals("Algorithms", entries.get(1).getCourseName());
+        assertEquals(4, entries.get(1).getCredits());
+        assertEquals(new BigDecimal("85.00"), entries.get(1).getScore());
+        assertEquals("B", entries.get(1).getLetterGrade());
+        assertEquals(new BigDecimal("3.00"), entries.get(1).getGradePoints());
+    }
+
+    @Test
+    public void testTranscriptOfStudentWithoutGrades() {
+        // Given
+        Student newcomer = new Student();
+        newcomer.setFirstName("Jane");
+        newcomer.setLastName("Roe");
+        newcomer.setEmail("newcomer@example.com");
+        entityManager.persistAndFlush(newcomer);
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        TranscriptDTO transcript = studentMapper.toTranscriptDTO(studentService.findTranscript(String.valueOf(newcomer.getId())));
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, transcript.getTotalCredits());
+        assertTrue(transcript.getEntries().isEmpty());
+    }
+
+    @Test
+    public void testGradesThenCoursePerGradeTakesOneStatementPerCourse() {
+        // When: what clients had to do before, list the grades, then look up each course
+        for (Grade grade : gradeRepository.findByStudentId(student.getId())) {
+            courseRepository.findById(grade.getCourse().getId()).orElseThrow().getName();
+        }
+
+        // Then
+        assertEquals(1 + 3, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,50 @@
+package com.rca.demo_course.integration;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.GradingScale;
+import com.rca.demo_course.domain.Student;
+
+import java.math.BigDecimal;
+
+/**
+ * Unsaved students, courses and grades for the integration tests, which persist them through
+ * the entity manager, a repository or a service as the test requires.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static Student newStudent(String email) {
+        Student student = new Student();
+        student.setFirstName("Jane");
+        student.setLastName("Smith");
+        student.setEmail(email);
+        return student;
+    }
+
+    public static Course newCourse(String code, int credits) {
+        Course course = new Course();
+        course.setName("Course " + code);
+        course.setCode(code);
+        course.setCredits(credits);
+        return course;
+    }
+
+    public static Grade newGrade(Student student, Course course, String score) {
+        Grade grade = new Grade();
+        grade.setStudent(student);
+        grade.setCourse(course);
+        grade.setScore(new BigDecimal(score));
+        return grade;
+    }
+
+    // For grades persisted directly, which skip the service that would set the letter and points
+    public static Grade newGrade(Student student, Course course, String score, String letterGrade) {
+        Grade grade = newGrade(student, course, score);
+        grade.setLetterGrade(letterGrade);
+        grade.setGradePoints(BigDecimal.valueOf(GradingScale.standard().pointsFor(letterGrade)));
+        return grade;
+    }
+}
@@ -0,0 +1,160 @@
+package com.rca.demo_course.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The requests the load test sends, with their default share of the workload. IDs are drawn
+ * uniformly from the seeded rows. Deletes are left out so that reads never hit rows removed
+ * earlier in the run.
+ */
+enum Endpoint {
+
+    GET_STUDENT("GET /api/students/{id}", 20) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/students/" + randomId(random, config.students()));
+        }
+    },
+    STUDENT_PAGE("GET /api/students/page", 5) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/students/page?limit=50&after=" + random.nextLong(config.students()));
+        }
+    },
+    GET_COURSE("GET /api/courses/{id}", 10) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/courses/" + randomId(random, config.courses()));
+        }
+    },
+    COURSE_ROSTER("GET /api/courses/{id}/roster", 5) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/courses/" + randomId(random, config.courses()) + "/roster");
+        }
+    },
+    COURSE_STATS("GET /api/courses/{id}/stats", 5) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/courses/" + randomId(random, config.courses()) + "/stats");
+        }
+    },
+    COURSE_RANK("GET /api/courses/{id}/rank", 5) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/courses/" + randomId(random, config.courses()) + "/rank?score=" + random.nextInt(10_001) / 100.0);
+        }
+    },
+    COURSE_TOP("GET /api/courses/{id}/top", 3) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/courses/" + randomId(random, config.courses()) + "/top?limit=10");
+        }
+    },
+    STUDENT_LEADERBOARD("GET /api/students/leaderboard", 2) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/students/leaderboard?limit=10");
+        }
+    },
+    STUDENT_SEARCH("GET /api/students/search", 3) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            // Seeded last names are "Student<id>", so this also matches the IDs it is a prefix of
+            return get(base, "/api/students/search?limit=20&q=student" + randomId(random, config.students()));
+        }
+    },
+    STUDENT_TRANSCRIPT("GET /api/students/{id}/transcript", 10) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/students/" + randomId(random, config.students()) + "/transcript");
+        }
+    },
+    STUDENT_GRADES("GET /api/grades/student/{id}", 10) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/grades/student/" + randomId(random, config.students()));
+        }
+    },
+    STUDENT_GRADE_PAGE("GET /api/grades/student/{id}/page", 10) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/grades/student/" + randomId(random, config.students()) + "/page?limit=50");
+        }
+    },
+    COURSE_GRADE_PAGE("GET /api/grades/course/{id}/page", 5) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/grades/course/" + randomId(random, config.courses()) + "/page?limit=50");
+        }
+    },
+    STUDENT_GPA("GET /api/grades/student/{id}/gpa", 15) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return get(base, "/api/grades/student/" + randomId(random, config.students()) + "/gpa");
+        }
+    },
+    CREATE_GRADE("POST /api/grades", 15) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return json(base, "/api/grades", "POST", gradeJson(randomId(random, config.students()),
+                    randomId(random, config.courses()), random.nextInt(10_001) / 100.0));
+        }
+    },
+    UPDATE_GRADE("PUT /api/grades/{id}", 7) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            long gradeId = randomId(random, config.grades());
+            return json(base, "/api/grades/" + gradeId, "PUT", gradeJson(LoadTestSeeder.studentOfGrade(gradeId, config),
+                    LoadTestSeeder.courseOfGrade(gradeId, config), random.nextInt(10_001) / 100.0));
+        }
+    },
+    CREATE_STUDENT("POST /api/students", 3) {
+        @Override
+        HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence) {
+            return json(base, "/api/students", "POST", "{\"firstName\":\"Load\",\"lastName\":\"Created\","
+                    + "\"email\":\"created" + sequence + "@loadtest.example.com\"}");
+        }
+    };
+
+    private final String label;
+    private final int defaultWeight;
+
+    Endpoint(String label, int defaultWeight) {
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * @param sequence a number unique within the run, for values that must not repeat
+     */
+    abstract HttpRequest.Builder request(URI base, LoadTestConfig config, ThreadLocalRandom random, long sequence);
+
+    private static long randomId(ThreadLocalRandom random, long count) {
+        return random.nextLong(count) + 1;
+    }
+
+    private static HttpRequest.Builder get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).GET();
+    }
+
+    private static HttpRequest.Builder json(URI base, String path, String method, String body) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static String gradeJson(long studentId, long courseId, double score) {
+        return "{\"studentId\":" + studentId + ",\"courseId\":" + courseId + ",\"score\":" + score + "}";
+    }
+}
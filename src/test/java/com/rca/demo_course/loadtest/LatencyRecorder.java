@@ -0,0 +1,55 @@
+package com.rca.demo_course.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects raw response times of one endpoint. Every worker thread records into its own
+ * instance so the hot path takes no locks; the instances are merged once the run is over and
+ * percentiles are read from the sorted samples.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long nanos, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > samples.length) {
+            samples = Arrays.copyOf(samples, count + other.count);
+        }
+        System.arraycopy(other.samples, 0, samples, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns the given percentile (0-100) in nanoseconds using the nearest-rank method.
+     * Sorts the samples, so only call it after all recording has finished.
+     */
+    long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(samples, 0, count);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return samples[Math.max(0, Math.min(count, rank) - 1)];
+    }
+}
@@ -0,0 +1,67 @@
+package com.rca.demo_course.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * @param mix relative weight of each endpoint, e.g. {@code GET_STUDENT=20,CREATE_GRADE=10};
+ *            endpoints left out of {@code loadtest.mix} keep their default weight
+ * @param virtualThreads whether the server handles requests on virtual threads
+ *                       ({@code spring.threads.virtual.enabled})
+ */
+record LoadTestConfig(
+        long students,
+        long courses,
+        long grades,
+        int concurrency,
+        boolean virtualThreads,
+        Duration warmup,
+        Duration duration,
+        Map<Endpoint, Integer> mix,
+        String resultFile) {
+
+    static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig(
+                Long.getLong("loadtest.students", 100_000),
+                Long.getLong("loadtest.courses", 500),
+                Long.getLong("loadtest.grades", 1_000_000),
+                Integer.getInteger("loadtest.concurrency", 32),
+                Boolean.getBoolean("loadtest.virtualThreads"),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 15)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 60)),
+                parseMix(System.getProperty("loadtest.mix", "")),
+                System.getProperty("loadtest.result", "target/loadtest-result.json"));
+        if (config.students() < 1 || config.courses() < 1 || config.grades() < 1 || config.concurrency() < 1) {
+            throw new IllegalArgumentException("loadtest.students, courses, grades and concurrency must be at least 1");
+        }
+        return config;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String spec) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            mix.put(endpoint, endpoint.getDefaultWeight());
+        }
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.strip().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry '" + entry.strip() + "', expected ENDPOINT=weight");
+            }
+            int weight = Integer.parseInt(parts[1].strip());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + parts[0].strip() + " cannot be negative");
+            }
+            mix.put(Endpoint.valueOf(parts[0].strip()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix gives every endpoint a weight of 0");
+        }
+        return mix;
+    }
+}
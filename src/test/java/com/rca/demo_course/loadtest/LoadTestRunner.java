@@ -0,0 +1,221 @@
+package com.rca.demo_course.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rca.demo_course.DemoCourseApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end HTTP load test. Boots the application with an embedded web server on a random
+ * port against the in-memory H2 "test" profile, seeds it, then keeps {@code loadtest.concurrency}
+ * closed-loop clients, each on its own virtual thread, sending a weighted mix of reads and writes.
+ * After a warmup phase that is not measured it reports throughput and p50/p90/p99 latency per
+ * endpoint, on stdout and as JSON.
+ * <p>
+ * Run with {@code ./mvnw -Ploadtest test-compile exec:exec}; see {@link LoadTestConfig} for the settings.
+ */
+public final class LoadTestRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final AtomicLong sequence = new AtomicLong();
+
+    record EndpointResult(String endpoint, String request, int weight, long requests, long errors,
+                          double throughputPerSecond, double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+    }
+
+    record Report(LoadTestConfig config, double durationSeconds, long requests, long errors,
+                  double throughputPerSecond, List<EndpointResult> endpoints) {
+    }
+
+    LoadTestRunner(LoadTestConfig config, URI baseUri) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<Endpoint> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Endpoint, Integer> entry : config.mix().entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        this.endpoints = weighted.toArray(Endpoint[]::new);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (ConfigurableApplicationContext context = start(config)) {
+            long seedStart = System.nanoTime();
+            new LoadTestSeeder(context.getBean(JdbcTemplate.class), config).seed();
+            System.out.printf("Seeded %,d students, %,d courses and %,d grades in %.1f s%n",
+                    config.students(), config.courses(), config.grades(), (System.nanoTime() - seedStart) / 1e9);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestRunner runner = new LoadTestRunner(config, URI.create("http://localhost:" + port));
+
+            System.out.printf("Warming up for %d s with %d clients against %s threads%n", config.warmup().toSeconds(),
+                    config.concurrency(), config.virtualThreads() ? "virtual" : "platform");
+            runner.run(config.warmup());
+            System.out.printf("Measuring for %d s%n", config.duration().toSeconds());
+            long measureStart = System.nanoTime();
+            Map<Endpoint, LatencyRecorder> results = runner.run(config.duration());
+            double seconds = (System.nanoTime() - measureStart) / 1e9;
+
+            Report report = runner.report(results, seconds);
+            print(report);
+            write(report, new File(config.resultFile()));
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestConfig config) {
+        // DevTools would restart the application in a second class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Passed as arguments so they win over application-test.properties, which turns on SQL logging,
+        // and restore the main settings that the empty test application.properties shadows
+        return new SpringApplicationBuilder(DemoCourseApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.SERVLET)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.open-in-view=false",
+                        "--spring.threads.virtual.enabled=" + config.virtualThreads(),
+                        "--logging.level.root=WARN");
+    }
+
+    /**
+     * Runs the workload for the given time and returns the merged latencies per endpoint.
+     */
+    Map<Endpoint, LatencyRecorder> run(Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        // Virtual threads let one machine simulate thousands of blocking clients
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<Map<Endpoint, LatencyRecorder>>> futures = new ArrayList<>();
+            for (int i = 0; i < config.concurrency(); i++) {
+                futures.add(clients.submit(() -> runClient(deadline)));
+            }
+            Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+            for (Future<Map<Endpoint, LatencyRecorder>> future : futures) {
+                future.get().forEach((endpoint, recorder) ->
+                        merged.computeIfAbsent(endpoint, key -> new LatencyRecorder()).merge(recorder));
+            }
+            return merged;
+        } finally {
+            clients.shutdown();
+            clients.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private Map<Endpoint, LatencyRecorder> runClient(long deadline) {
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Endpoint endpoint = pick(random);
+            HttpRequest request = endpoint.request(baseUri, config, random, sequence.incrementAndGet())
+                    .timeout(REQUEST_TIMEOUT)
+                    .build();
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() < 400;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            recorders.computeIfAbsent(endpoint, key -> new LatencyRecorder()).record(System.nanoTime() - start, success);
+        }
+        return recorders;
+    }
+
+    private Endpoint pick(ThreadLocalRandom random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Ticket " + ticket + " is beyond the total weight");
+    }
+
+    Report report(Map<Endpoint, LatencyRecorder> results, double seconds) {
+        List<EndpointResult> rows = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        for (Endpoint endpoint : endpoints) {
+            LatencyRecorder recorder = results.getOrDefault(endpoint, new LatencyRecorder());
+            requests += recorder.getCount();
+            errors += recorder.getErrors();
+            rows.add(new EndpointResult(endpoint.name(), endpoint.getLabel(), config.mix().get(endpoint),
+                    recorder.getCount(), recorder.getErrors(), recorder.getCount() / seconds,
+                    millis(recorder.percentile(50)), millis(recorder.percentile(90)),
+                    millis(recorder.percentile(99)), millis(recorder.percentile(100))));
+        }
+        return new Report(config, seconds, requests, errors, requests / seconds, rows);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%n%-36s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "Max ms");
+        for (EndpointResult row : report.endpoints()) {
+            System.out.printf("%-36s %9d %7d %9.1f %9.3f %9.3f %9.3f %9.3f%n", row.request(), row.requests(), row.errors(),
+                    row.throughputPerSecond(), row.p50Millis(), row.p90Millis(), row.p99Millis(), row.maxMillis());
+        }
+        System.out.printf("%-36s %9d %7d %9.1f%n", "Total", report.requests(), report.errors(), report.throughputPerSecond());
+    }
+
+    private static void write(Report report, File file) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .writeValue(file, report);
+        System.out.println("Results written to " + file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,79 @@
+package com.rca.demo_course.loadtest;
+
+import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.domain.GradingScale;
+import com.rca.demo_course.domain.IdAllocation;
+import com.rca.demo_course.domain.Student;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Fills a fresh database with students, courses and grades through JDBC batches. Row contents
+ * are a pure function of the row ID, so the workload can address any seeded grade together
+ * with its student and course without reading it back first.
+ */
+final class LoadTestSeeder {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final GradingScale SCALE = GradingScale.standard();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestConfig config;
+
+    LoadTestSeeder(JdbcTemplate jdbcTemplate, LoadTestConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+    }
+
+    static long studentOfGrade(long gradeId, LoadTestConfig config) {
+        return (gradeId - 1) % config.students() + 1;
+    }
+
+    static long courseOfGrade(long gradeId, LoadTestConfig config) {
+        return (gradeId * 31) % config.courses() + 1;
+    }
+
+    static BigDecimal scoreOfGrade(long gradeId) {
+        // 40.00 .. 100.00, spread over every band of the standard scale
+        return BigDecimal.valueOf(4000 + (gradeId * 7919) % 6001, 2);
+    }
+
+    void seed() {
+        insert("INSERT INTO students (id, first_name, last_name, email) VALUES (?, ?, ?, ?)",
+                config.students(), id -> new Object[]{id, "Load", "Student" + id, "student" + id + "@loadtest.example.com"});
+        insert("INSERT INTO courses (id, name, code, credits) VALUES (?, ?, ?, ?)",
+                config.courses(), id -> new Object[]{id, "Load Course " + id, "LT" + id, 1 + id % 4});
+        insert("INSERT INTO grades (id, student_id, course_id, score, letter_grade, grade_points) VALUES (?, ?, ?, ?, ?, ?)",
+                config.grades(), id -> {
+                    BigDecimal score = scoreOfGrade(id);
+                    return new Object[]{id, studentOfGrade(id, config), courseOfGrade(id, config), score,
+                            SCALE.letterFor(score.doubleValue()), SCALE.pointsFor(score.doubleValue())};
+                });
+
+        // Rows were written with explicit IDs, so move the pooled sequences past them
+        restartSequence(Student.ID_SEQUENCE, config.students());
+        restartSequence(Course.ID_SEQUENCE, config.courses());
+        restartSequence(Grade.ID_SEQUENCE, config.grades());
+    }
+
+    private void insert(String sql, long count, LongFunction<Object[]> row) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= count; id++) {
+            batch.add(row.apply(id));
+            if (batch.size() == BATCH_SIZE || id == count) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void restartSequence(String sequence, long lastId) {
+        // The next value reserves the block ending at it, i.e. lastId + 1 .. lastId + BLOCK_SIZE
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + IdAllocation.BLOCK_SIZE));
+    }
+}
@@ -1,5 +1,6 @@
 package com.rca.demo_course.service;
 
+import com.rca.demo_course.domain.CalculatorOperation;
 import com.rca.demo_course.service.impl.CalculatorServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,6 +9,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -151,5 +154,59 @@ public class CalculatorServiceTest {
         assertTrue(Double.isNaN(calculatorService.divide(Double.NaN, 5.0)));
         assertTrue(Double.isNaN(calculatorService.absolute(Double.NaN)));
     }
-}
 
+    @Test
+    @DisplayName("Batch calculation should apply the operation element-wise")
+    void testBatchCalculation() {
+        double[] a = {1.0, 2.0, 9.0, -4.0};
+        double[] b = {4.0, 0.5, 3.0, 2.0};
+
+        assertArrayEquals(new double[]{5.0, 2.5, 12.0, -2.0}, calculatorService.calculate(CalculatorOperation.ADD, a, b));
+        assertArrayEquals(new double[]{-3.0, 1.5, 6.0, -6.0}, calculatorService.calculate(CalculatorOperation.SUBTRACT, a, b));
+        assertArrayEquals(new double[]{4.0, 1.0, 27.0, -8.0}, calculatorService.calculate(CalculatorOperation.MULTIPLY, a, b));
+        assertArrayEquals(new double[]{0.25, 4.0, 3.0, -2.0}, calculatorService.calculate(CalculatorOperation.DIVIDE, a, b));
+        assertArrayEquals(new double[]{1.0, Math.sqrt(2.0), 729.0, 16.0}, calculatorService.calculate(CalculatorOperation.POWER, a, b));
+        assertArrayEquals(new double[]{0.04, 0.01, 0.27, -0.08}, calculatorService.calculate(CalculatorOperation.PERCENTAGE, a, b), 1e-15);
+        assertArrayEquals(new double[]{1.0, 2.0, 9.0, 4.0}, calculatorService.calculate(CalculatorOperation.ABS, a, null));
+        assertArrayEquals(new double[]{1.0, 2.0}, calculatorService.calculate(CalculatorOperation.SQRT, new double[]{1.0, 4.0}, null));
+        assertEquals(0, calculatorService.calculate(CalculatorOperation.ADD, new double[0], new double[0]).length);
+    }
+
+    @Test
+    @DisplayName("Batch calculation should agree with the scalar operations")
+    void testBatchMatchesScalarOperations() {
+        SplittableRandom random = new SplittableRandom(7);
+        double[] a = random.doubles(1000, -1e6, 1e6).toArray();
+        double[] b = random.doubles(1000, 1, 1e3).toArray();
+
+        double[] sums = calculatorService.calculate(CalculatorOperation.ADD, a, b);
+        double[] quotients = calculatorService.calculate(CalculatorOperation.DIVIDE, a, b);
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(calculatorService.add(a[i], b[i]), sums[i]);
+            assertEquals(calculatorService.divide(a[i], b[i]), quotients[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Batch calculation should reject invalid operands")
+    void testBatchCalculationRejectsInvalidOperands() {
+        IllegalArgumentException missingB = assertThrows(IllegalArgumentException.class,
+                () -> calculatorService.calculate(CalculatorOperation.ADD, new double[]{1.0}, null));
+        assertEquals("Operands b are required for add", missingB.getMessage());
+
+        IllegalArgumentException lengths = assertThrows(IllegalArgumentException.class,
+                () -> calculatorService.calculate(CalculatorOperation.MULTIPLY, new double[]{1.0, 2.0}, new double[]{1.0}));
+        assertEquals("Operands a and b must have the same length: 2 != 1", lengths.getMessage());
+
+        IllegalArgumentException divide = assertThrows(IllegalArgumentException.class,
+                () -> calculatorService.calculate(CalculatorOperation.DIVIDE, new double[]{1.0, 2.0}, new double[]{1.0, 0.0}));
+        assertEquals("Division by zero is not allowed (index 1)", divide.getMessage());
+
+        IllegalArgumentException sqrt = assertThrows(IllegalArgumentException.class,
+                () -> calculatorService.calculate(CalculatorOperation.SQRT, new double[]{-1.0}, null));
+        assertEquals("Cannot calculate square root of negative number (index 0)", sqrt.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> calculatorService.calculate(null, new double[0], new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> calculatorService.calculate(CalculatorOperation.ABS, null, null));
+    }
+}
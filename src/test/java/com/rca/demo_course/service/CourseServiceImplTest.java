@@ -1,10 +1,18 @@
 package com.rca.demo_course.service;
 
 import com.rca.demo_course.domain.Course;
+import com.rca.demo_course.domain.CourseScoreStatistics;
+import com.rca.demo_course.domain.ScoreRank;
 import com.rca.demo_course.exception.CourseNotFoundException;
 import com.rca.demo_course.exception.ValidationException;
 import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.projection.CourseRosterEntry;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
+import com.rca.demo_course.repository.projection.CourseSnapshot;
 import com.rca.demo_course.service.impl.CourseServiceImpl;
+import com.rca.demo_course.service.impl.GradingScaleServiceImpl;
+import com.rca.demo_course.service.impl.SnapshotLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -13,12 +21,15 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -30,13 +41,35 @@ public class CourseServiceImplTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @Mock
+    private StudentGpaSummaryService studentGpaSummaryService;
+
+    @Mock
+    private CourseStatisticsService courseStatisticsService;
+
+    @Mock
+    private GpaLeaderboardService gpaLeaderboardService;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Spy
+    private GradingScaleServiceImpl gradingScaleService = new GradingScaleServiceImpl();
+
+    @Mock
+    private SnapshotLoader snapshotLoader;
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
     @BeforeEach
     void setUp() {
         // Reset mocks before each test
-        reset(courseRepository);
+        reset(courseRepository, gradeRepository, studentGpaSummaryService, courseStatisticsService, gpaLeaderboardService,
+                searchIndexService);
     }
 
     @Test
@@ -68,6 +101,44 @@ public class CourseServiceImplTest {
         assertEquals(3, created.getCredits());
         verify(courseRepository).existsByCode("CS101");
         verify(courseRepository).save(course);
+        verify(searchIndexService).indexCourse(savedCourse);
+    }
+
+    @Test
+    @DisplayName("Should create course with a known grading scale")
+    void testCreateCourseWithGradingScale() {
+        // Arrange
+        Course course = new Course();
+        course.setName("Advanced Algorithms");
+        course.setCode("CS301");
+        course.setCredits(4);
+        course.setGradingScale("plus-minus");
+        when(courseRepository.existsByCode("CS301")).thenReturn(false);
+        when(courseRepository.save(course)).thenReturn(course);
+
+        // Act
+        Course created = courseService.create(course);
+
+        // Assert
+        assertEquals("plus-minus", created.getGradingScale());
+        verify(gradingScaleService).getScale("plus-minus");
+    }
+
+    @Test
+    @DisplayName("Should reject course with an unknown grading scale")
+    void testCreateCourseWithUnknownGradingScale() {
+        // Arrange
+        Course course = new Course();
+        course.setName("Advanced Algorithms");
+        course.setCode("CS301");
+        course.setCredits(4);
+        course.setGradingScale("honours");
+
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> courseService.create(course));
+        assertEquals("Unknown grading scale: honours", exception.getMessage());
+        verify(courseRepository, never()).save(any());
     }
 
     @Test
@@ -165,7 +236,7 @@ public class CourseServiceImplTest {
         course.setCode("CS101");
         course.setCredits(3);
         
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(snapshotLoader.findCourseById(1L)).thenReturn(Optional.of(CourseSnapshot.of(course)));
 
         // Act
         Course found = courseService.findById("1");
@@ -174,21 +245,47 @@ public class CourseServiceImplTest {
         assertNotNull(found);
         assertEquals(course.getId(), found.getId());
         assertEquals("Introduction to Programming", found.getName());
-        verify(courseRepository).findById(1L);
+        verify(snapshotLoader).findCourseById(1L);
     }
 
     @Test
     @DisplayName("Should return null when course not found by ID")
     void testFindCourseByIdNotFound() {
         // Arrange
-        when(courseRepository.findById(999L)).thenReturn(Optional.empty());
+        when(snapshotLoader.findCourseById(999L)).thenReturn(Optional.empty());
         
         // Act
         Course found = courseService.findById("999");
 
         // Assert
         assertNull(found);
-        verify(courseRepository).findById(999L);
+        verify(snapshotLoader).findCourseById(999L);
+    }
+
+    @Test
+    @DisplayName("Should find course by code")
+    void testFindCourseByCode() {
+        // Arrange
+        Course course = new Course();
+        course.setId(1L);
+        course.setCode("CS101");
+        when(snapshotLoader.findCourseByCode("CS101")).thenReturn(Optional.of(CourseSnapshot.of(course)));
+
+        // Act
+        Course found = courseService.findByCode("CS101");
+
+        // Assert
+        assertEquals(course, found);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when finding by empty code")
+    void testFindCourseByEmptyCode() {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> courseService.findByCode(" "));
+        assertEquals("Course code cannot be null or empty", exception.getMessage());
+        verifyNoInteractions(courseRepository);
     }
 
     @Test
@@ -228,6 +325,32 @@ public class CourseServiceImplTest {
         verify(courseRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should return search matches in the order of the index")
+    void testSearch() {
+        // Arrange
+        Course algorithms = new Course(2L, "Data Structures and Algorithms", "CS201", 4, null);
+        Course databases = new Course(3L, "Database Systems", "CS301", 3, null);
+        when(searchIndexService.searchCourses("data", 5)).thenReturn(List.of(3L, 2L));
+        when(courseRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(algorithms, databases));
+
+        // Act
+        List<Course> result = courseService.search("data", 5);
+
+        // Assert
+        assertEquals(List.of(databases, algorithms), result);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty search query")
+    void testSearchWithEmptyQuery() {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> courseService.search(" ", 5));
+        assertEquals("Search query cannot be null or empty", exception.getMessage());
+        verifyNoInteractions(searchIndexService, courseRepository);
+    }
+
     @Test
     @DisplayName("Should update existing course")
     void testUpdateCourse() {
@@ -238,7 +361,7 @@ public class CourseServiceImplTest {
         course.setCode("CS101");
         course.setCredits(3);
         
-        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
         when(courseRepository.save(any(Course.class))).thenReturn(course);
 
         // Act
@@ -248,8 +371,30 @@ public class CourseServiceImplTest {
         assertNotNull(updated);
         assertEquals("Advanced Programming", updated.getName());
         assertEquals("CS101", updated.getCode());
-        verify(courseRepository).existsById(1L);
+        assertEquals(3L, course.getVersion());
         verify(courseRepository).save(course);
+        verify(studentGpaSummaryService).evictCourse(1L);
+        verify(gpaLeaderboardService).invalidate();
+        verify(searchIndexService).indexCourse(course);
+    }
+
+    @Test
+    @DisplayName("Should reject an update made against a stale version")
+    void testUpdateCourseWithStaleVersion() {
+        // Arrange
+        Course course = new Course();
+        course.setId(1L);
+        course.setName("Advanced Programming");
+        course.setCode("CS101");
+        course.setCredits(3);
+        course.setVersion(2L);
+
+        when(courseRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> courseService.update(course));
+        verify(courseRepository, never()).save(any());
+        verifyNoInteractions(searchIndexService);
     }
 
     @Test
@@ -262,13 +407,13 @@ public class CourseServiceImplTest {
         course.setCode("CS101");
         course.setCredits(3);
         
-        when(courseRepository.existsById(999L)).thenReturn(false);
+        when(courseRepository.findVersionById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         CourseNotFoundException exception = assertThrows(CourseNotFoundException.class,
                 () -> courseService.update(course));
         assertEquals("Course not found with ID: 999", exception.getMessage());
-        verify(courseRepository).existsById(999L);
+        verify(courseRepository, never()).save(any());
     }
 
     @Test
@@ -285,6 +430,10 @@ public class CourseServiceImplTest {
         // Assert
         verify(courseRepository).existsById(courseId);
         verify(courseRepository).deleteById(courseId);
+        verify(studentGpaSummaryService).evictCourse(courseId);
+        verify(courseStatisticsService).evictCourse(courseId);
+        verify(gpaLeaderboardService).invalidate();
+        verify(searchIndexService).removeCourse(courseId);
     }
 
     @Test
@@ -299,5 +448,152 @@ public class CourseServiceImplTest {
         assertEquals("Course not found with ID: 999", exception.getMessage());
         verify(courseRepository).existsById(999L);
     }
-}
 
+    @Test
+    @DisplayName("Should return the roster projected by the grade repository")
+    void testFindRoster() {
+        // Arrange
+        Course course = new Course(1L, "Introduction to Programming", "CS101", 3, null);
+        List<CourseRosterEntry> roster = List.of(
+                new CourseRosterEntry(10L, 2L, "Ada", "Lovelace", "ada@example.com", new BigDecimal("95.00"), "A"));
+        when(snapshotLoader.findCourseById(1L)).thenReturn(Optional.of(CourseSnapshot.of(course)));
+        when(gradeRepository.findRosterByCourseId(1L)).thenReturn(roster);
+
+        // Act
+        List<CourseRosterEntry> result = courseService.findRoster("1");
+
+        // Assert
+        assertSame(roster, result);
+    }
+
+    @Test
+    @DisplayName("Should throw CourseNotFoundException for the roster of an unknown course")
+    void testFindRosterNotFound() {
+        // Arrange
+        when(snapshotLoader.findCourseById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        CourseNotFoundException exception = assertThrows(CourseNotFoundException.class,
+                () -> courseService.findRoster("99"));
+        assertEquals("Course not found with ID: 99", exception.getMessage());
+        verifyNoInteractions(gradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should return the maintained statistics of an existing course")
+    void testFindStatistics() {
+        // Arrange
+        Course course = new Course(1L, "Introduction to Programming", "CS101", 3, null);
+        CourseScoreStatistics statistics = new CourseScoreStatistics();
+        when(snapshotLoader.findCourseById(1L)).thenReturn(Optional.of(CourseSnapshot.of(course)));
+        when(courseStatisticsService.getStatistics(1L)).thenReturn(statistics);
+
+        // Act
+        CourseScoreStatistics result = courseService.findStatistics("1");
+
+        // Assert
+        assertSame(statistics, result);
+        verifyNoInteractions(gradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw CourseNotFoundException for the statistics of an unknown course")
+    void testFindStatisticsNotFound() {
+        // Arrange
+        when(snapshotLoader.findCourseById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(CourseNotFoundException.class, () -> courseService.findStatistics("99"));
+        verifyNoInteractions(courseStatisticsService);
+    }
+
+    @Test
+    @DisplayName("Should rank a score within an existing course")
+    void testRankScore() {
+        // Arrange
+        Course course = new Course(1L, "Introduction to Programming", "CS101", 3, null);
+        ScoreRank rank = new ScoreRank(10, 8, 1);
+        when(snapshotLoader.findCourseById(1L)).thenReturn(Optional.of(CourseSnapshot.of(course)));
+        when(courseStatisticsService.rank(1L, new BigDecimal("91.5"))).thenReturn(rank);
+
+        // Act
+        ScoreRank result = courseService.rankScore("1", new BigDecimal("91.5"));
+
+        // Assert
+        assertSame(rank, result);
+    }
+
+    @ParameterizedTest(name = "Score {0} should be rejected")
+    @ValueSource(strings = {"-1", "100.01"})
+    @DisplayName("Should reject ranking a score outside 0 to 100")
+    void testRankScoreOutOfRange(String score) {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> courseService.rankScore("1", new BigDecimal(score)));
+        assertEquals("Score must be between 0 and 100: " + score, exception.getMessage());
+        verifyNoInteractions(courseRepository, courseStatisticsService);
+    }
+
+    @Test
+    @DisplayName("Should throw CourseNotFoundException when ranking in an unknown course")
+    void testRankScoreNotFound() {
+        // Arrange
+        when(snapshotLoader.findCourseById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(CourseNotFoundException.class, () -> courseService.rankScore("99", new BigDecimal("50")));
+        verifyNoInteractions(courseStatisticsService);
+    }
+
+    @Test
+    @DisplayName("Should find a percentile of an existing course")
+    void testFindPercentile() {
+        // Arrange
+        Course course = new Course(1L, "Introduction to Programming", "CS101", 3, null);
+        when(snapshotLoader.findCourseById(1L)).thenReturn(Optional.of(CourseSnapshot.of(course)));
+        when(courseStatisticsService.percentile(1L, 90.0)).thenReturn(new BigDecimal("93.25"));
+
+        // Act
+        BigDecimal result = courseService.findPercentile("1", 90.0);
+
+        // Assert
+        assertEquals(new BigDecimal("93.25"), result);
+    }
+
+    @ParameterizedTest(name = "Percentile {0} should be rejected")
+    @ValueSource(doubles = {0, -10, 100.5, Double.NaN})
+    @DisplayName("Should reject percentiles outside (0, 100]")
+    void testFindPercentileOutOfRange(double percentile) {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> courseService.findPercentile("1", percentile));
+        verifyNoInteractions(courseRepository, courseStatisticsService);
+    }
+
+    @Test
+    @DisplayName("Should return the top scores of an existing course")
+    void testFindTopScores() {
+        // Arrange
+        Course course = new Course(1L, "Introduction to Programming", "CS101", 3, null);
+        List<GradeScoreEntry> top = List.of(new GradeScoreEntry(7L, 2L, new BigDecimal("98.00"), "A"));
+        when(snapshotLoader.findCourseById(1L)).thenReturn(Optional.of(CourseSnapshot.of(course)));
+        when(courseStatisticsService.topScores(1L, 5)).thenReturn(top);
+
+        // Act
+        List<GradeScoreEntry> result = courseService.findTopScores("1", 5);
+
+        // Assert
+        assertSame(top, result);
+        verifyNoInteractions(gradeRepository);
+    }
+
+    @ParameterizedTest(name = "Limit {0} should be rejected")
+    @ValueSource(ints = {0, -1, 1001})
+    @DisplayName("Should reject top score limits outside 1 to 1000")
+    void testFindTopScoresInvalidLimit(int limit) {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> courseService.findTopScores("1", limit));
+        assertEquals("Limit must be between 1 and 1000", exception.getMessage());
+        verifyNoInteractions(courseRepository, courseStatisticsService);
+    }
+}
@@ -0,0 +1,307 @@
+package com.rca.demo_course.service;
+
+import com.rca.demo_course.domain.CourseScoreStatistics;
+import com.rca.demo_course.domain.ScoreRank;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
+import com.rca.demo_course.service.impl.CourseStatisticsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Course Statistics Service Tests")
+public class CourseStatisticsServiceImplTest {
+
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @InjectMocks
+    private CourseStatisticsServiceImpl statisticsService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static GradeScoreEntry entry(long gradeId, String score, String letterGrade) {
+        return new GradeScoreEntry(gradeId, 100 + gradeId, new BigDecimal(score), letterGrade);
+    }
+
+    @Test
+    @DisplayName("Should load a course from its grade scores on first read only")
+    void testGetStatisticsLoadsOnce() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenReturn(List.of(
+                entry(1, "90.00", "A"), entry(2, "90.00", "A"), entry(3, "75.00", "C")));
+
+        // Act
+        CourseScoreStatistics first = statisticsService.getStatistics(1L);
+        CourseScoreStatistics second = statisticsService.getStatistics(1L);
+
+        // Assert
+        assertEquals(3, first.getCount());
+        assertEquals(new BigDecimal("85.00"), first.getMean());
+        assertEquals(Map.of("A", 2L, "C", 1L), first.getLetterCounts());
+        assertEquals(3, second.getCount());
+        verify(gradeRepository, times(1)).findScoreEntriesByCourseId(1L);
+    }
+
+    @Test
+    @DisplayName("Should apply grade writes to a loaded course without querying again")
+    void testDeltasOnLoadedCourse() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenReturn(List.of(entry(1, "90.00", "A")));
+        statisticsService.getStatistics(1L);
+
+        // Act
+        statisticsService.addGrade(1L, entry(2, "60.00", "D"));
+        statisticsService.removeGrade(1L, entry(1, "90.00", "A"));
+        CourseScoreStatistics statistics = statisticsService.getStatistics(1L);
+
+        // Assert
+        assertEquals(1, statistics.getCount());
+        assertEquals(new BigDecimal("60.00"), statistics.getMax());
+        assertEquals(Map.of("D", 1L), statistics.getLetterCounts());
+        verify(gradeRepository, times(1)).findScoreEntriesByCourseId(1L);
+    }
+
+    @Test
+    @DisplayName("Should rank scores and find percentiles on the maintained distribution")
+    void testRankAndPercentile() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenReturn(List.of(
+                entry(1, "90.00", "A"), entry(2, "70.00", "C"), entry(3, "70.00", "C"), entry(4, "70.00", "C")));
+        statisticsService.addGrade(1L, entry(5, "50.00", "F"));
+
+        // Act
+        ScoreRank rank = statisticsService.rank(1L, new BigDecimal("70.00"));
+        statisticsService.addGrade(1L, entry(6, "95.00", "A"));
+        BigDecimal p90 = statisticsService.percentile(1L, 90);
+
+        // Assert
+        assertEquals(new ScoreRank(4, 0, 3), rank);
+        assertEquals(new BigDecimal("95.00"), p90);
+        verify(gradeRepository, times(1)).findScoreEntriesByCourseId(1L);
+    }
+
+    @Test
+    @DisplayName("Should replay grade writes that commit while the course is loading")
+    void testDeltasDuringLoad() {
+        // Arrange: the writes commit after the query has read the grades
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenAnswer(invocation -> {
+            statisticsService.addGrade(1L, entry(2, "60.00", "D"));
+            statisticsService.removeGrade(1L, entry(1, "90.00", "A"));
+            return List.of(entry(1, "90.00", "A"));
+        });
+
+        // Act
+        CourseScoreStatistics statistics = statisticsService.getStatistics(1L);
+
+        // Assert
+        assertEquals(1, statistics.getCount());
+        assertEquals(Map.of("D", 1L), statistics.getLetterCounts());
+        assertEquals(List.of(entry(2, "60.00", "D")), statisticsService.topScores(1L, 10));
+    }
+
+    @Test
+    @DisplayName("Should not count a grade write twice when the load already read it")
+    void testDeltaSeenByLoad() {
+        // Arrange: the write commits before the query but is only applied after it
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenAnswer(invocation -> {
+            statisticsService.addGrade(1L, entry(2, "60.00", "D"));
+            return List.of(entry(1, "90.00", "A"), entry(2, "60.00", "D"));
+        });
+
+        // Act
+        CourseScoreStatistics statistics = statisticsService.getStatistics(1L);
+        statisticsService.addGrade(1L, entry(2, "60.00", "D"));
+
+        // Assert
+        assertEquals(2, statistics.getCount());
+        assertEquals(2, statisticsService.getStatistics(1L).getCount());
+    }
+
+    @Test
+    @DisplayName("Should keep grade writes that commit while the course is rebuilt")
+    void testDeltasDuringRebuild() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenReturn(List.of(entry(1, "90.00", "A")));
+        statisticsService.getStatistics(1L);
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenAnswer(invocation -> {
+            statisticsService.addGrade(1L, entry(2, "60.00", "D"));
+            return List.of(entry(1, "90.00", "A"));
+        });
+
+        // Act
+        statisticsService.rebuild(1L);
+
+        // Assert
+        assertEquals(2, statisticsService.getStatistics(1L).getCount());
+    }
+
+    @Test
+    @DisplayName("Should skip grade writes for courses that were never read")
+    void testDeltasOnUnloadedCourse() {
+        // Act
+        statisticsService.addGrade(2L, entry(1, "60.00", "D"));
+
+        // Assert
+        verifyNoInteractions(gradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should hold grade writes back until the transaction commits")
+    void testDeltasWaitForCommit() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenReturn(List.of());
+        statisticsService.getStatistics(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        statisticsService.addGrade(1L, entry(1, "88.00", "B"));
+        long beforeCommit = statisticsService.getStatistics(1L).getCount();
+        commit();
+        long afterCommit = statisticsService.getStatistics(1L).getCount();
+
+        // Assert
+        assertEquals(0, beforeCommit);
+        assertEquals(1, afterCommit);
+    }
+
+    @Test
+    @DisplayName("Should discard grade writes of a rolled back transaction")
+    void testRolledBackDeltasAreDiscarded() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenReturn(List.of());
+        statisticsService.getStatistics(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        statisticsService.addGrade(1L, entry(1, "88.00", "B"));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Assert
+        assertEquals(0, statisticsService.getStatistics(1L).getCount());
+    }
+
+    @Test
+    @DisplayName("Should not expose later writes through a returned snapshot")
+    void testSnapshotIsIndependent() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenReturn(List.of());
+        CourseScoreStatistics snapshot = statisticsService.getStatistics(1L);
+
+        // Act
+        statisticsService.addGrade(1L, entry(1, "88.00", "B"));
+
+        // Assert
+        assertEquals(0, snapshot.getCount());
+    }
+
+    @Test
+    @DisplayName("Should list the highest scores first, equal scores in grade order")
+    void testTopScores() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenReturn(List.of(
+                entry(1, "70.00", "C"), entry(2, "92.00", "A"), entry(3, "85.00", "B"), entry(4, "92.00", "A")));
+
+        // Act
+        List<GradeScoreEntry> top = statisticsService.topScores(1L, 3);
+        List<GradeScoreEntry> all = statisticsService.topScores(1L, 10);
+
+        // Assert
+        assertEquals(List.of(entry(2, "92.00", "A"), entry(4, "92.00", "A"), entry(3, "85.00", "B")), top);
+        assertEquals(4, all.size());
+    }
+
+    @Test
+    @DisplayName("Should move a grade within the top scores when its score changes")
+    void testTopScoresFollowUpdates() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenReturn(List.of(
+                entry(1, "70.00", "C"), entry(2, "92.00", "A")));
+        statisticsService.topScores(1L, 1);
+
+        // Act
+        statisticsService.removeGrade(1L, entry(1, "70.00", "C"));
+        statisticsService.addGrade(1L, entry(1, "97.50", "A"));
+        List<GradeScoreEntry> top = statisticsService.topScores(1L, 10);
+
+        // Assert
+        assertEquals(List.of(entry(1, "97.50", "A"), entry(2, "92.00", "A")), top);
+        assertEquals(2, statisticsService.getStatistics(1L).getCount());
+    }
+
+    @Test
+    @DisplayName("Should rebuild every loaded course from the grades table")
+    void testRebuildAll() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenReturn(
+                List.of(),
+                List.of(entry(1, "70.00", "C"), entry(2, "70.00", "C"), entry(3, "70.00", "C"), entry(4, "70.00", "C")));
+        statisticsService.getStatistics(1L);
+
+        // Act
+        statisticsService.rebuildAll();
+
+        // Assert
+        assertEquals(4, statisticsService.getStatistics(1L).getCount());
+        verify(gradeRepository, times(2)).findScoreEntriesByCourseId(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload an evicted course on the next read")
+    void testEvictCourse() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(1L)).thenReturn(List.of());
+        statisticsService.getStatistics(1L);
+
+        // Act
+        statisticsService.evictCourse(1L);
+        statisticsService.getStatistics(1L);
+
+        // Assert
+        verify(gradeRepository, times(2)).findScoreEntriesByCourseId(1L);
+    }
+
+    @Test
+    @DisplayName("Should evict the courses a student was graded in")
+    void testEvictCoursesOfStudent() {
+        // Arrange
+        when(gradeRepository.findScoreEntriesByCourseId(anyLong())).thenReturn(List.of());
+        when(gradeRepository.findCourseIdsByStudentId(5L)).thenReturn(List.of(1L));
+        statisticsService.getStatistics(1L);
+        statisticsService.getStatistics(2L);
+
+        // Act
+        statisticsService.evictCoursesOfStudent(5L);
+        statisticsService.getStatistics(1L);
+        statisticsService.getStatistics(2L);
+
+        // Assert
+        verify(gradeRepository, times(2)).findScoreEntriesByCourseId(1L);
+        verify(gradeRepository, times(1)).findScoreEntriesByCourseId(2L);
+    }
+}
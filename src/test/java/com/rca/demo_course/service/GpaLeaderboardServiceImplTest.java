@@ -0,0 +1,293 @@
+package com.rca.demo_course.service;
+
+import com.rca.demo_course.dto.StudentGpaDTO;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.projection.GradePoints;
+import com.rca.demo_course.repository.projection.StudentGpaGroupTotals;
+import com.rca.demo_course.service.impl.GpaLeaderboardServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GPA Leaderboard Service Tests")
+public class GpaLeaderboardServiceImplTest {
+
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private GpaLeaderboardServiceImpl leaderboardService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    // Runs beforeCommit now and returns what completes the commit
+    private Runnable startCommit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        return () -> {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        };
+    }
+
+    private GradePoints points(long gradeId, long studentId, String points, int credits) {
+        return new GradePoints(gradeId, studentId, new BigDecimal(points), credits);
+    }
+
+    private StudentGpaGroupTotals totals(long studentId, long count, Double points, long credits, Double weighted) {
+        return new StudentGpaGroupTotals() {
+            public Long getStudentId() { return studentId; }
+            public Long getGradeCount() { return count; }
+            public Double getTotalPoints() { return points; }
+            public Long getTotalCredits() { return credits; }
+            public Double getWeightedPoints() { return weighted; }
+        };
+    }
+
+    private List<Long> topIds(int limit) {
+        return leaderboardService.top(limit).stream().map(StudentGpaDTO::getStudentId).toList();
+    }
+
+    @Test
+    @DisplayName("Should build the leaderboard with one aggregate query on first read")
+    void testTopLoadsOnce() {
+        // Arrange
+        when(gradeRepository.calculateGpaTotalsForAllStudents()).thenReturn(List.of(
+                totals(1L, 2, 7.0, 7, 25.0),
+                totals(2L, 1, 4.0, 3, 12.0),
+                totals(3L, 0, null, 0, null)));
+
+        // Act
+        List<StudentGpaDTO> first = leaderboardService.top(10);
+        List<StudentGpaDTO> second = leaderboardService.top(1);
+
+        // Assert
+        assertEquals(2, first.size());
+        StudentGpaDTO leader = first.get(0);
+        assertEquals(2L, leader.getStudentId());
+        assertEquals(4.0, leader.getGpa(), 1e-9);
+        assertEquals(1, leader.getGradeCount());
+        assertEquals(3.5, first.get(1).getGpa(), 1e-9);
+        assertEquals(25.0 / 7, first.get(1).getWeightedGpa(), 1e-9);
+        assertEquals(7, first.get(1).getTotalCredits());
+        assertEquals(List.of(2L), second.stream().map(StudentGpaDTO::getStudentId).toList());
+        verify(gradeRepository, times(1)).calculateGpaTotalsForAllStudents();
+    }
+
+    @Test
+    @DisplayName("Should skip grade writes until the leaderboard is built")
+    void testDeltasBeforeBuild() {
+        // Act
+        leaderboardService.addGrade(1L, 10L, 4.0, 3);
+
+        // Assert
+        verifyNoInteractions(gradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should move students on committed grade writes without querying again")
+    void testDeltasAfterCommit() {
+        // Arrange
+        when(gradeRepository.calculateGpaTotalsForAllStudents()).thenReturn(List.of(
+                totals(1L, 1, 3.0, 3, 9.0),
+                totals(2L, 1, 2.0, 3, 6.0)));
+        leaderboardService.top(10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        leaderboardService.removeGrade(1L, 10L, 3.0, 3);
+        leaderboardService.addGrade(2L, 20L, 4.0, 4);
+        List<Long> beforeCommit = topIds(10);
+        commit();
+        List<StudentGpaDTO> afterCommit = leaderboardService.top(10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), beforeCommit);
+        assertEquals(1, afterCommit.size());
+        assertEquals(2L, afterCommit.get(0).getStudentId());
+        assertEquals(3.0, afterCommit.get(0).getGpa(), 1e-9);
+        assertEquals(22.0 / 7, afterCommit.get(0).getWeightedGpa(), 1e-9);
+        verify(gradeRepository, times(1)).calculateGpaTotalsForAllStudents();
+    }
+
+    @Test
+    @DisplayName("Should discard grade writes of a rolled back transaction")
+    void testRolledBackDeltasAreDiscarded() {
+        // Arrange
+        when(gradeRepository.calculateGpaTotalsForAllStudents()).thenReturn(List.of(totals(1L, 1, 2.0, 3, 6.0)));
+        leaderboardService.top(10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        leaderboardService.addGrade(2L, 20L, 4.0, 3);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Assert
+        assertEquals(List.of(1L), topIds(10));
+    }
+
+    @Test
+    @DisplayName("Should remove a deleted student")
+    void testEvictStudent() {
+        // Arrange
+        when(gradeRepository.calculateGpaTotalsForAllStudents()).thenReturn(List.of(
+                totals(1L, 1, 4.0, 3, 12.0),
+                totals(2L, 1, 2.0, 3, 6.0)));
+        leaderboardService.top(10);
+
+        // Act
+        leaderboardService.evictStudent(1L);
+
+        // Assert
+        assertEquals(List.of(2L), topIds(10));
+    }
+
+    @Test
+    @DisplayName("Should build the leaderboard again after it is invalidated")
+    void testInvalidate() {
+        // Arrange
+        when(gradeRepository.calculateGpaTotalsForAllStudents()).thenReturn(
+                List.of(totals(1L, 1, 2.0, 3, 6.0)),
+                List.of(totals(1L, 1, 2.0, 3, 6.0), totals(2L, 1, 4.0, 3, 12.0)));
+        leaderboardService.top(10);
+
+        // Act
+        leaderboardService.invalidate();
+        List<Long> top = topIds(10);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), top);
+        verify(gradeRepository, times(2)).calculateGpaTotalsForAllStudents();
+    }
+
+    @Test
+    @DisplayName("Should only rebuild on schedule once the leaderboard has been read")
+    void testRebuildIfBuilt() {
+        // Act
+        leaderboardService.rebuildIfBuilt();
+
+        // Assert
+        verifyNoInteractions(gradeRepository);
+
+        // Arrange
+        when(gradeRepository.calculateGpaTotalsForAllStudents()).thenReturn(
+                List.of(),
+                List.of(totals(1L, 1, 3.0, 3, 9.0)));
+        leaderboardService.top(10);
+
+        // Act
+        leaderboardService.rebuildIfBuilt();
+
+        // Assert
+        assertEquals(List.of(1L), topIds(10));
+        verify(gradeRepository, times(2)).calculateGpaTotalsForAllStudents();
+    }
+
+    @Test
+    @DisplayName("Should read students again whose grade writes commit while the leaderboard builds")
+    void testDeltasDuringBuild() {
+        // Arrange: the aggregate query misses a grade that commits while it runs
+        when(gradeRepository.calculateGpaTotalsForAllStudents()).thenAnswer(invocation -> {
+            leaderboardService.addGrade(2L, 21L, 4.0, 3);
+            return List.of(totals(1L, 1, 3.0, 3, 9.0), totals(2L, 1, 2.0, 3, 6.0));
+        });
+        when(gradeRepository.findGradePointsByStudentIds(Set.of(2L))).thenReturn(List.of(
+                points(20L, 2L, "2.00", 3),
+                points(21L, 2L, "4.00", 3)));
+
+        // Act
+        List<StudentGpaDTO> top = leaderboardService.top(10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), top.stream().map(StudentGpaDTO::getStudentId).toList());
+        assertEquals(2, top.get(1).getGradeCount());
+        assertEquals(3.0, top.get(1).getGpa(), 1e-9);
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        assertFalse(definition.getValue().isReadOnly());
+    }
+
+    @Test
+    @DisplayName("Should count grade writes still committing during a build exactly once")
+    void testDeltasCommittingDuringBuild() {
+        // Arrange: both writes have started committing; only student 1's is visible to the build
+        TransactionSynchronizationManager.initSynchronization();
+        leaderboardService.addGrade(1L, 11L, 4.0, 3);
+        leaderboardService.addGrade(2L, 21L, 4.0, 3);
+        Runnable finishCommit = startCommit();
+        when(gradeRepository.calculateGpaTotalsForAllStudents()).thenReturn(List.of(
+                totals(1L, 2, 6.0, 6, 18.0),
+                totals(2L, 1, 2.0, 3, 6.0)));
+        when(gradeRepository.findGradePointsByStudentIds(Set.of(1L, 2L))).thenReturn(List.of(
+                points(10L, 1L, "2.00", 3),
+                points(11L, 1L, "4.00", 3),
+                points(20L, 2L, "2.00", 3)));
+        leaderboardService.top(10);
+
+        // Act
+        finishCommit.run();
+        leaderboardService.addGrade(1L, 12L, 4.0, 3);
+        List<StudentGpaDTO> top = leaderboardService.top(10);
+
+        // Assert
+        assertEquals(3, top.get(0).getGradeCount());
+        assertEquals(10.0 / 3, top.get(0).getGpa(), 1e-9);
+        assertEquals(2, top.get(1).getGradeCount());
+        assertEquals(3.0, top.get(1).getGpa(), 1e-9);
+        verify(gradeRepository, times(1)).calculateGpaTotalsForAllStudents();
+    }
+
+    @Test
+    @DisplayName("Should not keep a build that a bulk change invalidated while it ran")
+    void testInvalidateDuringBuild() {
+        // Arrange
+        when(gradeRepository.calculateGpaTotalsForAllStudents())
+                .thenAnswer(invocation -> {
+                    leaderboardService.invalidate();
+                    return List.of(totals(1L, 1, 2.0, 3, 6.0));
+                })
+                .thenReturn(List.of(totals(1L, 1, 2.0, 3, 6.0), totals(2L, 1, 4.0, 3, 12.0)));
+
+        // Act
+        List<Long> first = topIds(10);
+        List<Long> second = topIds(10);
+
+        // Assert
+        assertEquals(List.of(1L), first);
+        assertEquals(List.of(2L, 1L), second);
+        verify(gradeRepository, times(2)).calculateGpaTotalsForAllStudents();
+    }
+}
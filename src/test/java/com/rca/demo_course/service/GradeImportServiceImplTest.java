@@ -0,0 +1,243 @@
+package com.rca.demo_course.service;
+
+import com.rca.demo_course.domain.Grade;
+import com.rca.demo_course.dto.BulkGradeResultDTO;
+import com.rca.demo_course.dto.GradeDTO;
+import com.rca.demo_course.exception.ValidationException;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.SequenceIdAllocator;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.CourseGradingScale;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
+import com.rca.demo_course.service.impl.GradeImportServiceImpl;
+import com.rca.demo_course.service.impl.GradingScaleServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Grade Import Service Implementation Tests")
+public class GradeImportServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SequenceIdAllocator sequenceIdAllocator;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Spy
+    private GradingScaleServiceImpl gradingScaleService = new GradingScaleServiceImpl();
+
+    @Mock
+    private StudentGpaSummaryService studentGpaSummaryService;
+
+    @Mock
+    private CourseStatisticsService courseStatisticsService;
+
+    @Mock
+    private GpaLeaderboardService gpaLeaderboardService;
+
+    @InjectMocks
+    private GradeImportServiceImpl gradeImportService;
+
+    private GradeDTO grade(Long studentId, Long courseId, String score) {
+        return new GradeDTO(null, studentId, courseId, score != null ? new BigDecimal(score) : null, null);
+    }
+
+    private CourseGradingScale course(Long id, String gradingScale) {
+        return new CourseGradingScale() {
+            public Long getId() { return id; }
+            public String getGradingScale() { return gradingScale; }
+        };
+    }
+
+    private void stubIds() {
+        when(sequenceIdAllocator.nextIds(eq(Grade.ID_SEQUENCE), anyInt()))
+                .thenAnswer(invocation -> LongStream.rangeClosed(1, invocation.<Integer>getArgument(1)).toArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ParameterizedPreparedStatementSetter<Object> insertSetter() {
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Object>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), setter.capture());
+        return setter.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> insertedRows() {
+        ArgumentCaptor<Collection<Object>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        return new ArrayList<>(rows.getValue());
+    }
+
+    @Test
+    @DisplayName("Should insert valid rows and report invalid ones without aborting")
+    void testImportGradesWithMixedRows() {
+        // Arrange
+        when(studentRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(courseRepository.findGradingScalesByIds(anyCollection())).thenReturn(List.of(course(10L, null)));
+        stubIds();
+        List<GradeDTO> grades = Arrays.asList(
+                grade(1L, 10L, "91.5"),
+                grade(null, 10L, "80"),
+                grade(2L, 10L, "101"),
+                null,
+                grade(3L, 10L, "70"),
+                grade(2L, 11L, "60"),
+                grade(2L, 10L, "65"));
+
+        // Act
+        BulkGradeResultDTO result = gradeImportService.importGrades(grades);
+
+        // Assert
+        assertEquals(7, result.getReceived());
+        assertEquals(2, result.getInserted());
+        assertEquals(List.of(2, 3, 4, 5, 6), result.getErrors().stream().map(e -> e.getRow()).toList());
+        assertEquals("Student ID is required", result.getErrors().get(0).getMessage());
+        assertEquals("Score must be between 0 and 100: 101", result.getErrors().get(1).getMessage());
+        assertEquals("Grade cannot be null", result.getErrors().get(2).getMessage());
+        assertEquals("Student not found with ID: 3", result.getErrors().get(3).getMessage());
+        assertEquals("Course not found with ID: 11", result.getErrors().get(4).getMessage());
+        assertEquals(2, insertedRows().size());
+        verify(sequenceIdAllocator).nextIds(Grade.ID_SEQUENCE, 2);
+        verify(studentGpaSummaryService).evictStudents(List.of(1L, 2L));
+        verify(courseStatisticsService).addGrade(10L, new GradeScoreEntry(1L, 1L, new BigDecimal("91.5"), "A"));
+        verify(courseStatisticsService).addGrade(10L, new GradeScoreEntry(2L, 2L, new BigDecimal("65"), "D"));
+        verifyNoMoreInteractions(courseStatisticsService);
+        verify(gpaLeaderboardService).invalidate();
+    }
+
+    @Test
+    @DisplayName("Should look up student and course IDs once per chunk")
+    void testImportGradesResolvesIdsInSetQueries() {
+        // Arrange
+        List<GradeDTO> grades = new ArrayList<>();
+        for (long i = 1; i <= 2500; i++) {
+            grades.add(grade(i, 1L, "80"));
+        }
+        when(studentRepository.findExistingIds(anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<Long>>getArgument(0)));
+        when(courseRepository.findGradingScalesByIds(anyCollection())).thenReturn(List.of(course(1L, null)));
+        stubIds();
+
+        // Act
+        BulkGradeResultDTO result = gradeImportService.importGrades(grades);
+
+        // Assert
+        assertEquals(2500, result.getInserted());
+        assertTrue(result.getErrors().isEmpty());
+        verify(studentRepository, times(3)).findExistingIds(anyCollection());
+        verify(courseRepository, times(1)).findGradingScalesByIds(anyCollection());
+        verify(studentGpaSummaryService, times(3)).evictStudents(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should grade each row with its course's grading scale")
+    void testImportGradesUsesCourseGradingScales() throws Exception {
+        // Arrange
+        when(studentRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+        when(courseRepository.findGradingScalesByIds(anyCollection()))
+                .thenReturn(List.of(course(10L, null), course(20L, "plus-minus")));
+        stubIds();
+
+        // Act
+        gradeImportService.importGrades(List.of(grade(1L, 10L, "88"), grade(1L, 20L, "88")));
+
+        // Assert
+        List<Object> rows = insertedRows();
+        ParameterizedPreparedStatementSetter<Object> setter = insertSetter();
+        PreparedStatement standard = mock(PreparedStatement.class);
+        PreparedStatement plusMinus = mock(PreparedStatement.class);
+        setter.setValues(standard, rows.get(0));
+        setter.setValues(plusMinus, rows.get(1));
+        verify(standard).setString(5, "B");
+        verify(standard).setBigDecimal(6, BigDecimal.valueOf(3.0));
+        verify(plusMinus).setString(5, "B+");
+        verify(plusMinus).setBigDecimal(6, BigDecimal.valueOf(3.3));
+    }
+
+    @Test
+    @DisplayName("Should parse CSV with header, blank lines and malformed lines")
+    void testImportGradesCsv() {
+        // Arrange
+        when(studentRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+        when(courseRepository.findGradingScalesByIds(anyCollection())).thenReturn(List.of(course(10L, null)));
+        stubIds();
+        String csv = "\uFEFFstudentId,courseId,score\n"
+                + "1,10,88.5\n"
+                + "\n"
+                + "1,ten,70\n"
+                + "1,10\n"
+                + "1,10,\n";
+
+        // Act
+        BulkGradeResultDTO result = gradeImportService.importGradesCsv(new StringReader(csv));
+
+        // Assert
+        assertEquals(4, result.getReceived());
+        assertEquals(1, result.getInserted());
+        assertEquals(List.of(4, 5, 6), result.getErrors().stream().map(e -> e.getRow()).toList());
+        assertEquals("Invalid number in line: 1,ten,70", result.getErrors().get(0).getMessage());
+        assertEquals("Expected 3 columns (studentId,courseId,score) but found 2", result.getErrors().get(1).getMessage());
+        assertEquals("Score is required", result.getErrors().get(2).getMessage());
+    }
+
+    @Test
+    @DisplayName("Should insert nothing when every row is invalid")
+    void testImportGradesAllInvalid() {
+        // Act
+        BulkGradeResultDTO result = gradeImportService.importGrades(List.of(grade(1L, null, "50")));
+
+        // Assert
+        assertEquals(0, result.getInserted());
+        assertEquals("Course ID is required", result.getErrors().get(0).getMessage());
+        verifyNoInteractions(sequenceIdAllocator, jdbcTemplate);
+        verify(studentRepository, never()).findExistingIds(anyCollection());
+        verify(studentGpaSummaryService, never()).evictStudents(anyCollection());
+        verifyNoInteractions(gpaLeaderboardService);
+    }
+
+    @Test
+    @DisplayName("Should reject null and oversized uploads")
+    void testImportGradesRejectsInvalidUploads() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> gradeImportService.importGrades(null));
+        List<GradeDTO> tooMany = Collections.nCopies(100_001, grade(1L, 1L, "50"));
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> gradeImportService.importGrades(tooMany));
+        assertEquals("A bulk upload can contain at most 100000 grades", exception.getMessage());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -3,13 +3,24 @@ package com.rca.demo_course.service;
 import com.rca.demo_course.domain.Course;
 import com.rca.demo_course.domain.Grade;
 import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.domain.StudentGpaSummary;
+import com.rca.demo_course.dto.CursorPage;
+import com.rca.demo_course.dto.StudentGpaDTO;
+import com.rca.demo_course.exception.CourseNotFoundException;
 import com.rca.demo_course.exception.GradeNotFoundException;
 import com.rca.demo_course.exception.InvalidGradeException;
 import com.rca.demo_course.exception.ValidationException;
 import com.rca.demo_course.repository.CourseRepository;
 import com.rca.demo_course.repository.GradeRepository;
 import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.GradeScoreEntry;
+import com.rca.demo_course.repository.projection.StudentGpaGroupTotals;
+import com.rca.demo_course.repository.projection.CourseSnapshot;
+import com.rca.demo_course.repository.projection.StudentSnapshot;
 import com.rca.demo_course.service.impl.GradeServiceImpl;
+import com.rca.demo_course.service.impl.GradingScaleServiceImpl;
+import com.rca.demo_course.service.impl.SnapshotLoader;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -19,16 +30,22 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Grade Service Implementation Tests")
@@ -43,13 +60,32 @@ public class GradeServiceImplTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private StudentGpaSummaryService studentGpaSummaryService;
+
+    @Mock
+    private CourseStatisticsService courseStatisticsService;
+
+    @Mock
+    private GpaLeaderboardService gpaLeaderboardService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private GradingScaleServiceImpl gradingScaleService = new GradingScaleServiceImpl();
+
+    @Mock
+    private SnapshotLoader snapshotLoader;
+
     @InjectMocks
     private GradeServiceImpl gradeService;
 
     @BeforeEach
     void setUp() {
         // Reset mocks before each test
-        reset(gradeRepository, studentRepository, courseRepository);
+        reset(gradeRepository, studentRepository, courseRepository, studentGpaSummaryService, courseStatisticsService,
+                gpaLeaderboardService, entityManager);
     }
 
     @Test
@@ -61,6 +97,7 @@ public class GradeServiceImplTest {
         student.setId(1L);
         Course course = new Course();
         course.setId(1L);
+        course.setCredits(3);
         grade.setStudent(student);
         grade.setCourse(course);
         grade.setScore(new BigDecimal("85.5"));
@@ -73,8 +110,8 @@ public class GradeServiceImplTest {
         savedGrade.setLetterGrade("B");
 
         // Mock repository responses
-        when(studentRepository.existsById(1L)).thenReturn(true);
-        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(snapshotLoader.findStudentById(1L)).thenReturn(Optional.of(StudentSnapshot.of(student)));
+        when(snapshotLoader.findCourseById(1L)).thenReturn(Optional.of(CourseSnapshot.of(course)));
         when(gradeRepository.save(any(Grade.class))).thenReturn(savedGrade);
 
         // Act
@@ -87,9 +124,12 @@ public class GradeServiceImplTest {
         assertEquals(course, created.getCourse());
         assertEquals(new BigDecimal("85.5"), created.getScore());
         assertEquals("B", created.getLetterGrade());
-        verify(studentRepository).existsById(1L);
-        verify(courseRepository).existsById(1L);
+        verify(snapshotLoader).findStudentById(1L);
+        verify(snapshotLoader).findCourseById(1L);
         verify(gradeRepository).save(grade);
+        verify(studentGpaSummaryService).addGrade(1L, 3.0, 3);
+        verify(gpaLeaderboardService).addGrade(1L, 1L, 3.0, 3);
+        verify(courseStatisticsService).addGrade(1L, new GradeScoreEntry(1L, 1L, new BigDecimal("85.5"), "B"));
     }
 
     @Test
@@ -187,6 +227,90 @@ public class GradeServiceImplTest {
         assertTrue(exception.getMessage().contains("Invalid grade score"));
     }
 
+    @ParameterizedTest(name = "Score {0} should be {1} on the plus-minus scale")
+    @CsvSource({"97.0, A+", "92.99, A-", "89.99, B+", "83.0, B", "70.0, C-", "60.0, D-", "59.99, F"})
+    @DisplayName("Should calculate letter grades on a named scale")
+    void testCalculateLetterGradeOnNamedScale(double score, String expectedLetterGrade) {
+        // Act
+        String result = gradeService.calculateLetterGrade(score, "plus-minus");
+
+        // Assert
+        assertEquals(expectedLetterGrade, result);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown grading scale")
+    void testCalculateLetterGradeOnUnknownScale() {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> gradeService.calculateLetterGrade(85.0, "honours"));
+        assertEquals("Unknown grading scale: honours", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should grade with the course's scale and store the grade points")
+    void testCreateGradeUsesCourseGradingScale() {
+        // Arrange
+        Student student = new Student();
+        student.setId(1L);
+        Course course = new Course();
+        course.setId(1L);
+        course.setCredits(4);
+        course.setGradingScale("plus-minus");
+        Grade grade = new Grade();
+        grade.setStudent(student);
+        grade.setCourse(course);
+        grade.setScore(new BigDecimal("88.0"));
+
+        when(snapshotLoader.findStudentById(1L)).thenReturn(Optional.of(StudentSnapshot.of(student)));
+        when(snapshotLoader.findCourseById(1L)).thenReturn(Optional.of(CourseSnapshot.of(course)));
+        when(gradeRepository.save(any(Grade.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Grade created = gradeService.create(grade);
+
+        // Assert
+        assertEquals("B+", created.getLetterGrade());
+        assertEquals(BigDecimal.valueOf(3.3), created.getGradePoints());
+        verify(studentGpaSummaryService).addGrade(1L, 3.3, 4);
+    }
+
+    @Test
+    @DisplayName("Should remove the stored grade points of an updated grade")
+    void testUpdateGradeRemovesStoredPoints() {
+        // Arrange
+        Student student = new Student();
+        student.setId(1L);
+        Course course = new Course();
+        course.setId(1L);
+        course.setCredits(3);
+        course.setGradingScale("plus-minus");
+        Grade existing = new Grade();
+        existing.setId(1L);
+        existing.setStudent(student);
+        existing.setCourse(course);
+        existing.setScore(new BigDecimal("91.0"));
+        existing.setLetterGrade("A-");
+        existing.setGradePoints(new BigDecimal("3.70"));
+        Grade grade = new Grade();
+        grade.setId(1L);
+        grade.setStudent(student);
+        grade.setCourse(course);
+        grade.setScore(new BigDecimal("78.0"));
+
+        when(gradeRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(snapshotLoader.findCourseById(1L)).thenReturn(Optional.of(CourseSnapshot.of(course)));
+        when(gradeRepository.save(any(Grade.class))).thenReturn(grade);
+
+        // Act
+        Grade updated = gradeService.update(grade);
+
+        // Assert
+        assertEquals("C+", updated.getLetterGrade());
+        verify(studentGpaSummaryService).removeGrade(1L, 3.7, 3);
+        verify(studentGpaSummaryService).addGrade(1L, 2.3, 3);
+    }
+
     @Test
     @DisplayName("Should find grade by ID")
     void testFindGradeById() {
@@ -314,8 +438,18 @@ public class GradeServiceImplTest {
         grade.setStudent(student);
         grade.setCourse(course);
         grade.setScore(new BigDecimal("92.0"));
-        
-        when(gradeRepository.existsById(1L)).thenReturn(true);
+        course.setCredits(4);
+
+        Grade existing = new Grade();
+        existing.setId(1L);
+        existing.setStudent(student);
+        existing.setCourse(course);
+        existing.setScore(new BigDecimal("85.0"));
+        existing.setLetterGrade("B");
+        existing.setGradePoints(new BigDecimal("3.00"));
+
+        when(gradeRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(snapshotLoader.findCourseById(1L)).thenReturn(Optional.of(CourseSnapshot.of(course)));
         when(gradeRepository.save(any(Grade.class))).thenReturn(grade);
 
         // Act
@@ -325,8 +459,14 @@ public class GradeServiceImplTest {
         assertNotNull(updated);
         assertEquals(new BigDecimal("92.0"), updated.getScore());
         assertEquals("A", updated.getLetterGrade());
-        verify(gradeRepository).existsById(1L);
+        verify(gradeRepository).findById(1L);
         verify(gradeRepository).save(grade);
+        verify(studentGpaSummaryService).removeGrade(1L, 3.0, 4);
+        verify(studentGpaSummaryService).addGrade(1L, 4.0, 4);
+        verify(gpaLeaderboardService).removeGrade(1L, 1L, 3.0, 4);
+        verify(gpaLeaderboardService).addGrade(1L, 1L, 4.0, 4);
+        verify(courseStatisticsService).removeGrade(1L, new GradeScoreEntry(1L, 1L, new BigDecimal("85.0"), "B"));
+        verify(courseStatisticsService).addGrade(1L, new GradeScoreEntry(1L, 1L, new BigDecimal("92.0"), "A"));
     }
 
     @Test
@@ -344,13 +484,14 @@ public class GradeServiceImplTest {
         grade.setScore(new BigDecimal("85.5"));
         grade.setLetterGrade("B");
         
-        when(gradeRepository.existsById(999L)).thenReturn(false);
+        when(gradeRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         GradeNotFoundException exception = assertThrows(GradeNotFoundException.class,
                 () -> gradeService.update(grade));
         assertEquals("Grade not found with ID: 999", exception.getMessage());
-        verify(gradeRepository).existsById(999L);
+        verify(gradeRepository).findById(999L);
+        verifyNoInteractions(studentGpaSummaryService);
     }
 
     @Test
@@ -358,90 +499,166 @@ public class GradeServiceImplTest {
     void testDeleteGrade() {
         // Arrange
         Long gradeId = 1L;
-        when(gradeRepository.existsById(gradeId)).thenReturn(true);
+        Student student = new Student();
+        student.setId(1L);
+        Course course = new Course();
+        course.setId(1L);
+        course.setCredits(3);
+        Grade existing = new Grade();
+        existing.setId(gradeId);
+        existing.setStudent(student);
+        existing.setCourse(course);
+        existing.setScore(new BigDecimal("72.0"));
+        existing.setLetterGrade("C");
+        existing.setGradePoints(new BigDecimal("2.00"));
+
+        when(gradeRepository.findById(gradeId)).thenReturn(Optional.of(existing));
+        when(snapshotLoader.findCourseById(1L)).thenReturn(Optional.of(CourseSnapshot.of(course)));
         doNothing().when(gradeRepository).deleteById(gradeId);
 
         // Act
         gradeService.delete("1");
 
         // Assert
-        verify(gradeRepository).existsById(gradeId);
+        verify(gradeRepository).findById(gradeId);
         verify(gradeRepository).deleteById(gradeId);
+        verify(studentGpaSummaryService).removeGrade(1L, 2.0, 3);
+        verify(gpaLeaderboardService).removeGrade(1L, gradeId, 2.0, 3);
+        verify(courseStatisticsService).removeGrade(1L, new GradeScoreEntry(1L, 1L, new BigDecimal("72.0"), "C"));
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent grade")
     void testDeleteNonExistentGrade() {
         // Arrange
-        when(gradeRepository.existsById(999L)).thenReturn(false);
+        when(gradeRepository.findById(999L)).thenReturn(Optional.empty());
         
         // Act & Assert
         GradeNotFoundException exception = assertThrows(GradeNotFoundException.class,
                 () -> gradeService.delete("999"));
         assertEquals("Grade not found with ID: 999", exception.getMessage());
-        verify(gradeRepository).existsById(999L);
+        verify(gradeRepository).findById(999L);
+        verify(gradeRepository, never()).deleteById(anyLong());
     }
 
     @Test
     @DisplayName("Should calculate correct GPA for student")
     void testCalculateGPA() {
-        // Arrange
-        Grade grade1 = new Grade();
-        grade1.setId(1L);
-        Student student1 = new Student();
-        student1.setId(1L);
-        Course course1 = new Course();
-        course1.setId(1L);
-        grade1.setStudent(student1);
-        grade1.setCourse(course1);
-        grade1.setScore(new BigDecimal("90.0")); // A = 4.0
-        grade1.setLetterGrade("A");
-
-        Grade grade2 = new Grade();
-        grade2.setId(2L);
-        Student student2 = new Student();
-        student2.setId(1L);
-        Course course2 = new Course();
-        course2.setId(2L);
-        grade2.setStudent(student2);
-        grade2.setCourse(course2);
-        grade2.setScore(new BigDecimal("80.0")); // B = 3.0
-        grade2.setLetterGrade("B");
-
-        Grade grade3 = new Grade();
-        grade3.setId(3L);
-        Student student3 = new Student();
-        student3.setId(1L);
-        Course course3 = new Course();
-        course3.setId(3L);
-        grade3.setStudent(student3);
-        grade3.setCourse(course3);
-        grade3.setScore(new BigDecimal("70.0")); // C = 2.0
-        grade3.setLetterGrade("C");
-        
-        List<Grade> grades = Arrays.asList(grade1, grade2, grade3);
-        when(gradeRepository.findByStudentId(1L)).thenReturn(grades);
+        // Arrange: A (4.0) in a 3-credit course, B (3.0) in a 4-credit course, C (2.0) in a 1-credit course
+        when(studentGpaSummaryService.getSummary(1L)).thenReturn(
+                new StudentGpaSummary(1L, 3L, new BigDecimal("9.00"), 8L, new BigDecimal("26.00")));
 
         // Act
         double gpa = gradeService.calculateGPA("1");
 
         // Assert
         assertEquals(3.0, gpa, 0.001); // (4.0 + 3.0 + 2.0) / 3 = 3.0
-        verify(gradeRepository).findByStudentId(1L);
+        verify(studentGpaSummaryService).getSummary(1L);
+        verify(gradeRepository, never()).findByStudentId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should calculate credit-weighted GPA for student")
+    void testCalculateWeightedGPA() {
+        // Arrange
+        when(studentGpaSummaryService.getSummary(1L)).thenReturn(
+                new StudentGpaSummary(1L, 3L, new BigDecimal("9.00"), 8L, new BigDecimal("26.00")));
+
+        // Act
+        double gpa = gradeService.calculateWeightedGPA("1");
+
+        // Assert
+        assertEquals(3.25, gpa, 0.001); // (4.0*3 + 3.0*4 + 2.0*1) / 8 = 3.25
+        verify(gradeRepository, never()).findByStudentId(anyLong());
     }
 
     @Test
     @DisplayName("Should return 0.0 GPA for student with no grades")
     void testCalculateGPAForStudentWithNoGrades() {
         // Arrange
-        when(gradeRepository.findByStudentId(999L)).thenReturn(Arrays.asList());
+        when(studentGpaSummaryService.getSummary(999L)).thenReturn(
+                new StudentGpaSummary(999L, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO));
         
         // Act
         double gpa = gradeService.calculateGPA("999");
+        double weightedGpa = gradeService.calculateWeightedGPA("999");
 
         // Assert
         assertEquals(0.0, gpa, 0.001);
-        verify(gradeRepository).findByStudentId(999L);
+        assertEquals(0.0, weightedGpa, 0.001);
+        verify(studentGpaSummaryService, times(2)).getSummary(999L);
+    }
+
+    private StudentGpaGroupTotals groupTotals(Long studentId, long count, double points, long credits, double weighted) {
+        return new StudentGpaGroupTotals() {
+            public Long getStudentId() { return studentId; }
+            public Long getGradeCount() { return count; }
+            public Double getTotalPoints() { return points; }
+            public Long getTotalCredits() { return credits; }
+            public Double getWeightedPoints() { return weighted; }
+        };
+    }
+
+    @Test
+    @DisplayName("Should calculate GPAs for many students with one grouped query")
+    void testCalculateGPAs() {
+        // Arrange
+        when(gradeRepository.calculateGpaTotalsByStudentIds(List.of(2L, 1L, 3L))).thenReturn(List.of(
+                groupTotals(1L, 2L, 7.0, 7L, 24.0),
+                groupTotals(2L, 1L, 2.0, 3L, 6.0)));
+        List<StudentGpaDTO> results = new ArrayList<>();
+
+        // Act
+        gradeService.calculateGPAs(List.of(2L, 1L, 3L, 2L), results::add);
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(2L, results.get(0).getStudentId());
+        assertEquals(2.0, results.get(0).getGpa(), 0.001);
+        assertEquals(1L, results.get(1).getStudentId());
+        assertEquals(3.5, results.get(1).getGpa(), 0.001);
+        assertEquals(24.0 / 7, results.get(1).getWeightedGpa(), 0.001);
+        assertEquals(3L, results.get(2).getStudentId());
+        assertEquals(0, results.get(2).getGradeCount());
+        verify(gradeRepository, times(1)).calculateGpaTotalsByStudentIds(anyList());
+        verify(gradeRepository, never()).findByStudentId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject batch GPA calculation without student IDs")
+    void testCalculateGPAsWithoutStudentIds() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> gradeService.calculateGPAs(List.of(), dto -> { }));
+        assertEquals("Student IDs cannot be null or empty", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should calculate GPAs of everyone enrolled in a course")
+    void testCalculateGPAsByCourseId() {
+        // Arrange
+        when(snapshotLoader.findCourseById(5L)).thenReturn(Optional.of(CourseSnapshot.of(new Course())));
+        when(gradeRepository.calculateGpaTotalsByEnrolledCourseId(5L)).thenReturn(List.of(
+                groupTotals(1L, 2L, 7.0, 7L, 24.0)));
+        List<StudentGpaDTO> results = new ArrayList<>();
+
+        // Act
+        gradeService.calculateGPAsByCourseId("5", results::add);
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals(3.5, results.get(0).getGpa(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should throw exception for batch GPA of unknown course")
+    void testCalculateGPAsByUnknownCourseId() {
+        // Arrange
+        when(snapshotLoader.findCourseById(404L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(CourseNotFoundException.class,
+                () -> gradeService.calculateGPAsByCourseId("404", dto -> { }));
+        verify(gradeRepository, never()).calculateGpaTotalsByEnrolledCourseId(anyLong());
     }
 
     @Test
@@ -452,5 +669,50 @@ public class GradeServiceImplTest {
                 () -> gradeService.calculateGPA(null));
         assertEquals("Student ID cannot be null or empty", exception.getMessage());
     }
-}
 
+    @Test
+    @DisplayName("Should page through a student's grades by ID")
+    void testFindPageByStudentId() {
+        // Arrange
+        Grade first = new Grade();
+        first.setId(5L);
+        Grade second = new Grade();
+        second.setId(9L);
+        when(gradeRepository.findByStudentIdAndIdGreaterThanOrderByIdAsc(1L, 4L, Limit.of(2)))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        CursorPage<Grade> page = gradeService.findPageByStudentId("1", 4L, 1);
+
+        // Assert
+        assertEquals(List.of(first), page.getItems());
+        assertEquals(5L, page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid course ID when paging grades")
+    void testFindPageByCourseIdInvalidId() {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> gradeService.findPageByCourseId("abc", null, 10));
+        assertEquals("Invalid course ID format: abc", exception.getMessage());
+        verifyNoInteractions(gradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should stream a course's grades to the consumer")
+    void testStreamByCourseId() {
+        // Arrange
+        Grade grade = new Grade();
+        grade.setId(3L);
+        when(gradeRepository.streamByCourseId(2L)).thenReturn(Stream.of(grade));
+        List<Grade> received = new ArrayList<>();
+
+        // Act
+        gradeService.streamByCourseId("2", received::add);
+
+        // Assert
+        assertEquals(List.of(grade), received);
+        verify(entityManager, never()).clear();
+    }
+}
@@ -0,0 +1,227 @@
+package com.rca.demo_course.service;
+
+import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.repository.CourseRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.CourseName;
+import com.rca.demo_course.repository.projection.StudentName;
+import com.rca.demo_course.service.impl.SearchIndexServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Search Index Service Tests")
+public class SearchIndexServiceImplTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SearchIndexServiceImpl searchIndexService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private Student student(long id, String firstName, String lastName) {
+        Student student = new Student();
+        student.setId(id);
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        return student;
+    }
+
+    private StudentName name(long id, String firstName, String lastName) {
+        return new StudentName(id, firstName, lastName);
+    }
+
+    private void stubStudents(StudentName... students) {
+        when(studentRepository.findNamesByIdGreaterThan(0L, Limit.of(1000))).thenReturn(List.of(students));
+    }
+
+    @Test
+    @DisplayName("Should load the student index on the first search only")
+    void testSearchStudentsLoadsOnce() {
+        // Arrange
+        stubStudents(name(1L, "John", "Doe"), name(2L, "Jane", "Smith"));
+
+        // Act
+        List<Long> first = searchIndexService.searchStudents("jane", 10);
+        List<Long> second = searchIndexService.searchStudents("doe", 10);
+
+        // Assert
+        assertEquals(List.of(2L), first);
+        assertEquals(List.of(1L), second);
+        verify(studentRepository, times(1)).findNamesByIdGreaterThan(anyLong(), any(Limit.class));
+        verifyNoInteractions(courseRepository);
+    }
+
+    @Test
+    @DisplayName("Should load the students in keyset pages")
+    void testLoadInPages() {
+        // Arrange
+        List<StudentName> firstPage = LongStream.rangeClosed(1, 1000).mapToObj(id -> name(id, "Student", "Number" + id)).toList();
+        when(studentRepository.findNamesByIdGreaterThan(0L, Limit.of(1000))).thenReturn(firstPage);
+        when(studentRepository.findNamesByIdGreaterThan(1000L, Limit.of(1000))).thenReturn(
+                List.of(name(1001L, "Last", "One")));
+
+        // Act
+        List<Long> result = searchIndexService.searchStudents("last", 10);
+
+        // Assert
+        assertEquals(List.of(1001L), result);
+        assertEquals(List.of(1L, 2L), searchIndexService.searchStudents("student", 2));
+        // Each page in a read-only transaction of its own, not in the caller's
+        verify(transactionManager, times(2)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+                        && definition.isReadOnly()));
+    }
+
+    @Test
+    @DisplayName("Should search courses by name and code")
+    void testSearchCourses() {
+        // Arrange
+        when(courseRepository.findNamesByIdGreaterThan(0L, Limit.of(1000))).thenReturn(List.of(
+                new CourseName(1L, "Introduction to Programming", "CS101"),
+                new CourseName(2L, "Data Structures and Algorithms", "CS201")));
+
+        // Act & Assert
+        // "cs101" is one typo away from "cs201", so it follows the exact match
+        assertEquals(List.of(2L, 1L), searchIndexService.searchCourses("cs201", 10));
+        assertEquals(List.of(1L), searchIndexService.searchCourses("intro prog", 10));
+        assertEquals(List.of(2L), searchIndexService.searchCourses("algoritms", 10));
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    @DisplayName("Should not make a course search wait for a student load")
+    void testCourseSearchDuringStudentLoad() throws Exception {
+        // Arrange
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(studentRepository.findNamesByIdGreaterThan(0L, Limit.of(1000))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(name(1L, "John", "Doe"));
+        });
+        when(courseRepository.findNamesByIdGreaterThan(0L, Limit.of(1000))).thenReturn(List.of(
+                new CourseName(1L, "Introduction to Programming", "CS101")));
+        CompletableFuture<List<Long>> studentSearch =
+                CompletableFuture.supplyAsync(() -> searchIndexService.searchStudents("doe", 10));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        try {
+            assertEquals(List.of(1L), assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> searchIndexService.searchCourses("cs101", 10)));
+        } finally {
+            release.countDown();
+        }
+        assertEquals(List.of(1L), studentSearch.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should skip changes until the index is loaded")
+    void testChangesBeforeLoad() {
+        // Act
+        searchIndexService.indexStudent(student(1L, "John", "Doe"));
+        searchIndexService.removeCourse(1L);
+
+        // Assert
+        verifyNoInteractions(studentRepository, courseRepository);
+    }
+
+    @Test
+    @DisplayName("Should apply committed changes without loading again")
+    void testChangesAfterCommit() {
+        // Arrange
+        stubStudents(name(1L, "John", "Doe"), name(2L, "Jane", "Smith"));
+        searchIndexService.searchStudents("john", 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        searchIndexService.indexStudent(student(3L, "Johanna", "Berg"));
+        searchIndexService.indexStudent(student(2L, "Jane", "Doe"));
+        searchIndexService.removeStudent(1L);
+        List<Long> beforeCommit = searchIndexService.searchStudents("doe", 10);
+        commit();
+        List<Long> afterCommit = searchIndexService.searchStudents("doe", 10);
+
+        // Assert
+        assertEquals(List.of(1L), beforeCommit);
+        assertEquals(List.of(2L), afterCommit);
+        assertEquals(List.of(3L), searchIndexService.searchStudents("joh", 10));
+        verify(studentRepository, times(1)).findNamesByIdGreaterThan(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Should discard changes of a rolled back transaction")
+    void testRolledBackChangesAreDiscarded() {
+        // Arrange
+        stubStudents(name(1L, "John", "Doe"));
+        searchIndexService.searchStudents("john", 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        searchIndexService.removeStudent(1L);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Assert
+        assertEquals(List.of(1L), searchIndexService.searchStudents("john", 10));
+    }
+
+    @Test
+    @DisplayName("Should only rebuild on schedule the indexes that were loaded")
+    void testRebuildIfLoaded() {
+        // Arrange
+        when(studentRepository.findNamesByIdGreaterThan(0L, Limit.of(1000))).thenReturn(
+                List.of(name(1L, "John", "Doe")),
+                List.of(name(1L, "John", "Doe"), name(2L, "Jane", "Doe")));
+        searchIndexService.searchStudents("doe", 10);
+
+        // Act
+        searchIndexService.rebuildIfLoaded();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), searchIndexService.searchStudents("doe", 10));
+        verifyNoInteractions(courseRepository);
+    }
+}
@@ -0,0 +1,166 @@
+package com.rca.demo_course.service;
+
+import com.rca.demo_course.domain.StudentGpaSummary;
+import com.rca.demo_course.repository.GradeRepository;
+import com.rca.demo_course.repository.StudentGpaSummaryRepository;
+import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.StudentGpaTotals;
+import com.rca.demo_course.service.impl.StudentGpaSummaryServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Student GPA Summary Service Tests")
+public class StudentGpaSummaryServiceImplTest {
+
+    @Mock
+    private StudentGpaSummaryRepository summaryRepository;
+
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private StudentGpaSummaryServiceImpl summaryService;
+
+    private StudentGpaTotals totals(long count, Double points, long credits, Double weighted) {
+        return new StudentGpaTotals() {
+            public Long getGradeCount() { return count; }
+            public Double getTotalPoints() { return points; }
+            public Long getTotalCredits() { return credits; }
+            public Double getWeightedPoints() { return weighted; }
+        };
+    }
+
+    @Test
+    @DisplayName("Should apply positive delta when a grade is added")
+    void testAddGrade() {
+        // Arrange
+        when(summaryRepository.applyDelta(anyLong(), anyLong(), any(), anyLong(), any())).thenReturn(1);
+
+        // Act
+        summaryService.addGrade(1L, 3.0, 4);
+
+        // Assert
+        verify(summaryRepository).applyDelta(1L, 1L, BigDecimal.valueOf(3.0), 4L, BigDecimal.valueOf(12.0));
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    @DisplayName("Should retry a delta that found no row under the student lock")
+    void testAddGradeWithoutSummary() {
+        // Act
+        summaryService.addGrade(1L, 3.0, 4);
+
+        // Assert
+        var inOrder = inOrder(summaryRepository, studentRepository);
+        inOrder.verify(summaryRepository).applyDelta(1L, 1L, BigDecimal.valueOf(3.0), 4L, BigDecimal.valueOf(12.0));
+        inOrder.verify(studentRepository).lockById(1L);
+        inOrder.verify(summaryRepository).applyDelta(1L, 1L, BigDecimal.valueOf(3.0), 4L, BigDecimal.valueOf(12.0));
+    }
+
+    @Test
+    @DisplayName("Should apply negative delta when a grade is removed")
+    void testRemoveGrade() {
+        // Arrange
+        when(summaryRepository.applyDelta(anyLong(), anyLong(), any(), anyLong(), any())).thenReturn(1);
+
+        // Act
+        summaryService.removeGrade(1L, 4.0, 3);
+
+        // Assert
+        verify(summaryRepository).applyDelta(1L, -1L, BigDecimal.valueOf(-4.0), -3L, BigDecimal.valueOf(-12.0));
+    }
+
+    @Test
+    @DisplayName("Should read existing summary without touching grades")
+    void testGetExistingSummary() {
+        // Arrange
+        StudentGpaSummary summary = new StudentGpaSummary(1L, 2L, new BigDecimal("7.00"), 7L, new BigDecimal("24.00"));
+        when(summaryRepository.findById(1L)).thenReturn(Optional.of(summary));
+
+        // Act
+        StudentGpaSummary found = summaryService.getSummary(1L);
+
+        // Assert
+        assertSame(summary, found);
+        verifyNoInteractions(gradeRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should materialize missing summary from grade totals")
+    void testGetMissingSummaryRebuilds() {
+        // Arrange
+        when(summaryRepository.findById(1L)).thenReturn(Optional.empty());
+        when(gradeRepository.calculateGpaTotalsByStudentId(1L)).thenReturn(totals(2L, 7.0, 7L, 24.0));
+        when(summaryRepository.save(any(StudentGpaSummary.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        StudentGpaSummary summary = summaryService.getSummary(1L);
+
+        // Assert
+        assertEquals(2L, summary.getGradeCount());
+        assertEquals(new BigDecimal("7.00"), summary.getTotalPoints());
+        assertEquals(7L, summary.getTotalCredits());
+        assertEquals(new BigDecimal("24.00"), summary.getWeightedPoints());
+        verify(studentRepository).lockById(1L);
+        verify(summaryRepository).save(summary);
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        assertFalse(definition.getValue().isReadOnly());
+    }
+
+    @Test
+    @DisplayName("Should use the summary another first read built while waiting for the lock")
+    void testGetSummaryBuiltConcurrently() {
+        // Arrange
+        StudentGpaSummary built = new StudentGpaSummary(1L, 2L, new BigDecimal("7.00"), 7L, new BigDecimal("24.00"));
+        when(summaryRepository.findById(1L)).thenReturn(Optional.empty(), Optional.of(built));
+
+        // Act
+        StudentGpaSummary summary = summaryService.getSummary(1L);
+
+        // Assert
+        assertSame(built, summary);
+        verify(studentRepository).lockById(1L);
+        verify(summaryRepository, never()).save(any());
+        verifyNoInteractions(gradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should not persist summary for student without grades")
+    void testGetSummaryWithoutGrades() {
+        // Arrange
+        when(summaryRepository.findById(999L)).thenReturn(Optional.empty());
+        when(gradeRepository.calculateGpaTotalsByStudentId(999L)).thenReturn(totals(0L, null, 0L, null));
+
+        // Act
+        StudentGpaSummary summary = summaryService.getSummary(999L);
+
+        // Assert
+        assertEquals(0L, summary.getGradeCount());
+        assertEquals(BigDecimal.ZERO, summary.getTotalPoints());
+        verify(summaryRepository, never()).save(any());
+    }
+}
@@ -1,11 +1,16 @@
 package com.rca.demo_course.service;
 
 import com.rca.demo_course.domain.Student;
+import com.rca.demo_course.dto.CursorPage;
+import com.rca.demo_course.dto.StudentGpaDTO;
 import com.rca.demo_course.exception.DuplicateResourceException;
 import com.rca.demo_course.exception.StudentNotFoundException;
 import com.rca.demo_course.exception.ValidationException;
 import com.rca.demo_course.repository.StudentRepository;
+import com.rca.demo_course.repository.projection.StudentSnapshot;
+import com.rca.demo_course.service.impl.SnapshotLoader;
 import com.rca.demo_course.service.impl.StudentServiceImpl;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -15,14 +20,19 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Student Service Implementation Tests")
@@ -31,13 +41,32 @@ public class StudentServiceImplTest {
     @Mock
     private StudentRepository studentRepository;
 
+    @Mock
+    private StudentGpaSummaryService studentGpaSummaryService;
+
+    @Mock
+    private CourseStatisticsService courseStatisticsService;
+
+    @Mock
+    private GpaLeaderboardService gpaLeaderboardService;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SnapshotLoader snapshotLoader;
+
     @InjectMocks
     private StudentServiceImpl studentService;
 
     @BeforeEach
     void setUp() {
         // Reset mocks before each test
-        reset(studentRepository);
+        reset(studentRepository, studentGpaSummaryService, courseStatisticsService, gpaLeaderboardService, searchIndexService,
+                entityManager);
     }
 
     @Test
@@ -69,6 +98,7 @@ public class StudentServiceImplTest {
         assertEquals("john.doe@example.com", created.getEmail());
         verify(studentRepository).existsByEmail("john.doe@example.com");
         verify(studentRepository).save(student);
+        verify(searchIndexService).indexStudent(savedStudent);
     }
 
     @Test
@@ -181,7 +211,7 @@ public class StudentServiceImplTest {
         student.setLastName("Doe");
         student.setEmail("john.doe@example.com");
         
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(snapshotLoader.findStudentById(1L)).thenReturn(Optional.of(StudentSnapshot.of(student)));
 
         // Act
         Student found = studentService.findById("1");
@@ -190,21 +220,21 @@ public class StudentServiceImplTest {
         assertNotNull(found);
         assertEquals(student.getId(), found.getId());
         assertEquals("John", found.getFirstName());
-        verify(studentRepository).findById(1L);
+        verify(snapshotLoader).findStudentById(1L);
     }
 
     @Test
     @DisplayName("Should return null when student not found by ID")
     void testFindStudentByIdNotFound() {
         // Arrange
-        when(studentRepository.findById(999L)).thenReturn(Optional.empty());
+        when(snapshotLoader.findStudentById(999L)).thenReturn(Optional.empty());
         
         // Act
         Student found = studentService.findById("999");
 
         // Assert
         assertNull(found);
-        verify(studentRepository).findById(999L);
+        verify(snapshotLoader).findStudentById(999L);
     }
 
     @Test
@@ -226,7 +256,7 @@ public class StudentServiceImplTest {
         student.setLastName("Doe");
         student.setEmail("john.doe@example.com");
         
-        when(studentRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(student));
+        when(snapshotLoader.findStudentByEmail("john.doe@example.com")).thenReturn(Optional.of(StudentSnapshot.of(student)));
 
         // Act
         Student found = studentService.findByEmail("john.doe@example.com");
@@ -234,21 +264,21 @@ public class StudentServiceImplTest {
         // Assert
         assertNotNull(found);
         assertEquals("john.doe@example.com", found.getEmail());
-        verify(studentRepository).findByEmail("john.doe@example.com");
+        verify(snapshotLoader).findStudentByEmail("john.doe@example.com");
     }
 
     @Test
     @DisplayName("Should return null when student not found by email")
     void testFindStudentByEmailNotFound() {
         // Arrange
-        when(studentRepository.findByEmail("notfound@example.com")).thenReturn(Optional.empty());
+        when(snapshotLoader.findStudentByEmail("notfound@example.com")).thenReturn(Optional.empty());
         
         // Act
         Student found = studentService.findByEmail("notfound@example.com");
 
         // Assert
         assertNull(found);
-        verify(studentRepository).findByEmail("notfound@example.com");
+        verify(snapshotLoader).findStudentByEmail("notfound@example.com");
     }
 
     @Test
@@ -279,6 +309,62 @@ public class StudentServiceImplTest {
         verify(studentRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should return search matches in the order of the index")
+    void testSearch() {
+        // Arrange
+        Student jane = new Student();
+        jane.setId(2L);
+        jane.setFirstName("Jane");
+        Student janet = new Student();
+        janet.setId(7L);
+        janet.setFirstName("Janet");
+        when(searchIndexService.searchStudents("jan", 20)).thenReturn(List.of(7L, 9L, 2L));
+        when(studentRepository.findAllById(List.of(7L, 9L, 2L))).thenReturn(List.of(jane, janet));
+
+        // Act
+        List<Student> result = studentService.search("jan", 20);
+
+        // Assert
+        assertEquals(List.of(janet, jane), result);
+    }
+
+    @Test
+    @DisplayName("Should not query students when nothing matches")
+    void testSearchWithoutMatches() {
+        // Arrange
+        when(searchIndexService.searchStudents("zz", 20)).thenReturn(List.of());
+
+        // Act
+        List<Student> result = studentService.search("zz", 20);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(studentRepository);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "   "})
+    @DisplayName("Should reject empty search queries")
+    void testSearchWithEmptyQuery(String query) {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> studentService.search(query, 20));
+        assertEquals("Search query cannot be null or empty", exception.getMessage());
+        verifyNoInteractions(searchIndexService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1001})
+    @DisplayName("Should reject out-of-range search limits")
+    void testSearchWithInvalidLimit(int limit) {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> studentService.search("jane", limit));
+        assertEquals("Limit must be between 1 and 1000", exception.getMessage());
+        verifyNoInteractions(searchIndexService);
+    }
+
     @Test
     @DisplayName("Should update existing student")
     void testUpdateStudent() {
@@ -289,7 +375,7 @@ public class StudentServiceImplTest {
         student.setLastName("Doe");
         student.setEmail("john.doe@example.com");
         
-        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(studentRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
         when(studentRepository.save(any(Student.class))).thenReturn(student);
 
         // Act
@@ -299,8 +385,9 @@ public class StudentServiceImplTest {
         assertNotNull(updated);
         assertEquals("Johnny", updated.getFirstName());
         assertEquals("Doe", updated.getLastName());
-        verify(studentRepository).existsById(1L);
+        assertEquals(3L, student.getVersion());
         verify(studentRepository).save(student);
+        verify(searchIndexService).indexStudent(student);
     }
 
     @Test
@@ -313,13 +400,13 @@ public class StudentServiceImplTest {
         student.setLastName("Doe");
         student.setEmail("john.doe@example.com");
         
-        when(studentRepository.existsById(999L)).thenReturn(false);
+        when(studentRepository.findVersionById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         StudentNotFoundException exception = assertThrows(StudentNotFoundException.class,
                 () -> studentService.update(student));
         assertEquals("Student not found with ID: 999", exception.getMessage());
-        verify(studentRepository).existsById(999L);
+        verify(studentRepository, never()).save(any());
     }
 
     @Test
@@ -336,6 +423,10 @@ public class StudentServiceImplTest {
         // Assert
         verify(studentRepository).existsById(studentId);
         verify(studentRepository).deleteById(studentId);
+        verify(studentGpaSummaryService).evictStudent(studentId);
+        verify(courseStatisticsService).evictCoursesOfStudent(studentId);
+        verify(gpaLeaderboardService).evictStudent(studentId);
+        verify(searchIndexService).removeStudent(studentId);
     }
 
     @Test
@@ -350,4 +441,133 @@ public class StudentServiceImplTest {
         assertEquals("Student not found with ID: 999", exception.getMessage());
         verify(studentRepository).existsById(999L);
     }
+
+    private Student studentWithId(long id) {
+        Student student = new Student();
+        student.setId(id);
+        return student;
+    }
+
+    @Test
+    @DisplayName("Should return a page with the next cursor when more students exist")
+    void testFindPageWithMoreStudents() {
+        // Arrange
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(3)))
+                .thenReturn(List.of(studentWithId(11L), studentWithId(12L), studentWithId(15L)));
+
+        // Act
+        CursorPage<Student> page = studentService.findPage(10L, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertEquals(12L, page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should start from the first student and end without a cursor")
+    void testFindPageLastPage() {
+        // Arrange
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(101)))
+                .thenReturn(List.of(studentWithId(1L)));
+
+        // Act
+        CursorPage<Student> page = studentService.findPage(null, 100);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, 1001})
+    @DisplayName("Should reject out-of-range page sizes")
+    void testFindPageInvalidLimit(int limit) {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> studentService.findPage(null, limit));
+        assertEquals("Page size must be between 1 and 1000", exception.getMessage());
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    @DisplayName("Should return the leaderboard without querying students")
+    void testFindLeaderboard() {
+        // Arrange
+        List<StudentGpaDTO> top = List.of(new StudentGpaDTO(4L, 4.0, 4.0, 3, 9), new StudentGpaDTO(2L, 3.5, 3.25, 2, 7));
+        when(gpaLeaderboardService.top(2)).thenReturn(top);
+
+        // Act
+        List<StudentGpaDTO> result = studentService.findLeaderboard(2);
+
+        // Assert
+        assertSame(top, result);
+        verifyNoInteractions(studentRepository);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, 1001})
+    @DisplayName("Should reject out-of-range leaderboard sizes")
+    void testFindLeaderboardInvalidLimit(int limit) {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> studentService.findLeaderboard(limit));
+        assertEquals("Limit must be between 1 and 1000", exception.getMessage());
+        verifyNoInteractions(gpaLeaderboardService);
+    }
+
+    @Test
+    @DisplayName("Should load the transcript with grades and courses in one query")
+    void testFindTranscript() {
+        // Arrange
+        Student student = studentWithId(1);
+        when(studentRepository.findWithGradesAndCoursesById(1L)).thenReturn(Optional.of(student));
+
+        // Act
+        Student transcript = studentService.findTranscript("1");
+
+        // Assert
+        assertSame(student, transcript);
+        verify(snapshotLoader, never()).findStudentById(any());
+    }
+
+    @Test
+    @DisplayName("Should throw StudentNotFoundException for the transcript of an unknown student")
+    void testFindTranscriptNotFound() {
+        // Arrange
+        when(studentRepository.findWithGradesAndCoursesById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        StudentNotFoundException exception = assertThrows(StudentNotFoundException.class,
+                () -> studentService.findTranscript("99"));
+        assertEquals("Student not found with ID: 99", exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "abc"})
+    @DisplayName("Should reject invalid student IDs for the transcript")
+    void testFindTranscriptInvalidId(String id) {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> studentService.findTranscript(id));
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    @DisplayName("Should stream all students, clear the persistence context per batch and close the stream")
+    void testStreamAll() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Student> students = IntStream.rangeClosed(1, 1200)
+                .mapToObj(this::studentWithId)
+                .onClose(() -> closed.set(true));
+        when(studentRepository.streamAll()).thenReturn(students);
+        List<Student> received = new ArrayList<>();
+
+        // Act
+        studentService.streamAll(received::add);
+
+        // Assert
+        assertEquals(1200, received.size());
+        assertTrue(closed.get());
+        verify(entityManager, times(2)).clear();
+    }
 }